@@ -0,0 +1,125 @@
+package io.github.eggy03.pinetree.benchmark;
+
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import com.sun.jna.platform.win32.Variant;
+import io.github.eggy03.pinetree.windows.com.StandInClassObject;
+import io.github.eggy03.pinetree.windows.com.WmiPropertyDecoder;
+import io.github.eggy03.pinetree.windows.util.CastUtil;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocations of the {@link CastUtil} conversions on the values WMI returns most: {@code uint64} properties as padded
+ * {@code VT_BSTR} text, {@code uint32} ones as {@code VT_I4}, booleans as {@code VT_BOOL} and strings without
+ * surrounding whitespace. Run with {@code -prof gc}: every benchmark but the {@code trimmedCopy} baselines, which
+ * parse a trimmed copy of the text like the conversions used to, should report a {@code gc.alloc.rate.norm} of
+ * {@code 0} bytes.
+ * <p>
+ * The {@code VARIANT}s are read from stand-in objects, laid out in memory like native ones, so the {@code VARIANT}
+ * readers run the same code as on Windows.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CastUtilAllocationBenchmark {
+
+    private final String capacity = " 17179869184 ";
+    private final String manufacturer = "GenuineIntel";
+    private final String enabled = "TRUE ";
+    private final Integer cores = 8;
+
+    // The stand-ins own the native memory of their VARIANTs
+    private StandInClassObject object;
+    private Variant.VARIANT capacityVariant;
+    private Variant.VARIANT coresVariant;
+    private Variant.VARIANT enabledVariant;
+
+    @Setup(Level.Trial)
+    public void createVariants() {
+        object = new StandInClassObject()
+                .with("Capacity", Wbemcli.CIM_UINT64, capacity)
+                .with("NumberOfCores", Wbemcli.CIM_UINT32, cores)
+                .with("VirtualizationFirmwareEnabled", Wbemcli.CIM_BOOLEAN, true);
+        capacityVariant = variantOf("Capacity");
+        coresVariant = variantOf("NumberOfCores");
+        enabledVariant = variantOf("VirtualizationFirmwareEnabled");
+    }
+
+    @Benchmark
+    public long parseLong() {
+        return CastUtil.parseLong(capacity);
+    }
+
+    @Benchmark
+    public long parseLongTrimmedCopy() {
+        return Long.parseLong(capacity.trim());
+    }
+
+    @Benchmark
+    public String toStringValue() {
+        return CastUtil.toStringValue(manufacturer);
+    }
+
+    @Benchmark
+    public Boolean toBooleanValue() {
+        return CastUtil.toBooleanValue(enabled);
+    }
+
+    @Benchmark
+    public Boolean toBooleanValueTrimmedCopy() {
+        return Boolean.parseBoolean(enabled.trim());
+    }
+
+    @Benchmark
+    public Integer integerConverter() {
+        return CastUtil.integerConverter(Variant.VT_I4).apply(cores);
+    }
+
+    @Benchmark
+    public long toLongBstr() {
+        return CastUtil.toLong(capacityVariant);
+    }
+
+    @Benchmark
+    public int toIntI4() {
+        return CastUtil.toInt(coresVariant);
+    }
+
+    @Benchmark
+    public boolean toBooleanBool() {
+        return CastUtil.toBoolean(enabledVariant);
+    }
+
+    private Variant.VARIANT variantOf(String propertyName) {
+        Variant.VARIANT[] variant = new Variant.VARIANT[1];
+        object.decode(propertyName, new WmiPropertyDecoder() {
+            @Override
+            public Object decodeValue(@Nullable Object value) {
+                throw new IllegalStateException("The stand-in decodes VARIANTs");
+            }
+
+            @Override
+            public Object decodeVariant(Variant.VARIANT value) {
+                variant[0] = value;
+                return null;
+            }
+        });
+        return variant[0];
+    }
+}
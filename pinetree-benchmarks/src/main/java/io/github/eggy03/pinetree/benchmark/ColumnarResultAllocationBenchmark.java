@@ -0,0 +1,108 @@
+package io.github.eggy03.pinetree.benchmark;
+
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import io.github.eggy03.pinetree.windows.com.StandInClassObject;
+import io.github.eggy03.pinetree.windows.entity.processor.Processor;
+import io.github.eggy03.pinetree.windows.enums.processor.ProcessorProperty;
+import io.github.eggy03.pinetree.windows.mapper.processor.ProcessorMapper;
+import io.github.eggy03.pinetree.windows.result.ColumnarResult;
+import io.github.eggy03.pinetree.windows.result.WmiResultTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocations of reading {@code Win32_Processor} objects into a {@link WmiResultTable} or into a {@link ColumnarResult},
+ * and of mapping either one into entities. Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}.
+ * <p>
+ * The result table boxes every value into a list per property. The columnar result decodes the {@code VARIANT} of each
+ * property straight into its primitive column, strings being looked up in the dictionary from a reused buffer so that
+ * only the distinct ones are created, leaving the {@code Pointer} JNA creates for every {@code BSTR}. The stand-in
+ * objects hand out {@code VARIANT}s laid out in memory like native ones, built once, so the allocations
+ * measured are those of the results and of the mapping.
+ * </p>
+ * Off Windows, the stand-ins hand the result table boxed values without decoding a {@code VARIANT}, copying only the
+ * strings, while the columnar side reads native memory through JNA. Only the allocations of the two sides compare
+ * there, the times favour the result table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnarResultAllocationBenchmark {
+
+    @Param({"64", "1024"})
+    public int instances;
+
+    private final ProcessorMapper mapper = new ProcessorMapper();
+    private final EnumSet<ProcessorProperty> allProperties = EnumSet.allOf(ProcessorProperty.class);
+    private List<StandInClassObject> objects;
+
+    @Setup(Level.Trial)
+    public void createObjects() {
+        objects = new ArrayList<>(instances);
+        for (int i = 0; i < instances; i++) {
+            objects.add(new StandInClassObject()
+                    .withString("DeviceID", "CPU" + i)
+                    .withString("Name", "Stand-in Processor @ 3.60GHz")
+                    .with("NumberOfCores", Wbemcli.CIM_UINT32, 8)
+                    .with("ThreadCount", Wbemcli.CIM_UINT32, 16)
+                    .with("NumberOfLogicalProcessors", Wbemcli.CIM_UINT32, 16)
+                    .withString("Manufacturer", "GenuineIntel")
+                    .with("AddressWidth", Wbemcli.CIM_UINT16, 64)
+                    .with("L2CacheSize", Wbemcli.CIM_UINT32, 2048)
+                    .with("L3CacheSize", Wbemcli.CIM_UINT32, 16384)
+                    .with("MaxClockSpeed", Wbemcli.CIM_UINT32, 3600)
+                    .with("ExtClock", Wbemcli.CIM_UINT32, 100)
+                    .withString("SocketDesignation", "LGA1700")
+                    .withString("Version", "")
+                    .withString("Caption", "Intel64 Family 6 Model 151 Stepping 2")
+                    .with("Family", Wbemcli.CIM_UINT16, 198)
+                    .withString("Stepping", "2")
+                    .with("VirtualizationFirmwareEnabled", Wbemcli.CIM_BOOLEAN, true)
+                    .withString("ProcessorId", "BFEBFBFF00090672"));
+        }
+    }
+
+    @Benchmark
+    public WmiResultTable<ProcessorProperty> resultTable() {
+        WmiResultTable<ProcessorProperty> table = new WmiResultTable<>(ProcessorProperty.class);
+        for (StandInClassObject object : objects)
+            table.addRow(object, allProperties);
+        return table;
+    }
+
+    @Benchmark
+    public ColumnarResult<ProcessorProperty> columnar() {
+        ColumnarResult<ProcessorProperty> result = new ColumnarResult<>(ProcessorProperty.class);
+        for (StandInClassObject object : objects)
+            result.addRow(object, allProperties);
+        return result;
+    }
+
+    @Benchmark
+    public List<Processor> resultTableEntities() {
+        return mapper.toEntityList(resultTable());
+    }
+
+    @Benchmark
+    public List<Processor> columnarEntities() {
+        return mapper.toEntityList(columnar());
+    }
+}
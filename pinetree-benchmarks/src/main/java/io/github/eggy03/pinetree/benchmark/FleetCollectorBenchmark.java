@@ -0,0 +1,100 @@
+package io.github.eggy03.pinetree.benchmark;
+
+import io.github.eggy03.pinetree.windows.connection.WmiHost;
+import io.github.eggy03.pinetree.windows.fleet.FleetCollector;
+import io.github.eggy03.pinetree.windows.fleet.FleetHostResult;
+import io.github.eggy03.pinetree.windows.fleet.SimulatedConnector;
+import io.github.eggy03.pinetree.windows.service.CommonServiceInterface;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Time to collect a fleet of 256 simulated hosts with a {@link FleetCollector}, depending on its concurrency cap.
+ * <p>
+ * Every host answers after {@code latencyMillis} through a {@link SimulatedConnector} and 5% of them fail, so the
+ * collection takes about {@code hosts / maxConcurrency} times the latency, plus the cost of scheduling the hosts and
+ * delivering their results. The circuits of the hosts are reset before every collection, so that failures do not
+ * build up across iterations and every host is queried. The workers are plain threads, the calls being simulated.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FleetCollectorBenchmark {
+
+    private static final int HOSTS = 256;
+
+    private static final CommonServiceInterface<String> SERVICE = new CommonServiceInterface<>() {
+        @Override
+        public List<String> get() {
+            return List.of("row");
+        }
+
+        @Override
+        public List<String> getManaged() {
+            return get();
+        }
+    };
+
+    @Param({"16", "64"})
+    public int maxConcurrency;
+
+    @Param({"5"})
+    public long latencyMillis;
+
+    private final List<WmiHost> hosts = new ArrayList<>(HOSTS);
+    private FleetCollector collector;
+
+    @Setup(Level.Trial)
+    public void startCollector() {
+        for (int i = 0; i < HOSTS; i++)
+            hosts.add(WmiHost.builder().hostName("ws-" + i).build());
+
+        collector = FleetCollector.builder()
+                .connector(new SimulatedConnector(Duration.ofMillis(latencyMillis), 0.05))
+                .maxConcurrency(maxConcurrency)
+                .hostTimeout(Duration.ofSeconds(10))
+                .threadFactory(Thread.ofPlatform().daemon().name("benchmark-fleet-", 0).factory())
+                .build();
+    }
+
+    @Setup(Level.Invocation)
+    public void resetCircuits() {
+        hosts.forEach(collector::resetCircuit);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopCollector() {
+        collector.close();
+    }
+
+    @Benchmark
+    public long collect() {
+        LongAdder succeeded = new LongAdder();
+        collector.collect(hosts, SERVICE, (FleetHostResult<String> result) -> {
+            if (result.isSuccess())
+                succeeded.increment();
+        }).join();
+        return succeeded.sum();
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.eggy03.pinetree.benchmark;
+
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import io.github.eggy03.pinetree.windows.com.StandInClassObject;
+import io.github.eggy03.pinetree.windows.entity.processor.Processor;
+import io.github.eggy03.pinetree.windows.entity.processor.ProcessorView;
+import io.github.eggy03.pinetree.windows.enums.processor.ProcessorProperty;
+import io.github.eggy03.pinetree.windows.mapper.processor.ProcessorMapper;
+import io.github.eggy03.pinetree.windows.result.WmiResultTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of mapping a {@code Win32_Processor} result and reading some of its properties, through the eager
+ * {@link ProcessorMapper#toEntityList} against the lazy {@link ProcessorMapper#toLazyEntityList}, whose
+ * {@link ProcessorView}s only convert the properties that are read.
+ * <p>
+ * The {@code TwoProperties} benchmarks read the name and the number of cores of each row, 2 of its 18 properties, which
+ * is where views pay off. The {@code AllProperties} ones read every property, through {@link ProcessorView#toEntity()}
+ * for the views, and show what views cost when nothing is skipped.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LazyEntityBenchmark {
+
+    @Param({"64", "1024"})
+    public int instances;
+
+    private final ProcessorMapper mapper = new ProcessorMapper();
+    private WmiResultTable<ProcessorProperty> table;
+
+    @Setup(Level.Trial)
+    public void createResult() {
+        EnumSet<ProcessorProperty> allProperties = EnumSet.allOf(ProcessorProperty.class);
+        table = new WmiResultTable<>(ProcessorProperty.class);
+        for (int i = 0; i < instances; i++) {
+            table.addRow(new StandInClassObject()
+                    .withString("DeviceID", "CPU" + i)
+                    .withString("Name", " Stand-in Processor @ 3.60GHz ")
+                    .with("NumberOfCores", Wbemcli.CIM_UINT32, 8)
+                    .with("ThreadCount", Wbemcli.CIM_UINT32, 16)
+                    .with("NumberOfLogicalProcessors", Wbemcli.CIM_UINT32, 16)
+                    .withString("Manufacturer", "GenuineIntel")
+                    .with("AddressWidth", Wbemcli.CIM_UINT16, (short) 64)
+                    .with("L2CacheSize", Wbemcli.CIM_UINT32, 2048)
+                    .with("L3CacheSize", Wbemcli.CIM_UINT32, 16384)
+                    .with("MaxClockSpeed", Wbemcli.CIM_UINT32, 3600)
+                    .with("ExtClock", Wbemcli.CIM_UINT32, 100)
+                    .withString("SocketDesignation", "LGA1700")
+                    .withString("Version", "")
+                    .withString("Caption", "Intel64 Family 6 Model 151 Stepping 2")
+                    .with("Family", Wbemcli.CIM_UINT16, (short) 198)
+                    .withString("Stepping", "2")
+                    .with("VirtualizationFirmwareEnabled", Wbemcli.CIM_BOOLEAN, true)
+                    .withString("ProcessorId", "BFEBFBFF00090672"), allProperties);
+        }
+    }
+
+    @Benchmark
+    public void eagerTwoProperties(Blackhole blackhole) {
+        for (Processor processor : mapper.toEntityList(table)) {
+            blackhole.consume(processor.getName());
+            blackhole.consume(processor.getNumberOfCores());
+        }
+    }
+
+    @Benchmark
+    public void lazyTwoProperties(Blackhole blackhole) {
+        for (ProcessorView processor : mapper.toLazyEntityList(table)) {
+            blackhole.consume(processor.getName());
+            blackhole.consume(processor.getNumberOfCores());
+        }
+    }
+
+    @Benchmark
+    public void eagerAllProperties(Blackhole blackhole) {
+        for (Processor processor : mapper.toEntityList(table))
+            blackhole.consume(processor);
+    }
+
+    @Benchmark
+    public void lazyAllProperties(Blackhole blackhole) {
+        for (ProcessorView processor : mapper.toLazyEntityList(table))
+            blackhole.consume(processor.toEntity());
+    }
+}
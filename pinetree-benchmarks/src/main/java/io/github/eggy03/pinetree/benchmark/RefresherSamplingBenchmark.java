@@ -0,0 +1,183 @@
+package io.github.eggy03.pinetree.benchmark;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import io.github.eggy03.pinetree.windows.com.StandInClassObject;
+import io.github.eggy03.pinetree.windows.com.StandInEnumerator;
+import io.github.eggy03.pinetree.windows.com.StandInRefresher;
+import io.github.eggy03.pinetree.windows.com.WmiClassObject;
+import io.github.eggy03.pinetree.windows.com.WmiObjectEnumerator;
+import io.github.eggy03.pinetree.windows.entity.display.VideoController;
+import io.github.eggy03.pinetree.windows.enums.Namespace;
+import io.github.eggy03.pinetree.windows.enums.WmiClassname;
+import io.github.eggy03.pinetree.windows.enums.display.VideoControllerProperty;
+import io.github.eggy03.pinetree.windows.mapper.display.VideoControllerMapper;
+import io.github.eggy03.pinetree.windows.result.WmiResultTable;
+import io.github.eggy03.pinetree.windows.service.RefreshingService;
+import io.github.eggy03.pinetree.windows.util.ComUtil;
+import io.github.eggy03.pinetree.windows.util.WmiUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Cost of one sample of every instance of a class, taken by a {@link RefreshingService} or by a repeated query.
+ * <p>
+ * A query pays one round trip for {@code ExecQuery} and one per batch of {@link WmiUtil#DEFAULT_BATCH_SIZE} objects,
+ * each object being a new one to read and release. A refresher pays a single round trip per sample and updates the
+ * objects it registered once in place. Off Windows, both sides run against the stand-ins of native COM, a round trip
+ * being modelled by parking for {@code roundTripMicros}.
+ * </p>
+ * On Windows, {@code -p source=wmi} samples {@code Win32_VideoController} through WMI instead, with
+ * {@link WmiUtil#getResult(String, String, Class)} on the query side. {@code instances} and {@code roundTripMicros}
+ * are then ignored.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RefresherSamplingBenchmark {
+
+    private static final String NAMESPACE = Namespace.DEFAULT.getValue();
+    private static final String VIDEO_CONTROLLER = WmiClassname.WIN32_VIDEO_CONTROLLER.getClassName();
+
+    /**
+     * {@code stand-in}, or {@code wmi} on Windows
+     */
+    @Param({"stand-in"})
+    public String source;
+
+    @Param({"4", "256"})
+    public int instances;
+
+    /**
+     * The duration of each simulated round trip to the WMI service in microseconds
+     */
+    @Param({"0", "50"})
+    public long roundTripMicros;
+
+    private final VideoControllerMapper mapper = new VideoControllerMapper();
+    private RefreshingService<VideoController> refreshingService;
+    private Supplier<List<VideoController>> query;
+    private int sample = 0;
+
+    @Setup(Level.Trial)
+    public void register() {
+        if ("wmi".equals(source)) {
+            ComUtil.initialize();
+            refreshingService = RefreshingService.ofClass(NAMESPACE, VIDEO_CONTROLLER, VideoControllerProperty.class, mapper);
+            query = () -> mapper.toEntityList(WmiUtil.getResult(NAMESPACE, VIDEO_CONTROLLER, VideoControllerProperty.class));
+            return;
+        }
+
+        List<StandInClassObject> registered = newInstances();
+        StandInRefresher refresher = new StandInRefresher()
+                .withClass(VIDEO_CONTROLLER, registered)
+                .onRefresh(() -> {
+                    roundTrip();
+                    for (StandInClassObject instance : registered)
+                        instance.with("CurrentRefreshRate", Wbemcli.CIM_UINT32, refreshRate());
+                });
+        refreshingService = RefreshingService.ofClass(() -> refresher, VIDEO_CONTROLLER, VideoControllerProperty.class, mapper);
+        query = this::queryStandIns;
+    }
+
+    @TearDown(Level.Trial)
+    public void unregister() {
+        if (!"wmi".equals(source))
+            return;
+
+        // Releasing the refresher needs the COM workers, which only exist on Windows
+        refreshingService.close();
+        ComUtil.uninitialize();
+    }
+
+    @Benchmark
+    public List<VideoController> refresher() {
+        return refreshingService.refresh();
+    }
+
+    @Benchmark
+    public List<VideoController> repeatedQuery() {
+        return query.get();
+    }
+
+    // What WmiUtil.getResult does with a native enumeration
+    private List<VideoController> queryStandIns() {
+        roundTrip();
+        EnumSet<VideoControllerProperty> allProperties = EnumSet.allOf(VideoControllerProperty.class);
+        WmiResultTable<VideoControllerProperty> table = new WmiResultTable<>(VideoControllerProperty.class);
+        WmiClassObject[] batch = new WmiClassObject[WmiUtil.DEFAULT_BATCH_SIZE];
+
+        try (WmiObjectEnumerator enumerator = new StandInEnumerator(newInstances())) {
+            int count;
+            while ((count = nextBatch(enumerator, batch)) > 0) {
+                for (int i = 0; i < count; i++) {
+                    table.addRow(batch[i], allProperties);
+                    batch[i].release();
+                }
+            }
+        } catch (TimeoutException e) {
+            throw new COMException(e.getMessage(), e);
+        }
+        return mapper.toEntityList(table);
+    }
+
+    private int nextBatch(WmiObjectEnumerator enumerator, WmiClassObject[] batch) throws TimeoutException {
+        roundTrip();
+        return enumerator.next(Wbemcli.WBEM_INFINITE, batch);
+    }
+
+    private List<StandInClassObject> newInstances() {
+        int refreshRate = refreshRate();
+        List<StandInClassObject> objects = new ArrayList<>(instances);
+        for (int i = 0; i < instances; i++) {
+            objects.add(new StandInClassObject()
+                    .withString("DeviceID", "VideoController" + (i + 1))
+                    .withString("Name", "Stand-in Display Adapter")
+                    .withString("PNPDeviceID", "PCI\\VEN_0000&DEV_0000\\" + i)
+                    .with("CurrentBitsPerPixel", Wbemcli.CIM_UINT32, 32)
+                    .with("CurrentHorizontalResolution", Wbemcli.CIM_UINT32, 2560)
+                    .with("CurrentVerticalResolution", Wbemcli.CIM_UINT32, 1440)
+                    .with("CurrentRefreshRate", Wbemcli.CIM_UINT32, refreshRate)
+                    .with("MaxRefreshRate", Wbemcli.CIM_UINT32, 165)
+                    .with("MinRefreshRate", Wbemcli.CIM_UINT32, 30)
+                    .withString("AdapterDACType", "Integrated RAMDAC")
+                    .with("AdapterRAM", Wbemcli.CIM_UINT32, 1 << 30)
+                    .with("DriverDate", Wbemcli.CIM_DATETIME, "20260101000000.000000-000")
+                    .withString("DriverVersion", "31.0.101.5590")
+                    .withString("VideoProcessor", "Stand-in Graphics"));
+        }
+        return objects;
+    }
+
+    // Changes from one sample to the next, so that neither side can hand out a stale result
+    private int refreshRate() {
+        return 60 + (sample++ & 63);
+    }
+
+    private void roundTrip() {
+        if (roundTripMicros > 0)
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+    }
+}
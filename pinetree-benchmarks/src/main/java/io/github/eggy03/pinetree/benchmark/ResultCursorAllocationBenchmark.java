@@ -0,0 +1,133 @@
+package io.github.eggy03.pinetree.benchmark;
+
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import io.github.eggy03.pinetree.windows.com.StandInClassObject;
+import io.github.eggy03.pinetree.windows.com.WmiClassObject;
+import io.github.eggy03.pinetree.windows.com.WmiObjectEnumerator;
+import io.github.eggy03.pinetree.windows.enums.processor.ProcessorProperty;
+import io.github.eggy03.pinetree.windows.query.WqlQuery;
+import io.github.eggy03.pinetree.windows.result.ColumnarResult;
+import io.github.eggy03.pinetree.windows.result.ResultCursor;
+import io.github.eggy03.pinetree.windows.result.WmiResultCursor;
+import io.github.eggy03.pinetree.windows.util.WmiUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.CharBuffer;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocations of reading a {@code Win32_Processor} result through a {@link ResultCursor}, streamed from the enumeration
+ * by a {@link WmiResultCursor} or read from a {@link ColumnarResult} filled first. Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm} across the number of instances.
+ * <p>
+ * Each row is read into a reused {@link CharBuffer} and primitives. The streaming cursor decodes every {@code VARIANT}
+ * into slots it reuses for every row, so its allocations are those of opening the cursor and stay the same whatever
+ * the number of rows. The columnar result grows its columns and creates each distinct string once.
+ * </p>
+ * The stand-in objects hand out {@code VARIANT}s laid out in memory like native ones, built once, and are enumerated
+ * by an enumerator rewound for every operation, so the allocations measured are those of reading the result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultCursorAllocationBenchmark {
+
+    // Hands out the same objects on every pass, without recording anything
+    private static final class RewindingEnumerator implements WmiObjectEnumerator {
+
+        private final WmiClassObject[] objects;
+        private int position = 0;
+
+        private RewindingEnumerator(WmiClassObject[] objects) {
+            this.objects = objects;
+        }
+
+        private RewindingEnumerator rewind() {
+            position = 0;
+            return this;
+        }
+
+        @Override
+        public int next(int timeoutMillis, WmiClassObject[] batch) {
+            int count = Math.min(batch.length, objects.length - position);
+            System.arraycopy(objects, position, batch, 0, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+            // Nothing to release, the objects are reused by the next pass
+        }
+    }
+
+    @Param({"64", "1024", "16384"})
+    public int instances;
+
+    private final WqlQuery<ProcessorProperty> query = WqlQuery.from(ProcessorProperty.class).select(EnumSet.of(
+            ProcessorProperty.Name, ProcessorProperty.NumberOfCores, ProcessorProperty.VirtualizationFirmwareEnabled,
+            ProcessorProperty.L3CacheSize));
+    private final CharBuffer name = CharBuffer.allocate(128);
+    private StandInClassObject[] objects;
+    private RewindingEnumerator enumerator;
+
+    @Setup(Level.Trial)
+    public void createObjects() {
+        objects = new StandInClassObject[instances];
+        for (int i = 0; i < instances; i++) {
+            objects[i] = new StandInClassObject()
+                    .withString("DeviceID", "CPU" + i)
+                    .withString("Name", " Stand-in Processor " + i + " @ 3.60GHz ")
+                    .with("NumberOfCores", Wbemcli.CIM_UINT32, 8)
+                    .with("L3CacheSize", Wbemcli.CIM_UINT32, 16384)
+                    .with("VirtualizationFirmwareEnabled", Wbemcli.CIM_BOOLEAN, i % 2 == 0);
+        }
+        enumerator = new RewindingEnumerator(objects);
+    }
+
+    @Benchmark
+    public long streamingCursor() {
+        try (ResultCursor<ProcessorProperty> cursor = new WmiResultCursor<>(enumerator.rewind(), query,
+                WmiUtil.DEFAULT_BATCH_SIZE, Wbemcli.WBEM_INFINITE, () -> {
+        })) {
+            return read(cursor);
+        }
+    }
+
+    @Benchmark
+    public long columnarCursor() {
+        ColumnarResult<ProcessorProperty> result = new ColumnarResult<>(ProcessorProperty.class);
+        for (StandInClassObject object : objects)
+            result.addRow(object, query.getSelectedProperties());
+        return read(result.cursor());
+    }
+
+    private long read(ResultCursor<ProcessorProperty> cursor) {
+        long sum = 0;
+        while (cursor.next()) {
+            name.clear();
+            sum += cursor.getString(ProcessorProperty.Name, name);
+            sum += name.get(0);
+            sum += cursor.getInt(ProcessorProperty.NumberOfCores);
+            sum += cursor.getLong(ProcessorProperty.L3CacheSize);
+            if (cursor.getBoolean(ProcessorProperty.VirtualizationFirmwareEnabled))
+                sum++;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.eggy03.pinetree.benchmark;
+
+import io.github.eggy03.pinetree.windows.concurrent.ComExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Throughput of 10,000 concurrent virtual-thread callers, each making one blocking COM call.
+ * <p>
+ * A native COM call blocks the thread that makes it, so a virtual thread calling COM directly pins its carrier for the
+ * duration of the call, which is modelled by parking inside a {@code synchronized} block. {@code offloaded} hands every
+ * call to a {@link ComExecutor} and parks the virtual thread cheaply until the result is ready, which is the execution
+ * model of the managed service methods. The workers are plain threads, the call itself being simulated.
+ * </p>
+ * Both modes bound the number of calls in flight, {@code offloaded} by its workers and {@code pinned} by the carriers
+ * of the virtual threads, so the comparison shows the cost of the hop against the cost of pinning.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadCallersBenchmark {
+
+    private static final int CALLERS = 10_000;
+
+    /**
+     * The duration of each simulated COM call in microseconds
+     */
+    @Param({"0", "100"})
+    public long callMicros;
+
+    @Param({"8"})
+    public int workers;
+
+    private ComExecutor executor;
+    private final LongAdder completed = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void startWorkers() {
+        executor = ComExecutor.builder()
+                .threads(workers)
+                .threadFactory(Thread.ofPlatform().daemon().name("benchmark-com-", 0).factory())
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopWorkers() {
+        executor.shutdown();
+    }
+
+    private Long comCall() {
+        if (callMicros > 0)
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(callMicros));
+        completed.increment();
+        return completed.sum();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLERS)
+    public void offloaded() {
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++)
+                callers.execute(() -> executor.call(this::comCall));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLERS)
+    public void pinned() {
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                Object monitor = new Object();
+                callers.execute(() -> {
+                    synchronized (monitor) {
+                        comCall();
+                    }
+                });
+            }
+        }
+    }
+}
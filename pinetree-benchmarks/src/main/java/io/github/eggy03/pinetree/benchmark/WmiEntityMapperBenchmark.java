@@ -0,0 +1,130 @@
+package io.github.eggy03.pinetree.benchmark;
+
+import com.google.gson.annotations.SerializedName;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import io.github.eggy03.pinetree.windows.annotation.WmiClass;
+import io.github.eggy03.pinetree.windows.com.StandInClassObject;
+import io.github.eggy03.pinetree.windows.com.WmiClassObject;
+import io.github.eggy03.pinetree.windows.entity.processor.Processor;
+import io.github.eggy03.pinetree.windows.enums.processor.ProcessorProperty;
+import io.github.eggy03.pinetree.windows.mapper.WmiEntityMapper;
+import io.github.eggy03.pinetree.windows.mapper.processor.ProcessorMapper;
+import io.github.eggy03.pinetree.windows.result.WmiResultTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of decoding {@code Win32_Processor} objects straight into entities with {@link WmiEntityMapper#map(WmiClassObject)},
+ * for a Lombok entity built through its builder and for a record built through its canonical constructor, against
+ * reading every object into a {@link WmiResultTable} first and mapping the table with the generated mapper.
+ * <p>
+ * {@link WmiEntityMapper} decodes each {@code VARIANT} with a decoder chosen from the CIM type of its property and hands
+ * the values to the construction of the entity, held as a constant so that the JIT inlines it. Run with
+ * {@code -prof gc} to compare the allocations per row as well.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WmiEntityMapperBenchmark {
+
+    @WmiClass("Win32_Processor")
+    public record ProcessorRecord(@SerializedName("DeviceID") String deviceId,
+                                  @SerializedName("Name") String name,
+                                  @SerializedName("NumberOfCores") Integer numberOfCores,
+                                  @SerializedName("ThreadCount") Integer threadCount,
+                                  @SerializedName("NumberOfLogicalProcessors") Integer numberOfLogicalProcessors,
+                                  @SerializedName("Manufacturer") String manufacturer,
+                                  @SerializedName("AddressWidth") Integer addressWidth,
+                                  @SerializedName("L2CacheSize") Integer l2CacheSize,
+                                  @SerializedName("L3CacheSize") Integer l3CacheSize,
+                                  @SerializedName("MaxClockSpeed") Integer maxClockSpeed,
+                                  @SerializedName("ExtClock") Integer extClock,
+                                  @SerializedName("SocketDesignation") String socketDesignation,
+                                  @SerializedName("Version") String version,
+                                  @SerializedName("Caption") String caption,
+                                  @SerializedName("Family") Integer family,
+                                  @SerializedName("Stepping") String stepping,
+                                  @SerializedName("VirtualizationFirmwareEnabled") Boolean virtualizationFirmwareEnabled,
+                                  @SerializedName("ProcessorId") String processorId) {
+    }
+
+    @Param({"1", "64", "1024"})
+    public int instances;
+
+    private final ProcessorMapper mapper = new ProcessorMapper();
+    private final EnumSet<ProcessorProperty> allProperties = EnumSet.allOf(ProcessorProperty.class);
+    private WmiEntityMapper<Processor> builderMapper;
+    private WmiEntityMapper<ProcessorRecord> recordMapper;
+    private List<StandInClassObject> objects;
+
+    @Setup(Level.Trial)
+    public void createObjects() {
+        builderMapper = WmiEntityMapper.of(Processor.class);
+        recordMapper = WmiEntityMapper.of(ProcessorRecord.class);
+        objects = new ArrayList<>(instances);
+        for (int i = 0; i < instances; i++) {
+            objects.add(new StandInClassObject()
+                    .withString("DeviceID", "CPU" + i)
+                    .withString("Name", "Stand-in Processor @ 3.60GHz")
+                    .with("NumberOfCores", Wbemcli.CIM_UINT32, 8)
+                    .with("ThreadCount", Wbemcli.CIM_UINT32, 16)
+                    .with("NumberOfLogicalProcessors", Wbemcli.CIM_UINT32, 16)
+                    .withString("Manufacturer", "GenuineIntel")
+                    .with("AddressWidth", Wbemcli.CIM_UINT16, (short) 64)
+                    .with("L2CacheSize", Wbemcli.CIM_UINT32, 2048)
+                    .with("L3CacheSize", Wbemcli.CIM_UINT32, 16384)
+                    .with("MaxClockSpeed", Wbemcli.CIM_UINT32, 3600)
+                    .with("ExtClock", Wbemcli.CIM_UINT32, 100)
+                    .withString("SocketDesignation", "LGA1700")
+                    .withString("Version", "")
+                    .withString("Caption", "Intel64 Family 6 Model 151 Stepping 2")
+                    .with("Family", Wbemcli.CIM_UINT16, (short) 198)
+                    .withString("Stepping", "2")
+                    .with("VirtualizationFirmwareEnabled", Wbemcli.CIM_BOOLEAN, true)
+                    .withString("ProcessorId", "BFEBFBFF00090672"));
+        }
+    }
+
+    @Benchmark
+    public List<Processor> builderEntity() {
+        List<Processor> rows = new ArrayList<>(objects.size());
+        for (StandInClassObject object : objects)
+            rows.add(builderMapper.map(object));
+        return rows;
+    }
+
+    @Benchmark
+    public List<ProcessorRecord> recordEntity() {
+        List<ProcessorRecord> rows = new ArrayList<>(objects.size());
+        for (StandInClassObject object : objects)
+            rows.add(recordMapper.map(object));
+        return rows;
+    }
+
+    @Benchmark
+    public List<Processor> resultTable() {
+        WmiResultTable<ProcessorProperty> table = new WmiResultTable<>(ProcessorProperty.class);
+        for (StandInClassObject object : objects)
+            table.addRow(object, allProperties);
+        return mapper.toEntityList(table);
+    }
+}
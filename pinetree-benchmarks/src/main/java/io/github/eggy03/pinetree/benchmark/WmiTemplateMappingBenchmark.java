@@ -0,0 +1,119 @@
+package io.github.eggy03.pinetree.benchmark;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import io.github.eggy03.pinetree.windows.com.StandInClassObject;
+import io.github.eggy03.pinetree.windows.com.StandInEnumerator;
+import io.github.eggy03.pinetree.windows.com.WmiClassObject;
+import io.github.eggy03.pinetree.windows.com.WmiObjectEnumerator;
+import io.github.eggy03.pinetree.windows.entity.processor.Processor;
+import io.github.eggy03.pinetree.windows.enums.processor.ProcessorProperty;
+import io.github.eggy03.pinetree.windows.mapper.WmiEntityMapper;
+import io.github.eggy03.pinetree.windows.mapper.processor.ProcessorMapper;
+import io.github.eggy03.pinetree.windows.result.WmiResultTable;
+import io.github.eggy03.pinetree.windows.service.WmiTemplate;
+import io.github.eggy03.pinetree.windows.util.WmiUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Cost of turning the objects of a {@code Win32_Processor} enumeration into entities, through {@link WmiTemplate} or
+ * through the generated {@link ProcessorMapper}.
+ * <p>
+ * {@link WmiTemplate} maps each object with {@link WmiEntityMapper#map(WmiClassObject)} while it is enumerated. The
+ * generated mapper reads every object into a {@link WmiResultTable} first and maps the table once the enumeration is
+ * over. Both sides enumerate the same stand-in objects in batches of {@link WmiUtil#DEFAULT_BATCH_SIZE}, releasing each
+ * object once read, so only the mapping differs. Run with {@code -prof gc} to compare the allocations per row as well.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WmiTemplateMappingBenchmark {
+
+    @Param({"1", "64", "1024"})
+    public int instances;
+
+    private final ProcessorMapper mapper = new ProcessorMapper();
+    private final EnumSet<ProcessorProperty> allProperties = EnumSet.allOf(ProcessorProperty.class);
+    private WmiEntityMapper<Processor> entityMapper;
+    private List<StandInClassObject> objects;
+
+    @Setup(Level.Trial)
+    public void createObjects() {
+        entityMapper = WmiEntityMapper.of(Processor.class);
+        objects = new ArrayList<>(instances);
+        for (int i = 0; i < instances; i++) {
+            objects.add(new StandInClassObject()
+                    .withString("DeviceID", "CPU" + i)
+                    .withString("Name", "Stand-in Processor @ 3.60GHz")
+                    .with("NumberOfCores", Wbemcli.CIM_UINT32, 8)
+                    .with("ThreadCount", Wbemcli.CIM_UINT32, 16)
+                    .with("NumberOfLogicalProcessors", Wbemcli.CIM_UINT32, 16)
+                    .withString("Manufacturer", "GenuineIntel")
+                    .with("AddressWidth", Wbemcli.CIM_UINT16, 64)
+                    .with("L2CacheSize", Wbemcli.CIM_UINT32, 2048)
+                    .with("L3CacheSize", Wbemcli.CIM_UINT32, 16384)
+                    .with("MaxClockSpeed", Wbemcli.CIM_UINT32, 3600)
+                    .with("ExtClock", Wbemcli.CIM_UINT32, 100)
+                    .withString("SocketDesignation", "LGA1700")
+                    .withString("Version", "")
+                    .withString("Caption", "Intel64 Family 6 Model 151 Stepping 2")
+                    .with("Family", Wbemcli.CIM_UINT16, 198)
+                    .withString("Stepping", "2")
+                    .with("VirtualizationFirmwareEnabled", Wbemcli.CIM_BOOLEAN, true)
+                    .withString("ProcessorId", "BFEBFBFF00090672"));
+        }
+    }
+
+    @Benchmark
+    public List<Processor> template() {
+        List<Processor> rows = new ArrayList<>();
+        enumerate(object -> rows.add(entityMapper.map(object)));
+        return rows;
+    }
+
+    @Benchmark
+    public List<Processor> generatedMapper() {
+        WmiResultTable<ProcessorProperty> table = new WmiResultTable<>(ProcessorProperty.class);
+        enumerate(object -> table.addRow(object, allProperties));
+        return mapper.toEntityList(table);
+    }
+
+    // What WmiUtil does with a native enumeration, minus the connection
+    private void enumerate(Consumer<WmiClassObject> action) {
+        WmiClassObject[] batch = new WmiClassObject[WmiUtil.DEFAULT_BATCH_SIZE];
+
+        try (WmiObjectEnumerator enumerator = new StandInEnumerator(objects)) {
+            int count;
+            while ((count = enumerator.next(Wbemcli.WBEM_INFINITE, batch)) > 0) {
+                for (int i = 0; i < count; i++) {
+                    action.accept(batch[i]);
+                    batch[i].release();
+                }
+            }
+        } catch (TimeoutException e) {
+            throw new COMException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package io.github.eggy03.pinetree.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.FilerException;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates the property enum, the mapper and the service of every entity annotated with
+ * {@code io.github.eggy03.pinetree.windows.annotation.WmiClass}.
+ * <p>
+ * The entity is read from its source: each non-static field annotated with {@code @SerializedName} becomes a property
+ * enum constant and a mapper line converting the raw value with the {@code CastUtil} column converter matching the field
+ * type, which is resolved here once instead of being looked up at run time. The generated code is plain Java, it uses
+ * neither reflection nor lookup tables.
+ * </p>
+ * The generated services only name their class, property enum and mapper, their queries being implemented by
+ * {@code AbstractWmiService}, or {@code AbstractKeyedWmiService} for entities with a key.
+ * Every entity also gets a lazy view, e.g. {@code ProcessorView}, which holds the raw values of a result row and converts
+ * each property on first access, and a mapper able to return such views.
+ * Types that already exist in the sources are not generated, so a hand-written class always takes precedence.
+ * The entity must have a builder, e.g. through Lombok's {@code @Builder}. Records are skipped, they are only mapped at
+ * run time through {@code WmiEntityMapper}. Unsupported field types or an unknown key are reported as compilation errors on the entity.
+ *
+ * @since 1.0
+ */
+@SupportedAnnotationTypes(WmiClassProcessor.WMI_CLASS)
+public class WmiClassProcessor extends AbstractProcessor {
+
+    static final String WMI_CLASS = "io.github.eggy03.pinetree.windows.annotation.WmiClass";
+    private static final String WMI_CLASSNAME = "io.github.eggy03.pinetree.windows.enums.WmiClassname";
+    private static final String SERIALIZED_NAME = "com.google.gson.annotations.SerializedName";
+
+    private static final Map<String, String> CONVERTERS = Map.of(
+            "java.lang.String", "toStringValue",
+            "java.lang.Integer", "toIntegerValue",
+            "java.lang.Long", "toLongValue",
+            "java.lang.Boolean", "toBooleanValue"
+    );
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                // Records have no builder, they are mapped at run time by WmiEntityMapper
+                if (element.getKind() == ElementKind.RECORD)
+                    continue;
+                if (element.getKind() != ElementKind.CLASS) {
+                    error(element, "@WmiClass is only supported on classes");
+                    continue;
+                }
+
+                WmiEntityModel model = read((TypeElement) element);
+                if (model != null)
+                    generate((TypeElement) element, model);
+            }
+        }
+        return true;
+    }
+
+    private WmiEntityModel read(TypeElement entity) {
+        Elements elements = processingEnv.getElementUtils();
+
+        AnnotationMirror wmiClass = findAnnotation(entity, WMI_CLASS);
+        String wmiClassName = null;
+        String namespace = null;
+        String keyName = "";
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements.getElementValuesWithDefaults(wmiClass).entrySet()) {
+            Object value = entry.getValue().getValue();
+            switch (entry.getKey().getSimpleName().toString()) {
+                case "value" -> wmiClassName = (String) value;
+                case "namespace" -> namespace = (String) value;
+                case "key" -> keyName = (String) value;
+                default -> {
+                    // attributes added later are not used by the generator
+                }
+            }
+        }
+
+        boolean valid = true;
+        List<WmiEntityModel.Property> properties = new ArrayList<>();
+        WmiEntityModel.Property key = null;
+        for (VariableElement field : ElementFilter.fieldsIn(entity.getEnclosedElements())) {
+            AnnotationMirror serializedName = findAnnotation(field, SERIALIZED_NAME);
+            if (serializedName == null || field.getModifiers().contains(Modifier.STATIC))
+                continue;
+
+            String fieldType = qualifiedName(field.asType());
+            String converter = CONVERTERS.get(fieldType);
+            if (converter == null) {
+                error(field, "Unsupported @WmiClass field type " + field.asType() + ", expected one of " + CONVERTERS.keySet());
+                valid = false;
+                continue;
+            }
+
+            String wmiName = (String) elements.getElementValuesWithDefaults(serializedName).entrySet().stream()
+                    .filter(entry -> entry.getKey().getSimpleName().contentEquals("value"))
+                    .findFirst()
+                    .orElseThrow()
+                    .getValue()
+                    .getValue();
+
+            WmiEntityModel.Property property = new WmiEntityModel.Property(wmiName, field.getSimpleName().toString(),
+                    fieldType.substring(fieldType.lastIndexOf('.') + 1), converter);
+            properties.add(property);
+            if (wmiName.equals(keyName)) {
+                if (!fieldType.equals("java.lang.String")) {
+                    error(field, "The key property " + keyName + " must be a String");
+                    valid = false;
+                }
+                key = property;
+            }
+        }
+
+        if (properties.isEmpty()) {
+            error(entity, "@WmiClass entities need at least one field annotated with @SerializedName");
+            valid = false;
+        }
+        if (!keyName.isEmpty() && key == null) {
+            error(entity, "The key property " + keyName + " is not a @SerializedName of any field");
+            valid = false;
+        }
+        if (!valid)
+            return null;
+
+        return new WmiEntityModel(
+                elements.getPackageOf(entity).getQualifiedName().toString(),
+                entity.getSimpleName().toString(),
+                wmiClassName,
+                namespace,
+                classnameConstant(wmiClassName),
+                key,
+                List.copyOf(properties),
+                seeTags(elements.getDocComment(entity))
+        );
+    }
+
+    private void generate(TypeElement entity, WmiEntityModel model) {
+        WmiSourceGenerator generator = new WmiSourceGenerator(model);
+        write(entity, model.packageOf("enums"), model.propertyEnumName(), generator.propertyEnum());
+        write(entity, model.packageOf("mapper"), model.mapperName(), generator.mapper());
+
+        // Views stand in for the entity in user code, so they live next to it
+        write(entity, model.entityPackage(), model.viewName(), generator.view());
+
+        // Services rely on the per-class settings keyed by WmiClassname, such as the watchdog timeouts
+        if (model.classnameConstant() != null)
+            write(entity, model.packageOf("service"), model.serviceName(), generator.service());
+        else if (processingEnv.getElementUtils().getTypeElement(model.packageOf("service") + "." + model.serviceName()) == null)
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    model.wmiClassName() + " is not listed in WmiClassname, no service is generated for " + model.entityName(), entity);
+    }
+
+    /**
+     * Finds the {@code WmiClassname} constant of a class, whose name is the class name in upper snake case,
+     * e.g. {@code WIN32_DESKTOP_MONITOR} for {@code Win32_DesktopMonitor}.
+     */
+    private String classnameConstant(String wmiClassName) {
+        TypeElement classnames = processingEnv.getElementUtils().getTypeElement(WMI_CLASSNAME);
+        if (classnames == null)
+            return null;
+
+        String normalized = normalize(wmiClassName);
+        for (Element constant : classnames.getEnclosedElements()) {
+            if (constant.getKind() == ElementKind.ENUM_CONSTANT && normalize(constant.getSimpleName().toString()).equals(normalized))
+                return constant.getSimpleName().toString();
+        }
+        return null;
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toUpperCase(Locale.ROOT);
+    }
+
+    private void write(TypeElement entity, String packageName, String simpleName, String source) {
+        String qualifiedName = packageName + "." + simpleName;
+
+        // Hand-written classes take precedence
+        if (processingEnv.getElementUtils().getTypeElement(qualifiedName) != null)
+            return;
+
+        Filer filer = processingEnv.getFiler();
+        try {
+            JavaFileObject file = filer.createSourceFile(qualifiedName, entity);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+        } catch (FilerException e) {
+            // Already generated in an earlier round
+        } catch (IOException e) {
+            error(entity, "Failed to write " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(annotationName))
+                return mirror;
+        }
+        return null;
+    }
+
+    private static String qualifiedName(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED)
+            return type.toString();
+        return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+    }
+
+    private static List<String> seeTags(String docComment) {
+        if (docComment == null)
+            return List.of();
+
+        return docComment.lines()
+                .map(String::strip)
+                .filter(line -> line.startsWith("@see "))
+                .toList();
+    }
+
+    private void error(Element element, String message) {
+        Messager messager = processingEnv.getMessager();
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
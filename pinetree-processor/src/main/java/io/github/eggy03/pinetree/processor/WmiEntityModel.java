@@ -0,0 +1,87 @@
+package io.github.eggy03.pinetree.processor;
+
+import java.util.List;
+
+/**
+ * What the generated sources need to know about an entity annotated with {@code @WmiClass}.
+ *
+ * @param entityPackage     package of the entity
+ * @param entityName        simple name of the entity
+ * @param wmiClassName      name of the WMI class
+ * @param namespace         namespace of the WMI class
+ * @param classnameConstant name of the matching {@code WmiClassname} constant, {@code null} if the class is not listed
+ * @param key               the key property, {@code null} if the entity is not keyed
+ * @param properties        the properties, in field declaration order
+ * @param seeTags           the {@code @see} tags of the entity documentation, copied to the property enum
+ */
+record WmiEntityModel(String entityPackage, String entityName, String wmiClassName, String namespace, String classnameConstant,
+                      Property key, List<Property> properties, List<String> seeTags) {
+
+    String propertyEnumName() {
+        return entityName + "Property";
+    }
+
+    String mapperName() {
+        return entityName + "Mapper";
+    }
+
+    String serviceName() {
+        return entityName + "Service";
+    }
+
+    String viewName() {
+        return entityName + "View";
+    }
+
+    /**
+     * Returns the package of a generated type, the {@code entity} segment of the entity package being replaced by
+     * {@code layer}. Entities outside of an {@code entity} package get their generated types in their own package.
+     */
+    String packageOf(String layer) {
+        String[] segments = entityPackage.split("\\.");
+        for (int i = segments.length - 1; i >= 0; i--) {
+            if (segments[i].equals("entity")) {
+                segments[i] = layer;
+                return String.join(".", segments);
+            }
+        }
+        return entityPackage;
+    }
+
+    /**
+     * A field of the entity holding a WMI property.
+     *
+     * @param wmiName   the case-sensitive name of the WMI property, from {@code @SerializedName}
+     * @param fieldName the name of the field, which is also the name of its builder method
+     * @param type      the simple name of the field type, a {@code java.lang} class
+     * @param converter the {@code CastUtil} method converting the raw value into the field type
+     */
+    record Property(String wmiName, String fieldName, String type, String converter) {
+
+        String getterName() {
+            return "get" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+        }
+
+        /**
+         * @return the {@code CastUtil} method choosing the converter of a whole column from its VARIANT type,
+         * e.g. {@code integerConverter}
+         */
+        String columnConverter() {
+            return Character.toLowerCase(type.charAt(0)) + type.substring(1) + "Converter";
+        }
+
+        /**
+         * @return the name of the local variable holding the column converter in the generated mapper
+         */
+        String converterVariable() {
+            return fieldName + "Converter";
+        }
+
+        /**
+         * @return the {@code ColumnarResult} getter reading the column into the field type, e.g. {@code getIntegerValue}
+         */
+        String columnGetter() {
+            return "get" + type + "Value";
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package io.github.eggy03.pinetree.processor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Renders the sources generated for a {@link WmiEntityModel}.
+ * <p>
+ * Templates use {@code $Name$} placeholders. The generated classes follow the layout of the hand-written ones they replace.
+ * </p>
+ */
+final class WmiSourceGenerator {
+
+    private static final String LIBRARY = "io.github.eggy03.pinetree.windows";
+    private static final String GENERATED = "@Generated(\"" + WmiClassProcessor.class.getName() + "\")";
+
+    private final WmiEntityModel model;
+    private final Map<String, String> placeholders;
+
+    WmiSourceGenerator(WmiEntityModel model) {
+        this.model = model;
+        this.placeholders = Map.ofEntries(
+                Map.entry("$Library$", LIBRARY),
+                Map.entry("$Generated$", GENERATED),
+                Map.entry("$Entity$", model.entityName()),
+                Map.entry("$entity$", decapitalize(model.entityName())),
+                Map.entry("$EntityPackage$", model.entityPackage()),
+                Map.entry("$Property$", model.propertyEnumName()),
+                Map.entry("$PropertyPackage$", model.packageOf("enums")),
+                Map.entry("$Mapper$", model.mapperName()),
+                Map.entry("$MapperPackage$", model.packageOf("mapper")),
+                Map.entry("$Service$", model.serviceName()),
+                Map.entry("$View$", model.viewName()),
+                Map.entry("$ServicePackage$", model.packageOf("service")),
+                Map.entry("$WmiClassName$", model.wmiClassName()),
+                Map.entry("$Namespace$", model.namespace()),
+                Map.entry("$Classname$", String.valueOf(model.classnameConstant()))
+        );
+    }
+
+    String propertyEnum() {
+        String constants = model.properties().stream()
+                .map(property -> "    " + property.wmiName())
+                .collect(Collectors.joining(",\n"));
+        String seeTags = model.seeTags().stream()
+                .map(tag -> " * " + tag + "\n")
+                .collect(Collectors.joining());
+
+        return render("""
+                package $PropertyPackage$;
+
+                import $EntityPackage$.$Entity$;
+
+                import javax.annotation.processing.Generated;
+
+                /**
+                 * Defines the retrievable properties of the {@code $WmiClassName$} WMI class, one per field of {@link $Entity$}.
+                 * <p>
+                 * Values are case-sensitive and exactly represent the property names of the WMI class.
+                 * Generated from {@link $Entity$}, do not edit.
+                 * </p>
+                 * @since 1.0
+                $SeeTags$ */
+                $Generated$
+                public enum $Property$ {
+
+                $Constants$
+                }
+                """)
+                .replace("$SeeTags$", seeTags)
+                .replace("$Constants$", constants);
+    }
+
+    String mapper() {
+        String converters = model.properties().stream()
+                .map(WmiEntityModel.Property::columnConverter)
+                .collect(Collectors.toCollection(TreeSet::new))
+                .stream()
+                .map(converter -> "import static " + LIBRARY + ".util.CastUtil." + converter + ";")
+                .collect(Collectors.joining("\n"));
+        String columns = model.properties().stream()
+                .map(property -> "        Function<Object, " + property.type() + "> " + property.converterVariable() + " = "
+                        + property.columnConverter() + "(result.getVtType(" + model.propertyEnumName() + "." + property.wmiName() + "));")
+                .collect(Collectors.joining("\n"));
+        String fields = model.properties().stream()
+                .map(property -> "                    ." + property.fieldName() + "(" + property.converterVariable()
+                        + ".apply(result.getValue(" + model.propertyEnumName() + "." + property.wmiName() + ", i)))")
+                .collect(Collectors.joining("\n"));
+        String columnFields = model.properties().stream()
+                .map(property -> "                    ." + property.fieldName() + "(result." + property.columnGetter()
+                        + "(" + model.propertyEnumName() + "." + property.wmiName() + ", i))")
+                .collect(Collectors.joining("\n"));
+        return render("""
+                package $MapperPackage$;
+
+                import com.sun.jna.platform.win32.COM.WbemcliUtil;
+                import $EntityPackage$.$Entity$;
+                import $PropertyPackage$.$Property$;
+                import $Library$.mapper.CommonMappingInterface;
+                import $Library$.result.ColumnarResult;
+                import $EntityPackage$.$View$;
+                import javax.annotation.processing.Generated;
+                import java.util.ArrayList;
+                import java.util.List;
+                import java.util.function.Function;
+
+                $Converters$
+
+                /**
+                 * Maps raw WMI query results into {@link $Entity$} entities.
+                 * <p>
+                 * Each column is converted by a {@link $Library$.util.CastUtil} converter matching the type of its field,
+                 * chosen at compile time, and specialized for the VARIANT type of its values once per result.
+                 * Generated from {@link $Entity$}, do not edit.
+                 * </p>
+                 *
+                 * <h2>Thread Safety</h2>
+                 * Instances are stateless and therefore thread-safe.
+                 * @since 1.0
+                 */
+                $Generated$
+                public class $Mapper$ implements CommonMappingInterface<$Entity$, $Property$> {
+
+                    /**
+                     * Maps WMI result data into a list of {@link $Entity$} entities.
+                     *
+                     * @param result the WMI query result containing properties defined in {@link $Property$}
+                     * @return a list of mapped {@link $Entity$} instances
+                     */
+                    @Override
+                    public List<$Entity$> toEntityList(WbemcliUtil.WmiResult<$Property$> result) {
+
+                        // Chosen once per column, every value of a column being decoded from the same VARIANT type
+                $Columns$
+
+                        int resultCount = result.getResultCount();
+                        List<$Entity$> $entity$List = new ArrayList<>(resultCount);
+
+                        for (int i = 0; i < resultCount; i++) {
+                            $entity$List.add($Entity$.builder()
+                $Fields$
+                                    .build());
+                        }
+                        return $entity$List;
+                    }
+
+                    /**
+                     * Maps a columnar result into a list of {@link $Entity$} entities, reading each column with the
+                     * {@link ColumnarResult} getter matching the type of its field.
+                     *
+                     * @param result the columnar query result containing properties defined in {@link $Property$}
+                     * @return a list of mapped {@link $Entity$} instances
+                     */
+                    @Override
+                    public List<$Entity$> toEntityList(ColumnarResult<$Property$> result) {
+
+                        int rowCount = result.getRowCount();
+                        List<$Entity$> $entity$List = new ArrayList<>(rowCount);
+
+                        for (int i = 0; i < rowCount; i++) {
+                            $entity$List.add($Entity$.builder()
+                $ColumnFields$
+                                    .build());
+                        }
+                        return $entity$List;
+                    }
+
+                    /**
+                     * Maps WMI result data into {@link $View$} views, which convert each property on first access.
+                     *
+                     * @param result the WMI query result containing properties defined in {@link $Property$}
+                     * @return a list of {@link $View$} views, one per row of the result
+                     */
+                    @Override
+                    public List<$View$> toLazyEntityList(WbemcliUtil.WmiResult<$Property$> result) {
+
+                        int resultCount = result.getResultCount();
+                        List<$View$> viewList = new ArrayList<>(resultCount);
+
+                        for (int i = 0; i < resultCount; i++)
+                            viewList.add(new $View$(result, i));
+                        return viewList;
+                    }
+                }
+                """)
+                .replace("$Converters$", converters)
+                .replace("$Columns$", columns)
+                .replace("$Fields$", fields)
+                .replace("$ColumnFields$", columnFields);
+    }
+
+    String view() {
+        List<WmiEntityModel.Property> properties = model.properties();
+        String converters = properties.stream()
+                .map(WmiEntityModel.Property::converter)
+                .collect(Collectors.toCollection(TreeSet::new))
+                .stream()
+                .map(converter -> "import static " + LIBRARY + ".util.CastUtil." + converter + ";")
+                .collect(Collectors.joining("\n"));
+        String rawValues = properties.stream()
+                .map(property -> "                result.getValue(" + model.propertyEnumName() + "." + property.wmiName() + ", row)")
+                .collect(Collectors.joining(",\n"));
+        String getters = IntStream.range(0, properties.size())
+                .mapToObj(i -> {
+                    WmiEntityModel.Property property = properties.get(i);
+                    return """
+
+                                /**
+                                 * @return the converted {@code $WmiName$} property, as returned by {@code $Entity$.$Getter$()}
+                                 */
+                                @Nullable
+                                public $Type$ $Getter$() {
+                                    Object value = values[$Index$];
+                                    if (value == UNDECODED)
+                                        values[$Index$] = value = $Converter$(raw[$Index$]);
+                                    return ($Type$) value;
+                                }
+                            """
+                            .replace("$Type$", property.type())
+                            .replace("$Getter$", property.getterName())
+                            .replace("$Index$", String.valueOf(i))
+                            .replace("$Converter$", property.converter())
+                            .replace("$WmiName$", property.wmiName());
+                })
+                .map(this::render)
+                .collect(Collectors.joining());
+        String equalities = properties.stream()
+                .map(property -> "Objects.equals(" + property.getterName() + "(), other." + property.getterName() + "())")
+                .collect(Collectors.joining("\n                && "));
+        String fields = properties.stream()
+                .map(property -> "                ." + property.fieldName() + "(" + property.getterName() + "())")
+                .collect(Collectors.joining("\n"));
+
+        return render("""
+                package $EntityPackage$;
+
+                import com.google.gson.annotations.JsonAdapter;
+                import com.sun.jna.platform.win32.COM.WbemcliUtil;
+                import $PropertyPackage$.$Property$;
+                import $Library$.mapper.EntityView;
+                import $Library$.mapper.EntityViewTypeAdapterFactory;
+                import org.jetbrains.annotations.Nullable;
+
+                import javax.annotation.processing.Generated;
+                import java.util.Arrays;
+                import java.util.Objects;
+
+                $Converters$
+
+                /**
+                 * A row of a {@link WbemcliUtil.WmiResult} standing in for a {@link $Entity$}, converting each property on first access.
+                 * <p>
+                 * The view copies the raw values of its row and has a getter per property of the entity, with the same name.
+                 * Each getter converts its property with the same {@link $Library$.util.CastUtil} method as the mapper and
+                 * memoizes the result, so properties that are never read are never converted.
+                 * {@code hashCode}, {@code toString} and the Gson output are those of the converted entity, and views are equal
+                 * when their properties are. Use {@link #toEntity()} to get a {@link $Entity$}, e.g. to modify a copy of it.
+                 * Generated from {@link $Entity$}, do not edit.
+                 * </p>
+                 *
+                 * <h2>Thread Safety</h2>
+                 * Instances are thread-safe.
+                 * @since 1.0
+                 * @see EntityView
+                 */
+                $Generated$
+                @JsonAdapter(EntityViewTypeAdapterFactory.class)
+                public final class $View$ implements EntityView<$Entity$> {
+
+                    // Marks the properties not converted yet, null being a valid converted value
+                    private static final Object UNDECODED = new Object();
+
+                    private final Object[] raw;
+
+                    // Converted values are immutable, so racing first accesses at worst convert a property twice
+                    private final Object[] values = new Object[$PropertyCount$];
+
+                    /**
+                     * Creates a view of a row, copying its raw values. Nothing is converted until a getter is called.
+                     *
+                     * @param result the WMI query result containing properties defined in {@link $Property$}
+                     * @param row    the index of the row in the result
+                     */
+                    public $View$(WbemcliUtil.WmiResult<$Property$> result, int row) {
+                        this.raw = new Object[]{
+                $RawValues$
+                        };
+                        Arrays.fill(values, UNDECODED);
+                    }
+                $Getters$
+                    @Override
+                    public $Entity$ toEntity() {
+                        return $Entity$.builder()
+                $Fields$
+                                .build();
+                    }
+
+                    @Override
+                    public boolean equals(Object o) {
+                        if (this == o)
+                            return true;
+                        if (!(o instanceof $View$ other))
+                            return false;
+                        return $Equalities$;
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return toEntity().hashCode();
+                    }
+
+                    @Override
+                    public String toString() {
+                        return toEntity().toString();
+                    }
+                }
+                """)
+                .replace("$Converters$", converters)
+                .replace("$PropertyCount$", String.valueOf(properties.size()))
+                .replace("$RawValues$", rawValues)
+                .replace("$Getters$", getters)
+                .replace("$Equalities$", equalities)
+                .replace("$Fields$", fields);
+    }
+
+    String service() {
+        WmiEntityModel.Property key = model.key();
+        String superclass = key == null ? "AbstractWmiService" : "AbstractKeyedWmiService";
+        String keyArgument = key == null ? "" : render(", $Property$." + key.wmiName());
+        String keyDoc = key == null ? "" : render("""
+                 * Instances can also be looked up by their {@code $KeyName$}.
+                """.replace("$KeyName$", key.wmiName()));
+
+        return render("""
+                package $ServicePackage$;
+
+                import $EntityPackage$.$Entity$;
+                import $EntityPackage$.$View$;
+                import $PropertyPackage$.$Property$;
+                import $MapperPackage$.$Mapper$;
+                import $Library$.concurrent.ComExecutor;
+                import $Library$.enums.WmiClassname;
+                import $Library$.query.WqlQuery;
+                import $Library$.service.$Superclass$;
+
+                import javax.annotation.processing.Generated;
+                import java.util.List;
+
+                /**
+                 * Service class responsible for retrieving {@link $Entity$} data from WMI.
+                 * <p>
+                 * Queries the instances of {@link WmiClassname#$Classname$} and maps them with {@link $Mapper$}, every query
+                 * being implemented once by {@link $Superclass$}.
+                $KeyDoc$ * Generated from {@link $Entity$}, do not edit.
+                 * </p>
+                 * <h2>Thread Safety</h2>
+                 * Instances are stateless and thread-safe.
+                 * @since 1.0
+                 */
+                $Generated$
+                public class $Service$ extends $Superclass$<$Entity$, $Property$> {
+
+                    /**
+                     * Creates a service querying the {@code $WmiClassName$} instances.
+                     */
+                    public $Service$() {
+                        super("$Namespace$", WmiClassname.$Classname$, $Property$.class, new $Mapper$()$KeyArgument$);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     *
+                     * @return list of {@link $View$} views of the entities matching the query
+                     */
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public List<$View$> getLazy(WqlQuery<$Property$> query) {
+                        // The mapper of this service is always a $Mapper$, whose views are $View$s
+                        return (List<$View$>) super.getLazy(query);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     *
+                     * @return list of {@link $View$} views of the entities matching the query
+                     */
+                    @Override
+                    public List<$View$> getLazyManaged(WqlQuery<$Property$> query) {
+                        return ComExecutor.getDefault().call(() -> getLazy(query));
+                    }
+                }
+                """
+                .replace("$Superclass$", superclass)
+                .replace("$KeyDoc$", keyDoc)
+                .replace("$KeyArgument$", keyArgument));
+    }
+
+    private String render(String template) {
+        String source = template;
+        for (Map.Entry<String, String> placeholder : placeholders.entrySet())
+            source = source.replace(placeholder.getKey(), placeholder.getValue());
+        return source;
+    }
+
+    private static String decapitalize(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+}
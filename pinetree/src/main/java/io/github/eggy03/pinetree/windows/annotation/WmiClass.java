@@ -0,0 +1,69 @@
+package io.github.eggy03.pinetree.windows.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds an entity to the WMI class its instances are read from.
+ * <p>
+ * Every field of the entity annotated with {@link com.google.gson.annotations.SerializedName} holds the WMI property
+ * of that name. Entities of classes this library does not ship can be queried right away through
+ * {@link io.github.eggy03.pinetree.windows.service.WmiTemplate}. For the entities of this library, the
+ * {@code pinetree-processor} module reads the annotated entity at compile time and generates:
+ * </p>
+ * <ul>
+ *     <li>the property enum, one constant per field, e.g. {@code MonitorProperty},</li>
+ *     <li>the mapper, converting each field with the {@link io.github.eggy03.pinetree.windows.util.CastUtil} column
+ *     converter matching its type, e.g. {@code MonitorMapper},</li>
+ *     <li>the service, e.g. {@code MonitorService}, extending
+ *     {@link io.github.eggy03.pinetree.windows.service.AbstractWmiService}, or
+ *     {@link io.github.eggy03.pinetree.windows.service.AbstractKeyedWmiService} if {@link #key()} is set. Services are
+ *     only generated for classes listed in {@link io.github.eggy03.pinetree.windows.enums.WmiClassname}.</li>
+ * </ul>
+ * Generated types are placed next to their hand-written counterparts, e.g. an entity in {@code ...entity.display} gets its
+ * enum in {@code ...enums.display}. A type that already exists in the sources is not generated, so a service with additional
+ * methods can still be written by hand on top of a generated enum and mapper.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * @Value
+ * @Builder(toBuilder = true)
+ * @WmiClass(value = "Win32_DesktopMonitor", key = "DeviceID")
+ * public class Monitor {
+ *
+ *     @SerializedName("DeviceID")
+ *     @Nullable
+ *     String deviceId;
+ *
+ *     @SerializedName("PixelsPerXLogicalInch")
+ *     @Nullable
+ *     Integer pixelsPerXLogicalInch;
+ * }
+ * }</pre>
+ *
+ * @since 1.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface WmiClass {
+
+    /**
+     * @return the case-sensitive name of the WMI class the entity is read from, e.g. {@code Win32_DesktopMonitor}
+     */
+    String value();
+
+    /**
+     * @return the namespace of the WMI class, {@code root/cimv2} by default
+     */
+    String namespace() default "root/cimv2";
+
+    /**
+     * @return the name of the string key property identifying an instance, e.g. {@code DeviceID}, or an empty string if
+     * the instances are not looked up by key
+     */
+    String key() default "";
+}
@@ -0,0 +1,10 @@
+/**
+ * Contains the annotation binding an entity to the WMI class its instances are read from.
+ * <p>
+ * The {@code pinetree-processor} module reads annotated entities at compile time and generates their property enums,
+ * mappers and services.
+ * </p>
+ *
+ * @since 1.0
+ */
+package io.github.eggy03.pinetree.windows.annotation;
@@ -0,0 +1,100 @@
+package io.github.eggy03.pinetree.windows.com;
+
+import com.sun.jna.WString;
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.COMUtils;
+import com.sun.jna.platform.win32.COM.Unknown;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import com.sun.jna.platform.win32.Guid;
+import com.sun.jna.platform.win32.OleAuto;
+import com.sun.jna.platform.win32.Variant;
+import com.sun.jna.platform.win32.WinNT;
+import com.sun.jna.ptr.IntByReference;
+import com.sun.jna.ptr.PointerByReference;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads properties of native {@link Wbemcli.IWbemClassObject} instances, reusing the native buffers
+ * and the converted property names across calls.
+ * <p>
+ * Instances are not thread-safe and are shared by the objects of a single enumeration.
+ * </p>
+ */
+class ComVariantReader {
+
+    private static final Guid.IID IID_IWBEM_CLASS_OBJECT = new Guid.IID("{DC12A681-737F-11CF-884D-00AA004B2E24}");
+
+    private final Variant.VARIANT.ByReference variant = new Variant.VARIANT.ByReference();
+    private final IntByReference cimType = new IntByReference();
+    private final Map<String, WString> propertyNames = new HashMap<>();
+
+    void read(Wbemcli.IWbemClassObject object, String propertyName, WmiValue target) {
+        WString name = propertyNames.computeIfAbsent(propertyName, WString::new);
+
+        object.Get(name, 0, variant, cimType, null);
+        try {
+            target.set(variant.getVarType().intValue(), cimType.getValue(), toJavaValue(variant));
+        } finally {
+            OleAuto.INSTANCE.VariantClear(variant);
+        }
+    }
+
+    @Nullable
+    Object decode(Wbemcli.IWbemClassObject object, String propertyName, WmiPropertyDecoder decoder) {
+        WString name = propertyNames.computeIfAbsent(propertyName, WString::new);
+
+        object.Get(name, 0, variant, cimType, null);
+        try {
+            return decoder.decodeVariant(variant);
+        } finally {
+            OleAuto.INSTANCE.VariantClear(variant);
+        }
+    }
+
+    // Without a VARIANT to fill, Get only reports the type. Like read, a missing property is reported as empty
+    int readCimType(Wbemcli.IWbemClassObject object, String propertyName) {
+        WString name = propertyNames.computeIfAbsent(propertyName, WString::new);
+
+        WinNT.HRESULT hres = object.Get(name, 0, null, cimType, null);
+        return COMUtils.FAILED(hres) ? Wbemcli.CIM_EMPTY : cimType.getValue();
+    }
+
+    @Nullable
+    Wbemcli.IWbemClassObject readObject(Wbemcli.IWbemClassObject object, String propertyName) {
+        WString name = propertyNames.computeIfAbsent(propertyName, WString::new);
+
+        object.Get(name, 0, variant, cimType, null);
+        try {
+            if (variant.getVarType().intValue() != Variant.VT_UNKNOWN || !(variant.getValue() instanceof Unknown unknown))
+                return null;
+
+            // The VARIANT owns its reference, take one of our own before it is cleared
+            PointerByReference embedded = new PointerByReference();
+            WinNT.HRESULT hres = unknown.QueryInterface(new Guid.REFIID(IID_IWBEM_CLASS_OBJECT), embedded);
+            if (COMUtils.FAILED(hres))
+                throw new COMException("Property " + propertyName + " is not an embedded object.", hres);
+
+            return new Wbemcli.IWbemClassObject(embedded.getValue());
+        } finally {
+            OleAuto.INSTANCE.VariantClear(variant);
+        }
+    }
+
+    // Same VARIANT decoding rules as WbemcliUtil.WmiQuery so that existing mappers see identical values
+    static Object toJavaValue(Variant.VARIANT value) {
+        return switch (value.getVarType().intValue()) {
+            case Variant.VT_BSTR -> value.stringValue();
+            case Variant.VT_I4 -> value.intValue();
+            case Variant.VT_UI1 -> value.byteValue();
+            case Variant.VT_I2 -> value.shortValue();
+            case Variant.VT_BOOL -> value.booleanValue();
+            case Variant.VT_R4 -> value.floatValue();
+            case Variant.VT_R8 -> value.doubleValue();
+            case Variant.VT_EMPTY, Variant.VT_NULL -> null;
+            default -> value.getValue();
+        };
+    }
+}
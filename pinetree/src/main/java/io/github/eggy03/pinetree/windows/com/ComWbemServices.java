@@ -0,0 +1,55 @@
+package io.github.eggy03.pinetree.windows.com;
+
+import com.sun.jna.Pointer;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import com.sun.jna.platform.win32.OleAuto;
+import com.sun.jna.platform.win32.WTypes;
+import com.sun.jna.platform.win32.WinNT;
+
+/**
+ * {@link Wbemcli.IWbemServices} with the vtable entries that JNA does not map.
+ * <p>
+ * Wrapping an existing proxy does not add a reference to it.
+ * </p>
+ */
+class ComWbemServices extends Wbemcli.IWbemServices {
+
+    // IWbemServices vtable indices, counted from IUnknown::QueryInterface
+    private static final int CANCEL_ASYNC_CALL = 4;
+    private static final int EXEC_QUERY_ASYNC = 21;
+    private static final int EXEC_NOTIFICATION_QUERY_ASYNC = 23;
+
+    ComWbemServices(Pointer pvInstance) {
+        super(pvInstance);
+    }
+
+    WinNT.HRESULT ExecQueryAsync(String strQueryLanguage, String strQuery, int lFlags, Pointer pResponseHandler) {
+        WTypes.BSTR strQueryLanguageBSTR = OleAuto.INSTANCE.SysAllocString(strQueryLanguage);
+        WTypes.BSTR strQueryBSTR = OleAuto.INSTANCE.SysAllocString(strQuery);
+        try {
+            return (WinNT.HRESULT) _invokeNativeObject(EXEC_QUERY_ASYNC,
+                    new Object[]{getPointer(), strQueryLanguageBSTR, strQueryBSTR, lFlags, null, pResponseHandler},
+                    WinNT.HRESULT.class);
+        } finally {
+            OleAuto.INSTANCE.SysFreeString(strQueryLanguageBSTR);
+            OleAuto.INSTANCE.SysFreeString(strQueryBSTR);
+        }
+    }
+
+    WinNT.HRESULT ExecNotificationQueryAsync(String strQueryLanguage, String strQuery, int lFlags, Pointer pResponseHandler) {
+        WTypes.BSTR strQueryLanguageBSTR = OleAuto.INSTANCE.SysAllocString(strQueryLanguage);
+        WTypes.BSTR strQueryBSTR = OleAuto.INSTANCE.SysAllocString(strQuery);
+        try {
+            return (WinNT.HRESULT) _invokeNativeObject(EXEC_NOTIFICATION_QUERY_ASYNC,
+                    new Object[]{getPointer(), strQueryLanguageBSTR, strQueryBSTR, lFlags, null, pResponseHandler},
+                    WinNT.HRESULT.class);
+        } finally {
+            OleAuto.INSTANCE.SysFreeString(strQueryLanguageBSTR);
+            OleAuto.INSTANCE.SysFreeString(strQueryBSTR);
+        }
+    }
+
+    WinNT.HRESULT CancelAsyncCall(Pointer pSink) {
+        return (WinNT.HRESULT) _invokeNativeObject(CANCEL_ASYNC_CALL, new Object[]{getPointer(), pSink}, WinNT.HRESULT.class);
+    }
+}
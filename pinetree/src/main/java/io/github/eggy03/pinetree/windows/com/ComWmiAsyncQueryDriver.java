@@ -0,0 +1,130 @@
+package io.github.eggy03.pinetree.windows.com;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.COMUtils;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import com.sun.jna.platform.win32.WinNT;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link WmiAsyncQueryDriver} issuing queries through {@code IWbemServices::ExecQueryAsync}, and
+ * {@link WmiNotificationQueryDriver} issuing event queries through {@code IWbemServices::ExecNotificationQueryAsync}.
+ * <p>
+ * Each call exposes its {@link WmiObjectSink} to WMI as a native {@code IWbemObjectSink} and holds its own reference
+ * to the services proxy until it completes, so the proxy can go back to a connection pool while the call is in flight,
+ * and any number of calls may be in flight on the same proxy at once. Cancellation is forwarded to
+ * {@code IWbemServices::CancelAsyncCall}.
+ * </p>
+ * All methods, including {@link WmiAsyncCall#cancel()}, must be invoked on a thread with COM initialized,
+ * and the apartment must stay alive until the calls have completed.
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are thread-safe.
+ *
+ * @since 1.0
+ */
+public class ComWmiAsyncQueryDriver implements WmiAsyncQueryDriver, WmiNotificationQueryDriver {
+
+    // Results are only pushed to the sink, there are no semisynchronous flags for asynchronous calls
+    private static final int WBEM_FLAG_BIDIRECTIONAL = 0;
+
+    private final Wbemcli.IWbemServices services;
+
+    /**
+     * Creates a driver for the given services proxy. No reference is added to the proxy by this constructor.
+     *
+     * @param services the services proxy to issue the queries on
+     */
+    public ComWmiAsyncQueryDriver(Wbemcli.IWbemServices services) {
+        this.services = services;
+    }
+
+    @Override
+    public WmiAsyncCall execQueryAsync(String wql, WmiObjectSink sink) {
+        return start(wql, sink, false);
+    }
+
+    @Override
+    public WmiAsyncCall execNotificationQueryAsync(String wql, WmiObjectSink sink) {
+        return start(wql, sink, true);
+    }
+
+    private WmiAsyncCall start(String wql, WmiObjectSink sink, boolean notification) {
+        ComWbemServices callServices = new ComWbemServices(services.getPointer());
+        callServices.AddRef();
+
+        NativeCall call = new NativeCall(callServices, sink);
+        WinNT.HRESULT hres;
+        try {
+            hres = notification
+                    ? callServices.ExecNotificationQueryAsync("WQL", wql, WBEM_FLAG_BIDIRECTIONAL, call.nativeSink.getPointer())
+                    : callServices.ExecQueryAsync("WQL", wql, WBEM_FLAG_BIDIRECTIONAL, call.nativeSink.getPointer());
+        } catch (RuntimeException e) {
+            call.release();
+            throw e;
+        }
+
+        if (COMUtils.FAILED(hres)) {
+            call.release();
+            throw new COMException(notification
+                    ? "Failed to start the event subscription."
+                    : "Failed to start the asynchronous query.", hres);
+        }
+        return call;
+    }
+
+    private static final class NativeCall implements WmiAsyncCall, WmiObjectSink {
+
+        private final ComWbemServices services;
+        private final WmiObjectSink target;
+        private final ComWmiObjectSink nativeSink;
+
+        // The in-flight call holds one use, a running cancel() another. The last one releases the native references.
+        private final AtomicInteger uses = new AtomicInteger(1);
+
+        private NativeCall(ComWbemServices services, WmiObjectSink target) {
+            this.services = services;
+            this.target = target;
+            this.nativeSink = new ComWmiObjectSink(this);
+        }
+
+        @Override
+        public void indicate(WmiClassObject[] objects, int count) {
+            target.indicate(objects, count);
+        }
+
+        @Override
+        public void complete(int hresult, @Nullable String message) {
+            try {
+                target.complete(hresult, message);
+            } finally {
+                release();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            int current;
+            do {
+                current = uses.get();
+                if (current == 0)
+                    return; // already completed
+            } while (!uses.compareAndSet(current, current + 1));
+
+            try {
+                services.CancelAsyncCall(nativeSink.getPointer());
+            } finally {
+                release();
+            }
+        }
+
+        private void release() {
+            if (uses.decrementAndGet() == 0) {
+                services.Release();
+                nativeSink.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.eggy03.pinetree.windows.com;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.COMUtils;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import com.sun.jna.platform.win32.OleAuto;
+import com.sun.jna.platform.win32.WTypes;
+import com.sun.jna.platform.win32.WinNT;
+import com.sun.jna.ptr.PointerByReference;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link WmiClassObject} backed by a native {@link Wbemcli.IWbemClassObject}.
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are not thread-safe.
+ *
+ * @since 1.0
+ */
+public class ComWmiClassObject implements WmiClassObject {
+
+    // The object path does not address an existing instance
+    private static final int WBEM_E_NOT_FOUND = 0x80041002;
+
+    /**
+     * The wrapped native object
+     */
+    @Getter
+    private final Wbemcli.IWbemClassObject object;
+
+    private final ComVariantReader reader;
+
+    /**
+     * Wraps a native object.
+     *
+     * @param object the native object, ownership of the reference is transferred to this instance
+     */
+    public ComWmiClassObject(Wbemcli.IWbemClassObject object) {
+        this(object, new ComVariantReader());
+    }
+
+    ComWmiClassObject(Wbemcli.IWbemClassObject object, ComVariantReader reader) {
+        this.object = object;
+        this.reader = reader;
+    }
+
+    /**
+     * Retrieves an instance by its object path through {@code IWbemServices::GetObject}.
+     *
+     * @param services   the services proxy to issue the call on
+     * @param objectPath the relative object path of the instance, e.g. {@code Win32_Processor.DeviceID="CPU0"}
+     * @return the instance, to be released by the caller, or {@code null} if the path addresses no instance
+     * @throws COMException if the call failed for any other reason
+     */
+    @Nullable
+    public static ComWmiClassObject get(Wbemcli.IWbemServices services, String objectPath) {
+        WTypes.BSTR path = OleAuto.INSTANCE.SysAllocString(objectPath);
+        PointerByReference object = new PointerByReference();
+        try {
+            WinNT.HRESULT hres = services.GetObject(path, Wbemcli.WBEM_FLAG_RETURN_WBEM_COMPLETE, null, object, null);
+            if (hres.intValue() == WBEM_E_NOT_FOUND)
+                return null;
+            if (COMUtils.FAILED(hres))
+                throw new COMException("Failed to get " + objectPath + ".", hres);
+        } finally {
+            OleAuto.INSTANCE.SysFreeString(path);
+        }
+        return new ComWmiClassObject(new Wbemcli.IWbemClassObject(object.getValue()));
+    }
+
+    @Override
+    public void get(String propertyName, WmiValue target) {
+        reader.read(object, propertyName, target);
+    }
+
+    @Override
+    @Nullable
+    public Object decode(String propertyName, WmiPropertyDecoder decoder) {
+        return reader.decode(object, propertyName, decoder);
+    }
+
+    @Override
+    public int getCimType(String propertyName) {
+        return reader.readCimType(object, propertyName);
+    }
+
+    @Override
+    @Nullable
+    public WmiClassObject getObject(String propertyName) {
+        Wbemcli.IWbemClassObject embedded = reader.readObject(object, propertyName);
+        return embedded == null ? null : new ComWmiClassObject(embedded, reader);
+    }
+
+    @Override
+    public void release() {
+        object.Release();
+    }
+}
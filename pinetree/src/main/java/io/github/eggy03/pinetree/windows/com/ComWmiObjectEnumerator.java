@@ -0,0 +1,73 @@
+package io.github.eggy03.pinetree.windows.com;
+
+import com.sun.jna.Pointer;
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.COMUtils;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import com.sun.jna.platform.win32.WinNT;
+import com.sun.jna.ptr.IntByReference;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link WmiObjectEnumerator} backed by a native {@link Wbemcli.IEnumWbemClassObject}.
+ * <p>
+ * Each call to {@link #next(int, WmiClassObject[])} issues a single {@code IEnumWbemClassObject::Next} for the
+ * whole batch. Enumerators are meant to be obtained from a query issued with
+ * {@link Wbemcli#WBEM_FLAG_FORWARD_ONLY} and {@link Wbemcli#WBEM_FLAG_RETURN_IMMEDIATELY}, so that WMI neither
+ * keeps already enumerated objects around nor waits for the complete result before returning the first batch.
+ * </p>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are not thread-safe.
+ *
+ * @since 1.0
+ */
+public class ComWmiObjectEnumerator implements WmiObjectEnumerator {
+
+    private final Wbemcli.IEnumWbemClassObject enumerator;
+    private final ComVariantReader reader = new ComVariantReader();
+    private final IntByReference returned = new IntByReference(0);
+    private Pointer[] pointers = new Pointer[0];
+    private boolean closed = false;
+
+    /**
+     * Wraps a native enumerator.
+     *
+     * @param enumerator the native enumerator, ownership of the reference is transferred to this instance
+     */
+    public ComWmiObjectEnumerator(Wbemcli.IEnumWbemClassObject enumerator) {
+        this.enumerator = enumerator;
+    }
+
+    @Override
+    public int next(int timeoutMillis, WmiClassObject[] batch) throws TimeoutException {
+        if (pointers.length != batch.length)
+            pointers = new Pointer[batch.length];
+
+        WinNT.HRESULT hres = enumerator.Next(timeoutMillis, batch.length, pointers, returned);
+        int count = returned.getValue();
+
+        // Objects delivered alongside WBEM_S_FALSE or WBEM_S_TIMEDOUT are valid and owned by the caller
+        for (int i = 0; i < count; i++)
+            batch[i] = new ComWmiClassObject(new Wbemcli.IWbemClassObject(pointers[i]), reader);
+
+        if (count > 0 || hres.intValue() == Wbemcli.WBEM_S_FALSE || hres.intValue() == Wbemcli.WBEM_S_NO_MORE_DATA)
+            return count;
+        if (hres.intValue() == Wbemcli.WBEM_S_TIMEDOUT)
+            throw new TimeoutException("No results after " + timeoutMillis + " ms.");
+        if (COMUtils.FAILED(hres))
+            throw new COMException("Failed to enumerate results.", hres);
+
+        return count;
+    }
+
+    @Override
+    public void close() {
+        if (closed)
+            return;
+
+        closed = true;
+        enumerator.Release();
+    }
+}
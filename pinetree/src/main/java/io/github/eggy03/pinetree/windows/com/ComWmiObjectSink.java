@@ -0,0 +1,150 @@
+package io.github.eggy03.pinetree.windows.com;
+
+import com.sun.jna.CallbackReference;
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+import com.sun.jna.platform.win32.COM.IUnknown;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import com.sun.jna.platform.win32.Guid;
+import com.sun.jna.platform.win32.WTypes;
+import com.sun.jna.platform.win32.WinError;
+import com.sun.jna.win32.StdCallLibrary;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Native {@code IWbemObjectSink} forwarding its callbacks to a {@link WmiObjectSink}.
+ * <p>
+ * The COM object is laid out by hand: a pointer to a vtable of JNA callbacks for {@code QueryInterface},
+ * {@code AddRef}, {@code Release}, {@code Indicate} and {@code SetStatus}. The instance starts with a single
+ * reference owned by its creator. It stays strongly reachable, so that neither the native memory nor the callbacks
+ * are collected while WMI may still call into it, until its reference count drops to zero.
+ * </p>
+ * Only the final {@code SetStatus} with {@code WBEM_STATUS_COMPLETE} is forwarded, progress notifications are ignored.
+ */
+class ComWmiObjectSink {
+
+    private static final Guid.GUID IID_IUNKNOWN = new Guid.GUID(IUnknown.IID_IUNKNOWN);
+    private static final Guid.GUID IID_IWBEM_OBJECT_SINK = new Guid.GUID("{7c857801-7381-11cf-884d-00aa004b2e24}");
+    private static final int WBEM_STATUS_COMPLETE = 0;
+
+    // Keeps sinks referenced by native code reachable
+    private static final Set<ComWmiObjectSink> LIVE_SINKS = ConcurrentHashMap.newKeySet();
+
+    private final WmiObjectSink target;
+    private final ComVariantReader reader = new ComVariantReader();
+    private final AtomicInteger referenceCount = new AtomicInteger(1);
+
+    private final QueryInterfaceCallback queryInterface = this::queryInterface;
+    private final AddRefCallback addRef = thisPointer -> referenceCount.incrementAndGet();
+    private final ReleaseCallback release = thisPointer -> release();
+    private final IndicateCallback indicate = this::indicate;
+    private final SetStatusCallback setStatus = this::setStatus;
+
+    private final Memory vtable = new Memory(5L * Native.POINTER_SIZE);
+    private final Memory instance = new Memory(Native.POINTER_SIZE);
+
+    ComWmiObjectSink(WmiObjectSink target) {
+        this.target = target;
+
+        vtable.setPointer(0, CallbackReference.getFunctionPointer(queryInterface));
+        vtable.setPointer(Native.POINTER_SIZE, CallbackReference.getFunctionPointer(addRef));
+        vtable.setPointer(2L * Native.POINTER_SIZE, CallbackReference.getFunctionPointer(release));
+        vtable.setPointer(3L * Native.POINTER_SIZE, CallbackReference.getFunctionPointer(indicate));
+        vtable.setPointer(4L * Native.POINTER_SIZE, CallbackReference.getFunctionPointer(setStatus));
+        instance.setPointer(0, vtable);
+
+        LIVE_SINKS.add(this);
+    }
+
+    /**
+     * @return the {@code IWbemObjectSink*} to hand to WMI
+     */
+    Pointer getPointer() {
+        return instance;
+    }
+
+    /**
+     * Releases one reference, normally the one owned by the creator.
+     *
+     * @return the remaining reference count
+     */
+    int release() {
+        int remaining = referenceCount.decrementAndGet();
+        if (remaining == 0)
+            LIVE_SINKS.remove(this);
+        return remaining;
+    }
+
+    private int queryInterface(Pointer thisPointer, Pointer riid, Pointer ppvObject) {
+        if (ppvObject == null)
+            return WinError.E_POINTER;
+
+        Guid.GUID requested = new Guid.GUID(riid);
+        if (!requested.equals(IID_IUNKNOWN) && !requested.equals(IID_IWBEM_OBJECT_SINK)) {
+            ppvObject.setPointer(0, Pointer.NULL);
+            return WinError.E_NOINTERFACE;
+        }
+
+        referenceCount.incrementAndGet();
+        ppvObject.setPointer(0, instance);
+        return WinError.S_OK.intValue();
+    }
+
+    private int indicate(Pointer thisPointer, int objectCount, Pointer objectArray) {
+        if (objectCount <= 0 || objectArray == null)
+            return Wbemcli.WBEM_S_NO_ERROR;
+
+        WmiClassObject[] objects = new WmiClassObject[objectCount];
+        Pointer[] pointers = objectArray.getPointerArray(0, objectCount);
+
+        // The reader reuses native buffers, so batches are decoded one at a time
+        synchronized (reader) {
+            for (int i = 0; i < objectCount; i++)
+                objects[i] = new ComWmiClassObject(new Wbemcli.IWbemClassObject(pointers[i]), reader);
+
+            try {
+                target.indicate(objects, objectCount);
+            } catch (RuntimeException ignored) {
+                // Exceptions must not unwind into native code, the target is responsible for its own failures
+            }
+        }
+        return Wbemcli.WBEM_S_NO_ERROR;
+    }
+
+    private int setStatus(Pointer thisPointer, int flags, int hresult, Pointer message, Pointer statusObject) {
+        if (flags != WBEM_STATUS_COMPLETE)
+            return Wbemcli.WBEM_S_NO_ERROR;
+
+        try {
+            target.complete(hresult, message == null ? null : new WTypes.BSTR(message).getValue());
+        } catch (RuntimeException ignored) {
+            // Exceptions must not unwind into native code, the target is responsible for its own failures
+        }
+        return Wbemcli.WBEM_S_NO_ERROR;
+    }
+
+    // Callback interfaces must be public for JNA to invoke them reflectively
+    public interface QueryInterfaceCallback extends StdCallLibrary.StdCallCallback {
+        int invoke(Pointer thisPointer, Pointer riid, Pointer ppvObject);
+    }
+
+    public interface AddRefCallback extends StdCallLibrary.StdCallCallback {
+        int invoke(Pointer thisPointer);
+    }
+
+    public interface ReleaseCallback extends StdCallLibrary.StdCallCallback {
+        int invoke(Pointer thisPointer);
+    }
+
+    public interface IndicateCallback extends StdCallLibrary.StdCallCallback {
+        int invoke(Pointer thisPointer, int objectCount, Pointer objectArray);
+    }
+
+    public interface SetStatusCallback extends StdCallLibrary.StdCallCallback {
+        int invoke(Pointer thisPointer, int flags, int hresult, Pointer message, Pointer statusObject);
+    }
+}
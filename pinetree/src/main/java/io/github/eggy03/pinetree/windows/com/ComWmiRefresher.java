@@ -0,0 +1,244 @@
+package io.github.eggy03.pinetree.windows.com;
+
+import com.sun.jna.Pointer;
+import com.sun.jna.WString;
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.COMUtils;
+import com.sun.jna.platform.win32.COM.Unknown;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import com.sun.jna.platform.win32.Guid;
+import com.sun.jna.platform.win32.Ole32;
+import com.sun.jna.platform.win32.WTypes;
+import com.sun.jna.platform.win32.WinNT;
+import com.sun.jna.ptr.IntByReference;
+import com.sun.jna.ptr.PointerByReference;
+import io.github.eggy03.pinetree.windows.connection.WmiConnection;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@link WmiRefresher} backed by the native {@code WbemRefresher} object.
+ * <p>
+ * Classes are registered with {@code IWbemConfigureRefresher::AddEnum} and read through
+ * {@code IWbemHiPerfEnum::GetObjects}, instances are registered with {@code IWbemConfigureRefresher::AddObjectByPath}
+ * and read from the object WMI updates in place. {@code IWbemRefresher::Refresh} updates all of them in one call.
+ * Providers that do not implement high-performance refreshing are refreshed by WMI on their behalf.
+ * </p>
+ * The refresher must be created and used on threads that have COM initialized. The security of the connection is applied
+ * to the refresher and to every enumeration registered with it, see {@link WmiConnection#secure(Unknown)}.
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are not thread-safe.
+ *
+ * @since 1.0
+ */
+public class ComWmiRefresher implements WmiRefresher {
+
+    private static final Guid.CLSID CLSID_WBEM_REFRESHER = new Guid.CLSID("{c71566f2-561e-11d1-ad87-00c04fd8fdff}");
+    private static final Guid.IID IID_IWBEM_REFRESHER = new Guid.IID("{49353c99-516b-11d1-aea6-00c04fb68820}");
+    private static final Guid.IID IID_IWBEM_CONFIGURE_REFRESHER = new Guid.IID("{49353c92-516b-11d1-aea6-00c04fb68820}");
+
+    // The buffer passed to IWbemHiPerfEnum::GetObjects is too small, the required size has been returned
+    private static final int WBEM_E_BUFFER_TOO_SMALL = 0x8004103C;
+
+    private final WmiConnection connection;
+    private final Refresher refresher;
+    private final ConfigureRefresher configureRefresher;
+    private final ComVariantReader reader = new ComVariantReader();
+    private final List<Wbemcli.IWbemClassObject> boundObjects = new ArrayList<>();
+    private final List<HiPerfEnum> enums = new ArrayList<>();
+    private boolean closed = false;
+
+    /**
+     * Creates a new refresher.
+     *
+     * @param connection the namespace the classes and instances are registered from, not owned by this instance and
+     *                   required to stay open until it is closed
+     * @throws COMException if the refresher could not be created
+     */
+    public ComWmiRefresher(WmiConnection connection) {
+        this.connection = connection;
+
+        PointerByReference refresherPointer = new PointerByReference();
+        WinNT.HRESULT hres = Ole32.INSTANCE.CoCreateInstance(CLSID_WBEM_REFRESHER, null, WTypes.CLSCTX_INPROC_SERVER,
+                IID_IWBEM_REFRESHER, refresherPointer);
+        if (COMUtils.FAILED(hres))
+            throw new COMException("Failed to create the WMI refresher.", hres);
+        this.refresher = new Refresher(refresherPointer.getValue());
+
+        PointerByReference configurePointer = new PointerByReference();
+        hres = refresher.QueryInterface(new Guid.REFIID(IID_IWBEM_CONFIGURE_REFRESHER), configurePointer);
+        if (COMUtils.FAILED(hres)) {
+            refresher.Release();
+            throw new COMException("Failed to configure the WMI refresher.", hres);
+        }
+        this.configureRefresher = new ConfigureRefresher(configurePointer.getValue());
+
+        try {
+            connection.secure(refresher);
+            connection.secure(configureRefresher);
+        } catch (RuntimeException e) {
+            configureRefresher.Release();
+            refresher.Release();
+            throw e;
+        }
+    }
+
+    @Override
+    public WmiRefreshable addEnum(String wmiClassName) {
+        PointerByReference enumPointer = new PointerByReference();
+        WinNT.HRESULT hres = configureRefresher.AddEnum(connection.getServices().getPointer(), wmiClassName, enumPointer, new IntByReference());
+        if (COMUtils.FAILED(hres))
+            throw new COMException("Failed to register " + wmiClassName + " with the refresher.", hres);
+
+        HiPerfEnum hiPerfEnum = new HiPerfEnum(enumPointer.getValue());
+        enums.add(hiPerfEnum);
+        connection.secure(hiPerfEnum);
+        return action -> readEnum(hiPerfEnum, action);
+    }
+
+    @Override
+    public WmiRefreshable addObject(String objectPath) {
+        PointerByReference objectPointer = new PointerByReference();
+        WinNT.HRESULT hres = configureRefresher.AddObjectByPath(connection.getServices().getPointer(), objectPath, objectPointer, new IntByReference());
+        if (COMUtils.FAILED(hres))
+            throw new COMException("Failed to register " + objectPath + " with the refresher.", hres);
+
+        Wbemcli.IWbemClassObject object = new Wbemcli.IWbemClassObject(objectPointer.getValue());
+        boundObjects.add(object);
+
+        // Updated in place and released along with the refresher, so it must not be released by readers
+        WmiClassObject view = new BorrowedClassObject(new ComWmiClassObject(object, reader));
+        return action -> action.accept(view);
+    }
+
+    @Override
+    public void refresh() {
+        WinNT.HRESULT hres = refresher.Refresh(0);
+        if (COMUtils.FAILED(hres))
+            throw new COMException("Failed to refresh.", hres);
+    }
+
+    @Override
+    public void close() {
+        if (closed)
+            return;
+
+        closed = true;
+        enums.forEach(HiPerfEnum::Release);
+        boundObjects.forEach(Wbemcli.IWbemClassObject::Release);
+        configureRefresher.Release();
+        refresher.Release();
+    }
+
+    private void readEnum(HiPerfEnum hiPerfEnum, Consumer<? super WmiClassObject> action) {
+        IntByReference returned = new IntByReference(0);
+        Pointer[] objects = new Pointer[0];
+        WinNT.HRESULT hres = hiPerfEnum.GetObjects(objects, returned);
+
+        // The first call only reports the number of objects, unless there are none
+        while (hres.intValue() == WBEM_E_BUFFER_TOO_SMALL) {
+            objects = new Pointer[returned.getValue()];
+            hres = hiPerfEnum.GetObjects(objects, returned);
+        }
+        if (COMUtils.FAILED(hres))
+            throw new COMException("Failed to read the refreshed objects.", hres);
+
+        int count = returned.getValue();
+        try {
+            for (int i = 0; i < count; i++)
+                action.accept(new BorrowedClassObject(new ComWmiClassObject(new Wbemcli.IWbemClassObject(objects[i]), reader)));
+        } finally {
+            // IWbemObjectAccess derives from IWbemClassObject, every returned reference is ours to release
+            for (int i = 0; i < count; i++)
+                new Unknown(objects[i]).Release();
+        }
+    }
+
+    // Hands objects to readers without letting them release the underlying reference
+    private record BorrowedClassObject(WmiClassObject delegate) implements WmiClassObject {
+
+        @Override
+        public void get(String propertyName, WmiValue target) {
+            delegate.get(propertyName, target);
+        }
+
+        @Override
+        @Nullable
+        public Object decode(String propertyName, WmiPropertyDecoder decoder) {
+            return delegate.decode(propertyName, decoder);
+        }
+
+        @Override
+        public int getCimType(String propertyName) {
+            return delegate.getCimType(propertyName);
+        }
+
+        @Override
+        @Nullable
+        public WmiClassObject getObject(String propertyName) {
+            return delegate.getObject(propertyName);
+        }
+
+        @Override
+        public void release() {
+            // owned by the refresher
+        }
+    }
+
+    // IWbemRefresher, vtable indices counted from IUnknown::QueryInterface
+    private static final class Refresher extends Unknown {
+
+        private static final int REFRESH = 3;
+
+        private Refresher(Pointer pvInstance) {
+            super(pvInstance);
+        }
+
+        WinNT.HRESULT Refresh(int lFlags) {
+            return (WinNT.HRESULT) _invokeNativeObject(REFRESH, new Object[]{getPointer(), lFlags}, WinNT.HRESULT.class);
+        }
+    }
+
+    // IWbemConfigureRefresher, vtable indices counted from IUnknown::QueryInterface
+    private static final class ConfigureRefresher extends Unknown {
+
+        private static final int ADD_OBJECT_BY_PATH = 3;
+        private static final int ADD_ENUM = 7;
+
+        private ConfigureRefresher(Pointer pvInstance) {
+            super(pvInstance);
+        }
+
+        WinNT.HRESULT AddObjectByPath(Pointer pNamespace, String wszPath, PointerByReference ppRefreshable, IntByReference plId) {
+            return (WinNT.HRESULT) _invokeNativeObject(ADD_OBJECT_BY_PATH,
+                    new Object[]{getPointer(), pNamespace, new WString(wszPath), 0, null, ppRefreshable, plId},
+                    WinNT.HRESULT.class);
+        }
+
+        WinNT.HRESULT AddEnum(Pointer pNamespace, String wszClassName, PointerByReference ppEnum, IntByReference plId) {
+            return (WinNT.HRESULT) _invokeNativeObject(ADD_ENUM,
+                    new Object[]{getPointer(), pNamespace, new WString(wszClassName), 0, null, ppEnum, plId},
+                    WinNT.HRESULT.class);
+        }
+    }
+
+    // IWbemHiPerfEnum, vtable indices counted from IUnknown::QueryInterface
+    private static final class HiPerfEnum extends Unknown {
+
+        private static final int GET_OBJECTS = 5;
+
+        private HiPerfEnum(Pointer pvInstance) {
+            super(pvInstance);
+        }
+
+        WinNT.HRESULT GetObjects(Pointer[] apObj, IntByReference puReturned) {
+            return (WinNT.HRESULT) _invokeNativeObject(GET_OBJECTS,
+                    new Object[]{getPointer(), 0, apObj.length, apObj.length == 0 ? null : apObj, puReturned},
+                    WinNT.HRESULT.class);
+        }
+    }
+}
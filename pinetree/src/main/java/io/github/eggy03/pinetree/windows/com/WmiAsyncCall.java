@@ -0,0 +1,18 @@
+package io.github.eggy03.pinetree.windows.com;
+
+/**
+ * Handle of an asynchronous WMI call issued by a {@link WmiAsyncQueryDriver}.
+ *
+ * @since 1.0
+ */
+public interface WmiAsyncCall {
+
+    /**
+     * Requests cancellation of the call.
+     * <p>
+     * The sink of the call still receives {@link WmiObjectSink#complete(int, String)}, usually with
+     * {@code WBEM_E_CALL_CANCELLED}. Cancelling a call that has already completed has no effect.
+     * </p>
+     */
+    void cancel();
+}
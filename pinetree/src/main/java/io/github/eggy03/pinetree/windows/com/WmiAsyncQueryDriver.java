@@ -0,0 +1,26 @@
+package io.github.eggy03.pinetree.windows.com;
+
+/**
+ * Issues asynchronous WQL queries whose results are pushed to a {@link WmiObjectSink}.
+ * <p>
+ * The native implementation is {@link ComWmiAsyncQueryDriver}, which calls {@code IWbemServices::ExecQueryAsync}.
+ * Other implementations can stand in for it and drive a sink from plain Java threads, so that the result handling
+ * built on top of the sink can be exercised without a Windows host.
+ * </p>
+ *
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface WmiAsyncQueryDriver {
+
+    /**
+     * Starts a query. The call returns immediately and the results are delivered to the sink.
+     *
+     * @param wql  the WQL text of the query
+     * @param sink the sink receiving the results
+     * @return the handle of the call, used to cancel it
+     * @throws com.sun.jna.platform.win32.COM.COMException if the query could not be started, in which case the sink
+     *                                                     is not invoked
+     */
+    WmiAsyncCall execQueryAsync(String wql, WmiObjectSink sink);
+}
@@ -0,0 +1,77 @@
+package io.github.eggy03.pinetree.windows.com;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A single object returned by WMI, such as an instance of {@code Win32_Processor}.
+ * <p>
+ * This is the library's view of {@code IWbemClassObject}. The native implementation is {@link ComWmiClassObject};
+ * other implementations can stand in for it to exercise enumeration and mapping code without a Windows host.
+ * </p>
+ *
+ * @since 1.0
+ */
+public interface WmiClassObject {
+
+    /**
+     * Reads a property of this object into the given holder.
+     * <p>
+     * Values are decoded with the same rules as {@link com.sun.jna.platform.win32.COM.WbemcliUtil.WmiQuery}:
+     * strings and 64-bit integers are {@link String}, 32-bit integers are {@link Integer}, 16-bit integers are
+     * {@link Short}, 8-bit integers are {@link Byte}, booleans are {@link Boolean} and empty values are {@code null}.
+     * </p>
+     *
+     * @param propertyName the case-sensitive name of the property
+     * @param target       the holder receiving the value
+     */
+    void get(String propertyName, WmiValue target);
+
+    /**
+     * Reads a property and converts it with the given decoder, without storing the value in between.
+     * <p>
+     * The default implementation reads the value with {@link #get(String, WmiValue)} and passes it to
+     * {@link WmiPropertyDecoder#decodeValue(Object)}. The native implementation passes the {@code VARIANT} to
+     * {@link WmiPropertyDecoder#decodeVariant(com.sun.jna.platform.win32.Variant.VARIANT)} instead.
+     * </p>
+     *
+     * @param propertyName the case-sensitive name of the property
+     * @param decoder      the decoder converting the value
+     * @return the converted value
+     */
+    @Nullable
+    default Object decode(String propertyName, WmiPropertyDecoder decoder) {
+        WmiValue value = new WmiValue();
+        get(propertyName, value);
+        return decoder.decodeValue(value.getValue());
+    }
+
+    /**
+     * Reads the CIM type of a property, e.g. {@link com.sun.jna.platform.win32.COM.Wbemcli#CIM_UINT32}.
+     * <p>
+     * The type is defined by the class, so it is the same for every instance. The default implementation reads it
+     * through {@link #get(String, WmiValue)}.
+     * </p>
+     *
+     * @param propertyName the case-sensitive name of the property
+     * @return the CIM type of the property
+     */
+    default int getCimType(String propertyName) {
+        WmiValue value = new WmiValue();
+        get(propertyName, value);
+        return value.getCimType();
+    }
+
+    /**
+     * Reads a property holding an embedded object, such as the {@code TargetInstance} of an event.
+     *
+     * @param propertyName the case-sensitive name of the property
+     * @return the embedded object, which must be released by the caller, or {@code null} if the property is empty
+     */
+    @Nullable
+    WmiClassObject getObject(String propertyName);
+
+    /**
+     * Releases the object. It must not be used afterwards.
+     */
+    void release();
+}
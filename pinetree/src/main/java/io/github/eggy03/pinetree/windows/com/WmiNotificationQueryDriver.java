@@ -0,0 +1,29 @@
+package io.github.eggy03.pinetree.windows.com;
+
+/**
+ * Issues WQL event queries whose events are pushed to a {@link WmiObjectSink}.
+ * <p>
+ * The native implementation is {@link ComWmiAsyncQueryDriver}, which calls
+ * {@code IWbemServices::ExecNotificationQueryAsync}. Each event arrives as an {@link WmiClassObject} of an event class,
+ * e.g. {@code __InstanceCreationEvent}, whose {@code TargetInstance} property holds the affected instance.
+ * Other implementations can act as a synthetic event source and push such objects from plain Java threads,
+ * so that the event dispatching built on top of the sink can be exercised without a Windows host.
+ * </p>
+ * Unlike a query, a subscription only completes when it is cancelled or fails.
+ *
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface WmiNotificationQueryDriver {
+
+    /**
+     * Starts an event subscription. The call returns immediately and the events are delivered to the sink.
+     *
+     * @param wql  the WQL text of the event query
+     * @param sink the sink receiving the events
+     * @return the handle of the subscription, used to cancel it
+     * @throws com.sun.jna.platform.win32.COM.COMException if the subscription could not be started, in which case
+     *                                                     the sink is not invoked
+     */
+    WmiAsyncCall execNotificationQueryAsync(String wql, WmiObjectSink sink);
+}
@@ -0,0 +1,37 @@
+package io.github.eggy03.pinetree.windows.com;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Forward-only enumeration of the objects returned by a WMI query.
+ * <p>
+ * This is the library's view of {@code IEnumWbemClassObject}. Objects are fetched in batches, so that a large result
+ * can be processed in constant memory. The native implementation is {@link ComWmiObjectEnumerator}; other
+ * implementations can stand in for it to exercise streaming code without a Windows host.
+ * </p>
+ *
+ * @since 1.0
+ */
+public interface WmiObjectEnumerator extends AutoCloseable {
+
+    /**
+     * Fetches the next batch of objects.
+     * <p>
+     * Up to {@code batch.length} objects are written to the start of the array. The caller owns the returned objects
+     * and must {@link WmiClassObject#release() release} each of them.
+     * </p>
+     *
+     * @param timeoutMillis maximum time to wait for the first object of the batch, in milliseconds,
+     *                      or {@link com.sun.jna.platform.win32.COM.Wbemcli#WBEM_INFINITE}
+     * @param batch         the array receiving the objects
+     * @return the number of objects written, {@code 0} once the enumeration is complete
+     * @throws TimeoutException if no object arrived within the timeout
+     */
+    int next(int timeoutMillis, WmiClassObject[] batch) throws TimeoutException;
+
+    /**
+     * Releases the enumeration. Calling this method more than once has no effect.
+     */
+    @Override
+    void close();
+}
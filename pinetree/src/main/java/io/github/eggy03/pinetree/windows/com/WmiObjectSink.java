@@ -0,0 +1,43 @@
+package io.github.eggy03.pinetree.windows.com;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Receives the results of an asynchronous WMI call as they arrive.
+ * <p>
+ * This is the library's view of {@code IWbemObjectSink}. {@link ComWmiAsyncQueryDriver} exposes implementations
+ * of this interface to WMI as native sinks. Since drivers are interchangeable, a stand-in driver can invoke a sink
+ * directly to exercise result handling without a Windows host.
+ * </p>
+ * <ul>
+ *     <li>{@link #indicate(WmiClassObject[], int)} is called zero or more times with the next batch of objects.</li>
+ *     <li>{@link #complete(int, String)} is called exactly once when the call has finished, failed or been cancelled.</li>
+ * </ul>
+ *
+ * <h2>Thread Safety</h2>
+ * Implementations must be thread-safe. Callbacks are made on threads owned by COM, never on the thread that issued the call.
+ *
+ * @since 1.0
+ */
+public interface WmiObjectSink {
+
+    /**
+     * Delivers the next batch of objects.
+     * <p>
+     * The objects are borrowed from the caller. They are only valid for the duration of this call
+     * and must neither be retained nor released.
+     * </p>
+     *
+     * @param objects the objects, starting at index 0
+     * @param count   the number of valid entries in {@code objects}
+     */
+    void indicate(WmiClassObject[] objects, int count);
+
+    /**
+     * Signals the end of the call.
+     *
+     * @param hresult the final status of the call, {@code WBEM_S_NO_ERROR} on success
+     * @param message an optional description of the status provided by WMI
+     */
+    void complete(int hresult, @Nullable String message);
+}
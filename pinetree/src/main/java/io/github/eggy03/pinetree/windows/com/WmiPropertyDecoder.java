@@ -0,0 +1,49 @@
+package io.github.eggy03.pinetree.windows.com;
+
+import com.sun.jna.platform.win32.Variant;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Converts a single property value into the Java type of the field it is mapped to.
+ * <p>
+ * A decoder is chosen once per property, typically from the CIM type of the property, and then applied to every row
+ * through {@link WmiClassObject#decode(String, WmiPropertyDecoder)}. Native objects hand the decoder the {@code VARIANT}
+ * returned by {@code IWbemClassObject::Get}, so that it can read the value from native memory without building an
+ * intermediate object. Other implementations of {@link WmiClassObject} hand it the decoded value instead, and both
+ * paths must produce the same result.
+ * </p>
+ *
+ * <h2>Thread Safety</h2>
+ * Implementations are expected to be stateless and thread-safe, except for decoders that store the values they decode
+ * and return nothing, such as the columns of a {@link io.github.eggy03.pinetree.windows.result.ColumnarResult}, which
+ * belong to the single thread writing the result.
+ *
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface WmiPropertyDecoder {
+
+    /**
+     * Converts a value decoded with the rules of {@link WmiClassObject#get(String, WmiValue)}.
+     *
+     * @param value the decoded value, {@code null} if the property is empty
+     * @return the converted value
+     */
+    @Nullable
+    Object decodeValue(@Nullable Object value);
+
+    /**
+     * Converts a {@code VARIANT} returned by {@code IWbemClassObject::Get}, which is only valid during the call.
+     * <p>
+     * The default implementation decodes the {@code VARIANT} into an object first and converts it with
+     * {@link #decodeValue(Object)}.
+     * </p>
+     *
+     * @param variant the value of the property
+     * @return the converted value
+     */
+    @Nullable
+    default Object decodeVariant(Variant.VARIANT variant) {
+        return decodeValue(ComVariantReader.toJavaValue(variant));
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.eggy03.pinetree.windows.com;
+
+import java.util.function.Consumer;
+
+/**
+ * A class or an instance registered with a {@link WmiRefresher}, holding the values of the last refresh.
+ *
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface WmiRefreshable {
+
+    /**
+     * Visits the objects as of the last refresh.
+     * <p>
+     * The objects are owned by the refresher and are only valid during the call, they must not be released or kept.
+     * </p>
+     *
+     * @param action the action reading each object
+     */
+    void forEach(Consumer<? super WmiClassObject> action);
+}
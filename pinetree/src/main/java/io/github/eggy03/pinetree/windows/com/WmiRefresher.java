@@ -0,0 +1,45 @@
+package io.github.eggy03.pinetree.windows.com;
+
+/**
+ * Keeps a set of WMI objects up to date without re-running queries.
+ * <p>
+ * This is the library's view of {@code IWbemConfigureRefresher} and {@code IWbemRefresher}. Classes and objects are
+ * registered once, then every {@link #refresh()} updates all of them in place. The native implementation is
+ * {@link ComWmiRefresher}; other implementations can stand in for it to exercise refreshing code without a Windows host.
+ * </p>
+ *
+ * @since 1.0
+ */
+public interface WmiRefresher extends AutoCloseable {
+
+    /**
+     * Registers every instance of a class. Instances created or deleted later are picked up by {@link #refresh()}.
+     *
+     * @param wmiClassName the WMI class, e.g. {@code Win32_VideoController}
+     * @return the registered instances, empty until the first {@link #refresh()}
+     * @throws com.sun.jna.platform.win32.COM.COMException if the class could not be registered
+     */
+    WmiRefreshable addEnum(String wmiClassName);
+
+    /**
+     * Registers a single instance.
+     *
+     * @param objectPath the relative object path of the instance, see {@link io.github.eggy03.pinetree.windows.query.WmiObjectPath}
+     * @return the registered instance
+     * @throws com.sun.jna.platform.win32.COM.COMException if the instance could not be registered
+     */
+    WmiRefreshable addObject(String objectPath);
+
+    /**
+     * Updates every registered class and instance in place.
+     *
+     * @throws com.sun.jna.platform.win32.COM.COMException if the refresh failed
+     */
+    void refresh();
+
+    /**
+     * Releases the refresher and everything registered with it.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,49 @@
+package io.github.eggy03.pinetree.windows.com;
+
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Mutable holder for a single property value read from a {@link WmiClassObject}.
+ * <p>
+ * A holder is meant to be reused across properties and rows, so that reading a row does not allocate
+ * a wrapper object per property.
+ * </p>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are not thread-safe.
+ *
+ * @since 1.0
+ */
+@Getter
+public final class WmiValue {
+
+    /**
+     * The VARIANT type of the value, e.g. {@link com.sun.jna.platform.win32.Variant#VT_BSTR}
+     */
+    private int vtType;
+
+    /**
+     * The CIM type of the property, e.g. {@link com.sun.jna.platform.win32.COM.Wbemcli#CIM_UINT32}
+     */
+    private int cimType;
+
+    /**
+     * The decoded value, {@code null} if the property is empty
+     */
+    @Nullable
+    private Object value;
+
+    /**
+     * Replaces the content of this holder.
+     *
+     * @param vtType  the VARIANT type of the value
+     * @param cimType the CIM type of the property
+     * @param value   the decoded value
+     */
+    public void set(int vtType, int cimType, @Nullable Object value) {
+        this.vtType = vtType;
+        this.cimType = cimType;
+        this.value = value;
+    }
+}
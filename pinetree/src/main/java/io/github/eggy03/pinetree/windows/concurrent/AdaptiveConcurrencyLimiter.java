@@ -0,0 +1,441 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of concurrent WMI calls, adapting the limit to the latency observed with an
+ * additive-increase, multiplicative-decrease (AIMD) rule.
+ * <p>
+ * Past a certain number of concurrent queries, {@code WmiPrvSE} saturates and the latency of every query grows
+ * much faster than the throughput. Instead of a fixed thread count, the limiter probes for that point:
+ * </p>
+ * <ul>
+ *     <li>Each <b>operation</b>, e.g. the WMI class being queried, has its own <b>baseline</b>: the lowest latency
+ *     among its last {@code baselineWindow} calls. A cheap operation therefore never makes an expensive one look
+ *     degraded, and a baseline forgets a minimum once it is a window old, so it adapts when an operation becomes
+ *     permanently more expensive.</li>
+ *     <li>A call that completes within {@code tolerance} times the baseline of its operation while the limit is mostly in use
+ *     raises the limit additively, by one permit per limit's worth of such calls.</li>
+ *     <li>A call that takes longer, fails or returns an incomplete result cuts the limit multiplicatively
+ *     by {@code backoffRatio}, at most once per window: the calls already in flight when the limit was cut suffered
+ *     the same overload, so their own degraded or failed outcomes do not cut it again.</li>
+ * </ul>
+ * Calls waiting for a permit are admitted by {@link QueryPriority}, the one in effect on the calling thread
+ * (see {@link ComExecutor#withPriority(QueryPriority, Supplier)}): a freed permit goes to the most urgent waiter, so an
+ * interactive call never waits behind a queue of background ones. Within a priority, waiters are not ordered.
+ * The limit always stays within {@code [minLimit, maxLimit]} and is exposed through {@link #getLimit()} and
+ * {@link #getStats()}. A call made through {@link #call(Supplier, Predicate)} from within another one is not limited
+ * again, so nested calls cannot deadlock on the limiter. Time is read from {@code nanoClock}, so the algorithm can be driven by a simulated
+ * latency model instead of real calls.
+ *
+ * <h2>Usage</h2>
+ * <pre>{@code
+ * // The default limiter, used by WmiUtil and therefore by every service in this library
+ * int currentLimit = AdaptiveConcurrencyLimiter.getDefault().getLimit();
+ *
+ * // Guarding a custom call
+ * List<Processor> cpuList = limiter.call("Win32_Processor", () -> new ProcessorService().get(), rows -> true);
+ *
+ * // Guarding an asynchronous call
+ * AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire("Win32_Process");
+ * startQuery().whenComplete((rows, failure) -> {
+ *     if (failure == null)
+ *         permit.onSuccess();
+ *     else
+ *         permit.onFailure();
+ *     permit.close();
+ * });
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are thread-safe.
+ *
+ * @since 1.0
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int DEFAULT_INITIAL_LIMIT = Math.clamp(Runtime.getRuntime().availableProcessors(), 2, 8);
+    private static final int DEFAULT_MIN_LIMIT = 1;
+    private static final int DEFAULT_MAX_LIMIT = 64;
+    private static final double DEFAULT_BACKOFF_RATIO = 0.75;
+    private static final double DEFAULT_TOLERANCE = 2.0;
+    private static final int DEFAULT_BASELINE_WINDOW = 100;
+    private static final String DEFAULT_OPERATION = "";
+
+    /**
+     * The lower bound of the limit
+     */
+    @Getter
+    private final int minLimit;
+
+    /**
+     * The upper bound of the limit
+     */
+    @Getter
+    private final int maxLimit;
+
+    /**
+     * The factor applied to the limit when latency degrades or a call fails
+     */
+    @Getter
+    private final double backoffRatio;
+
+    /**
+     * The multiple of the baseline latency above which a call counts as degraded
+     */
+    @Getter
+    private final double tolerance;
+
+    private final int baselineWindow;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+    private final ThreadLocal<int[]> callDepth = ThreadLocal.withInitial(() -> new int[1]);
+
+    // Guarded by lock
+    private double limit;
+    private int inFlight = 0;
+    private int waiting = 0;
+    private long decreaseEpoch = 0;
+    private final int[] waitingByPriority = new int[QueryPriority.values().length];
+    private final Map<String, LatencyBaseline> baselines = new HashMap<>();
+
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder increases = new LongAdder();
+    private final LongAdder decreases = new LongAdder();
+
+    /**
+     * Creates a new limiter. Unset parameters fall back to their defaults.
+     *
+     * @param initialLimit   the limit to start from, defaults to the number of processors, clamped to {@code [2, 8]}
+     * @param minLimit       the lower bound of the limit, defaults to {@code 1}
+     * @param maxLimit       the upper bound of the limit, defaults to {@code 64}
+     * @param backoffRatio   the factor applied to the limit on degradation, in {@code (0, 1)}, defaults to {@code 0.75}
+     * @param tolerance      the multiple of the baseline above which latency counts as degraded, defaults to {@code 2}
+     * @param baselineWindow the number of recent calls of an operation whose minimum latency is its baseline, defaults to {@code 100}
+     * @param nanoClock      monotonic time source in nanoseconds, defaults to {@link System#nanoTime()}
+     */
+    @Builder
+    private AdaptiveConcurrencyLimiter(Integer initialLimit, Integer minLimit, Integer maxLimit, Double backoffRatio,
+                                       Double tolerance, Integer baselineWindow, LongSupplier nanoClock) {
+        this.minLimit = minLimit != null ? minLimit : DEFAULT_MIN_LIMIT;
+        this.maxLimit = maxLimit != null ? maxLimit : DEFAULT_MAX_LIMIT;
+        this.backoffRatio = backoffRatio != null ? backoffRatio : DEFAULT_BACKOFF_RATIO;
+        this.tolerance = tolerance != null ? tolerance : DEFAULT_TOLERANCE;
+        this.baselineWindow = baselineWindow != null ? baselineWindow : DEFAULT_BASELINE_WINDOW;
+        this.nanoClock = nanoClock != null ? nanoClock : System::nanoTime;
+
+        if (this.minLimit < 1 || this.maxLimit < this.minLimit)
+            throw new IllegalArgumentException("limits must satisfy 1 <= minLimit <= maxLimit");
+        if (this.backoffRatio <= 0 || this.backoffRatio >= 1)
+            throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+        if (this.tolerance < 1)
+            throw new IllegalArgumentException("tolerance must be at least 1");
+        if (this.baselineWindow < 1)
+            throw new IllegalArgumentException("baselineWindow must be at least 1");
+
+        this.limit = Math.clamp(initialLimit != null ? initialLimit : DEFAULT_INITIAL_LIMIT, this.minLimit, this.maxLimit);
+    }
+
+    /**
+     * @return the process-wide limiter placed in front of every query issued by
+     * {@link io.github.eggy03.pinetree.windows.util.WmiUtil}
+     */
+    public static AdaptiveConcurrencyLimiter getDefault() {
+        return DefaultLimiterHolder.LIMITER;
+    }
+
+    /**
+     * Waits until a call may start, its latency being compared to that of other calls made without an operation.
+     *
+     * @return the permit of the call
+     * @see #acquire(String)
+     */
+    public Permit acquire() {
+        return acquire(DEFAULT_OPERATION);
+    }
+
+    /**
+     * Waits until a call may start, after the waiting calls of a more urgent priority.
+     * The returned permit must be closed once the call has ended, possibly on another thread,
+     * e.g. when an asynchronous call completes.
+     *
+     * @param operation the operation whose baseline the latency of the call is compared to, e.g. the WMI class name
+     * @return the permit of the call
+     */
+    public Permit acquire(String operation) {
+        int priority = ComExecutor.currentPriority().ordinal();
+        long epoch;
+        lock.lock();
+        try {
+            waiting++;
+            waitingByPriority[priority]++;
+            while (inFlight >= (int) limit || isMoreUrgentWaiting(priority))
+                permitReleased.awaitUninterruptibly();
+            waitingByPriority[priority]--;
+            waiting--;
+            inFlight++;
+            epoch = decreaseEpoch;
+
+            // Less urgent waiters may go ahead if there is still room
+            if (waiting > 0 && inFlight < (int) limit)
+                permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        return new Permit(operation, epoch);
+    }
+
+    /**
+     * Runs a call under a permit, recording it as a failure if it throws.
+     *
+     * @param task the call
+     * @param <T>  the result type
+     * @return the result of the call
+     * @see #call(Supplier, Predicate)
+     */
+    public <T> T call(Supplier<T> task) {
+        return call(DEFAULT_OPERATION, task, result -> true);
+    }
+
+    /**
+     * Runs a call under a permit, its latency being compared to that of other calls made without an operation.
+     *
+     * @param task      the call
+     * @param isSuccess decides whether a result counts as a success, e.g. rejecting incomplete results
+     * @param <T>       the result type
+     * @return the result of the call
+     * @see #call(String, Supplier, Predicate)
+     */
+    public <T> T call(Supplier<T> task, Predicate<? super T> isSuccess) {
+        return call(DEFAULT_OPERATION, task, isSuccess);
+    }
+
+    /**
+     * Runs a call under a permit on the calling thread.
+     * <p>
+     * If the calling thread is already running a call of this limiter, the nested call runs right away,
+     * neither counting against the limit nor recording a sample.
+     * </p>
+     *
+     * @param operation the operation whose baseline the latency of the call is compared to, e.g. the WMI class name
+     * @param task      the call
+     * @param isSuccess decides whether a result counts as a success, e.g. rejecting incomplete results
+     * @param <T>       the result type
+     * @return the result of the call
+     */
+    public <T> T call(String operation, Supplier<T> task, Predicate<? super T> isSuccess) {
+        int[] depth = callDepth.get();
+        if (depth[0] > 0) {
+            depth[0]++;
+            try {
+                return task.get();
+            } finally {
+                depth[0]--;
+            }
+        }
+
+        try (Permit permit = acquire(operation)) {
+            depth[0] = 1;
+            try {
+                T result = task.get();
+                if (isSuccess.test(result))
+                    permit.onSuccess();
+                else
+                    permit.onFailure();
+                return result;
+            } catch (RuntimeException | Error e) {
+                permit.onFailure();
+                throw e;
+            } finally {
+                callDepth.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the number of calls currently permitted to run at once
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param operation the operation, e.g. the WMI class name
+     * @return the latency considered normal for the operation, in nanoseconds, {@code 0} until one of its calls has completed
+     */
+    public long getBaselineLatencyNanos(String operation) {
+        lock.lock();
+        try {
+            LatencyBaseline baseline = baselines.get(operation);
+            return baseline != null ? baseline.get() : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return a snapshot of the state and counters of this limiter
+     */
+    public AdaptiveConcurrencyLimiterStats getStats() {
+        lock.lock();
+        try {
+            Map<String, Long> baselineLatencies = new HashMap<>();
+            baselines.forEach((operation, baseline) -> baselineLatencies.put(operation, baseline.get()));
+
+            return AdaptiveConcurrencyLimiterStats.builder()
+                    .limit((int) limit)
+                    .inFlight(inFlight)
+                    .waiting(waiting)
+                    .baselineLatencyNanos(Map.copyOf(baselineLatencies))
+                    .successes(successes.sum())
+                    .failures(failures.sum())
+                    .increases(increases.sum())
+                    .decreases(decreases.sum())
+                    .build();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called with the lock held
+    private boolean isMoreUrgentWaiting(int priority) {
+        for (int i = 0; i < priority; i++) {
+            if (waitingByPriority[i] > 0)
+                return true;
+        }
+        return false;
+    }
+
+    private void release(String operation, long startNanos, long epoch, Outcome outcome) {
+        long latencyNanos = nanoClock.getAsLong() - startNanos;
+        lock.lock();
+        try {
+            int inFlightBefore = inFlight--;
+            switch (outcome) {
+                case SUCCESS -> onSample(operation, latencyNanos, inFlightBefore, epoch);
+                case FAILURE -> {
+                    failures.increment();
+                    decrease(epoch);
+                }
+                case DROPPED -> {
+                    // Neither success nor failure, e.g. the caller gave up early
+                }
+            }
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called with the lock held
+    private void onSample(String operation, long latencyNanos, int inFlightBefore, long epoch) {
+        successes.increment();
+
+        LatencyBaseline baseline = baselines.computeIfAbsent(operation, ignored -> new LatencyBaseline(baselineWindow));
+        long baselineNanos = baseline.get();
+        boolean degraded = baselineNanos > 0 && latencyNanos > baselineNanos * tolerance;
+        baseline.record(latencyNanos);
+
+        if (degraded) {
+            decrease(epoch);
+            return;
+        }
+
+        // Only grow when the limit is actually in use, otherwise a quiet period would inflate it without evidence
+        if (inFlightBefore * 2 >= (int) limit && limit < maxLimit) {
+            int before = (int) limit;
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+            if ((int) limit > before)
+                increases.increment();
+        }
+    }
+
+    // Called with the lock held, a call acquired before the last decrease has already been accounted for by it
+    private void decrease(long epoch) {
+        if (epoch < decreaseEpoch)
+            return;
+
+        decreaseEpoch++;
+        double decreased = Math.max(minLimit, limit * backoffRatio);
+        if ((int) decreased < (int) limit)
+            decreases.increment();
+        limit = decreased;
+    }
+
+    private enum Outcome {
+        SUCCESS,
+        FAILURE,
+        DROPPED
+    }
+
+    /**
+     * Permission to run a single call, to be closed once the call has ended.
+     * <p>
+     * The outcome of the call is recorded with {@link #onSuccess()} or {@link #onFailure()} before closing.
+     * A permit closed without an outcome releases its slot without affecting the limit.
+     * </p>
+     * A permit may be closed on another thread than the one that acquired it, but must not be used by several
+     * threads at once.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final String operation;
+        private final long epoch;
+        private final long startNanos = nanoClock.getAsLong();
+        private Outcome outcome = Outcome.DROPPED;
+        private boolean closed = false;
+
+        private Permit(String operation, long epoch) {
+            this.operation = operation;
+            this.epoch = epoch;
+        }
+
+        /**
+         * Records that the call completed normally, its latency being measured from the acquisition of the permit.
+         */
+        public void onSuccess() {
+            outcome = Outcome.SUCCESS;
+        }
+
+        /**
+         * Records that the call failed or returned an incomplete result.
+         */
+        public void onFailure() {
+            outcome = Outcome.FAILURE;
+        }
+
+        /**
+         * Releases the permit. Calling this method more than once has no effect.
+         */
+        @Override
+        public void close() {
+            if (closed)
+                return;
+
+            closed = true;
+            release(operation, startNanos, epoch, outcome);
+        }
+    }
+
+    private static final class DefaultLimiterHolder {
+        private static final AdaptiveConcurrencyLimiter LIMITER = AdaptiveConcurrencyLimiter.builder().build();
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the state and counters of an {@link AdaptiveConcurrencyLimiter}.
+ *
+ * @since 1.0
+ */
+@Value
+@Builder
+public class AdaptiveConcurrencyLimiterStats {
+
+    /**
+     * Number of calls currently permitted to run at once
+     */
+    int limit;
+
+    /**
+     * Number of calls currently running
+     */
+    int inFlight;
+
+    /**
+     * Number of calls currently waiting for a permit
+     */
+    int waiting;
+
+    /**
+     * Latency considered normal for each operation that has completed a call, in nanoseconds
+     */
+    Map<String, Long> baselineLatencyNanos;
+
+    /**
+     * Number of calls that completed in time
+     */
+    long successes;
+
+    /**
+     * Number of calls that failed or returned an incomplete result
+     */
+    long failures;
+
+    /**
+     * Number of times the limit was raised
+     */
+    long increases;
+
+    /**
+     * Number of times the limit was cut
+     */
+    long decreases;
+}
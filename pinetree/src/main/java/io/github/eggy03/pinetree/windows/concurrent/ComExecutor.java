@@ -0,0 +1,461 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+import io.github.eggy03.pinetree.windows.connection.WmiConnection;
+import io.github.eggy03.pinetree.windows.util.ComThreadFactory;
+import io.github.eggy03.pinetree.windows.util.WmiUtil;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Fixed pool of long-lived threads that are members of the COM multithreaded apartment.
+ * <p>
+ * Every worker initializes COM once when it starts and uninitializes it once when the executor is shut down
+ * (see {@link ComThreadFactory}), so the cost of {@code CoInitializeEx} and {@code CoInitializeSecurity} is paid per worker instead of per query.
+ * The managed methods of the services ({@code getManaged()}) submit their work to {@link #getDefault()}, which gives
+ * callers on arbitrary threads, including virtual threads, COM-safe execution with bounded concurrency.
+ * As long as the workers are alive, the apartment and therefore pooled connections stay valid.
+ * </p>
+ * <ul>
+ *     <li>Tasks are queued in one lane per {@link QueryPriority}. Idle workers serve the most urgent lane first, in
+ *     submission order, so a request someone is waiting for does not queue behind a backlog of polls. Only the queue
+ *     order is affected, running native calls are never preempted.</li>
+ *     <li>Less urgent work cannot starve: a queued task is served after every {@code interactiveBurst} tasks taken ahead
+ *     of it, and once it has waited longer than {@code maxBackgroundWait}, its lane alternates with the more urgent ones.</li>
+ *     <li>The priority of a task is the one in effect on the submitting thread, see {@link #withPriority(QueryPriority, Supplier)}.
+ *     It defaults to {@link QueryPriority#NORMAL}, so that callers marked {@link QueryPriority#INTERACTIVE} overtake
+ *     unmarked ones, and also applies to the tasks submitted while the task runs.</li>
+ *     <li>Tasks submitted from a worker of the same executor are run inline, so nested calls cannot deadlock the pool.</li>
+ *     <li>A connection bound to the submitting thread with {@link WmiUtil#withConnection(WmiConnection, Supplier)} stays
+ *     bound while the task runs on the worker, so handing a query to a worker never sends it to another machine.</li>
+ *     <li>Tasks submitted with a deadline via {@link #submit(Supplier, Duration)} are watched. If one is still running
+ *     when its deadline passes, its future fails with a {@link TimeoutException}, the worker running it is abandoned
+ *     and a fresh worker takes its place, so a call hanging inside a WMI provider cannot shrink the pool.</li>
+ *     <li>A task throwing an {@link Error} does not end its worker either. The error is passed to the uncaught exception
+ *     handler of the worker thread and the worker goes on serving the queue.</li>
+ * </ul>
+ *
+ * <h2>Usage</h2>
+ * <pre>{@code
+ * // Blocking, from any thread
+ * List<Processor> cpuList = ComExecutor.getDefault().call(() -> new ProcessorService().get());
+ *
+ * // Non-blocking
+ * CompletableFuture<List<Bios>> biosList = ComExecutor.getDefault().submit(() -> new BiosService().get());
+ *
+ * // An operator waiting for the answer, served ahead of unmarked and background calls
+ * List<Processor> cpuList = ComExecutor.withPriority(QueryPriority.INTERACTIVE, () -> new ProcessorService().getManaged());
+ *
+ * // A background sweep, served after queued interactive and unmarked requests
+ * List<PhysicalMemory> memoryList = ComExecutor.withPriority(QueryPriority.BACKGROUND, () -> new PhysicalMemoryService().getManaged());
+ *
+ * // A dedicated pool
+ * try (ComExecutor executor = ComExecutor.builder().threads(2).namePrefix("inventory").build()) {
+ *     List<Monitor> monitorList = executor.call(() -> new MonitorService().get());
+ * }
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are thread-safe.
+ *
+ * @since 1.0
+ */
+public class ComExecutor implements Executor, AutoCloseable {
+
+    private static final int DEFAULT_THREADS = Math.clamp(Runtime.getRuntime().availableProcessors(), 2, 8);
+    private static final String DEFAULT_NAME_PREFIX = "pinetree-com";
+    private static final int DEFAULT_INTERACTIVE_BURST = 8;
+    private static final Duration DEFAULT_MAX_BACKGROUND_WAIT = Duration.ofSeconds(2);
+
+    private static final ThreadLocal<QueryPriority> CURRENT_PRIORITY = ThreadLocal.withInitial(() -> QueryPriority.NORMAL);
+
+    /**
+     * The number of worker threads
+     */
+    @Getter
+    private final int threads;
+
+    private final ThreadFactory threadFactory;
+    private final PriorityTaskQueue queue;
+    private final ThreadLocal<Boolean> isWorker = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private final Set<Thread> abandonedWorkers = ConcurrentHashMap.newKeySet();
+    private final LongAdder replacedWorkers = new LongAdder();
+    private volatile boolean shutdown = false;
+
+    /**
+     * Creates and starts a new executor. Unset parameters fall back to their defaults.
+     *
+     * @param threads           number of worker threads, defaults to the number of processors, clamped to {@code [2, 8]}
+     * @param namePrefix        prefix of the worker thread names, defaults to {@code pinetree-com}
+     * @param interactiveBurst  maximum number of more urgent tasks served in a row while less urgent ones are queued, defaults to {@code 8}
+     * @param maxBackgroundWait queueing time after which less urgent tasks alternate with more urgent ones, defaults to 2 seconds
+     * @param nanoClock         monotonic time source in nanoseconds, defaults to {@link System#nanoTime()}
+     * @param threadFactory     factory of the worker threads, defaults to a {@link ComThreadFactory}. A custom factory must
+     *                          initialize COM on its threads before running the worker, {@code namePrefix} is then ignored
+     */
+    @Builder
+    private ComExecutor(Integer threads, String namePrefix, Integer interactiveBurst, Duration maxBackgroundWait, LongSupplier nanoClock,
+                        ThreadFactory threadFactory) {
+        this.threads = threads != null ? threads : DEFAULT_THREADS;
+        if (this.threads < 1)
+            throw new IllegalArgumentException("threads must be at least 1");
+
+        int burst = interactiveBurst != null ? interactiveBurst : DEFAULT_INTERACTIVE_BURST;
+        if (burst < 1)
+            throw new IllegalArgumentException("interactiveBurst must be at least 1");
+
+        Duration backgroundWait = maxBackgroundWait != null ? maxBackgroundWait : DEFAULT_MAX_BACKGROUND_WAIT;
+        if (backgroundWait.isNegative())
+            throw new IllegalArgumentException("maxBackgroundWait must not be negative");
+
+        this.queue = new PriorityTaskQueue(burst, backgroundWait.toNanos(), nanoClock != null ? nanoClock : System::nanoTime);
+
+        this.threadFactory = threadFactory != null
+                ? threadFactory
+                : new ComThreadFactory(namePrefix != null ? namePrefix : DEFAULT_NAME_PREFIX, true);
+        for (int i = 0; i < this.threads; i++)
+            this.threadFactory.newThread(this::work).start();
+    }
+
+    /**
+     * Returns the process-wide executor used by the managed methods of the services.
+     * <p>
+     * It is created on first use and its daemon workers live until the JVM exits.
+     * </p>
+     *
+     * @return the default executor
+     */
+    public static ComExecutor getDefault() {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * Runs the task with the given priority in effect on the current thread.
+     * <p>
+     * Every task submitted to any {@link ComExecutor} from within the task, including the ones submitted by the managed
+     * methods of the services, is queued with that priority. Scopes can be nested, the innermost one wins.
+     * </p>
+     *
+     * @param priority the priority of the tasks submitted by {@code task}
+     * @param task     the task, run on the current thread
+     * @param <T>      the result type
+     * @return the result of the task
+     */
+    public static <T> T withPriority(QueryPriority priority, Supplier<T> task) {
+        QueryPriority previous = CURRENT_PRIORITY.get();
+        CURRENT_PRIORITY.set(priority);
+        try {
+            return task.get();
+        } finally {
+            CURRENT_PRIORITY.set(previous);
+        }
+    }
+
+    /**
+     * @return the priority tasks submitted from the current thread are queued with, {@link QueryPriority#NORMAL}
+     * unless changed by {@link #withPriority(QueryPriority, Supplier)}
+     */
+    public static QueryPriority currentPriority() {
+        return CURRENT_PRIORITY.get();
+    }
+
+    /**
+     * Runs the task on a worker and waits for its result.
+     * <p>
+     * Virtual threads park while waiting and release their carrier thread to other virtual threads.
+     * </p>
+     *
+     * @param task the task, it may use COM without initializing it
+     * @param <T>  the result type
+     * @return the result of the task
+     * @throws RejectedExecutionException if the executor has been shut down
+     * @throws RuntimeException           the exception thrown by the task, rethrown as-is
+     */
+    public <T> T call(Supplier<T> task) {
+        if (Boolean.TRUE.equals(isWorker.get()))
+            return task.get();
+
+        try {
+            return submit(task).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            if (e.getCause() instanceof Error error)
+                throw error;
+            throw e;
+        }
+    }
+
+    /**
+     * Schedules the task on a worker.
+     * <p>
+     * Cancelling the returned future before the task has started prevents it from running.
+     * </p>
+     *
+     * @param task the task, it may use COM without initializing it
+     * @param <T>  the result type
+     * @return a future completed with the result of the task
+     * @throws RejectedExecutionException if the executor has been shut down
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return submit(task, currentPriority());
+    }
+
+    /**
+     * Schedules the task on a worker with an explicit priority.
+     * <p>
+     * Cancelling the returned future before the task has started prevents it from running.
+     * </p>
+     *
+     * @param task     the task, it may use COM without initializing it
+     * @param priority the lane the task is queued in
+     * @param <T>      the result type
+     * @return a future completed with the result of the task
+     * @throws RejectedExecutionException if the executor has been shut down
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task, QueryPriority priority) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        execute(() -> {
+            if (future.isDone())
+                return; // cancelled while queued
+
+            try {
+                future.complete(task.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }, priority);
+        return future;
+    }
+
+    /**
+     * Schedules the task on a worker and watches its deadline.
+     * <p>
+     * If the task has not completed when the deadline passes, the returned future fails with a
+     * {@link TimeoutException}. A task that is still queued at that point is never run and fails with the
+     * {@link QueueTimeoutException} subtype. A task that is already running
+     * cannot be interrupted while inside COM, so the worker running it is abandoned: it is replaced by a new worker right
+     * away and terminates on its own once the task eventually returns, its result being discarded. Cancelling the
+     * returned future does not stop the watch of a running task, whose worker is replaced all the same if it overruns.
+     * When called from a worker of this executor, the task is run inline and the deadline is not enforced.
+     * </p>
+     *
+     * @param task    the task, it may use COM without initializing it
+     * @param timeout the deadline of the task, measured from now
+     * @param <T>     the result type
+     * @return a future completed with the result of the task, or exceptionally with a {@link TimeoutException}
+     * @throws RejectedExecutionException if the executor has been shut down
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task, Duration timeout) {
+        if (Boolean.TRUE.equals(isWorker.get())) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (Throwable t) {
+                return CompletableFuture.failedFuture(t);
+            }
+        }
+
+        WatchedTask<T> watched = new WatchedTask<>(task);
+        execute(watched);
+        WatchdogHolder.SCHEDULER.schedule(() -> expire(watched, timeout), timeout.toNanos(), TimeUnit.NANOSECONDS);
+        return watched.future;
+    }
+
+    /**
+     * @return the number of workers abandoned and replaced because a watched task overran its deadline
+     */
+    public long getReplacedWorkers() {
+        return replacedWorkers.sum();
+    }
+
+    /**
+     * @return a snapshot of the queue and counters of this executor
+     */
+    public ComExecutorStats getStats() {
+        return queue.stats(replacedWorkers.sum());
+    }
+
+    /**
+     * Schedules a command on a worker, with the priority in effect on the current thread.
+     *
+     * @param command the command, it may use COM without initializing it
+     * @throws RejectedExecutionException if the executor has been shut down
+     */
+    @Override
+    public void execute(Runnable command) {
+        execute(command, currentPriority());
+    }
+
+    /**
+     * Schedules a command on a worker with an explicit priority.
+     *
+     * @param command  the command, it may use COM without initializing it
+     * @param priority the lane the command is queued in
+     * @throws RejectedExecutionException if the executor has been shut down
+     */
+    public void execute(Runnable command, QueryPriority priority) {
+        if (shutdown || !queue.add(withBoundConnection(command), priority))
+            throw new RejectedExecutionException("ComExecutor has been shut down");
+    }
+
+    /**
+     * Stops accepting new tasks. Already queued tasks are still run, after which the workers uninitialize COM and exit.
+     */
+    public void shutdown() {
+        if (shutdown)
+            return;
+
+        shutdown = true;
+        // Workers exit once every lane is drained
+        queue.close();
+    }
+
+    /**
+     * @return {@code true} if {@link #shutdown()} has been called
+     */
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Same as {@link #shutdown()}.
+     */
+    @Override
+    public void close() {
+        shutdown();
+    }
+
+    private void work() {
+        isWorker.set(Boolean.TRUE);
+        while (true) {
+            PriorityTaskQueue.Entry entry;
+            try {
+                entry = queue.take();
+            } catch (InterruptedException e) {
+                if (shutdown)
+                    return;
+                continue;
+            }
+
+            if (entry == null)
+                return;
+
+            // Follow-up tasks submitted by this one inherit its priority
+            CURRENT_PRIORITY.set(entry.priority());
+            try {
+                entry.task().run();
+            } catch (Throwable t) {
+                // Plain execute() tasks have nobody to report to, keep the worker alive but do not hide errors
+                if (t instanceof Error) {
+                    Thread worker = Thread.currentThread();
+                    worker.getUncaughtExceptionHandler().uncaughtException(worker, t);
+                }
+            } finally {
+                CURRENT_PRIORITY.remove();
+            }
+
+            // A replacement has already been started for this worker
+            if (abandonedWorkers.remove(Thread.currentThread()))
+                return;
+        }
+    }
+
+    // Queries of the task go through the connection bound to the submitting thread, as they would have there
+    private static Runnable withBoundConnection(Runnable command) {
+        WmiConnection bound = WmiUtil.getBoundConnection();
+        if (bound == null)
+            return command;
+
+        return () -> WmiUtil.withConnection(bound, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    private void expire(WatchedTask<?> watched, Duration timeout) {
+        Thread runner;
+        synchronized (watched) {
+            // A task cancelled while running still holds its worker until it returns
+            runner = watched.runner;
+            if (watched.future.isDone() && runner == null)
+                return;
+
+            // Still queued tasks see the completed future and skip themselves, running ones cost us their worker.
+            // The worker is accounted for before the caller learns about the timeout
+            if (runner != null) {
+                abandonedWorkers.add(runner);
+                replacedWorkers.increment();
+            }
+            watched.future.completeExceptionally(runner == null
+                    ? new QueueTimeoutException("Task did not start within " + timeout)
+                    : new TimeoutException("Task did not complete within " + timeout));
+        }
+
+        if (runner != null && !shutdown)
+            threadFactory.newThread(this::work).start();
+    }
+
+    private static final class WatchedTask<T> implements Runnable {
+
+        private final Supplier<T> task;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private Thread runner;
+
+        private WatchedTask(Supplier<T> task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (future.isDone())
+                    return; // expired or cancelled while queued
+                runner = Thread.currentThread();
+            }
+
+            T result;
+            try {
+                result = task.get();
+            } catch (Throwable t) {
+                synchronized (this) {
+                    runner = null;
+                    future.completeExceptionally(t);
+                }
+                return;
+            }
+            synchronized (this) {
+                runner = null;
+                future.complete(result);
+            }
+        }
+    }
+
+    // Plain thread that never touches COM, only expires watched tasks
+    private static final class WatchdogHolder {
+        private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pinetree-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Lazily created so that merely loading this class does not start threads
+    private static final class DefaultExecutorHolder {
+        private static final ComExecutor EXECUTOR = ComExecutor.builder().build();
+    }
+}
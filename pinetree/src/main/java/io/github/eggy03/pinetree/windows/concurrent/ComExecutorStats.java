@@ -0,0 +1,108 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable snapshot of the queue and counters of a {@link ComExecutor}.
+ * <p>
+ * Wait times are measured from submission until a worker picks the task up, they do not include the time spent running it.
+ * </p>
+ *
+ * @since 1.0
+ */
+@Value
+@Builder
+public class ComExecutorStats {
+
+    /**
+     * Number of interactive tasks currently waiting for a worker
+     */
+    int queuedInteractive;
+
+    /**
+     * Number of normal tasks currently waiting for a worker
+     */
+    int queuedNormal;
+
+    /**
+     * Number of background tasks currently waiting for a worker
+     */
+    int queuedBackground;
+
+    /**
+     * Number of interactive tasks handed to a worker
+     */
+    long dispatchedInteractive;
+
+    /**
+     * Number of normal tasks handed to a worker
+     */
+    long dispatchedNormal;
+
+    /**
+     * Number of background tasks handed to a worker
+     */
+    long dispatchedBackground;
+
+    /**
+     * Number of tasks handed to a worker ahead of queued more urgent tasks, to keep them from starving
+     */
+    long promoted;
+
+    /**
+     * Total time interactive tasks spent queued, in nanoseconds
+     */
+    long totalInteractiveWaitNanos;
+
+    /**
+     * Total time normal tasks spent queued, in nanoseconds
+     */
+    long totalNormalWaitNanos;
+
+    /**
+     * Total time background tasks spent queued, in nanoseconds
+     */
+    long totalBackgroundWaitNanos;
+
+    /**
+     * Longest time an interactive task spent queued, in nanoseconds
+     */
+    long maxInteractiveWaitNanos;
+
+    /**
+     * Longest time a normal task spent queued, in nanoseconds
+     */
+    long maxNormalWaitNanos;
+
+    /**
+     * Longest time a background task spent queued, in nanoseconds
+     */
+    long maxBackgroundWaitNanos;
+
+    /**
+     * Number of workers abandoned and replaced because a watched task overran its deadline
+     */
+    long replacedWorkers;
+
+    /**
+     * @return the average time an interactive task spent queued, in nanoseconds
+     */
+    public long getAverageInteractiveWaitNanos() {
+        return dispatchedInteractive == 0 ? 0 : totalInteractiveWaitNanos / dispatchedInteractive;
+    }
+
+    /**
+     * @return the average time a normal task spent queued, in nanoseconds
+     */
+    public long getAverageNormalWaitNanos() {
+        return dispatchedNormal == 0 ? 0 : totalNormalWaitNanos / dispatchedNormal;
+    }
+
+    /**
+     * @return the average time a background task spent queued, in nanoseconds
+     */
+    public long getAverageBackgroundWaitNanos() {
+        return dispatchedBackground == 0 ? 0 : totalBackgroundWaitNanos / dispatchedBackground;
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+import io.github.eggy03.pinetree.windows.result.WmiEntityIterator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator that advances a {@link WmiEntityIterator} on the workers of a {@link ComExecutor}.
+ * <p>
+ * Each hop to a worker moves up to {@code prefetch} elements into a local buffer, so the consuming thread, typically
+ * a virtual thread, never makes native calls itself and only parks once per buffer instead of once per element.
+ * Closing this iterator closes the delegate on a worker as well.
+ * </p>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are not thread-safe.
+ *
+ * @param <S> the element type
+ * @since 1.0
+ */
+public class ComOffloadingIterator<S> implements Iterator<S>, AutoCloseable {
+
+    private final WmiEntityIterator<S, ?> delegate;
+    private final ComExecutor executor;
+    private final int prefetch;
+    private final Deque<S> buffer = new ArrayDeque<>();
+    private boolean exhausted = false;
+
+    /**
+     * Creates a new iterator.
+     *
+     * @param delegate the COM-backed iterator, which must only be advanced and closed on COM threads
+     * @param executor the executor whose workers advance the delegate
+     * @param prefetch the maximum number of elements moved per hop, at least one
+     */
+    public ComOffloadingIterator(WmiEntityIterator<S, ?> delegate, ComExecutor executor, int prefetch) {
+        if (prefetch < 1)
+            throw new IllegalArgumentException("prefetch must be at least 1");
+
+        this.delegate = delegate;
+        this.executor = executor;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (buffer.isEmpty() && !exhausted) {
+            executor.call(() -> {
+                while (buffer.size() < prefetch && delegate.hasNext())
+                    buffer.add(delegate.next());
+                return null;
+            });
+            exhausted = buffer.isEmpty();
+        }
+        return !buffer.isEmpty();
+    }
+
+    @Override
+    public S next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        return buffer.poll();
+    }
+
+    @Override
+    public void close() {
+        buffer.clear();
+        exhausted = true;
+        executor.call(() -> {
+            delegate.close();
+            return null;
+        });
+    }
+}
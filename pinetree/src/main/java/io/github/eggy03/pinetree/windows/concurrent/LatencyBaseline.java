@@ -0,0 +1,45 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+// Minimum latency over the last window of samples, kept as the minima of a few buckets so that old samples age out
+final class LatencyBaseline {
+
+    private static final int BUCKETS = 4;
+
+    private final long[] bucketMinNanos = new long[BUCKETS];
+    private final int samplesPerBucket;
+
+    private int bucket = 0;
+    private int samplesInBucket = 0;
+    private long baselineNanos = 0;
+
+    LatencyBaseline(int window) {
+        this.samplesPerBucket = Math.max(1, window / BUCKETS);
+    }
+
+    // 0 until the first sample
+    long get() {
+        return baselineNanos;
+    }
+
+    void record(long latencyNanos) {
+        long sample = Math.max(1, latencyNanos);
+
+        if (samplesInBucket == samplesPerBucket) {
+            // The oldest bucket is dropped, a minimum only seen there no longer holds the baseline down
+            bucket = (bucket + 1) % BUCKETS;
+            bucketMinNanos[bucket] = 0;
+            samplesInBucket = 0;
+        }
+
+        samplesInBucket++;
+        if (bucketMinNanos[bucket] == 0 || sample < bucketMinNanos[bucket])
+            bucketMinNanos[bucket] = sample;
+
+        long min = 0;
+        for (long bucketMin : bucketMinNanos) {
+            if (bucketMin != 0 && (min == 0 || bucketMin < min))
+                min = bucketMin;
+        }
+        baselineNanos = min;
+    }
+}
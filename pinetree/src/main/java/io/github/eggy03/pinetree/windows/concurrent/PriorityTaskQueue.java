@@ -0,0 +1,193 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Task queue of a {@link ComExecutor}, with one lane per {@link QueryPriority}. Thread-safe.
+ * <p>
+ * Tasks are taken from the most urgent non-empty lane. A less urgent lane is served instead once {@code burst} tasks
+ * have been taken ahead of it in a row, or, at most every other pick, once its oldest task has waited for
+ * {@code maxWaitNanos}.
+ * </p>
+ */
+final class PriorityTaskQueue {
+
+    private static final QueryPriority[] PRIORITIES = QueryPriority.values();
+
+    private final int burst;
+    private final long maxWaitNanos;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Lane[] lanes = new Lane[PRIORITIES.length];
+    private int queued = 0;
+    private boolean closed = false;
+    private long promoted = 0;
+
+    PriorityTaskQueue(int burst, long maxWaitNanos, LongSupplier nanoClock) {
+        this.burst = burst;
+        this.maxWaitNanos = maxWaitNanos;
+        this.nanoClock = nanoClock;
+        for (int i = 0; i < lanes.length; i++)
+            lanes[i] = new Lane();
+    }
+
+    /**
+     * @return {@code false} if the queue has been closed and the task was not added
+     */
+    boolean add(Runnable task, QueryPriority priority) {
+        lock.lock();
+        try {
+            if (closed)
+                return false;
+
+            lanes[priority.ordinal()].tasks.addLast(new Entry(task, priority, nanoClock.getAsLong()));
+            queued++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the next task.
+     *
+     * @return the next task, or {@code null} once the queue is closed and drained
+     */
+    Entry take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (queued == 0) {
+                if (closed)
+                    return null;
+                notEmpty.await();
+            }
+
+            long now = nanoClock.getAsLong();
+            int next = nextLane(now);
+            Lane lane = lanes[next];
+            Entry entry = lane.tasks.pollFirst();
+            queued--;
+
+            lane.skipped = 0;
+            lane.dispatched++;
+            long waited = now - entry.enqueuedNanos;
+            lane.totalWaitNanos += waited;
+            lane.maxWaitNanos = Math.max(lane.maxWaitNanos, waited);
+
+            // Every waiting lane but the most urgent one has now been passed over once more
+            boolean moreUrgentWaiting = false;
+            for (int i = 0; i < lanes.length; i++) {
+                if (lanes[i].tasks.isEmpty() && i != next) {
+                    lanes[i].skipped = 0;
+                    continue;
+                }
+                if (i == next && moreUrgentWaiting)
+                    promoted++;
+                else if (i != next && moreUrgentWaiting)
+                    lanes[i].skipped++;
+                moreUrgentWaiting = true;
+            }
+
+            // Wake up another worker if there is more to do
+            if (queued > 0)
+                notEmpty.signal();
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting tasks. Queued tasks can still be taken, after which {@link #take()} returns {@code null}.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Builds the stats of the executor from the counters of this queue. The stats are built here rather than filled
+     * into a builder passed in, as Javadoc cannot resolve the builder classes Lombok generates in a signature.
+     *
+     * @param replacedWorkers the number of workers the executor has replaced
+     * @return the stats of the executor
+     */
+    ComExecutorStats stats(long replacedWorkers) {
+        lock.lock();
+        try {
+            Lane interactive = lanes[QueryPriority.INTERACTIVE.ordinal()];
+            Lane normal = lanes[QueryPriority.NORMAL.ordinal()];
+            Lane background = lanes[QueryPriority.BACKGROUND.ordinal()];
+            return ComExecutorStats.builder()
+                    .queuedInteractive(interactive.tasks.size())
+                    .queuedNormal(normal.tasks.size())
+                    .queuedBackground(background.tasks.size())
+                    .dispatchedInteractive(interactive.dispatched)
+                    .dispatchedNormal(normal.dispatched)
+                    .dispatchedBackground(background.dispatched)
+                    .promoted(promoted)
+                    .totalInteractiveWaitNanos(interactive.totalWaitNanos)
+                    .totalNormalWaitNanos(normal.totalWaitNanos)
+                    .totalBackgroundWaitNanos(background.totalWaitNanos)
+                    .maxInteractiveWaitNanos(interactive.maxWaitNanos)
+                    .maxNormalWaitNanos(normal.maxWaitNanos)
+                    .maxBackgroundWaitNanos(background.maxWaitNanos)
+                    .replacedWorkers(replacedWorkers)
+                    .build();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called with the lock held and at least one task queued
+    private int nextLane(long now) {
+        int mostUrgent = -1;
+        for (int i = 0; i < lanes.length; i++) {
+            if (lanes[i].tasks.isEmpty())
+                continue;
+            if (mostUrgent < 0) {
+                mostUrgent = i;
+                continue;
+            }
+
+            // The most urgent lane that has waited long enough goes first, the others keep counting
+            if (isDue(lanes[i], now))
+                return i;
+        }
+        return mostUrgent;
+    }
+
+    private boolean isDue(Lane lane, long now) {
+        if (lane.skipped >= burst)
+            return true;
+
+        // Aged work alternates with more urgent work, it never takes over the whole pool
+        return lane.skipped > 0 && now - lane.tasks.peekFirst().enqueuedNanos >= maxWaitNanos;
+    }
+
+    private static final class Lane {
+
+        private final ArrayDeque<Entry> tasks = new ArrayDeque<>();
+
+        // Tasks taken from more urgent lanes in a row while this one was waiting
+        private int skipped = 0;
+
+        private long dispatched = 0;
+        private long totalWaitNanos = 0;
+        private long maxWaitNanos = 0;
+    }
+
+    record Entry(Runnable task, QueryPriority priority, long enqueuedNanos) {
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+/**
+ * Scheduling class of the tasks submitted to a {@link ComExecutor}.
+ * <p>
+ * Priorities decide which queued task a free worker picks next, and which waiting query is admitted next by the
+ * {@link AdaptiveConcurrencyLimiter} and the {@link WmiLoadGovernor}. A native call that is already running is never
+ * preempted. Constants are declared from the most to the least urgent.
+ * </p>
+ *
+ * @see ComExecutor#withPriority(QueryPriority, java.util.function.Supplier)
+ * @since 1.0
+ */
+public enum QueryPriority {
+
+    /**
+     * Requests someone is waiting for, e.g. an operator looking at a single machine.
+     * Served ahead of every other task, so it must be asked for explicitly
+     */
+    INTERACTIVE,
+
+    /**
+     * Calls made without a priority, e.g. by existing code that was never marked. The default
+     */
+    NORMAL,
+
+    /**
+     * Scheduled work that can tolerate queueing, e.g. periodic inventory sweeps.
+     * Served when no more urgent task is queued, and regularly in between so that it cannot starve
+     */
+    BACKGROUND
+}
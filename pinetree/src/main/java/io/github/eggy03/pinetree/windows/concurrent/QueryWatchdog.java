@@ -0,0 +1,222 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+import io.github.eggy03.pinetree.windows.enums.WmiClassname;
+import io.github.eggy03.pinetree.windows.mapper.CommonMappingInterface;
+import io.github.eggy03.pinetree.windows.result.WmiResultTable;
+import io.github.eggy03.pinetree.windows.result.WmiTimedResult;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the duration of WMI queries per WMI class and isolates callers from providers that hang.
+ * <p>
+ * A bounded query runs on a worker of a {@link ComExecutor} under two deadlines:
+ * </p>
+ * <ul>
+ *     <li>The <b>timeout</b> is handed to the enumeration, see
+ *     {@link io.github.eggy03.pinetree.windows.util.WmiUtil#getResult(String, String, io.github.eggy03.pinetree.windows.query.WqlQuery, Duration)}.
+ *     When it elapses, the rows received so far are returned as {@link WmiTimedResult.Status#PARTIAL}. Both deadlines
+ *     run from the submission of the query, so the enumeration only gets what is left of the timeout once a worker
+ *     picks the query up, and a query that waited for a worker still ends before its hard deadline.</li>
+ *     <li>The <b>hard deadline</b>, the timeout plus a grace period, catches calls that hang inside COM and never return,
+ *     such as a provider stuck on a wedged driver. The worker is abandoned and replaced, see
+ *     {@link ComExecutor#submit(Supplier, Duration)}, and the caller receives {@link WmiTimedResult.Status#ABANDONED}.
+ *     A query still waiting for a free worker at that point is never started and the caller receives
+ *     {@link WmiTimedResult.Status#QUEUE_TIMEOUT} instead, which points at a saturated pool rather than a hung provider.</li>
+ * </ul>
+ * Timeouts are configured per {@link WmiClassname} and fall back to a default of 30 seconds.
+ * Completed, partial, abandoned, queue timed out and failed queries are counted per class, see {@link #getStats()}.
+ *
+ * <h2>Usage</h2>
+ * <pre>{@code
+ * // Give up on the GPU provider after five seconds
+ * QueryWatchdog.getDefault().setTimeout(WmiClassname.WIN32_VIDEO_CONTROLLER, Duration.ofSeconds(5));
+ *
+ * WmiTimedResult<VideoController> gpus = new VideoControllerService().getBounded(WqlQuery.from(VideoControllerProperty.class));
+ * if (!gpus.isComplete())
+ *     System.out.println("GPU query " + gpus.getStatus() + ", got " + gpus.getRows().size() + " rows");
+ *
+ * long hangs = QueryWatchdog.getDefault().getStats().get(WmiClassname.WIN32_VIDEO_CONTROLLER).getAbandoned();
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are thread-safe.
+ *
+ * @since 1.0
+ */
+public class QueryWatchdog {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_GRACE = Duration.ofSeconds(2);
+
+    /**
+     * The timeout of classes without an explicit one
+     */
+    @Getter
+    private final Duration defaultTimeout;
+
+    /**
+     * The time granted on top of the timeout before a worker is abandoned
+     */
+    @Getter
+    private final Duration grace;
+
+    private final ComExecutor executor;
+    private final Map<WmiClassname, Duration> timeouts = new ConcurrentHashMap<>();
+    private final Map<WmiClassname, Counters> counters = new EnumMap<>(WmiClassname.class);
+
+    /**
+     * Creates a new watchdog. Unset parameters fall back to their defaults.
+     *
+     * @param defaultTimeout timeout of classes without an explicit one, defaults to 30 seconds
+     * @param timeouts       per-class timeouts
+     * @param grace          time granted on top of the timeout before a worker is abandoned, defaults to 2 seconds
+     * @param executor       executor running the queries, defaults to {@link ComExecutor#getDefault()}
+     */
+    @Builder
+    private QueryWatchdog(Duration defaultTimeout, @Singular Map<WmiClassname, Duration> timeouts, Duration grace, ComExecutor executor) {
+        this.defaultTimeout = defaultTimeout != null ? defaultTimeout : DEFAULT_TIMEOUT;
+        this.grace = grace != null ? grace : DEFAULT_GRACE;
+        this.executor = executor != null ? executor : ComExecutor.getDefault();
+        this.timeouts.putAll(timeouts);
+
+        for (WmiClassname wmiClassname : WmiClassname.values())
+            counters.put(wmiClassname, new Counters());
+    }
+
+    // Completed by Lombok, whose @Singular map copy casts every value to the value type
+    @SuppressWarnings("cast")
+    public static class QueryWatchdogBuilder {
+    }
+
+    /**
+     * @return the process-wide watchdog used by the bounded methods of the services
+     */
+    public static QueryWatchdog getDefault() {
+        return DefaultWatchdogHolder.WATCHDOG;
+    }
+
+    /**
+     * @param wmiClassname the WMI class
+     * @return the timeout of the class, or the default timeout if none has been set
+     */
+    public Duration getTimeout(WmiClassname wmiClassname) {
+        return timeouts.getOrDefault(wmiClassname, defaultTimeout);
+    }
+
+    /**
+     * Sets the timeout of a class. It applies to queries started afterwards.
+     *
+     * @param wmiClassname the WMI class
+     * @param timeout      the timeout, or {@code null} to fall back to the default timeout
+     */
+    public void setTimeout(WmiClassname wmiClassname, Duration timeout) {
+        if (timeout == null)
+            timeouts.remove(wmiClassname);
+        else
+            timeouts.put(wmiClassname, timeout);
+    }
+
+    /**
+     * Runs a query on a worker of the executor and waits at most until its hard deadline.
+     *
+     * @param wmiClassname the WMI class being queried, used for the counters
+     * @param timeout      the timeout of the query, measured from now
+     * @param fetch        the query, run on a worker with COM initialized. It receives what is left of the timeout when
+     *                     it starts, possibly zero, and is expected to return a partial result once that has elapsed
+     * @param mapper       the mapper converting the rows into entities
+     * @param <S>          the entity type
+     * @param <P>          the enum type defining the properties of the WMI class
+     * @return the outcome of the query
+     * @throws RuntimeException the exception thrown by the fetch or the mapper, rethrown as-is
+     */
+    public <S, P extends Enum<P>> WmiTimedResult<S> run(WmiClassname wmiClassname, Duration timeout,
+                                                        Function<Duration, WmiResultTable<P>> fetch, CommonMappingInterface<S, P> mapper) {
+
+        Counters classCounters = counters.get(wmiClassname);
+        long startNanos = System.nanoTime();
+
+        CompletableFuture<WmiTimedResult<S>> future = executor.submit(() -> {
+            // The time spent waiting for a worker counts against the timeout
+            Duration remaining = timeout.minusNanos(System.nanoTime() - startNanos);
+            WmiResultTable<P> table = fetch.apply(remaining.isNegative() ? Duration.ZERO : remaining);
+            return WmiTimedResult.<S>builder()
+                    .rows(List.copyOf(mapper.toEntityList(table)))
+                    .status(table.isComplete() ? WmiTimedResult.Status.COMPLETE : WmiTimedResult.Status.PARTIAL)
+                    .elapsed(Duration.ZERO)
+                    .build();
+        }, timeout.plus(grace));
+
+        WmiTimedResult<S> result;
+        try {
+            result = future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException timeoutException) {
+                boolean queued = timeoutException instanceof QueueTimeoutException;
+                (queued ? classCounters.queueTimedOut : classCounters.abandoned).increment();
+                return WmiTimedResult.<S>builder()
+                        .status(queued ? WmiTimedResult.Status.QUEUE_TIMEOUT : WmiTimedResult.Status.ABANDONED)
+                        .elapsed(Duration.ofNanos(System.nanoTime() - startNanos))
+                        .build();
+            }
+
+            classCounters.failed.increment();
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            if (e.getCause() instanceof Error error)
+                throw error;
+            throw e;
+        }
+
+        if (result.isComplete())
+            classCounters.completed.increment();
+        else
+            classCounters.partial.increment();
+
+        return result.toBuilder()
+                .elapsed(Duration.ofNanos(System.nanoTime() - startNanos))
+                .build();
+    }
+
+    /**
+     * @return a snapshot of the counters of every class
+     */
+    public Map<WmiClassname, QueryWatchdogStats> getStats() {
+        Map<WmiClassname, QueryWatchdogStats> stats = new EnumMap<>(WmiClassname.class);
+        counters.forEach((wmiClassname, classCounters) -> stats.put(wmiClassname, QueryWatchdogStats.builder()
+                .completed(classCounters.completed.sum())
+                .partial(classCounters.partial.sum())
+                .abandoned(classCounters.abandoned.sum())
+                .queueTimedOut(classCounters.queueTimedOut.sum())
+                .failed(classCounters.failed.sum())
+                .build()));
+        return Collections.unmodifiableMap(stats);
+    }
+
+    private static final class Counters {
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder partial = new LongAdder();
+        private final LongAdder abandoned = new LongAdder();
+        private final LongAdder queueTimedOut = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+    }
+
+    // Lazily created so that merely loading this class does not start threads
+    private static final class DefaultWatchdogHolder {
+        private static final QueryWatchdog WATCHDOG = QueryWatchdog.builder().build();
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable snapshot of the counters maintained by a {@link QueryWatchdog} for a single WMI class.
+ *
+ * @since 1.0
+ */
+@Value
+@Builder
+public class QueryWatchdogStats {
+
+    /**
+     * Number of queries that completed within their timeout
+     */
+    long completed;
+
+    /**
+     * Number of queries whose enumeration ran out of time and returned partial rows
+     */
+    long partial;
+
+    /**
+     * Number of queries that hung inside COM and whose worker was abandoned
+     */
+    long abandoned;
+
+    /**
+     * Number of queries that were still waiting for a worker when their hard deadline passed
+     */
+    long queueTimedOut;
+
+    /**
+     * Number of queries that failed with an exception
+     */
+    long failed;
+
+    /**
+     * @return the number of queries that exceeded their timeout, partial, abandoned and queued alike
+     */
+    public long getTimedOut() {
+        return partial + abandoned + queueTimedOut;
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Thrown when the deadline of a task passes while the task is still waiting for a worker of a {@link ComExecutor}.
+ * <p>
+ * Unlike a plain {@link TimeoutException}, the task never started and no worker was abandoned: the pool is busy,
+ * not hung.
+ * </p>
+ *
+ * @since 1.0
+ */
+public class QueueTimeoutException extends TimeoutException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param message the detail message
+     */
+    public QueueTimeoutException(String message) {
+        super(message);
+    }
+}
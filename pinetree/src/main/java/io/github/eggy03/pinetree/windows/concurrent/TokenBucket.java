@@ -0,0 +1,38 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+/**
+ * Token bucket refilled at a constant rate, used by {@link WmiLoadGovernor}. Not thread-safe.
+ */
+final class TokenBucket {
+
+    private final double tokensPerNano;
+    private final int burst;
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(double queriesPerSecond, int burst, long nowNanos) {
+        this.tokensPerNano = queriesPerSecond / 1_000_000_000d;
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * @return {@code 0} if a token is available, otherwise the time until the next one, in nanoseconds
+     */
+    long delayNanos(long nowNanos) {
+        if (Double.isInfinite(tokensPerNano))
+            return 0;
+
+        tokens = Math.min(burst, tokens + (nowNanos - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = nowNanos;
+        if (tokens >= 1)
+            return 0;
+        return tokensPerNano > 0 ? Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano)) : Long.MAX_VALUE;
+    }
+
+    void take() {
+        if (!Double.isInfinite(tokensPerNano))
+            tokens -= 1;
+    }
+}
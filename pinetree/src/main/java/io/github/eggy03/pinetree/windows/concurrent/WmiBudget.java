@@ -0,0 +1,55 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Load budget of a WMI class, or of all classes together, enforced by a {@link WmiLoadGovernor}.
+ * <p>
+ * The rate is enforced with a token bucket: up to {@code burst} queries may start at once,
+ * after which queries start at {@code queriesPerSecond} on average. Independently, no more than
+ * {@code maxInFlight} queries may run at the same time.
+ * </p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * // At most two GPU queries per second, one at a time
+ * WmiBudget gpuBudget = WmiBudget.builder()
+ *     .queriesPerSecond(2)
+ *     .burst(2)
+ *     .maxInFlight(1)
+ *     .build();
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are immutable and thread-safe.
+ *
+ * @since 1.0
+ */
+@Value
+@Builder
+public class WmiBudget {
+
+    /**
+     * A budget that never delays nor rejects a query
+     */
+    public static final WmiBudget UNLIMITED = WmiBudget.builder().build();
+
+    /**
+     * Average number of queries started per second, {@link Double#POSITIVE_INFINITY} for no rate limit
+     */
+    @Builder.Default
+    double queriesPerSecond = Double.POSITIVE_INFINITY;
+
+    /**
+     * Number of queries that may start at once after a quiet period
+     */
+    @Builder.Default
+    int burst = 1;
+
+    /**
+     * Number of queries that may run at the same time
+     */
+    @Builder.Default
+    int maxInFlight = Integer.MAX_VALUE;
+}
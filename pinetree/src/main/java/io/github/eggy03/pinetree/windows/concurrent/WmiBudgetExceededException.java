@@ -0,0 +1,32 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Thrown when a {@link WmiLoadGovernor} refuses to start a query because its budget is exhausted.
+ *
+ * @since 1.0
+ */
+@Getter
+public class WmiBudgetExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The name of the WMI class whose query was refused
+     */
+    @Nullable
+    private final String wmiClassName;
+
+    /**
+     * Creates a new exception.
+     *
+     * @param wmiClassName the name of the WMI class whose query was refused
+     * @param message      the description of the exhausted budget
+     */
+    public WmiBudgetExceededException(@Nullable String wmiClassName, String message) {
+        super(message);
+        this.wmiClassName = wmiClassName;
+    }
+}
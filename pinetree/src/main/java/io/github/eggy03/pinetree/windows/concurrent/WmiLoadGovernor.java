@@ -0,0 +1,532 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+import io.github.eggy03.pinetree.windows.enums.WmiClassname;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the load this library puts on the WMI service of the host, with a query budget per WMI class
+ * and a global ceiling across all classes.
+ * <p>
+ * Every query issued through {@link io.github.eggy03.pinetree.windows.util.WmiUtil} must fit both the
+ * {@link WmiBudget} of its {@link WmiClassname} and the global budget, each limiting the query rate and the number
+ * of queries in flight. A query over budget is handled according to the {@link OverBudgetPolicy}:
+ * </p>
+ * <ul>
+ *     <li>{@link OverBudgetPolicy#QUEUE} waits until the budget allows it, but no longer than {@code maxQueueWait}.</li>
+ *     <li>{@link OverBudgetPolicy#REJECT} refuses it immediately.</li>
+ * </ul>
+ * A refused query fails with {@link WmiBudgetExceededException}, unless {@code cacheFallback} is enabled and an
+ * identical query completed within the last {@code fallbackTtl}, in which case an immutable copy of its result is
+ * returned instead. Such a result describes the machine as it was when the earlier query ran, so it may be up to
+ * {@code fallbackTtl} out of date, plus the duration of that query. Only complete results are kept, at most
+ * {@code maxFallbacks} of them, the least recently used being dropped first.
+ * Queued queries are admitted by {@link QueryPriority}, the one in effect on the calling thread (see
+ * {@link ComExecutor#withPriority(QueryPriority, Supplier)}): a query never takes budget that a more urgent queued query
+ * could use right away. Within a priority, queued queries are not ordered.
+ * Classes not listed in {@link WmiClassname} are only subject to the global budget.
+ * Usage counters are available per class through {@link #getStats()} and across classes through
+ * {@link #getGlobalStats()}.
+ * <p>
+ * The default governor has unlimited budgets and therefore only counts queries until budgets are configured.
+ * </p>
+ *
+ * <h2>Usage</h2>
+ * <pre>{@code
+ * WmiLoadGovernor governor = WmiLoadGovernor.getDefault();
+ *
+ * // One processor query per second, and never more than four queries at once in total
+ * governor.setBudget(WmiClassname.WIN32_PROCESSOR, WmiBudget.builder().queriesPerSecond(1).maxInFlight(1).build());
+ * governor.setGlobalBudget(WmiBudget.builder().maxInFlight(4).build());
+ *
+ * long refused = governor.getStats().get(WmiClassname.WIN32_PROCESSOR).getRejected();
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are thread-safe.
+ *
+ * @since 1.0
+ */
+public class WmiLoadGovernor {
+
+    private static final Duration DEFAULT_MAX_QUEUE_WAIT = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_FALLBACK_TTL = Duration.ofMinutes(1);
+    private static final int DEFAULT_MAX_FALLBACKS = 128;
+
+    /**
+     * The handling of queries over budget
+     */
+    @Getter
+    private final OverBudgetPolicy policy;
+
+    /**
+     * The longest time a query may wait for the budget under {@link OverBudgetPolicy#QUEUE}
+     */
+    @Getter
+    private final Duration maxQueueWait;
+
+    /**
+     * Whether refused queries are answered from the result of an earlier identical query when possible
+     */
+    @Getter
+    private final boolean cacheFallback;
+
+    /**
+     * The age after which a result is no longer used as a fallback
+     */
+    @Getter
+    private final Duration fallbackTtl;
+
+    /**
+     * The number of results kept as fallbacks
+     */
+    @Getter
+    private final int maxFallbacks;
+
+    private final WmiBudget defaultBudget;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final Map<WmiClassname, BudgetState> classStates = new EnumMap<>(WmiClassname.class);
+    private final BudgetState globalState;
+    private final List<Waiter> waiters = new ArrayList<>();
+
+    // Guarded by itself, iterated from the least to the most recently used
+    private final Map<String, Fallback> fallbackResults;
+
+    /**
+     * Creates a new governor. Unset parameters fall back to their defaults.
+     *
+     * @param budgets       per-class budgets
+     * @param defaultBudget budget of classes without an explicit one, defaults to {@link WmiBudget#UNLIMITED}
+     * @param globalBudget  budget shared by all classes, defaults to {@link WmiBudget#UNLIMITED}
+     * @param policy        handling of queries over budget, defaults to {@link OverBudgetPolicy#QUEUE}
+     * @param maxQueueWait  longest wait for the budget, defaults to 30 seconds
+     * @param cacheFallback whether refused queries are answered from cached results, defaults to {@code false}
+     * @param fallbackTtl   age after which a result is no longer used as a fallback, defaults to one minute
+     * @param maxFallbacks  number of results kept as fallbacks, defaults to {@code 128}
+     * @param nanoClock     monotonic time source in nanoseconds refilling the buckets and aging the fallbacks,
+     *                      defaults to {@link System#nanoTime()}
+     */
+    @Builder
+    private WmiLoadGovernor(@Singular Map<WmiClassname, WmiBudget> budgets, WmiBudget defaultBudget, WmiBudget globalBudget,
+                            OverBudgetPolicy policy, Duration maxQueueWait, Boolean cacheFallback, Duration fallbackTtl,
+                            Integer maxFallbacks, LongSupplier nanoClock) {
+        this.defaultBudget = defaultBudget != null ? defaultBudget : WmiBudget.UNLIMITED;
+        this.policy = policy != null ? policy : OverBudgetPolicy.QUEUE;
+        this.maxQueueWait = maxQueueWait != null ? maxQueueWait : DEFAULT_MAX_QUEUE_WAIT;
+        this.cacheFallback = cacheFallback != null && cacheFallback;
+        this.fallbackTtl = fallbackTtl != null ? fallbackTtl : DEFAULT_FALLBACK_TTL;
+        this.maxFallbacks = maxFallbacks != null ? maxFallbacks : DEFAULT_MAX_FALLBACKS;
+        this.nanoClock = nanoClock != null ? nanoClock : System::nanoTime;
+
+        if (this.maxFallbacks < 1)
+            throw new IllegalArgumentException("maxFallbacks must be at least 1");
+
+        int capacity = this.maxFallbacks;
+        this.fallbackResults = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Fallback> eldest) {
+                return size() > capacity;
+            }
+        };
+
+        long now = this.nanoClock.getAsLong();
+        this.globalState = new BudgetState(globalBudget != null ? globalBudget : WmiBudget.UNLIMITED, now);
+        for (WmiClassname wmiClassname : WmiClassname.values())
+            classStates.put(wmiClassname, new BudgetState(budgets.getOrDefault(wmiClassname, this.defaultBudget), now));
+    }
+
+    // Completed by Lombok, whose @Singular map copy casts every value to the value type
+    @SuppressWarnings("cast")
+    public static class WmiLoadGovernorBuilder {
+    }
+
+    /**
+     * @return the process-wide governor placed in front of every query issued by
+     * {@link io.github.eggy03.pinetree.windows.util.WmiUtil}
+     */
+    public static WmiLoadGovernor getDefault() {
+        return DefaultGovernorHolder.GOVERNOR;
+    }
+
+    /**
+     * @param wmiClassname the WMI class
+     * @return the budget of the class
+     */
+    public WmiBudget getBudget(WmiClassname wmiClassname) {
+        lock.lock();
+        try {
+            return classStates.get(wmiClassname).budget;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the budget of a class. Queries already running keep counting against the new budget.
+     *
+     * @param wmiClassname the WMI class
+     * @param budget       the budget, or {@code null} to fall back to the default budget
+     */
+    public void setBudget(WmiClassname wmiClassname, @Nullable WmiBudget budget) {
+        lock.lock();
+        try {
+            classStates.get(wmiClassname).reset(budget != null ? budget : defaultBudget, nanoClock.getAsLong());
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the budget shared by all classes
+     */
+    public WmiBudget getGlobalBudget() {
+        lock.lock();
+        try {
+            return globalState.budget;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the budget shared by all classes.
+     *
+     * @param budget the budget, or {@code null} to remove the global ceiling
+     */
+    public void setGlobalBudget(@Nullable WmiBudget budget) {
+        lock.lock();
+        try {
+            globalState.reset(budget != null ? budget : WmiBudget.UNLIMITED, nanoClock.getAsLong());
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the budgets allow a query of the given class to start, after the queued queries of a more urgent priority.
+     *
+     * @param wmiClassname the class being queried, {@code null} if it is not listed in {@link WmiClassname}
+     * @return the ticket of the query, to be closed once the query has ended, possibly on another thread
+     * @throws WmiBudgetExceededException if the query was refused
+     */
+    public Ticket acquire(@Nullable WmiClassname wmiClassname) {
+        BudgetState classState = wmiClassname != null ? classStates.get(wmiClassname) : null;
+        String className = wmiClassname != null ? wmiClassname.getClassName() : null;
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + maxQueueWait.toNanos();
+        boolean queued = false;
+        Waiter waiter = new Waiter(ComExecutor.currentPriority(), classState);
+
+        lock.lock();
+        try {
+            while (true) {
+                long now = nanoClock.getAsLong();
+                long delayNanos = delayNanos(classState, now);
+                boolean yielding = delayNanos == 0 && isMoreUrgentAdmissible(waiter, now);
+                if (delayNanos == 0 && !yielding) {
+                    globalState.admit(queued, System.nanoTime() - startNanos);
+                    if (classState != null)
+                        classState.admit(queued, System.nanoTime() - startNanos);
+
+                    // Whatever budget is left goes to the next waiter in line
+                    if (queued)
+                        released.signalAll();
+                    return new Ticket(classState);
+                }
+
+                long remainingNanos = deadlineNanos - System.nanoTime();
+                if (policy == OverBudgetPolicy.REJECT || remainingNanos <= 0) {
+                    globalState.rejected++;
+                    if (classState != null)
+                        classState.rejected++;
+                    throw new WmiBudgetExceededException(className, "The WMI query budget"
+                            + (className != null ? " of " + className : "") + " is exhausted.");
+                }
+
+                if (!queued) {
+                    queued = true;
+                    waiters.add(waiter);
+                }
+                // A yielding query is woken up once the more urgent one has been admitted
+                released.awaitNanos(yielding ? remainingNanos : Math.min(delayNanos, remainingNanos));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WmiBudgetExceededException(className, "Interrupted while waiting for the WMI query budget.");
+        } finally {
+            if (queued)
+                waiters.remove(waiter);
+            lock.unlock();
+        }
+    }
+
+    // Called with the lock held
+    private long delayNanos(@Nullable BudgetState classState, long now) {
+        return Math.max(globalState.delayNanos(now), classState != null ? classState.delayNanos(now) : 0);
+    }
+
+    // Called with the lock held, a more urgent query that could start right now goes first
+    private boolean isMoreUrgentAdmissible(Waiter waiter, long now) {
+        for (Waiter other : waiters) {
+            if (other.priority.compareTo(waiter.priority) < 0 && delayNanos(other.classState, now) == 0)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Runs a query within the budgets of its class, answering from the cached result of an earlier identical query
+     * if it is refused and {@code cacheFallback} is enabled.
+     * <p>
+     * The cached result is the copy made by {@code snapshot} when the earlier query completed. It is shared by every
+     * caller it is returned to, so {@code snapshot} must return an immutable copy, or {@code null} for a result that
+     * must not be served as a fallback, e.g. an incomplete one.
+     * </p>
+     *
+     * @param wmiClassname the class being queried, {@code null} if it is not listed in {@link WmiClassname}
+     * @param cacheKey     identifies identical queries, e.g. the namespace and the WQL text
+     * @param task         the query
+     * @param snapshot     makes the immutable copy of a result kept as a fallback
+     * @param <T>          the result type
+     * @return the result of the query, or the cached result of an earlier identical query if it was refused
+     * @throws WmiBudgetExceededException if the query was refused and no cached result is available
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T call(@Nullable WmiClassname wmiClassname, String cacheKey, Supplier<T> task,
+                      Function<? super T, ? extends T> snapshot) {
+        Ticket ticket;
+        try {
+            ticket = acquire(wmiClassname);
+        } catch (WmiBudgetExceededException e) {
+            Object cached = cacheFallback ? getFallback(cacheKey) : null;
+            if (cached == null)
+                throw e;
+
+            countFallback(wmiClassname);
+            return (T) cached;
+        }
+
+        try (ticket) {
+            T result = task.get();
+            if (cacheFallback && result != null)
+                putFallback(cacheKey, snapshot.apply(result));
+            return result;
+        }
+    }
+
+    /**
+     * Drops every cached fallback result.
+     */
+    public void clearFallbacks() {
+        synchronized (fallbackResults) {
+            fallbackResults.clear();
+        }
+    }
+
+    /**
+     * @return a snapshot of the usage counters of every class
+     */
+    public Map<WmiClassname, WmiLoadGovernorStats> getStats() {
+        Map<WmiClassname, WmiLoadGovernorStats> stats = new EnumMap<>(WmiClassname.class);
+        lock.lock();
+        try {
+            classStates.forEach((wmiClassname, state) -> stats.put(wmiClassname, state.toStats()));
+        } finally {
+            lock.unlock();
+        }
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * @return a snapshot of the usage counters across all classes
+     */
+    public WmiLoadGovernorStats getGlobalStats() {
+        lock.lock();
+        try {
+            return globalState.toStats();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Nullable
+    private Object getFallback(String cacheKey) {
+        synchronized (fallbackResults) {
+            Fallback fallback = fallbackResults.get(cacheKey);
+            if (fallback == null)
+                return null;
+
+            if (nanoClock.getAsLong() - fallback.storedNanos() >= fallbackTtl.toNanos()) {
+                fallbackResults.remove(cacheKey);
+                return null;
+            }
+            return fallback.result();
+        }
+    }
+
+    private void putFallback(String cacheKey, @Nullable Object result) {
+        synchronized (fallbackResults) {
+            // A result that cannot be served as a fallback leaves the last complete one in place
+            if (result == null)
+                return;
+            fallbackResults.put(cacheKey, new Fallback(result, nanoClock.getAsLong()));
+        }
+    }
+
+    private void countFallback(@Nullable WmiClassname wmiClassname) {
+        lock.lock();
+        try {
+            globalState.fallbacks++;
+            if (wmiClassname != null)
+                classStates.get(wmiClassname).fallbacks++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(@Nullable BudgetState classState) {
+        lock.lock();
+        try {
+            globalState.inFlight--;
+            if (classState != null)
+                classState.inFlight--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Handling of queries that do not fit their budget.
+     */
+    public enum OverBudgetPolicy {
+
+        /**
+         * Wait until the budget allows the query, up to the maximum queue wait
+         */
+        QUEUE,
+
+        /**
+         * Refuse the query immediately
+         */
+        REJECT
+    }
+
+    /**
+     * Admission of a single query, to be closed once the query has ended.
+     */
+    public final class Ticket implements AutoCloseable {
+
+        @Nullable
+        private final BudgetState classState;
+        private boolean closed = false;
+
+        private Ticket(@Nullable BudgetState classState) {
+            this.classState = classState;
+        }
+
+        /**
+         * Returns the in-flight slot of the query. Calling this method more than once has no effect.
+         */
+        @Override
+        public void close() {
+            if (closed)
+                return;
+
+            closed = true;
+            release(classState);
+        }
+    }
+
+    private record Fallback(Object result, long storedNanos) {
+    }
+
+    // Compared by identity, a queued query is removed from the waiters once it leaves acquire()
+    private static final class Waiter {
+
+        private final QueryPriority priority;
+
+        @Nullable
+        private final BudgetState classState;
+
+        private Waiter(QueryPriority priority, @Nullable BudgetState classState) {
+            this.priority = priority;
+            this.classState = classState;
+        }
+    }
+
+    // Guarded by the lock of the governor
+    private static final class BudgetState {
+
+        private WmiBudget budget;
+        private TokenBucket bucket;
+        private int inFlight = 0;
+        private long admitted = 0;
+        private long queued = 0;
+        private long rejected = 0;
+        private long fallbacks = 0;
+        private long totalQueuedNanos = 0;
+
+        private BudgetState(WmiBudget budget, long nowNanos) {
+            reset(budget, nowNanos);
+        }
+
+        private void reset(WmiBudget budget, long nowNanos) {
+            this.budget = budget;
+            this.bucket = new TokenBucket(budget.getQueriesPerSecond(), budget.getBurst(), nowNanos);
+        }
+
+        // Slots are only freed by a release, which signals the waiters, so there is no time to wait for
+        private long delayNanos(long nowNanos) {
+            if (inFlight >= budget.getMaxInFlight())
+                return TimeUnit.DAYS.toNanos(1);
+            return bucket.delayNanos(nowNanos);
+        }
+
+        private void admit(boolean wasQueued, long waitedNanos) {
+            bucket.take();
+            inFlight++;
+            admitted++;
+            if (wasQueued) {
+                queued++;
+                totalQueuedNanos += waitedNanos;
+            }
+        }
+
+        private WmiLoadGovernorStats toStats() {
+            return WmiLoadGovernorStats.builder()
+                    .admitted(admitted)
+                    .queued(queued)
+                    .rejected(rejected)
+                    .fallbacks(fallbacks)
+                    .inFlight(inFlight)
+                    .totalQueuedNanos(totalQueuedNanos)
+                    .build();
+        }
+    }
+
+    private static final class DefaultGovernorHolder {
+        private static final WmiLoadGovernor GOVERNOR = WmiLoadGovernor.builder().build();
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable snapshot of the usage counters maintained by a {@link WmiLoadGovernor} for a single WMI class.
+ *
+ * @since 1.0
+ */
+@Value
+@Builder
+public class WmiLoadGovernorStats {
+
+    /**
+     * Number of queries started within the budget, immediately or after queuing
+     */
+    long admitted;
+
+    /**
+     * Number of admitted queries that had to wait for the budget
+     */
+    long queued;
+
+    /**
+     * Number of queries refused because the budget was exhausted
+     */
+    long rejected;
+
+    /**
+     * Number of refused queries answered from the cached result of an earlier identical query
+     */
+    long fallbacks;
+
+    /**
+     * Number of queries currently running
+     */
+    int inFlight;
+
+    /**
+     * Total time spent waiting for the budget, in nanoseconds
+     */
+    long totalQueuedNanos;
+}
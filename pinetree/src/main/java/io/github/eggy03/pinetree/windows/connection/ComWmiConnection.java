@@ -0,0 +1,60 @@
+package io.github.eggy03.pinetree.windows.connection;
+
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import io.github.eggy03.pinetree.windows.util.ComUtil;
+import lombok.Getter;
+
+/**
+ * {@link WmiConnection} backed by a native {@link Wbemcli.IWbemServices} proxy.
+ * <p>
+ * The proxy lives in the multithreaded apartment that was active when it was created. Once that apartment
+ * is torn down (see {@link ComUtil#getApartmentGeneration()}), the connection reports itself as unhealthy
+ * and is dropped without touching the stale pointer.
+ * </p>
+ *
+ * <h2>Thread Safety</h2>
+ * The proxy may be used concurrently from any thread that has joined the multithreaded apartment.
+ *
+ * @since 1.0
+ */
+public class ComWmiConnection implements WmiConnection {
+
+    @Getter
+    private final String namespace;
+
+    @Getter
+    private final Wbemcli.IWbemServices services;
+
+    private final long apartmentGeneration;
+
+    private volatile boolean closed = false;
+
+    /**
+     * Wraps a connected services proxy.
+     *
+     * @param namespace the namespace the proxy is connected to
+     * @param services  the connected proxy
+     */
+    public ComWmiConnection(String namespace, Wbemcli.IWbemServices services) {
+        this.namespace = namespace;
+        this.services = services;
+        this.apartmentGeneration = ComUtil.getApartmentGeneration();
+    }
+
+    @Override
+    public boolean isHealthy() {
+        return !closed && apartmentGeneration == ComUtil.getApartmentGeneration();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed)
+            return;
+
+        // a proxy from a torn down apartment must not be released
+        if (apartmentGeneration == ComUtil.getApartmentGeneration())
+            services.Release();
+
+        closed = true;
+    }
+}
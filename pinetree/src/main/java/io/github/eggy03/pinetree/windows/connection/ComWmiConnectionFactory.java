@@ -0,0 +1,22 @@
+package io.github.eggy03.pinetree.windows.connection;
+
+import com.sun.jna.platform.win32.COM.WbemcliUtil;
+
+/**
+ * Default {@link WmiConnectionFactory} that connects to the local machine.
+ * <p>
+ * Uses {@link WbemcliUtil#connectServer(String)}, which creates an {@code IWbemLocator}, calls
+ * {@code ConnectServer} and sets the proxy security blanket. COM must already be initialized on the calling thread.
+ * </p>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are stateless and thread-safe.
+ * @since 1.0
+ */
+public class ComWmiConnectionFactory implements WmiConnectionFactory {
+
+    @Override
+    public WmiConnection connect(String namespace) {
+        return new ComWmiConnection(namespace, WbemcliUtil.connectServer(namespace));
+    }
+}
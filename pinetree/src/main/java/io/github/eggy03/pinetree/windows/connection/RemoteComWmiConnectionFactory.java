@@ -0,0 +1,158 @@
+package io.github.eggy03.pinetree.windows.connection;
+
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+import com.sun.jna.Structure;
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.COMUtils;
+import com.sun.jna.platform.win32.COM.Unknown;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import com.sun.jna.platform.win32.Ole32;
+import com.sun.jna.platform.win32.WinNT;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link WmiConnectionFactory} that connects to a namespace on a remote machine.
+ * <p>
+ * Calls {@code IWbemLocator::ConnectServer} with the object path of the namespace on the host, e.g.
+ * {@code \\host\root\cimv2}, and the credentials of the {@link WmiHost}, then sets a proxy security blanket
+ * with packet privacy and, if a user was given, the same credentials, so that the calls made through the proxy
+ * are authenticated like the connection itself. COM must already be initialized on the calling thread.
+ * </p>
+ * <p>
+ * The same blanket is applied to every proxy obtained through the connection, see {@link WmiConnection#secure(Unknown)},
+ * such as the enumerators of queries and the refresher objects. Sinks of asynchronous calls are objects of this process
+ * called by WMI rather than proxies, they need no blanket.
+ * </p>
+ * Connections are reported under the plain namespace they were requested for, so they can be handed to code
+ * that addresses namespaces like {@link io.github.eggy03.pinetree.windows.enums.Namespace#DEFAULT} through {@link io.github.eggy03.pinetree.windows.util.WmiUtil}.
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are immutable and thread-safe.
+ *
+ * @since 1.0
+ * @see <a href="https://learn.microsoft.com/en-us/windows/win32/wmisdk/connecting-to-wmi-on-a-remote-computer">
+ *     Connecting to WMI on a Remote Computer</a>
+ */
+public class RemoteComWmiConnectionFactory implements WmiConnectionFactory {
+
+    // Bounds ConnectServer to two minutes instead of letting it wait indefinitely for an unreachable host
+    private static final int WBEM_FLAG_CONNECT_USE_MAX_WAIT = 0x80;
+    private static final int RPC_C_AUTHN_LEVEL_PKT_PRIVACY = 6;
+    private static final int SEC_WINNT_AUTH_IDENTITY_UNICODE = 2;
+    // The object does not implement IClientSecurity, it lives in this process and is not a proxy
+    private static final int E_NOINTERFACE = 0x80004002;
+
+    private final WmiHost host;
+
+    /**
+     * Creates a factory for the given host.
+     *
+     * @param host the machine to connect to and the credentials to use
+     */
+    public RemoteComWmiConnectionFactory(WmiHost host) {
+        this.host = host;
+    }
+
+    @Override
+    public WmiConnection connect(String namespace) {
+        Wbemcli.IWbemLocator locator = Wbemcli.IWbemLocator.create();
+        if (locator == null)
+            throw new COMException("Failed to create the WMI locator.");
+
+        Wbemcli.IWbemServices services;
+        try {
+            services = locator.ConnectServer(host.toNamespacePath(namespace), host.getUser(), host.getPassword(),
+                    null, WBEM_FLAG_CONNECT_USE_MAX_WAIT, host.getAuthority(), null);
+        } finally {
+            locator.Release();
+        }
+
+        AuthIdentity identity = host.getUser() != null ? new AuthIdentity(host.getUser(), host.getPassword()) : null;
+        WinNT.HRESULT hres = setBlanket(services, identity);
+        if (COMUtils.FAILED(hres)) {
+            services.Release();
+            throw new COMException("Failed to set the proxy blanket for " + host.getHostName() + ".", hres);
+        }
+
+        return new RemoteComWmiConnection(namespace, services, host.getHostName(), identity);
+    }
+
+    private static WinNT.HRESULT setBlanket(Unknown proxy, @Nullable AuthIdentity identity) {
+        return Ole32.INSTANCE.CoSetProxyBlanket(
+                proxy,
+                Ole32.RPC_C_AUTHN_WINNT,
+                Ole32.RPC_C_AUTHZ_NONE,
+                null,
+                RPC_C_AUTHN_LEVEL_PKT_PRIVACY,
+                Ole32.RPC_C_IMP_LEVEL_IMPERSONATE,
+                identity != null ? identity.getPointer() : null,
+                Ole32.EOAC_NONE
+        );
+    }
+
+    // The proxies keep pointing to the identity passed to CoSetProxyBlanket, it must outlive them
+    private static final class RemoteComWmiConnection extends ComWmiConnection {
+
+        private final String hostName;
+
+        @Nullable
+        private final AuthIdentity identity;
+
+        private RemoteComWmiConnection(String namespace, Wbemcli.IWbemServices services, String hostName, @Nullable AuthIdentity identity) {
+            super(namespace, services);
+            this.hostName = hostName;
+            this.identity = identity;
+        }
+
+        @Override
+        public void secure(Unknown proxy) {
+            WinNT.HRESULT hres = setBlanket(proxy, identity);
+            if (COMUtils.FAILED(hres) && hres.intValue() != E_NOINTERFACE)
+                throw new COMException("Failed to set the proxy blanket for " + hostName + ".", hres);
+        }
+    }
+
+    /**
+     * {@code COAUTHIDENTITY}, the credentials attached to a proxy.
+     */
+    @Structure.FieldOrder({"User", "UserLength", "Domain", "DomainLength", "Password", "PasswordLength", "Flags"})
+    public static final class AuthIdentity extends Structure {
+
+        public Pointer User;
+        public int UserLength;
+        public Pointer Domain;
+        public int DomainLength;
+        public Pointer Password;
+        public int PasswordLength;
+        public int Flags = SEC_WINNT_AUTH_IDENTITY_UNICODE;
+
+        // Keep the native strings reachable as long as the structure itself
+        private final transient Memory[] strings = new Memory[3];
+
+        AuthIdentity(String qualifiedUser, @Nullable String password) {
+            int separator = qualifiedUser.indexOf('\\');
+            String domain = separator >= 0 ? qualifiedUser.substring(0, separator) : "";
+            String user = separator >= 0 ? qualifiedUser.substring(separator + 1) : qualifiedUser;
+            String secret = password != null ? password : "";
+
+            strings[0] = wide(user);
+            strings[1] = wide(domain);
+            strings[2] = wide(secret);
+            User = strings[0];
+            UserLength = user.length();
+            Domain = strings[1];
+            DomainLength = domain.length();
+            Password = strings[2];
+            PasswordLength = secret.length();
+            write();
+        }
+
+        private static Memory wide(String value) {
+            Memory memory = new Memory((value.length() + 1L) * Native.WCHAR_SIZE);
+            memory.setWideString(0, value);
+            return memory;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.eggy03.pinetree.windows.connection;
+
+import com.sun.jna.platform.win32.COM.Unknown;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import io.github.eggy03.pinetree.windows.com.ComWmiClassObject;
+import io.github.eggy03.pinetree.windows.com.WmiClassObject;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a live connection to a WMI namespace.
+ * <p>
+ * A connection wraps the {@link Wbemcli.IWbemServices} handle obtained from {@code IWbemLocator::ConnectServer}
+ * and knows whether that handle can still be used. Connections are created by a {@link WmiConnectionFactory}
+ * and are normally handed out and recycled by a {@link WmiConnectionPool}.
+ * </p>
+ * Implementations other than {@link ComWmiConnection} are mainly intended as stand-ins for
+ * exercising the pool without a Windows host.
+ *
+ * @since 1.0
+ */
+public interface WmiConnection {
+
+    /**
+     * @return the namespace this connection is bound to, e.g. {@code root/cimv2}
+     */
+    String getNamespace();
+
+    /**
+     * @return the native services handle used to issue queries against the namespace
+     */
+    Wbemcli.IWbemServices getServices();
+
+    /**
+     * Checks whether the connection can still be used.
+     *
+     * @return {@code true} if the underlying handle is valid and may be reused, {@code false} otherwise
+     */
+    boolean isHealthy();
+
+    /**
+     * Applies the security of this connection to a proxy obtained through it, such as the enumerator returned by
+     * {@code IWbemServices::ExecQuery}.
+     * <p>
+     * COM does not pass the authentication settings of a proxy on to the proxies it returns, so they have to be set
+     * on each of them for a remote connection with explicit credentials. The default implementation does nothing,
+     * which is right for connections to the local machine.
+     * </p>
+     *
+     * @param proxy the proxy, which stays owned by the caller
+     * @throws com.sun.jna.platform.win32.COM.COMException if the security could not be applied
+     */
+    default void secure(Unknown proxy) {
+    }
+
+    /**
+     * Retrieves a single instance by its object path, without enumerating the other instances of its class.
+     * <p>
+     * The default implementation calls {@code IWbemServices::GetObject} on {@link #getServices()}.
+     * </p>
+     *
+     * @param objectPath the relative object path of the instance, e.g. {@code Win32_Processor.DeviceID="CPU0"}
+     * @return the instance, to be released by the caller, or {@code null} if the path addresses no instance
+     * @throws com.sun.jna.platform.win32.COM.COMException if the instance could not be retrieved
+     */
+    @Nullable
+    default WmiClassObject getObject(String objectPath) {
+        return ComWmiClassObject.get(getServices(), objectPath);
+    }
+
+    /**
+     * Releases the underlying handle. Calling this method more than once has no effect.
+     */
+    void close();
+}
@@ -0,0 +1,24 @@
+package io.github.eggy03.pinetree.windows.connection;
+
+/**
+ * Creates new {@link WmiConnection} instances for a given namespace.
+ * <p>
+ * The default implementation, {@link ComWmiConnectionFactory}, connects through {@code IWbemLocator::ConnectServer}.
+ * Custom factories can be supplied to {@code WmiConnectionPool.builder().connectionFactory(...)},
+ * for example to simulate connection latency or failures on hosts without WMI.
+ * </p>
+ *
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface WmiConnectionFactory {
+
+    /**
+     * Opens a new connection to the given namespace.
+     *
+     * @param namespace the WMI namespace to connect to, e.g. {@code root/cimv2}
+     * @return a new, healthy connection
+     * @throws com.sun.jna.platform.win32.COM.COMException if the connection cannot be established
+     */
+    WmiConnection connect(String namespace);
+}
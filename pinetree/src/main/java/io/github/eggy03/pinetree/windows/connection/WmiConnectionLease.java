@@ -0,0 +1,91 @@
+package io.github.eggy03.pinetree.windows.connection;
+
+import com.sun.jna.platform.win32.COM.Unknown;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A connection borrowed from a {@link WmiConnectionPool}.
+ * <p>
+ * Closing the lease returns the connection to the pool. If the connection turned out to be broken while in use,
+ * call {@link #invalidate()} before closing so that it is released instead of being handed out again.
+ * Leases created by {@link #unpooled(WmiConnection)} lend a connection owned by the caller, which is left open.
+ * </p>
+ *
+ * <h2>Usage</h2>
+ * <pre>{@code
+ * try (WmiConnectionLease lease = WmiConnectionPool.getDefault().acquire("root/cimv2")) {
+ *     Wbemcli.IWbemServices services = lease.getServices();
+ *     // issue queries
+ * }
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * A lease is meant to be used and closed by the thread that acquired it.
+ *
+ * @since 1.0
+ */
+public class WmiConnectionLease implements AutoCloseable {
+
+    @Nullable
+    private final WmiConnectionPool pool;
+
+    @Getter
+    private final WmiConnection connection;
+
+    private boolean invalidated = false;
+    private boolean released = false;
+
+    WmiConnectionLease(@Nullable WmiConnectionPool pool, WmiConnection connection) {
+        this.pool = pool;
+        this.connection = connection;
+    }
+
+    /**
+     * Lends a connection that is not managed by any pool.
+     *
+     * @param connection the connection, whose owner remains responsible for closing it
+     * @return a lease whose {@link #close()} leaves the connection open
+     */
+    public static WmiConnectionLease unpooled(WmiConnection connection) {
+        return new WmiConnectionLease(null, connection);
+    }
+
+    /**
+     * @return the native services handle of the leased connection
+     */
+    public Wbemcli.IWbemServices getServices() {
+        return connection.getServices();
+    }
+
+    /**
+     * Applies the security of the leased connection to a proxy obtained through it, see {@link WmiConnection#secure(Unknown)}.
+     *
+     * @param proxy the proxy, which stays owned by the caller
+     */
+    public void secure(Unknown proxy) {
+        connection.secure(proxy);
+    }
+
+    /**
+     * Marks the leased connection as broken so that it is released rather than returned to the pool.
+     */
+    public void invalidate() {
+        invalidated = true;
+    }
+
+    /**
+     * Returns the connection to the pool, or releases it if it was invalidated.
+     * An unpooled connection is left to its owner.
+     */
+    @Override
+    public void close() {
+        if (released)
+            return;
+
+        released = true;
+        if (pool != null)
+            pool.release(connection, invalidated);
+    }
+}
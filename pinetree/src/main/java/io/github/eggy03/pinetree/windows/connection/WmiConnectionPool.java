@@ -0,0 +1,256 @@
+package io.github.eggy03.pinetree.windows.connection;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Pool of reusable {@link WmiConnection} instances keyed by namespace.
+ * <p>
+ * Connecting to a WMI namespace requires creating an {@code IWbemLocator} and calling {@code ConnectServer},
+ * which often costs more than the query that follows. The pool keeps idle connections per namespace and hands
+ * them out again, so that repeated queries against the same namespace only pay the connection cost once.
+ * </p>
+ * <ul>
+ *     <li>Idle connections are reused most-recently-used first.</li>
+ *     <li>Connections that stayed idle longer than {@code idleTimeout}, or that report themselves as unhealthy,
+ *     are released instead of being handed out.</li>
+ *     <li>At most {@code maxIdlePerNamespace} idle connections are kept per namespace. Any surplus is released.</li>
+ * </ul>
+ * Hit, miss, eviction and connect latency counters are available through {@link #getStats()}.
+ *
+ * <h2>Usage</h2>
+ * <pre>{@code
+ * // The default pool, used by WmiUtil and therefore by every service in this library
+ * WmiConnectionPool pool = WmiConnectionPool.getDefault();
+ *
+ * // A custom pool, e.g. with a stand-in connection factory
+ * WmiConnectionPool custom = WmiConnectionPool.builder()
+ *     .connectionFactory(namespace -> new FakeConnection(namespace))
+ *     .maxIdlePerNamespace(2)
+ *     .idleTimeout(Duration.ofSeconds(30))
+ *     .build();
+ *
+ * try (WmiConnectionLease lease = custom.acquire(Namespace.DEFAULT.getValue())) {
+ *     // use lease.getServices()
+ * }
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are thread-safe. COM must be initialized on any thread that acquires or releases native connections.
+ *
+ * @since 1.0
+ */
+public class WmiConnectionPool {
+
+    private static final int DEFAULT_MAX_IDLE_PER_NAMESPACE = 4;
+    private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(5);
+
+    private final WmiConnectionFactory connectionFactory;
+
+    @Getter
+    private final int maxIdlePerNamespace;
+
+    @Getter
+    private final Duration idleTimeout;
+
+    private final LongSupplier nanoClock;
+
+    private final Map<String, Deque<IdleConnection>> idleConnections = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder connectFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder totalConnectNanos = new LongAdder();
+    private final AtomicLong maxConnectNanos = new AtomicLong(0);
+    private final AtomicInteger leasedConnections = new AtomicInteger(0);
+
+    /**
+     * Creates a new pool. Unset parameters fall back to their defaults.
+     *
+     * @param connectionFactory   factory used to open new connections, defaults to {@link ComWmiConnectionFactory}
+     * @param maxIdlePerNamespace maximum number of idle connections kept per namespace, defaults to {@code 4}
+     * @param idleTimeout         time after which an idle connection is released, defaults to five minutes
+     * @param nanoClock           monotonic time source in nanoseconds, defaults to {@link System#nanoTime()}
+     */
+    @Builder
+    private WmiConnectionPool(WmiConnectionFactory connectionFactory, Integer maxIdlePerNamespace, Duration idleTimeout, LongSupplier nanoClock) {
+        this.connectionFactory = connectionFactory != null ? connectionFactory : new ComWmiConnectionFactory();
+        this.maxIdlePerNamespace = maxIdlePerNamespace != null ? maxIdlePerNamespace : DEFAULT_MAX_IDLE_PER_NAMESPACE;
+        this.idleTimeout = idleTimeout != null ? idleTimeout : DEFAULT_IDLE_TIMEOUT;
+        this.nanoClock = nanoClock != null ? nanoClock : System::nanoTime;
+
+        if (this.maxIdlePerNamespace < 0)
+            throw new IllegalArgumentException("maxIdlePerNamespace must not be negative");
+    }
+
+    /**
+     * @return the process-wide pool used by {@link io.github.eggy03.pinetree.windows.util.WmiUtil}
+     */
+    public static WmiConnectionPool getDefault() {
+        return DefaultPoolHolder.POOL;
+    }
+
+    /**
+     * Borrows a connection to the given namespace, reusing an idle one when possible.
+     *
+     * @param namespace the WMI namespace, e.g. {@code root/cimv2}
+     * @return a lease that must be closed to give the connection back
+     * @throws com.sun.jna.platform.win32.COM.COMException if a new connection was required and could not be established
+     */
+    public WmiConnectionLease acquire(String namespace) {
+
+        Deque<IdleConnection> deque = idleConnections.computeIfAbsent(namespace, key -> new ArrayDeque<>());
+        long now = nanoClock.getAsLong();
+
+        // Try to reuse the most recently returned connection
+        while (true) {
+            IdleConnection candidate;
+            synchronized (deque) {
+                candidate = deque.pollFirst();
+            }
+            if (candidate == null)
+                break;
+
+            if (isExpired(candidate, now) || !candidate.connection().isHealthy()) {
+                discard(candidate.connection());
+                continue;
+            }
+
+            hits.increment();
+            leasedConnections.incrementAndGet();
+            return new WmiConnectionLease(this, candidate.connection());
+        }
+
+        // Nothing reusable, open a new connection
+        misses.increment();
+        long start = nanoClock.getAsLong();
+        WmiConnection connection;
+        try {
+            connection = connectionFactory.connect(namespace);
+        } catch (RuntimeException e) {
+            connectFailures.increment();
+            throw e;
+        }
+        long elapsed = nanoClock.getAsLong() - start;
+        totalConnectNanos.add(elapsed);
+        maxConnectNanos.accumulateAndGet(elapsed, Math::max);
+
+        leasedConnections.incrementAndGet();
+        return new WmiConnectionLease(this, connection);
+    }
+
+    /**
+     * Releases every idle connection that exceeded the idle timeout or is no longer healthy.
+     *
+     * @return the number of connections released
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int evicted = 0;
+
+        for (Deque<IdleConnection> deque : idleConnections.values()) {
+            List<IdleConnection> stale = new ArrayList<>();
+            synchronized (deque) {
+                Iterator<IdleConnection> iterator = deque.iterator();
+                while (iterator.hasNext()) {
+                    IdleConnection idle = iterator.next();
+                    if (isExpired(idle, now) || !idle.connection().isHealthy()) {
+                        iterator.remove();
+                        stale.add(idle);
+                    }
+                }
+            }
+            stale.forEach(idle -> discard(idle.connection()));
+            evicted += stale.size();
+        }
+        return evicted;
+    }
+
+    /**
+     * Releases every idle connection held by the pool. Leased connections are released when they are returned.
+     */
+    public void clear() {
+        for (Deque<IdleConnection> deque : idleConnections.values()) {
+            List<IdleConnection> drained;
+            synchronized (deque) {
+                drained = new ArrayList<>(deque);
+                deque.clear();
+            }
+            drained.forEach(idle -> discard(idle.connection()));
+        }
+    }
+
+    /**
+     * @return a snapshot of the pool counters
+     */
+    public WmiConnectionPoolStats getStats() {
+        int idle = 0;
+        for (Deque<IdleConnection> deque : idleConnections.values()) {
+            synchronized (deque) {
+                idle += deque.size();
+            }
+        }
+
+        return WmiConnectionPoolStats.builder()
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .connectFailures(connectFailures.sum())
+                .evictions(evictions.sum())
+                .idleConnections(idle)
+                .leasedConnections(leasedConnections.get())
+                .totalConnectNanos(totalConnectNanos.sum())
+                .maxConnectNanos(maxConnectNanos.get())
+                .build();
+    }
+
+    void release(WmiConnection connection, boolean invalidated) {
+        leasedConnections.decrementAndGet();
+
+        if (invalidated || !connection.isHealthy()) {
+            discard(connection);
+            return;
+        }
+
+        Deque<IdleConnection> deque = idleConnections.computeIfAbsent(connection.getNamespace(), key -> new ArrayDeque<>());
+        boolean pooled;
+        synchronized (deque) {
+            pooled = deque.size() < maxIdlePerNamespace;
+            if (pooled)
+                deque.addFirst(new IdleConnection(connection, nanoClock.getAsLong()));
+        }
+
+        if (!pooled)
+            discard(connection);
+    }
+
+    private boolean isExpired(IdleConnection idle, long now) {
+        return now - idle.idleSinceNanos() > idleTimeout.toNanos();
+    }
+
+    private void discard(WmiConnection connection) {
+        evictions.increment();
+        connection.close();
+    }
+
+    private record IdleConnection(WmiConnection connection, long idleSinceNanos) {
+    }
+
+    // Lazily created, after the defaults it is built from have been initialized
+    private static final class DefaultPoolHolder {
+        private static final WmiConnectionPool POOL = WmiConnectionPool.builder().build();
+    }
+}
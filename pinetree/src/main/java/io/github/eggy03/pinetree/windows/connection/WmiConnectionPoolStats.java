@@ -0,0 +1,62 @@
+package io.github.eggy03.pinetree.windows.connection;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable snapshot of the counters maintained by a {@link WmiConnectionPool}.
+ *
+ * @since 1.0
+ */
+@Value
+@Builder
+public class WmiConnectionPoolStats {
+
+    /**
+     * Number of acquisitions served by an idle pooled connection
+     */
+    long hits;
+
+    /**
+     * Number of acquisitions that required a new connection
+     */
+    long misses;
+
+    /**
+     * Number of connection attempts that failed
+     */
+    long connectFailures;
+
+    /**
+     * Number of connections discarded because they were idle for too long, unhealthy or invalidated
+     */
+    long evictions;
+
+    /**
+     * Number of connections currently idle in the pool
+     */
+    int idleConnections;
+
+    /**
+     * Number of connections currently leased out
+     */
+    int leasedConnections;
+
+    /**
+     * Total time spent establishing successful connections, in nanoseconds
+     */
+    long totalConnectNanos;
+
+    /**
+     * Slowest successful connection, in nanoseconds
+     */
+    long maxConnectNanos;
+
+    /**
+     * @return the average time spent establishing a successful connection, in nanoseconds
+     */
+    public long getAverageConnectNanos() {
+        long connects = misses - connectFailures;
+        return connects <= 0 ? 0 : totalConnectNanos / connects;
+    }
+}
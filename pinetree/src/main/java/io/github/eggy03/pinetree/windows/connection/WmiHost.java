@@ -0,0 +1,69 @@
+package io.github.eggy03.pinetree.windows.connection;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Remote machine queried through DCOM, together with the credentials used to connect to it.
+ * <p>
+ * When no user is set, the identity of the current process is used. The user may be given as <code>DOMAIN&#92;user</code>,
+ * in which case the domain part is passed to the proxy security blanket separately.
+ * </p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * WmiHost host = WmiHost.builder()
+ *     .hostName("ws-0042")
+ *     .user("CORP\\inventory")
+ *     .password(secret)
+ *     .build();
+ *
+ * // \\ws-0042\root\cimv2
+ * String path = host.toNamespacePath(Namespace.DEFAULT.getValue());
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are immutable and thread-safe.
+ *
+ * @since 1.0
+ */
+@Value
+@Builder
+public class WmiHost {
+
+    /**
+     * The network name or address of the machine
+     */
+    @NonNull
+    String hostName;
+
+    /**
+     * The user to connect as, {@code null} to use the identity of the current process
+     */
+    @Nullable
+    String user;
+
+    /**
+     * The password of the user
+     */
+    @Nullable
+    @ToString.Exclude
+    String password;
+
+    /**
+     * The authority passed to {@code ConnectServer}, e.g. {@code ntlmdomain:CORP}, {@code null} for the default
+     */
+    @Nullable
+    String authority;
+
+    /**
+     * @param namespace the namespace on the machine, e.g. {@code root/cimv2}
+     * @return the object path of the namespace on this machine, e.g. {@code \\ws-0042\root\cimv2}
+     */
+    public String toNamespacePath(String namespace) {
+        return "\\\\" + hostName + "\\" + namespace.replace('/', '\\');
+    }
+}
@@ -3,6 +3,7 @@ package io.github.eggy03.pinetree.windows.entity.mainboard;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.annotations.SerializedName;
+import io.github.eggy03.pinetree.windows.annotation.WmiClass;
 import lombok.Builder;
 import lombok.Value;
 import org.jetbrains.annotations.Nullable;
@@ -36,6 +37,7 @@ import org.jetbrains.annotations.Nullable;
 
 @Value
 @Builder(toBuilder = true)
+@WmiClass("Win32_Baseboard")
 public class Baseboard {
 
     @SerializedName("Manufacturer")
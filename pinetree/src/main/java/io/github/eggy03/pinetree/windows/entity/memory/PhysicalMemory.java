@@ -2,6 +2,7 @@ package io.github.eggy03.pinetree.windows.entity.memory;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.annotations.SerializedName;
+import io.github.eggy03.pinetree.windows.annotation.WmiClass;
 import lombok.Builder;
 import lombok.Value;
 import org.jetbrains.annotations.Nullable;
@@ -35,6 +36,7 @@ import org.jetbrains.annotations.Nullable;
 
 @Value
 @Builder(toBuilder = true)
+@WmiClass(value = "Win32_PhysicalMemory", key = "Tag")
 public class PhysicalMemory {
 
     @SerializedName("Tag")
@@ -14,6 +14,7 @@
  *   <li>{@link io.github.eggy03.pinetree.windows.entity.processor.AssociatedProcessorMemory}</li>
  *   <li>{@link io.github.eggy03.pinetree.windows.entity.processor.Processor}</li>
  *   <li>{@link io.github.eggy03.pinetree.windows.entity.processor.ProcessorCache}</li>
+ *   <li>{@link io.github.eggy03.pinetree.windows.entity.snapshot.SystemSnapshot}</li>
  * </ul>
  *
  * @since 1.0
@@ -3,6 +3,7 @@ package io.github.eggy03.pinetree.windows.entity.processor;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.annotations.SerializedName;
+import io.github.eggy03.pinetree.windows.annotation.WmiClass;
 import lombok.Builder;
 import lombok.Value;
 import org.jetbrains.annotations.Nullable;
@@ -39,6 +40,7 @@ import org.jetbrains.annotations.Nullable;
  */
 @Value
 @Builder (toBuilder = true)
+@WmiClass("Win32_AssociatedProcessorMemory")
 public class AssociatedProcessorMemory {
 
     @SerializedName("Antecedent")
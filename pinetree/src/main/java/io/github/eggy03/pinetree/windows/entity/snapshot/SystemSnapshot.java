@@ -0,0 +1,112 @@
+package io.github.eggy03.pinetree.windows.entity.snapshot;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import com.google.gson.annotations.SerializedName;
+import io.github.eggy03.pinetree.windows.entity.display.Monitor;
+import io.github.eggy03.pinetree.windows.entity.display.VideoController;
+import io.github.eggy03.pinetree.windows.entity.mainboard.Baseboard;
+import io.github.eggy03.pinetree.windows.entity.mainboard.Bios;
+import io.github.eggy03.pinetree.windows.entity.mainboard.PortConnector;
+import io.github.eggy03.pinetree.windows.entity.memory.PhysicalMemory;
+import io.github.eggy03.pinetree.windows.entity.processor.AssociatedProcessorMemory;
+import io.github.eggy03.pinetree.windows.entity.processor.Processor;
+import io.github.eggy03.pinetree.windows.entity.processor.ProcessorCache;
+import io.github.eggy03.pinetree.windows.enums.WmiClassname;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, point-in-time view of every hardware class supported by this library.
+ * <p>
+ * A snapshot is produced by {@link io.github.eggy03.pinetree.windows.service.snapshot.SystemSnapshotService},
+ * which queries all WMI classes concurrently. All lists share a single capture timestamp.
+ * </p>
+ * <p>
+ * Classes that could not be retrieved, when the snapshot was taken with a partial-result policy,
+ * have an empty list and an entry in {@code getFailures()} describing the cause.
+ * </p>
+ * Instances are thread-safe and may be safely cached or shared across threads.
+ *
+ * <h2>Usage example</h2>
+ * <pre>{@code
+ * SystemSnapshot snapshot = new SystemSnapshotService().capture();
+ * snapshot.getProcessors().forEach(cpu -> System.out.println(cpu.getName()));
+ *
+ * if (!snapshot.isComplete())
+ *     snapshot.getFailures().forEach((wmiClass, cause) -> System.err.println(wmiClass + ": " + cause));
+ * }</pre>
+ *
+ * @since 1.0
+ */
+@Value
+@Builder(toBuilder = true)
+public class SystemSnapshot {
+
+    @SerializedName("CapturedAt")
+    @NonNull
+    Instant capturedAt;
+
+    @SerializedName("Processors")
+    @Builder.Default
+    List<Processor> processors = List.of();
+
+    @SerializedName("ProcessorCaches")
+    @Builder.Default
+    List<ProcessorCache> processorCaches = List.of();
+
+    @SerializedName("AssociatedProcessorMemories")
+    @Builder.Default
+    List<AssociatedProcessorMemory> associatedProcessorMemories = List.of();
+
+    @SerializedName("PhysicalMemories")
+    @Builder.Default
+    List<PhysicalMemory> physicalMemories = List.of();
+
+    @SerializedName("VideoControllers")
+    @Builder.Default
+    List<VideoController> videoControllers = List.of();
+
+    @SerializedName("Monitors")
+    @Builder.Default
+    List<Monitor> monitors = List.of();
+
+    @SerializedName("Bios")
+    @Builder.Default
+    List<Bios> bios = List.of();
+
+    @SerializedName("Baseboards")
+    @Builder.Default
+    List<Baseboard> baseboards = List.of();
+
+    @SerializedName("PortConnectors")
+    @Builder.Default
+    List<PortConnector> portConnectors = List.of();
+
+    @SerializedName("Failures")
+    @Builder.Default
+    Map<WmiClassname, String> failures = Map.of();
+
+    /**
+     * @return {@code true} if every class was retrieved successfully
+     */
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        Gson gson = new GsonBuilder()
+                .setPrettyPrinting()
+                .registerTypeAdapter(Instant.class, (JsonSerializer<Instant>) (src, type, context) -> new JsonPrimitive(src.toString()))
+                .create();
+        return gson.toJson(this);
+    }
+}
@@ -2,6 +2,7 @@ package io.github.eggy03.pinetree.windows.enums;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Contains names of some Computer Hardware and Configuration classes which are a part of the
@@ -58,4 +59,17 @@ public enum WmiClassname {
     WIN32_PORT_CONNECTOR("Win32_PortConnector");
 
     private final String className;
+
+    /**
+     * @param className the name of a WMI class, compared case-insensitively like WMI does
+     * @return the matching constant, or {@code null} if the class is not listed in this enum
+     */
+    @Nullable
+    public static WmiClassname fromClassName(String className) {
+        for (WmiClassname wmiClassname : values()) {
+            if (wmiClassname.className.equalsIgnoreCase(className))
+                return wmiClassname;
+        }
+        return null;
+    }
 }
\ No newline at end of file
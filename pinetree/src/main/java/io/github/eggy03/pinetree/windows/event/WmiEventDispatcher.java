@@ -0,0 +1,147 @@
+package io.github.eggy03.pinetree.windows.event;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.COMUtils;
+import com.sun.jna.platform.win32.WinNT;
+import io.github.eggy03.pinetree.windows.com.WmiClassObject;
+import io.github.eggy03.pinetree.windows.com.WmiObjectSink;
+import io.github.eggy03.pinetree.windows.com.WmiValue;
+import io.github.eggy03.pinetree.windows.mapper.CommonMappingInterface;
+import io.github.eggy03.pinetree.windows.result.WmiResultTable;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * {@link WmiObjectSink} turning intrinsic instance events into typed {@link WmiEventListener} callbacks.
+ * <p>
+ * The type of each event is read from its {@code __CLASS} property. The {@code TargetInstance}, and for modifications
+ * the {@code PreviousInstance}, are read into a {@link WmiResultTable} and mapped by the regular
+ * {@link CommonMappingInterface} of the entity, exactly like the results of a query.
+ * Events of a type that was not requested are dropped.
+ * </p>
+ * Since any {@link io.github.eggy03.pinetree.windows.com.WmiNotificationQueryDriver} can drive this sink,
+ * a synthetic event source can exercise the whole dispatch pipeline without a Windows host.
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are thread-safe. Events are dispatched one at a time, in the order they are delivered.
+ *
+ * @param <S> the entity type
+ * @param <P> the enum type defining the properties of the WMI class
+ * @since 1.0
+ */
+public class WmiEventDispatcher<S, P extends Enum<P>> implements WmiObjectSink {
+
+    private static final String CLASS_PROPERTY = "__CLASS";
+    private static final String TARGET_INSTANCE = "TargetInstance";
+    private static final String PREVIOUS_INSTANCE = "PreviousInstance";
+
+    private final Class<P> propertyEnum;
+    private final EnumSet<P> selectedProperties;
+    private final EnumSet<WmiEventType> eventTypes;
+    private final CommonMappingInterface<S, P> mapper;
+    private final WmiEventListener<? super S> listener;
+    private final WmiValue eventClass = new WmiValue();
+    private boolean closed = false;
+
+    /**
+     * Creates a new dispatcher.
+     *
+     * @param propertyEnum the enum defining the properties read from each instance
+     * @param eventTypes   the event types passed to the listener
+     * @param mapper       the mapper converting the instances into entities
+     * @param listener     the listener receiving the typed changes
+     */
+    public WmiEventDispatcher(Class<P> propertyEnum, EnumSet<WmiEventType> eventTypes,
+                              CommonMappingInterface<S, P> mapper, WmiEventListener<? super S> listener) {
+        this.propertyEnum = propertyEnum;
+        this.selectedProperties = EnumSet.allOf(propertyEnum);
+        this.eventTypes = EnumSet.copyOf(eventTypes);
+        this.mapper = mapper;
+        this.listener = listener;
+    }
+
+    @Override
+    public synchronized void indicate(WmiClassObject[] objects, int count) {
+        for (int i = 0; i < count && !closed; i++) {
+            try {
+                dispatch(objects[i]);
+            } catch (RuntimeException e) {
+                listener.onError(e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void complete(int hresult, @Nullable String message) {
+        if (closed)
+            return; // cancelled by the subscriber
+
+        closed = true;
+        if (COMUtils.FAILED(hresult)) {
+            String description = message != null ? message : "Event subscription failed.";
+            listener.onError(new COMException(description, new WinNT.HRESULT(hresult)));
+        }
+    }
+
+    /**
+     * Stops the delivery of events to the listener, including events already queued by WMI.
+     */
+    public synchronized void close() {
+        closed = true;
+    }
+
+    /**
+     * @return {@code true} if the dispatcher has been closed or the subscription has ended
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    private void dispatch(WmiClassObject event) {
+        event.get(CLASS_PROPERTY, eventClass);
+        WmiEventType type = WmiEventType.fromEventClassName((String) eventClass.getValue());
+        if (type == null || !eventTypes.contains(type))
+            return;
+
+        List<S> instances = readInstances(event, type == WmiEventType.MODIFICATION);
+        if (instances.isEmpty())
+            return;
+
+        switch (type) {
+            case CREATION -> listener.onCreated(instances.getFirst());
+            case DELETION -> listener.onDeleted(instances.getFirst());
+            case MODIFICATION -> {
+                if (instances.size() > 1)
+                    listener.onModified(instances.get(1), instances.getFirst());
+            }
+        }
+    }
+
+    // Row 0 holds the target instance, row 1 the previous instance if requested
+    private List<S> readInstances(WmiClassObject event, boolean withPrevious) {
+        WmiResultTable<P> table = new WmiResultTable<>(propertyEnum);
+
+        WmiClassObject target = event.getObject(TARGET_INSTANCE);
+        if (target == null)
+            return List.of();
+        try {
+            table.addRow(target, selectedProperties);
+        } finally {
+            target.release();
+        }
+
+        if (withPrevious) {
+            WmiClassObject previous = event.getObject(PREVIOUS_INSTANCE);
+            if (previous == null)
+                return List.of();
+            try {
+                table.addRow(previous, selectedProperties);
+            } finally {
+                previous.release();
+            }
+        }
+        return mapper.toEntityList(table);
+    }
+}
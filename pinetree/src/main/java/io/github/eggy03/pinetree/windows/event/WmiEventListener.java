@@ -0,0 +1,51 @@
+package io.github.eggy03.pinetree.windows.event;
+
+/**
+ * Receives the typed changes of a {@link WmiSubscription}.
+ * <p>
+ * Every method has an empty default implementation, so a listener only overrides the changes it is interested in.
+ * </p>
+ *
+ * <h2>Thread Safety</h2>
+ * Callbacks are made on threads owned by COM, one at a time and in the order in which WMI delivered the events.
+ * Listeners should return quickly and hand long-running work to their own executor.
+ *
+ * @param <S> the entity type
+ * @since 1.0
+ */
+public interface WmiEventListener<S> {
+
+    /**
+     * Called when an instance has been added.
+     *
+     * @param created the new instance
+     */
+    default void onCreated(S created) {
+    }
+
+    /**
+     * Called when an instance has been removed.
+     *
+     * @param deleted the instance as it was before its removal
+     */
+    default void onDeleted(S deleted) {
+    }
+
+    /**
+     * Called when an instance has been changed.
+     *
+     * @param previous the instance before the change
+     * @param current  the instance after the change
+     */
+    default void onModified(S previous, S current) {
+    }
+
+    /**
+     * Called when an event could not be mapped, when another callback of this listener threw,
+     * or when the subscription failed. A failed subscription does not deliver any further events.
+     *
+     * @param failure the cause
+     */
+    default void onError(Throwable failure) {
+    }
+}
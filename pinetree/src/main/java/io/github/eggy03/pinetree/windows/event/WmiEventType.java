@@ -0,0 +1,52 @@
+package io.github.eggy03.pinetree.windows.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Intrinsic WMI events describing changes to the instances of a class.
+ *
+ * @since 1.0
+ * @see <a href="https://learn.microsoft.com/en-us/windows/win32/wmisdk/determining-the-type-of-event-to-receive">
+ *     Determining the Type of Event to Receive</a>
+ */
+@AllArgsConstructor
+@Getter
+public enum WmiEventType {
+
+    /**
+     * An instance has been added
+     */
+    CREATION("__InstanceCreationEvent"),
+
+    /**
+     * An instance has been removed
+     */
+    DELETION("__InstanceDeletionEvent"),
+
+    /**
+     * An instance has been changed
+     */
+    MODIFICATION("__InstanceModificationEvent");
+
+    /**
+     * The common parent class of every intrinsic instance event
+     */
+    public static final String INSTANCE_OPERATION_EVENT = "__InstanceOperationEvent";
+
+    private final String eventClassName;
+
+    /**
+     * @param eventClassName the value of the {@code __CLASS} property of an event object
+     * @return the matching event type, or {@code null} if the class is not an instance event
+     */
+    @Nullable
+    public static WmiEventType fromEventClassName(@Nullable String eventClassName) {
+        for (WmiEventType type : values()) {
+            if (type.eventClassName.equalsIgnoreCase(eventClassName))
+                return type;
+        }
+        return null;
+    }
+}
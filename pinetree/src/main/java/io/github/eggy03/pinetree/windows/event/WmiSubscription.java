@@ -0,0 +1,57 @@
+package io.github.eggy03.pinetree.windows.event;
+
+import io.github.eggy03.pinetree.windows.com.WmiAsyncCall;
+import io.github.eggy03.pinetree.windows.concurrent.ComExecutor;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Handle of an active WMI event subscription.
+ * <p>
+ * Closing the subscription stops the delivery of events to its listener immediately and cancels the underlying
+ * event query on a worker of {@link ComExecutor#getDefault()}, since {@code IWbemServices::CancelAsyncCall}
+ * must be issued from a thread with COM initialized.
+ * </p>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are thread-safe.
+ *
+ * @since 1.0
+ */
+public class WmiSubscription implements AutoCloseable {
+
+    private final WmiAsyncCall call;
+    private final WmiEventDispatcher<?, ?> dispatcher;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    /**
+     * Creates a handle for an issued subscription.
+     *
+     * @param call       the event query delivering events to the dispatcher
+     * @param dispatcher the dispatcher passing the events to the listener
+     */
+    public WmiSubscription(WmiAsyncCall call, WmiEventDispatcher<?, ?> dispatcher) {
+        this.call = call;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * @return {@code true} while events may still be delivered, i.e. the subscription has neither been closed
+     * nor failed
+     */
+    public boolean isActive() {
+        return !dispatcher.isClosed();
+    }
+
+    /**
+     * Cancels the subscription. Calling this method more than once has no effect.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true))
+            return;
+
+        dispatcher.close();
+        ComExecutor.getDefault().execute(call::cancel);
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.eggy03.pinetree.windows.fleet;
+
+import io.github.eggy03.pinetree.windows.connection.RemoteComWmiConnectionFactory;
+import io.github.eggy03.pinetree.windows.connection.WmiConnection;
+import io.github.eggy03.pinetree.windows.connection.WmiHost;
+import io.github.eggy03.pinetree.windows.enums.Namespace;
+import io.github.eggy03.pinetree.windows.service.CommonServiceInterface;
+import io.github.eggy03.pinetree.windows.util.WmiUtil;
+
+import java.util.List;
+
+/**
+ * {@link FleetHostConnector} querying hosts through DCOM.
+ * <p>
+ * Each call connects to {@code \\host\root\cimv2} through {@link RemoteComWmiConnectionFactory},
+ * runs the unmanaged {@code get()} method of the service over that connection with
+ * {@link WmiUtil#withConnection(WmiConnection, java.util.function.Supplier)}, and releases the connection again.
+ * Connections are not kept between calls, since a fleet inventory revisits each host rarely.
+ * </p>
+ * Must be invoked on a thread with COM initialized, which is the case on the workers of a {@link FleetCollector}.
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are stateless and thread-safe.
+ *
+ * @since 1.0
+ */
+public class ComFleetHostConnector implements FleetHostConnector {
+
+    @Override
+    public <S> List<S> collect(WmiHost host, CommonServiceInterface<S> service) {
+        WmiConnection connection = new RemoteComWmiConnectionFactory(host).connect(Namespace.DEFAULT.getValue());
+        try {
+            return WmiUtil.withConnection(connection, service::get);
+        } finally {
+            connection.close();
+        }
+    }
+}
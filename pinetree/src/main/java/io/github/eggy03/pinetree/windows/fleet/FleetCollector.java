@@ -0,0 +1,375 @@
+package io.github.eggy03.pinetree.windows.fleet;
+
+import io.github.eggy03.pinetree.windows.concurrent.ComExecutor;
+import io.github.eggy03.pinetree.windows.concurrent.QueueTimeoutException;
+import io.github.eggy03.pinetree.windows.connection.WmiHost;
+import io.github.eggy03.pinetree.windows.service.CommonServiceInterface;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Runs a service against many remote hosts concurrently, with bounded parallelism.
+ * <p>
+ * Hosts are queried by a {@link FleetHostConnector}, on a dedicated {@link ComExecutor} whose worker count is the
+ * global concurrency cap. A host is only submitted once a worker is free, so it never waits in the queue of the executor
+ * and its timeout only covers its own query. Collections running at the same time share the workers of the collector,
+ * each free worker going to the collection that has waited the longest for one.
+ * </p>
+ * <ul>
+ *     <li>A host that does not answer within {@code hostTimeout} is reported as
+ *     {@link FleetHostResult.Status#TIMED_OUT}. Its worker, stuck inside DCOM, is abandoned and replaced.</li>
+ *     <li>Each host has a circuit breaker. After {@code failureThreshold} consecutive failures or timeouts, the host
+ *     is skipped as {@link FleetHostResult.Status#CIRCUIT_OPEN} for {@code openDuration}, after which a single probe
+ *     decides whether it is queried again. Breakers are kept across collections by the same collector.</li>
+ *     <li>Results are delivered as each host finishes, not in the order of the hosts.</li>
+ * </ul>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * try (FleetCollector collector = FleetCollector.builder()
+ *         .maxConcurrency(128)
+ *         .hostTimeout(Duration.ofSeconds(30))
+ *         .build()) {
+ *
+ *     collector.stream(hosts, new ProcessorService())
+ *         .filter(FleetHostResult::isSuccess)
+ *         .forEach(result -> System.out.println(result.getHost().getHostName() + ": " + result.getRows()));
+ * }
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are thread-safe. Several collections may run at the same time and share the concurrency cap.
+ *
+ * @since 1.0
+ */
+public class FleetCollector implements AutoCloseable {
+
+    private static final int DEFAULT_MAX_CONCURRENCY = 64;
+    private static final Duration DEFAULT_HOST_TIMEOUT = Duration.ofMinutes(1);
+    private static final int DEFAULT_FAILURE_THRESHOLD = 3;
+    private static final Duration DEFAULT_OPEN_DURATION = Duration.ofMinutes(5);
+
+    private final FleetHostConnector connector;
+
+    @Getter
+    private final int maxConcurrency;
+
+    @Getter
+    private final Duration hostTimeout;
+
+    @Getter
+    private final int failureThreshold;
+
+    @Getter
+    private final Duration openDuration;
+
+    private final LongSupplier nanoClock;
+    private final ComExecutor executor;
+    private final Map<String, HostCircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    // Guards freeWorkers and waitingRuns
+    private final Object scheduling = new Object();
+    private final Deque<Run<?>> waitingRuns = new ArrayDeque<>();
+    private int freeWorkers;
+
+    /**
+     * Creates a new collector. Unset parameters fall back to their defaults.
+     *
+     * @param connector        connector querying each host, defaults to {@link ComFleetHostConnector}
+     * @param maxConcurrency   maximum number of hosts queried at once, defaults to {@code 64}
+     * @param hostTimeout      maximum duration of the query of a single host, defaults to one minute
+     * @param failureThreshold consecutive failures after which the circuit of a host opens, defaults to {@code 3}
+     * @param openDuration     time during which an open circuit skips its host, defaults to five minutes
+     * @param nanoClock        monotonic time source in nanoseconds, defaults to {@link System#nanoTime()}
+     * @param threadFactory    factory of the worker threads, defaults to that of {@link ComExecutor}
+     */
+    @Builder
+    private FleetCollector(FleetHostConnector connector, Integer maxConcurrency, Duration hostTimeout,
+                           Integer failureThreshold, Duration openDuration, LongSupplier nanoClock,
+                           ThreadFactory threadFactory) {
+        this.connector = connector != null ? connector : new ComFleetHostConnector();
+        this.maxConcurrency = maxConcurrency != null ? maxConcurrency : DEFAULT_MAX_CONCURRENCY;
+        this.hostTimeout = hostTimeout != null ? hostTimeout : DEFAULT_HOST_TIMEOUT;
+        this.failureThreshold = failureThreshold != null ? failureThreshold : DEFAULT_FAILURE_THRESHOLD;
+        this.openDuration = openDuration != null ? openDuration : DEFAULT_OPEN_DURATION;
+        this.nanoClock = nanoClock != null ? nanoClock : System::nanoTime;
+
+        if (this.maxConcurrency < 1)
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        if (this.failureThreshold < 1)
+            throw new IllegalArgumentException("failureThreshold must be at least 1");
+
+        this.freeWorkers = this.maxConcurrency;
+        this.executor = ComExecutor.builder()
+                .threads(this.maxConcurrency)
+                .namePrefix("pinetree-fleet")
+                .threadFactory(threadFactory)
+                .build();
+    }
+
+    /**
+     * Queries every host and passes each result to the listener as soon as the host has finished.
+     * <p>
+     * The listener is invoked one result at a time, never on a COM worker. Cancelling the returned future
+     * stops the collection: hosts that have not been started yet are not queried anymore.
+     * </p>
+     *
+     * @param hosts    the hosts to query
+     * @param service  the service run against each host
+     * @param listener listener receiving the result of each host
+     * @param <S>      the entity type
+     * @return a future completed once every host has been reported, or exceptionally if the listener threw
+     * or the collector has been closed
+     */
+    public <S> CompletableFuture<Void> collect(Collection<WmiHost> hosts, CommonServiceInterface<S> service,
+                                               Consumer<? super FleetHostResult<S>> listener) {
+
+        Collection<WmiHost> snapshot = List.copyOf(hosts);
+        Run<S> run = new Run<>(snapshot.iterator(), snapshot.size(), service, listener);
+        if (snapshot.isEmpty()) {
+            run.future.complete(null);
+            return run.future;
+        }
+
+        synchronized (scheduling) {
+            waitingRuns.addLast(run);
+        }
+        dispatch();
+        return run.future;
+    }
+
+    /**
+     * Queries every host and returns the results as a stream, in the order in which the hosts finish.
+     * <p>
+     * The stream blocks until the next host has finished. Closing it stops the collection.
+     * </p>
+     *
+     * @param hosts   the hosts to query
+     * @param service the service run against each host
+     * @param <S>     the entity type
+     * @return a stream of one result per host, to be closed, preferably with try-with-resources
+     */
+    public <S> Stream<FleetHostResult<S>> stream(Collection<WmiHost> hosts, CommonServiceInterface<S> service) {
+        BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+        Object end = new Object();
+
+        CompletableFuture<Void> future = collect(hosts, service, queue::add);
+        future.whenComplete((ignored, failure) -> queue.add(end));
+
+        Iterator<FleetHostResult<S>> iterator = new Iterator<>() {
+
+            private Object next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = queue.take();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new CompletionException(e);
+                    }
+                }
+                if (next == end && future.isCompletedExceptionally() && !future.isCancelled())
+                    future.join();
+                return next != end;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public FleetHostResult<S> next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                FleetHostResult<S> result = (FleetHostResult<S>) next;
+                next = null;
+                return result;
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliterator(iterator, hosts.size(), Spliterator.NONNULL), false)
+                .onClose(() -> future.cancel(false));
+    }
+
+    /**
+     * @param host the host
+     * @return {@code true} if the host is currently skipped because of repeated failures
+     */
+    public boolean isCircuitOpen(WmiHost host) {
+        HostCircuitBreaker breaker = breakers.get(host.getHostName());
+        return breaker != null && breaker.isOpen(nanoClock.getAsLong());
+    }
+
+    /**
+     * Forgets the failures of the host, so that it is queried by the next collection.
+     *
+     * @param host the host
+     */
+    public void resetCircuit(WmiHost host) {
+        breakers.remove(host.getHostName());
+    }
+
+    /**
+     * Stops the workers of this collector once the hosts already started have finished.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    // Hands the free workers to the waiting collections, one host at a time and in turn
+    private void dispatch() {
+        while (true) {
+            Run<?> run;
+            synchronized (scheduling) {
+                if (freeWorkers == 0 || waitingRuns.isEmpty())
+                    return;
+                run = waitingRuns.pollFirst();
+                freeWorkers--;
+            }
+
+            boolean started = run.startNext();
+            synchronized (scheduling) {
+                if (!started)
+                    freeWorkers++;
+                else if (run.hasMoreHosts())
+                    waitingRuns.addLast(run);
+            }
+        }
+    }
+
+    private void releaseWorker() {
+        synchronized (scheduling) {
+            freeWorkers++;
+        }
+        dispatch();
+    }
+
+    private HostCircuitBreaker breaker(WmiHost host) {
+        return breakers.computeIfAbsent(host.getHostName(),
+                name -> new HostCircuitBreaker(failureThreshold, openDuration.toNanos()));
+    }
+
+    // State of a single collection, whose hosts are started one at a time whenever it is handed a free worker
+    private final class Run<S> {
+
+        private final Iterator<WmiHost> hosts;
+        private final CommonServiceInterface<S> service;
+        private final Consumer<? super FleetHostResult<S>> listener;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private int pending;
+
+        private Run(Iterator<WmiHost> hosts, int pending, CommonServiceInterface<S> service,
+                    Consumer<? super FleetHostResult<S>> listener) {
+            this.hosts = hosts;
+            this.pending = pending;
+            this.service = service;
+            this.listener = listener;
+        }
+
+        private synchronized boolean hasMoreHosts() {
+            return !future.isDone() && hosts.hasNext();
+        }
+
+        // Starts the next host on the worker handed to this collection, returns false if the worker was not used
+        private boolean startNext() {
+            while (true) {
+                WmiHost host;
+                synchronized (this) {
+                    if (future.isDone() || !hosts.hasNext())
+                        return false;
+                    host = hosts.next();
+                }
+
+                HostCircuitBreaker breaker = breaker(host);
+                if (!breaker.tryAcquire(nanoClock.getAsLong())) {
+                    // Skipping does not occupy a worker, move on to the next host right away
+                    deliver(FleetHostResult.<S>builder().host(host).status(FleetHostResult.Status.CIRCUIT_OPEN).build());
+                    continue;
+                }
+
+                long startNanos = nanoClock.getAsLong();
+                CompletableFuture<List<S>> query;
+                try {
+                    query = executor.submit(() -> connector.collect(host, service), hostTimeout);
+                } catch (RejectedExecutionException e) {
+                    future.completeExceptionally(e);
+                    return false;
+                }
+
+                // Continue off the workers, submit() would run the next host inline on a worker and without a deadline
+                query.whenCompleteAsync((rows, failure) -> {
+                    try {
+                        deliver(toResult(host, breaker, startNanos, rows, failure));
+                    } finally {
+                        releaseWorker();
+                    }
+                });
+                return true;
+            }
+        }
+
+        private FleetHostResult<S> toResult(WmiHost host, HostCircuitBreaker breaker, long startNanos,
+                                            List<S> rows, Throwable failure) {
+            long nowNanos = nanoClock.getAsLong();
+            FleetHostResult.FleetHostResultBuilder<S> result = FleetHostResult.<S>builder()
+                    .host(host)
+                    .elapsed(Duration.ofNanos(nowNanos - startNanos));
+
+            if (failure == null) {
+                breaker.onSuccess();
+                return result.status(FleetHostResult.Status.SUCCESS).rows(List.copyOf(rows)).build();
+            }
+
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            if (cause instanceof QueueTimeoutException) {
+                // The host was never contacted, which says nothing about its health
+                breaker.onNotAttempted();
+                return result.status(FleetHostResult.Status.TIMED_OUT).build();
+            }
+
+            breaker.onFailure(nowNanos);
+            if (cause instanceof TimeoutException)
+                return result.status(FleetHostResult.Status.TIMED_OUT).build();
+            return result.status(FleetHostResult.Status.FAILED).failure(cause).build();
+        }
+
+        private synchronized void deliver(FleetHostResult<S> result) {
+            if (future.isDone())
+                return;
+
+            try {
+                listener.accept(result);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+                return;
+            }
+
+            if (--pending == 0)
+                future.complete(null);
+        }
+    }
+}
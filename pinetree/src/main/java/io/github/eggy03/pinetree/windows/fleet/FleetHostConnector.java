@@ -0,0 +1,35 @@
+package io.github.eggy03.pinetree.windows.fleet;
+
+import io.github.eggy03.pinetree.windows.connection.WmiHost;
+import io.github.eggy03.pinetree.windows.service.CommonServiceInterface;
+
+import java.util.List;
+
+/**
+ * Runs a service against a single host on behalf of a {@link FleetCollector}.
+ * <p>
+ * The native implementation is {@link ComFleetHostConnector}, which connects to the host through DCOM.
+ * Other implementations can stand in for it, e.g. to simulate the latency and failures of a fleet of hosts,
+ * so that the scheduling, timeouts and circuit breaking of the collector can be exercised and measured
+ * without a Windows host.
+ * </p>
+ *
+ * <h2>Thread Safety</h2>
+ * Implementations must be thread-safe. They are invoked concurrently on the COM worker threads of the collector.
+ *
+ * @since 1.0
+ */
+public interface FleetHostConnector {
+
+    /**
+     * Connects to the host and retrieves the entities of the service.
+     *
+     * @param host    the host to query
+     * @param service the service whose entities are retrieved
+     * @param <S>     the entity type
+     * @return the entities of the host
+     * @throws RuntimeException if the host could not be queried, e.g. a
+     *                          {@link com.sun.jna.platform.win32.COM.COMException} if it is unreachable
+     */
+    <S> List<S> collect(WmiHost host, CommonServiceInterface<S> service);
+}
@@ -0,0 +1,89 @@
+package io.github.eggy03.pinetree.windows.fleet;
+
+import io.github.eggy03.pinetree.windows.connection.WmiHost;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of querying a single host of a fleet.
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are immutable and thread-safe.
+ *
+ * @param <S> the entity type
+ * @since 1.0
+ */
+@Value
+@Builder
+public class FleetHostResult<S> {
+
+    /**
+     * The host that was queried
+     */
+    @NonNull
+    WmiHost host;
+
+    /**
+     * How the query of the host ended
+     */
+    @NonNull
+    Status status;
+
+    /**
+     * The entities of the host, empty unless the query succeeded
+     */
+    @NonNull
+    @Builder.Default
+    List<S> rows = List.of();
+
+    /**
+     * The cause of a failure, {@code null} unless the status is {@link Status#FAILED}
+     */
+    @Nullable
+    Throwable failure;
+
+    /**
+     * The time from the start of the query of the host until the outcome was known, zero if it was skipped
+     */
+    @NonNull
+    @Builder.Default
+    Duration elapsed = Duration.ZERO;
+
+    /**
+     * @return {@code true} if the entities of the host have been retrieved
+     */
+    public boolean isSuccess() {
+        return status == Status.SUCCESS;
+    }
+
+    /**
+     * Possible outcomes of querying a host.
+     */
+    public enum Status {
+
+        /**
+         * The entities have been retrieved
+         */
+        SUCCESS,
+
+        /**
+         * The host could not be queried, see {@code FleetHostResult.getFailure()}
+         */
+        FAILED,
+
+        /**
+         * The host did not answer within the per-host timeout
+         */
+        TIMED_OUT,
+
+        /**
+         * The host was skipped because its circuit breaker is open after repeated failures
+         */
+        CIRCUIT_OPEN
+    }
+}
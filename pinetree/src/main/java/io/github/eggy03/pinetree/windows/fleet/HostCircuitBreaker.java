@@ -0,0 +1,55 @@
+package io.github.eggy03.pinetree.windows.fleet;
+
+/**
+ * Circuit breaker of a single host.
+ * <p>
+ * The circuit opens after {@code failureThreshold} consecutive failures and rejects attempts for {@code openNanos}.
+ * It then lets a single probe through: a successful probe closes the circuit, a failed one opens it again.
+ * </p>
+ */
+final class HostCircuitBreaker {
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private int consecutiveFailures = 0;
+    private long openUntilNanos = 0;
+    private boolean probing = false;
+
+    HostCircuitBreaker(int failureThreshold, long openNanos) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openNanos;
+    }
+
+    synchronized boolean tryAcquire(long nowNanos) {
+        if (consecutiveFailures < failureThreshold)
+            return true;
+        if (probing || nowNanos - openUntilNanos < 0)
+            return false;
+
+        // half-open, let one attempt through
+        probing = true;
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        probing = false;
+    }
+
+    synchronized void onFailure(long nowNanos) {
+        consecutiveFailures++;
+        probing = false;
+        if (consecutiveFailures >= failureThreshold)
+            openUntilNanos = nowNanos + openNanos;
+    }
+
+    // Releases the probe of an attempt that never reached the host, without counting it either way
+    synchronized void onNotAttempted() {
+        probing = false;
+    }
+
+    synchronized boolean isOpen(long nowNanos) {
+        return consecutiveFailures >= failureThreshold && (probing || nowNanos - openUntilNanos < 0);
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.eggy03.pinetree.windows.mapper;
 
 import com.sun.jna.platform.win32.COM.WbemcliUtil;
+import io.github.eggy03.pinetree.windows.result.ColumnarResult;
 import io.github.eggy03.pinetree.windows.util.WmiUtil;
 
 import java.util.List;
@@ -30,6 +31,10 @@ import java.util.List;
  *       entity defined in the {@link io.github.eggy03.pinetree.windows.entity} package.</li>
  *   <li>The resulting list of entities is returned to the caller for processing or persistence.</li>
  * </ol>
+ * <p>
+ * When a query only selects a subset of the properties (see {@link io.github.eggy03.pinetree.windows.query.WqlQuery#select(java.util.EnumSet)}),
+ * the result holds {@code null} for every property that was not selected, so the corresponding entity fields stay {@code null}.
+ * </p>
  *
  * <h2>Type Parameters</h2>
  * <ul>
@@ -73,4 +78,36 @@ import java.util.List;
 public interface CommonMappingInterface<S, T extends Enum<T>> {
 
     List<S> toEntityList(WbemcliUtil.WmiResult<T> result);
+
+    /**
+     * Maps WMI result data into views that convert each property on first access, see {@link EntityView}.
+     * <p>
+     * Generated mappers return their generated views, e.g. {@code ProcessorView} for {@code Processor}, which is cheaper
+     * than {@link #toEntityList(WbemcliUtil.WmiResult)} when only a few properties of each row are read.
+     * The default implementation does not support views.
+     * </p>
+     *
+     * @param result the WMI query result
+     * @return a list of views, one per row of the result
+     * @throws UnsupportedOperationException if the mapper does not return views
+     */
+    default List<? extends EntityView<S>> toLazyEntityList(WbemcliUtil.WmiResult<T> result) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not map results into views.");
+    }
+
+    /**
+     * Maps a result stored column by column into entities, see {@link ColumnarResult}.
+     * <p>
+     * Generated mappers read each column with the getter matching the type of its field, e.g.
+     * {@link ColumnarResult#getIntegerValue(Enum, int)}, so that integer, boolean and string columns are boxed once, into
+     * the entity, without an intermediate object per cell. The default implementation does not support columnar results.
+     * </p>
+     *
+     * @param result the columnar query result
+     * @return a list of entities, one per row of the result
+     * @throws UnsupportedOperationException if the mapper does not read columnar results
+     */
+    default List<S> toEntityList(ColumnarResult<T> result) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not map columnar results.");
+    }
 }
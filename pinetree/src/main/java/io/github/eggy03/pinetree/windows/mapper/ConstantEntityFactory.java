@@ -0,0 +1,25 @@
+package io.github.eggy03.pinetree.windows.mapper;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+// The template of the factories defined by EntityFactory.of(MethodHandle). It is only ever defined as a hidden class,
+// whose class data is the construction handle of one entity type
+final class ConstantEntityFactory implements EntityFactory {
+
+    private static final MethodHandle FACTORY;
+
+    static {
+        try {
+            FACTORY = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public Object create(Object[] values) throws Throwable {
+        return (Object) FACTORY.invokeExact(values);
+    }
+}
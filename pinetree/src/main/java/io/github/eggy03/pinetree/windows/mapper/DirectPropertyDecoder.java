@@ -0,0 +1,103 @@
+package io.github.eggy03.pinetree.windows.mapper;
+
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import com.sun.jna.platform.win32.Variant;
+import io.github.eggy03.pinetree.windows.com.WmiPropertyDecoder;
+import io.github.eggy03.pinetree.windows.util.CastUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * Decoders converting properties into the field types supported by {@link WmiEntityMapper}.
+ * <p>
+ * A {@code VARIANT} is read straight from native memory with the primitive {@link CastUtil} conversions. Values of any
+ * other {@code VARIANT} type fall back to the boxed conversion, so both paths agree with the generated mappers.
+ * </p>
+ */
+enum DirectPropertyDecoder implements WmiPropertyDecoder {
+
+    STRING,
+    INTEGER,
+    LONG,
+    BOOLEAN;
+
+    private static final Map<Class<?>, DirectPropertyDecoder> BY_FIELD_TYPE = Map.of(
+            String.class, STRING,
+            Integer.class, INTEGER,
+            Long.class, LONG,
+            Boolean.class, BOOLEAN
+    );
+
+    /**
+     * @param fieldType the type of the entity field
+     * @return {@code true} if the field type can be decoded
+     */
+    static boolean supports(Class<?> fieldType) {
+        return BY_FIELD_TYPE.containsKey(fieldType);
+    }
+
+    /**
+     * Chooses the decoder of a property from its CIM type. Properties whose CIM type is not read directly, such as
+     * arrays or reals, and properties whose type is unknown are decoded through the boxed conversion.
+     *
+     * @param fieldType the type of the entity field, see {@link #supports(Class)}
+     * @param cimType   the CIM type of the property
+     * @return the decoder of the property
+     */
+    static WmiPropertyDecoder of(Class<?> fieldType, int cimType) {
+        DirectPropertyDecoder decoder = BY_FIELD_TYPE.get(fieldType);
+        return decoder.readsDirectly(cimType) ? decoder : decoder::decodeValue;
+    }
+
+    @Override
+    @Nullable
+    public Object decodeValue(@Nullable Object value) {
+        return switch (this) {
+            case STRING -> CastUtil.toStringValue(value);
+            case INTEGER -> CastUtil.toIntegerValue(value);
+            case LONG -> CastUtil.toLongValue(value);
+            case BOOLEAN -> CastUtil.toBooleanValue(value);
+        };
+    }
+
+    @Override
+    @Nullable
+    public Object decodeVariant(Variant.VARIANT variant) {
+        if (CastUtil.isNull(variant))
+            return null;
+
+        int vtType = variant.getPointer().getShort(0);
+        if (!readsDirectly(vtType, this))
+            return WmiPropertyDecoder.super.decodeVariant(variant);
+
+        return switch (this) {
+            case STRING -> CastUtil.toStringValue(variant);
+            case INTEGER -> CastUtil.toInt(variant);
+            case LONG -> CastUtil.toLong(variant);
+            case BOOLEAN -> CastUtil.toBoolean(variant);
+        };
+    }
+
+    private boolean readsDirectly(int cimType) {
+        return switch (cimType) {
+            case Wbemcli.CIM_STRING, Wbemcli.CIM_DATETIME, Wbemcli.CIM_REFERENCE -> this == STRING;
+            case Wbemcli.CIM_SINT8, Wbemcli.CIM_UINT8, Wbemcli.CIM_SINT16, Wbemcli.CIM_UINT16,
+                 Wbemcli.CIM_SINT32, Wbemcli.CIM_UINT32, Wbemcli.CIM_SINT64, Wbemcli.CIM_UINT64 -> this == INTEGER || this == LONG;
+            case Wbemcli.CIM_BOOLEAN -> this == BOOLEAN;
+            default -> false;
+        };
+    }
+
+    // The VARIANT types for which the primitive CastUtil conversions match the boxed ones. VT_I1 and VT_INT are
+    // boxed as signed JNA types, which the boxed conversion does not widen as unsigned, and are never returned by WMI
+    private static boolean readsDirectly(int vtType, DirectPropertyDecoder decoder) {
+        return switch (vtType) {
+            case Variant.VT_BSTR -> true;
+            case Variant.VT_UI1, Variant.VT_I2, Variant.VT_UI2, Variant.VT_I4, Variant.VT_UI4,
+                 Variant.VT_UINT, Variant.VT_I8, Variant.VT_UI8 -> decoder == INTEGER || decoder == LONG;
+            case Variant.VT_BOOL -> decoder == BOOLEAN;
+            default -> false;
+        };
+    }
+}
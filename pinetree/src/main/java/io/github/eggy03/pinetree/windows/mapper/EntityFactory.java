@@ -0,0 +1,67 @@
+package io.github.eggy03.pinetree.windows.mapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Builds an entity from the values of its properties, in the order of {@link WmiEntityMapper#getPropertyNames()}.
+ * <p>
+ * Each entity type gets its own implementation, a hidden class defined from {@link ConstantEntityFactory} whose class
+ * data is the construction handle of the type. The handle is held in a static final field, which the JIT treats as a
+ * constant, so the constructor or builder calls are inlined into {@link #create(Object[])} like direct calls would be.
+ * An instance field holding the handle would leave every row to an indirect invocation instead.
+ * </p>
+ */
+interface EntityFactory {
+
+    MethodType FACTORY_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    /**
+     * @param values the values of the properties, in order
+     * @return the entity
+     * @throws Throwable anything thrown by the constructor or the builder of the entity
+     */
+    Object create(Object[] values) throws Throwable;
+
+    /**
+     * Defines the factory of an entity type.
+     *
+     * @param factory the construction handle of the entity type, of type {@link #FACTORY_TYPE}
+     * @return a factory invoking the handle as a constant
+     * @throws ReflectiveOperationException if the hidden class cannot be defined
+     */
+    static EntityFactory of(MethodHandle factory) throws ReflectiveOperationException {
+        MethodHandles.Lookup hidden = MethodHandles.lookup()
+                .defineHiddenClassWithClassData(TemplateBytes.BYTES, factory.asType(FACTORY_TYPE), true);
+        try {
+            return (EntityFactory) hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (RuntimeException | Error | ReflectiveOperationException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to create the factory of " + factory.type() + ".", e);
+        }
+    }
+
+    // The class file of the template, read once. The template is never loaded itself, only copied into hidden classes
+    final class TemplateBytes {
+
+        private static final byte[] BYTES = read();
+
+        private TemplateBytes() {
+            throw new IllegalStateException("Utility Class");
+        }
+
+        private static byte[] read() {
+            try (InputStream template = EntityFactory.class.getResourceAsStream("ConstantEntityFactory.class")) {
+                if (template == null)
+                    throw new IllegalStateException("The class file of ConstantEntityFactory is missing.");
+                return template.readAllBytes();
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to read the class file of ConstantEntityFactory.", e);
+            }
+        }
+    }
+}
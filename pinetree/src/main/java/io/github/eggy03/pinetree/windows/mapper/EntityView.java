@@ -0,0 +1,42 @@
+package io.github.eggy03.pinetree.windows.mapper;
+
+import com.sun.jna.platform.win32.COM.WbemcliUtil;
+
+/**
+ * A row of a {@link WbemcliUtil.WmiResult} standing in for an entity, whose properties are converted on first access
+ * instead of up front.
+ * <p>
+ * Views are generated next to every entity annotated with {@link io.github.eggy03.pinetree.windows.annotation.WmiClass},
+ * e.g. {@code ProcessorView} for {@code Processor}, and returned by
+ * {@link CommonMappingInterface#toLazyEntityList(WbemcliUtil.WmiResult)}. A view copies the raw values of its row and has
+ * the getters of its entity: each getter converts its property the first time it is called and returns the memoized
+ * value afterwards, while {@code hashCode}, {@code toString} and the Gson output match those of the converted entity.
+ * A view is not an instance of its entity, use {@link #toEntity()} where the entity type is needed, e.g. to modify a
+ * copy through its {@code toBuilder()}.
+ * </p>
+ * A view does not keep the result reachable, only the raw values of its row.
+ *
+ * <h2>Thread Safety</h2>
+ * Views are thread-safe. Concurrent first accesses may convert the same property more than once, which is harmless
+ * since the converted values are immutable.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * List<ProcessorView> cpus = new ProcessorService().getLazy(WqlQuery.from(ProcessorProperty.class));
+ *
+ * // Only the name of each processor is converted
+ * cpus.forEach(cpu -> System.out.println(cpu.getName()));
+ * }</pre>
+ *
+ * @param <S> the entity type
+ * @since 1.0
+ */
+public interface EntityView<S> {
+
+    /**
+     * Converts every property of the row and builds the entity.
+     *
+     * @return the entity holding the converted properties of the row
+     */
+    S toEntity();
+}
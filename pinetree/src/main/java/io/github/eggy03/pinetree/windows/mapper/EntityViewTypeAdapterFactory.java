@@ -0,0 +1,79 @@
+package io.github.eggy03.pinetree.windows.mapper;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Serializes an {@link EntityView} exactly like the entity it stands for.
+ * <p>
+ * A view holds raw values rather than the fields of its entity, so the view is converted with
+ * {@link EntityView#toEntity()} and written with the adapter of its entity, the type argument of the
+ * {@link EntityView} it implements. This keeps the {@code @SerializedName} names and the settings of the calling
+ * {@link Gson}, such as pretty printing. Views are declared with {@code @JsonAdapter(EntityViewTypeAdapterFactory.class)}.
+ * Views cannot be deserialized, read the entity type instead.
+ * </p>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are stateless and thread-safe.
+ *
+ * @since 1.0
+ */
+public class EntityViewTypeAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> viewType = type.getRawType();
+        if (!EntityView.class.isAssignableFrom(viewType))
+            return null;
+
+        Class<?> entityType = entityType(viewType);
+        if (entityType == null)
+            return null;
+
+        return new ViewAdapter<>(gson.getAdapter(entityType), viewType);
+    }
+
+    // The entity type S of a view declared as implementing EntityView<S> directly, null if it is not a class
+    private static Class<?> entityType(Class<?> viewType) {
+        for (Type implemented : viewType.getGenericInterfaces()) {
+            if (implemented instanceof ParameterizedType parameterized && parameterized.getRawType() == EntityView.class
+                    && parameterized.getActualTypeArguments()[0] instanceof Class<?> entityType)
+                return entityType;
+        }
+        return null;
+    }
+
+    private static final class ViewAdapter<T, S> extends TypeAdapter<T> {
+
+        private final TypeAdapter<S> entityAdapter;
+        private final Class<?> viewType;
+
+        private ViewAdapter(TypeAdapter<S> entityAdapter, Class<?> viewType) {
+            this.entityAdapter = entityAdapter;
+            this.viewType = viewType;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void write(JsonWriter out, T value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            entityAdapter.write(out, ((EntityView<S>) value).toEntity());
+        }
+
+        @Override
+        public T read(JsonReader in) {
+            throw new UnsupportedOperationException(viewType.getName() + " cannot be deserialized, read its entity type instead");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.eggy03.pinetree.windows.mapper;
+
+import io.github.eggy03.pinetree.windows.com.WmiClassObject;
+import io.github.eggy03.pinetree.windows.enums.WmiClassname;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The CIM types of the properties of a WMI class, read once and then shared by every mapper of the class.
+ * <p>
+ * CIM types are defined by the class, so the type of a property is read from the first object that needs it, through
+ * {@link WmiClassObject#getCimType(String)}, and answered from memory afterwards. The schemas of the classes listed in
+ * {@link WmiClassname} are kept for the lifetime of the application. Other classes get a new, empty schema on every
+ * {@link #forClass(String)} call, which callers are expected to keep.
+ * </p>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are thread-safe.
+ *
+ * @since 1.0
+ */
+public final class WmiClassSchema {
+
+    private static final Map<WmiClassname, WmiClassSchema> SCHEMAS = new ConcurrentHashMap<>();
+
+    private final Map<String, Integer> cimTypes = new ConcurrentHashMap<>();
+
+    private WmiClassSchema() {
+    }
+
+    /**
+     * Returns the schema of a class.
+     *
+     * @param wmiClassName the WMI class, e.g. {@code Win32_Processor}
+     * @return the shared schema if the class is listed in {@link WmiClassname}, a new schema otherwise
+     */
+    public static WmiClassSchema forClass(String wmiClassName) {
+        WmiClassname wmiClassname = WmiClassname.fromClassName(wmiClassName);
+        if (wmiClassname == null)
+            return new WmiClassSchema();
+
+        return SCHEMAS.computeIfAbsent(wmiClassname, key -> new WmiClassSchema());
+    }
+
+    /**
+     * Returns the CIM type of a property, reading it from the given object if it is not known yet.
+     *
+     * @param propertyName the case-sensitive name of the property
+     * @param source       an instance of the class, used only if the type is not known yet
+     * @return the CIM type of the property, e.g. {@link com.sun.jna.platform.win32.COM.Wbemcli#CIM_UINT32}
+     */
+    public int getCimType(String propertyName, WmiClassObject source) {
+        return cimTypes.computeIfAbsent(propertyName, source::getCimType);
+    }
+}
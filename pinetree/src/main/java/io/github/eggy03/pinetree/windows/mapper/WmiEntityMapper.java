@@ -0,0 +1,249 @@
+package io.github.eggy03.pinetree.windows.mapper;
+
+import com.google.gson.annotations.SerializedName;
+import io.github.eggy03.pinetree.windows.annotation.WmiClass;
+import io.github.eggy03.pinetree.windows.com.WmiClassObject;
+import io.github.eggy03.pinetree.windows.com.WmiPropertyDecoder;
+import io.github.eggy03.pinetree.windows.util.CastUtil;
+import lombok.Getter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps objects returned by WMI into entities annotated with {@link WmiClass}, without a generated mapper.
+ * <p>
+ * The WMI class and namespace are taken from {@link WmiClass} and the properties from the {@link SerializedName}
+ * of every non-static field, in declaration order, or of every record component, in component order. Supported field types are {@link String}, {@link Integer},
+ * {@link Long} and {@link Boolean}, converted with the matching {@link CastUtil} method.
+ * </p>
+ * <p>
+ * Reflection is only used once per entity type, when its mapper is first requested. The entity construction is then
+ * bound into a single method handle, held as a constant by a class defined for the type, so mapping a row invokes
+ * neither reflection nor a lookup and the JIT inlines the construction. Records are built through their canonical
+ * constructor, other classes through their Lombok builder, which must offer a static {@code builder()} method, one
+ * setter per field named like the field, and {@code build()}.
+ * </p>
+ * <p>
+ * Each property is read with {@link WmiClassObject#decode(String, WmiPropertyDecoder)} and handed straight to the
+ * builder, without an intermediate result. The decoders are chosen on the first row from the CIM types of the class,
+ * see {@link WmiClassSchema}, so that integer, boolean and string properties of native objects are read from the
+ * {@code VARIANT} without boxing them first.
+ * </p>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are immutable and thread-safe. The mapper of a type is created once and shared.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * WmiEntityMapper<Monitor> mapper = WmiEntityMapper.of(Monitor.class);
+ * List<Monitor> monitors = WmiUtil.getRows(mapper.getNamespace(), mapper.getWmiClassName(), mapper.toWql(), mapper::map);
+ * }</pre>
+ *
+ * @param <T> the entity type
+ * @since 1.0
+ */
+public final class WmiEntityMapper<T> {
+
+    private static final ClassValue<WmiEntityMapper<?>> MAPPERS = new ClassValue<>() {
+        @Override
+        protected WmiEntityMapper<?> computeValue(Class<?> type) {
+            return create(type);
+        }
+    };
+
+    private static final MethodType BUILDER_SETTER = MethodType.methodType(Object.class, Object.class, Object.class);
+    private static final MethodHandle ARRAY_ELEMENT = MethodHandles.arrayElementGetter(Object[].class);
+
+    /**
+     * The WMI class of the entity, e.g. {@code Win32_DesktopMonitor}
+     */
+    @Getter
+    private final String wmiClassName;
+
+    /**
+     * The namespace of the WMI class, e.g. {@code root/cimv2}
+     */
+    @Getter
+    private final String namespace;
+
+    /**
+     * The names of the mapped properties, in field declaration or record component order
+     */
+    @Getter
+    private final List<String> propertyNames;
+
+    private final Class<T> entityType;
+    private final String[] properties;
+    private final Class<?>[] fieldTypes;
+    private final WmiClassSchema schema;
+
+    // Chosen on the first row, concurrent first rows choose the same decoders
+    private volatile WmiPropertyDecoder[] decoders;
+
+    private final EntityFactory factory;
+
+    private WmiEntityMapper(Class<T> entityType, WmiClass wmiClass, List<Field> fields, List<String> propertyNames,
+                            EntityFactory factory) {
+        this.entityType = entityType;
+        this.wmiClassName = wmiClass.value();
+        this.namespace = wmiClass.namespace();
+        this.propertyNames = List.copyOf(propertyNames);
+        this.properties = propertyNames.toArray(String[]::new);
+        this.fieldTypes = fields.stream().map(Field::getType).toArray(Class<?>[]::new);
+        this.schema = WmiClassSchema.forClass(wmiClassName);
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the mapper of an entity type, creating it on first use.
+     *
+     * @param entityType the entity class annotated with {@link WmiClass}
+     * @param <T>        the entity type
+     * @return the shared mapper of the type
+     * @throws IllegalArgumentException if the type is not annotated, has no mappable fields, a field of an unsupported
+     *                                  type, or neither a canonical constructor nor a matching builder
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> WmiEntityMapper<T> of(Class<T> entityType) {
+        return (WmiEntityMapper<T>) MAPPERS.get(entityType);
+    }
+
+    /**
+     * Builds the query selecting every mapped property of the class.
+     *
+     * @return the WQL query, e.g. {@code SELECT DeviceID, Name FROM Win32_DesktopMonitor}
+     */
+    public String toWql() {
+        return "SELECT " + String.join(", ", propertyNames) + " FROM " + wmiClassName;
+    }
+
+    /**
+     * Maps a single object into an entity.
+     * <p>
+     * Properties missing from the object are mapped to {@code null}. The object is not retained nor released.
+     * </p>
+     *
+     * @param object the object returned by WMI
+     * @return the entity
+     */
+    public T map(WmiClassObject object) {
+        WmiPropertyDecoder[] columnDecoders = decoders;
+        if (columnDecoders == null)
+            columnDecoders = chooseDecoders(object);
+
+        Object[] values = new Object[properties.length];
+        for (int i = 0; i < properties.length; i++)
+            values[i] = object.decode(properties[i], columnDecoders[i]);
+
+        try {
+            return entityType.cast(factory.create(values));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to map " + wmiClassName + " into " + entityType.getName() + ".", e);
+        }
+    }
+
+    private WmiPropertyDecoder[] chooseDecoders(WmiClassObject object) {
+        WmiPropertyDecoder[] columnDecoders = new WmiPropertyDecoder[properties.length];
+        for (int i = 0; i < properties.length; i++)
+            columnDecoders[i] = DirectPropertyDecoder.of(fieldTypes[i], schema.getCimType(properties[i], object));
+
+        decoders = columnDecoders;
+        return columnDecoders;
+    }
+
+    private static <T> WmiEntityMapper<T> create(Class<T> entityType) {
+        WmiClass wmiClass = entityType.getAnnotation(WmiClass.class);
+        if (wmiClass == null)
+            throw new IllegalArgumentException(entityType.getName() + " is not annotated with @WmiClass.");
+
+        List<Field> fields = entityType.isRecord() ? componentFields(entityType) : propertyFields(entityType);
+        if (fields.isEmpty())
+            throw new IllegalArgumentException(entityType.getName() + " has no fields annotated with @SerializedName.");
+
+        List<String> propertyNames = new ArrayList<>();
+        for (Field field : fields) {
+            if (!DirectPropertyDecoder.supports(field.getType()))
+                throw new IllegalArgumentException("Unsupported type " + field.getType().getSimpleName() + " of " + entityType.getName() + "." + field.getName() + ".");
+            propertyNames.add(field.getAnnotation(SerializedName.class).value());
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(entityType, MethodHandles.lookup());
+            MethodHandle factory = entityType.isRecord()
+                    ? recordFactory(entityType, fields, lookup)
+                    : builderFactory(entityType, fields, lookup);
+            return new WmiEntityMapper<>(entityType, wmiClass, fields, propertyNames, EntityFactory.of(factory));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(entityType.getName() + " offers neither a canonical constructor nor a matching builder.", e);
+        }
+    }
+
+    private static List<Field> propertyFields(Class<?> entityType) {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : entityType.getDeclaredFields()) {
+            if (field.isAnnotationPresent(SerializedName.class) && !Modifier.isStatic(field.getModifiers()))
+                fields.add(field);
+        }
+        return fields;
+    }
+
+    // The canonical constructor takes the components in their order, which getDeclaredFields() does not promise to
+    // follow, so the field of each component is looked up by its name
+    private static List<Field> componentFields(Class<?> entityType) {
+        List<Field> fields = new ArrayList<>();
+        for (RecordComponent component : entityType.getRecordComponents()) {
+            Field field;
+            try {
+                field = entityType.getDeclaredField(component.getName());
+            } catch (NoSuchFieldException e) {
+                throw new IllegalStateException("Record " + entityType.getName() + " has no field for component " + component.getName() + ".", e);
+            }
+
+            // Every component has to be passed, so components without a property name are unsupported
+            if (!field.isAnnotationPresent(SerializedName.class))
+                throw new IllegalArgumentException("Every component of " + entityType.getName() + " must be annotated with @SerializedName.");
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    // (Object[] values)Object calling the canonical constructor with the values
+    private static MethodHandle recordFactory(Class<?> entityType, List<Field> fields, MethodHandles.Lookup lookup) throws ReflectiveOperationException {
+        Class<?>[] parameterTypes = fields.stream().map(Field::getType).toArray(Class<?>[]::new);
+
+        return lookup.findConstructor(entityType, MethodType.methodType(void.class, parameterTypes))
+                .asSpreader(Object[].class, parameterTypes.length)
+                .asType(EntityFactory.FACTORY_TYPE);
+    }
+
+    // (Object[] values)Object calling build() on the builder after one setter call per value, combined into a single
+    // handle so that the whole construction is one constant
+    private static MethodHandle builderFactory(Class<?> entityType, List<Field> fields, MethodHandles.Lookup lookup) throws ReflectiveOperationException {
+        MethodHandle newBuilder = lookup.unreflect(entityType.getDeclaredMethod("builder"));
+        Class<?> builderType = newBuilder.type().returnType();
+
+        // (Object[] values)Object returning the builder once every setter before the i-th has been called
+        MethodHandle builder = MethodHandles.dropArguments(newBuilder.asType(MethodType.methodType(Object.class)), 0, Object[].class);
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            MethodHandle setter = lookup.findVirtual(builderType, field.getName(), MethodType.methodType(builderType, field.getType()))
+                    .asType(BUILDER_SETTER);
+            MethodHandle value = MethodHandles.insertArguments(ARRAY_ELEMENT, 1, i);
+
+            builder = MethodHandles.permuteArguments(MethodHandles.filterArguments(setter, 0, builder, value), EntityFactory.FACTORY_TYPE, 0, 0);
+        }
+
+        MethodHandle build = lookup.findVirtual(builderType, "build", MethodType.methodType(entityType))
+                .asType(MethodType.methodType(Object.class, Object.class));
+        return MethodHandles.filterReturnValue(builder, build);
+    }
+}
@@ -18,6 +18,30 @@
  *
  *   <li>{@link io.github.eggy03.pinetree.windows.util} – Contains utility classes for COM management,
  *   query execution, and result casting.</li>
+ *
+ *   <li>{@link io.github.eggy03.pinetree.windows.connection} – Contains the pool of reusable WMI namespace connections
+ *   used for query execution.</li>
+ *
+ *   <li>{@link io.github.eggy03.pinetree.windows.result} – Contains the result structures filled by the query execution
+ *   code of this library.</li>
+ *
+ *   <li>{@link io.github.eggy03.pinetree.windows.com} – Contains thin abstractions over the WMI COM objects
+ *   used during result enumeration.</li>
+ *
+ *   <li>{@link io.github.eggy03.pinetree.windows.concurrent} – Contains the executor running COM work on long-lived
+ *   worker threads.</li>
+ *
+ *   <li>{@link io.github.eggy03.pinetree.windows.query} – Contains the type-safe WQL query builder used to push
+ *   filters down to WMI.</li>
+ *
+ *   <li>{@link io.github.eggy03.pinetree.windows.event} – Contains the subscriptions delivering instance changes
+ *   pushed by WMI to typed listeners.</li>
+ *
+ *   <li>{@link io.github.eggy03.pinetree.windows.fleet} – Contains the collector running services against many
+ *   remote hosts concurrently.</li>
+ *
+ *   <li>{@link io.github.eggy03.pinetree.windows.annotation} – Contains the annotation binding an entity to its WMI class,
+ *   from which its enum, mapper and service are generated.</li>
  * </ul>
  *
  * <h2> Overview </h2>
@@ -32,6 +56,13 @@
  * The final section demonstrates how to consume the service once it's implemented.
  * </p>
  *
+ * <p>
+ * Only the entity has to be written by hand. Once it is annotated with
+ * {@link io.github.eggy03.pinetree.windows.annotation.WmiClass}, the {@code pinetree-processor} module generates the enum,
+ * the mapper and the service at compile time. Steps 2 to 4 show what is generated, they still apply when one of these
+ * classes has to be written by hand, e.g. a service with additional methods, which then takes precedence over the generated one.
+ * </p>
+ *
  * <h2>Implementation</h2>
  *
  * <p> For illustration, we will implement {@code Win32_DesktopMonitor} WMI class.</p>
@@ -54,6 +85,7 @@
  * <pre>{@code
  * @Value
  * @Builder(toBuilder = true)
+ * @WmiClass(value = "Win32_DesktopMonitor", key = "DeviceID")
  * public class Monitor {
  *
  *     @SerializedName("DeviceID") // must match the property names found in the docs
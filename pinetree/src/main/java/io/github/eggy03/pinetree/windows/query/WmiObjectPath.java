@@ -0,0 +1,45 @@
+package io.github.eggy03.pinetree.windows.query;
+
+/**
+ * Utility class for building WMI object paths, which address a single instance by the value of its key property.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * // Win32_Processor.DeviceID="CPU0"
+ * String path = WmiObjectPath.format(WmiClassname.WIN32_PROCESSOR.getClassName(), ProcessorProperty.DeviceID, "CPU0");
+ * }</pre>
+ *
+ * @since 1.0
+ * @see <a href="https://learn.microsoft.com/en-us/windows/win32/wmisdk/describing-an-instance-object-path">
+ *     Describing an Instance Object Path</a>
+ */
+public class WmiObjectPath {
+
+    private WmiObjectPath() {
+        throw new IllegalStateException("Utility Class");
+    }
+
+    /**
+     * Formats the relative path of the instance of a class with a single string key.
+     *
+     * @param wmiClassName the WMI class of the instance, e.g. {@code Win32_Processor}
+     * @param keyProperty  the key property of the class, whose name is used in the path
+     * @param keyValue     the value of the key property, quoted and escaped by this method
+     * @return the relative object path
+     */
+    public static String format(String wmiClassName, Enum<?> keyProperty, String keyValue) {
+        StringBuilder path = new StringBuilder(wmiClassName.length() + keyProperty.name().length() + keyValue.length() + 4)
+                .append(wmiClassName)
+                .append('.')
+                .append(keyProperty.name())
+                .append("=\"");
+
+        for (int i = 0; i < keyValue.length(); i++) {
+            char c = keyValue.charAt(i);
+            if (c == '"' || c == '\\')
+                path.append('\\');
+            path.append(c);
+        }
+        return path.append('"').toString();
+    }
+}
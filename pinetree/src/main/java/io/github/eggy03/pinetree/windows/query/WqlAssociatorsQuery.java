@@ -0,0 +1,84 @@
+package io.github.eggy03.pinetree.windows.query;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable description of a WQL {@code ASSOCIATORS OF} query, which retrieves the instances associated with
+ * a single source instance.
+ * <p>
+ * The association is resolved inside WMI, so the instances related to one object are retrieved without
+ * enumerating the association class and the associated class and joining their object paths in Java.
+ * {@code ASSOCIATORS OF} queries always return every property of the associated instances.
+ * </p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * WqlAssociatorsQuery query = WqlAssociatorsQuery
+ *     .of(WmiObjectPath.format(WmiClassname.WIN32_PROCESSOR.getClassName(), ProcessorProperty.DeviceID, "CPU0"),
+ *         WmiClassname.WIN32_CACHE_MEMORY.getClassName())
+ *     .withAssocClass(WmiClassname.WIN32_ASSOCIATED_PROCESSOR_MEMORY.getClassName());
+ *
+ * // ASSOCIATORS OF {Win32_Processor.DeviceID="CPU0"} WHERE AssocClass = Win32_AssociatedProcessorMemory ResultClass = Win32_CacheMemory
+ * String wql = query.toWql();
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are immutable and thread-safe.
+ *
+ * @since 1.0
+ * @see <a href="https://learn.microsoft.com/en-us/windows/win32/wmisdk/associators-of-statement">ASSOCIATORS OF Statement</a>
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+public final class WqlAssociatorsQuery {
+
+    /**
+     * The object path of the source instance
+     */
+    private final String sourcePath;
+
+    /**
+     * The class of the associated instances to return
+     */
+    private final String resultClass;
+
+    /**
+     * The association class to follow, {@code null} to follow every association of the source
+     */
+    @Nullable
+    private final String assocClass;
+
+    /**
+     * Creates a query for the instances of the given class associated with the source instance.
+     *
+     * @param sourcePath  the object path of the source instance, see {@link WmiObjectPath}
+     * @param resultClass the class of the associated instances to return, e.g. {@code Win32_CacheMemory}
+     * @return the query, following every association of the source
+     */
+    public static WqlAssociatorsQuery of(String sourcePath, String resultClass) {
+        return new WqlAssociatorsQuery(sourcePath, resultClass, null);
+    }
+
+    /**
+     * Restricts the query to a single association class.
+     *
+     * @param assocClass the association class to follow, e.g. {@code Win32_AssociatedProcessorMemory}
+     * @return a new query following only the given association
+     */
+    public WqlAssociatorsQuery withAssocClass(String assocClass) {
+        return new WqlAssociatorsQuery(sourcePath, resultClass, assocClass);
+    }
+
+    /**
+     * @return the WQL text of this query
+     */
+    public String toWql() {
+        StringBuilder wql = new StringBuilder("ASSOCIATORS OF {").append(sourcePath).append("} WHERE");
+        if (assocClass != null)
+            wql.append(" AssocClass = ").append(assocClass);
+        return wql.append(" ResultClass = ").append(resultClass).toString();
+    }
+}
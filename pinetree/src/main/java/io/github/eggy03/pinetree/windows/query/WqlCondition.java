@@ -0,0 +1,295 @@
+package io.github.eggy03.pinetree.windows.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A type-safe predicate over the properties of a WMI class, rendered into the {@code WHERE} clause of a WQL query.
+ * <p>
+ * Conditions are keyed on the property enums defined in {@link io.github.eggy03.pinetree.windows.enums},
+ * so that only properties of the queried class can be referenced. Values are rendered as WQL literals:
+ * strings are quoted and escaped, numbers are written as-is and booleans become {@code TRUE}/{@code FALSE}.
+ * </p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * // Name LIKE 'Intel%' AND (NumberOfCores >= 8 OR ThreadCount >= 16)
+ * WqlCondition<ProcessorProperty> condition = WqlCondition.like(ProcessorProperty.Name, "Intel%")
+ *     .and(WqlCondition.ge(ProcessorProperty.NumberOfCores, 8)
+ *         .or(WqlCondition.ge(ProcessorProperty.ThreadCount, 16)));
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * Conditions are immutable and thread-safe.
+ *
+ * @param <P> the enum type defining the properties of the WMI class
+ * @since 1.0
+ * @see <a href="https://learn.microsoft.com/en-us/windows/win32/wmisdk/where-clause">WHERE Clause</a>
+ */
+public sealed interface WqlCondition<P extends Enum<P>> {
+
+    /**
+     * Renders this condition as WQL.
+     *
+     * @return the WQL text of this condition, without the {@code WHERE} keyword
+     */
+    String toWql();
+
+    /**
+     * @param other the condition to combine with
+     * @return a condition matching when both this and the other condition match
+     */
+    default WqlCondition<P> and(WqlCondition<P> other) {
+        return new Junction<>("AND", List.of(this, other));
+    }
+
+    /**
+     * @param other the condition to combine with
+     * @return a condition matching when this or the other condition matches
+     */
+    default WqlCondition<P> or(WqlCondition<P> other) {
+        return new Junction<>("OR", List.of(this, other));
+    }
+
+    /**
+     * @return a condition matching when this condition does not
+     */
+    default WqlCondition<P> not() {
+        return new Not<>(this);
+    }
+
+    static <P extends Enum<P>> WqlCondition<P> eq(P property, String value) {
+        return new Comparison<>(property, WqlOperator.EQUALS, quote(value));
+    }
+
+    static <P extends Enum<P>> WqlCondition<P> eq(P property, Number value) {
+        return new Comparison<>(property, WqlOperator.EQUALS, number(value));
+    }
+
+    static <P extends Enum<P>> WqlCondition<P> eq(P property, boolean value) {
+        return new Comparison<>(property, WqlOperator.EQUALS, value ? "TRUE" : "FALSE");
+    }
+
+    static <P extends Enum<P>> WqlCondition<P> ne(P property, String value) {
+        return new Comparison<>(property, WqlOperator.NOT_EQUALS, quote(value));
+    }
+
+    static <P extends Enum<P>> WqlCondition<P> ne(P property, Number value) {
+        return new Comparison<>(property, WqlOperator.NOT_EQUALS, number(value));
+    }
+
+    static <P extends Enum<P>> WqlCondition<P> ne(P property, boolean value) {
+        return new Comparison<>(property, WqlOperator.NOT_EQUALS, value ? "TRUE" : "FALSE");
+    }
+
+    static <P extends Enum<P>> WqlCondition<P> lt(P property, Number value) {
+        return new Comparison<>(property, WqlOperator.LESS_THAN, number(value));
+    }
+
+    static <P extends Enum<P>> WqlCondition<P> lt(P property, String value) {
+        return new Comparison<>(property, WqlOperator.LESS_THAN, quote(value));
+    }
+
+    static <P extends Enum<P>> WqlCondition<P> le(P property, Number value) {
+        return new Comparison<>(property, WqlOperator.LESS_THAN_OR_EQUAL, number(value));
+    }
+
+    static <P extends Enum<P>> WqlCondition<P> le(P property, String value) {
+        return new Comparison<>(property, WqlOperator.LESS_THAN_OR_EQUAL, quote(value));
+    }
+
+    static <P extends Enum<P>> WqlCondition<P> gt(P property, Number value) {
+        return new Comparison<>(property, WqlOperator.GREATER_THAN, number(value));
+    }
+
+    static <P extends Enum<P>> WqlCondition<P> gt(P property, String value) {
+        return new Comparison<>(property, WqlOperator.GREATER_THAN, quote(value));
+    }
+
+    static <P extends Enum<P>> WqlCondition<P> ge(P property, Number value) {
+        return new Comparison<>(property, WqlOperator.GREATER_THAN_OR_EQUAL, number(value));
+    }
+
+    static <P extends Enum<P>> WqlCondition<P> ge(P property, String value) {
+        return new Comparison<>(property, WqlOperator.GREATER_THAN_OR_EQUAL, quote(value));
+    }
+
+    /**
+     * Matches a string property against a WQL {@code LIKE} pattern.
+     * <p>
+     * The pattern may use the WQL wildcards {@code %}, {@code _} and {@code [ ]}, a {@code ^} right after the opening
+     * bracket negating the set. Use {@link #escapeLike(String)} to match user-provided text literally.
+     * </p>
+     *
+     * @param property the property to match
+     * @param pattern  the {@code LIKE} pattern
+     * @param <P>      the enum type defining the properties of the WMI class
+     * @return the condition
+     */
+    static <P extends Enum<P>> WqlCondition<P> like(P property, String pattern) {
+        return new Comparison<>(property, WqlOperator.LIKE, quote(pattern));
+    }
+
+    static <P extends Enum<P>> WqlCondition<P> isNull(P property) {
+        return new NullCheck<>(property, false);
+    }
+
+    static <P extends Enum<P>> WqlCondition<P> isNotNull(P property) {
+        return new NullCheck<>(property, true);
+    }
+
+    /**
+     * @param conditions the conditions to combine, at least one
+     * @param <P>        the enum type defining the properties of the WMI class
+     * @return a condition matching when all given conditions match
+     */
+    @SafeVarargs
+    static <P extends Enum<P>> WqlCondition<P> allOf(WqlCondition<P>... conditions) {
+        List<WqlCondition<P>> combined = new ArrayList<>(conditions.length);
+        for (WqlCondition<P> condition : conditions)
+            combined.add(condition);
+        return junction("AND", combined);
+    }
+
+    /**
+     * @param conditions the conditions to combine, at least one
+     * @param <P>        the enum type defining the properties of the WMI class
+     * @return a condition matching when any of the given conditions matches
+     */
+    @SafeVarargs
+    static <P extends Enum<P>> WqlCondition<P> anyOf(WqlCondition<P>... conditions) {
+        List<WqlCondition<P>> combined = new ArrayList<>(conditions.length);
+        for (WqlCondition<P> condition : conditions)
+            combined.add(condition);
+        return junction("OR", combined);
+    }
+
+    /**
+     * Escapes the WQL {@code LIKE} wildcards in the given text, so that it is matched literally.
+     * <p>
+     * Each wildcard is wrapped in a bracket set of its own. {@code ^} and {@code ]} are only special inside a set,
+     * and no set is left open by the escaped text, so both are kept as is.
+     * </p>
+     *
+     * @param text the text to escape
+     * @return the text with {@code %}, {@code _} and {@code [} wrapped in brackets
+     */
+    static String escapeLike(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '%' || c == '_' || c == '[')
+                escaped.append('[').append(c).append(']');
+            else
+                escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Renders a string as a quoted WQL literal, escaping backslashes and quotes.
+     *
+     * @param value the string value
+     * @return the quoted literal
+     */
+    static String quote(String value) {
+        if (value == null)
+            throw new IllegalArgumentException("WQL string literal must not be null, use isNull() instead");
+
+        StringBuilder literal = new StringBuilder(value.length() + 2).append('\'');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '\'')
+                literal.append('\\');
+            literal.append(c);
+        }
+        return literal.append('\'').toString();
+    }
+
+    private static String number(Number value) {
+        return switch (value) {
+            case null -> throw new IllegalArgumentException("WQL numeric literal must not be null, use isNull() instead");
+            case Integer i -> i.toString();
+            case Long l -> l.toString();
+            case Short s -> s.toString();
+            case Byte b -> b.toString();
+            case Double d when Double.isFinite(d) -> d.toString();
+            case Float f when Float.isFinite(f) -> f.toString();
+            default -> throw new IllegalArgumentException("Unsupported WQL numeric literal: " + value);
+        };
+    }
+
+    // Callers pass a copy of their varargs array, which must not escape the @SafeVarargs methods
+    private static <P extends Enum<P>> WqlCondition<P> junction(String operator, List<WqlCondition<P>> conditions) {
+        if (conditions.isEmpty())
+            throw new IllegalArgumentException("At least one condition is required");
+        if (conditions.size() == 1)
+            return conditions.getFirst();
+        return new Junction<>(operator, List.copyOf(conditions));
+    }
+
+    /**
+     * {@code property <operator> literal}
+     *
+     * @param property the compared property
+     * @param operator the comparison operator
+     * @param literal  the already rendered WQL literal
+     * @param <P>      the enum type defining the properties of the WMI class
+     */
+    record Comparison<P extends Enum<P>>(P property, WqlOperator operator, String literal) implements WqlCondition<P> {
+
+        @Override
+        public String toWql() {
+            return property.name() + " " + operator.getSymbol() + " " + literal;
+        }
+    }
+
+    /**
+     * {@code property IS [NOT] NULL}
+     *
+     * @param property the checked property
+     * @param negated  {@code true} for {@code IS NOT NULL}
+     * @param <P>      the enum type defining the properties of the WMI class
+     */
+    record NullCheck<P extends Enum<P>>(P property, boolean negated) implements WqlCondition<P> {
+
+        @Override
+        public String toWql() {
+            return property.name() + (negated ? " IS NOT NULL" : " IS NULL");
+        }
+    }
+
+    /**
+     * Conditions combined with {@code AND} or {@code OR}
+     *
+     * @param operator   {@code AND} or {@code OR}
+     * @param conditions the combined conditions
+     * @param <P>        the enum type defining the properties of the WMI class
+     */
+    record Junction<P extends Enum<P>>(String operator, List<WqlCondition<P>> conditions) implements WqlCondition<P> {
+
+        @Override
+        public String toWql() {
+            List<String> parts = new ArrayList<>(conditions.size());
+            for (WqlCondition<P> condition : conditions) {
+                // parenthesize nested junctions to keep the intended precedence
+                parts.add(condition instanceof Junction<P> ? "(" + condition.toWql() + ")" : condition.toWql());
+            }
+            return String.join(" " + operator + " ", parts);
+        }
+    }
+
+    /**
+     * {@code NOT (condition)}
+     *
+     * @param condition the negated condition
+     * @param <P>       the enum type defining the properties of the WMI class
+     */
+    record Not<P extends Enum<P>>(WqlCondition<P> condition) implements WqlCondition<P> {
+
+        @Override
+        public String toWql() {
+            return "NOT (" + condition.toWql() + ")";
+        }
+    }
+}
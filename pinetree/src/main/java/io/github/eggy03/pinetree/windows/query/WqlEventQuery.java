@@ -0,0 +1,83 @@
+package io.github.eggy03.pinetree.windows.query;
+
+import io.github.eggy03.pinetree.windows.event.WmiEventType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.EnumSet;
+
+/**
+ * Immutable description of a WQL event query over the intrinsic instance events of a WMI class.
+ * <p>
+ * Most classes in {@code root/cimv2} have no event provider, so WMI detects their changes by polling the instances
+ * itself every {@code WITHIN} interval, which is therefore the upper bound on the notification latency. When more than
+ * one event type is requested, the query selects {@value WmiEventType#INSTANCE_OPERATION_EVENT} and the events
+ * are told apart by their class.
+ * </p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * WqlEventQuery query = WqlEventQuery.of(EnumSet.of(WmiEventType.CREATION), Duration.ofSeconds(2));
+ *
+ * // SELECT * FROM __InstanceCreationEvent WITHIN 2 WHERE TargetInstance ISA 'Win32_DesktopMonitor'
+ * String wql = query.toWql(WmiClassname.WIN32_DESKTOP_MONITOR.getClassName());
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are immutable and thread-safe.
+ *
+ * @since 1.0
+ * @see <a href="https://learn.microsoft.com/en-us/windows/win32/wmisdk/within-clause">WITHIN Clause</a>
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class WqlEventQuery {
+
+    private final EnumSet<WmiEventType> eventTypes;
+
+    /**
+     * The polling interval passed to the {@code WITHIN} clause
+     */
+    @Getter
+    private final Duration within;
+
+    /**
+     * Creates an event query.
+     *
+     * @param eventTypes the event types to receive, must not be empty
+     * @param within     the polling interval, at least one millisecond
+     * @return the event query
+     */
+    public static WqlEventQuery of(EnumSet<WmiEventType> eventTypes, Duration within) {
+        if (eventTypes.isEmpty())
+            throw new IllegalArgumentException("At least one event type must be requested.");
+        if (within.toMillis() < 1)
+            throw new IllegalArgumentException("The polling interval must be at least one millisecond.");
+
+        return new WqlEventQuery(EnumSet.copyOf(eventTypes), within);
+    }
+
+    /**
+     * @return a copy of the event types received by this query
+     */
+    public EnumSet<WmiEventType> getEventTypes() {
+        return EnumSet.copyOf(eventTypes);
+    }
+
+    /**
+     * Renders this query for the given WMI class.
+     *
+     * @param wmiClassName the class whose instances are watched, e.g. {@code Win32_Processor}
+     * @return the WQL text of the event query
+     */
+    public String toWql(String wmiClassName) {
+        String eventClass = eventTypes.size() == 1
+                ? eventTypes.iterator().next().getEventClassName()
+                : WmiEventType.INSTANCE_OPERATION_EVENT;
+        String seconds = BigDecimal.valueOf(within.toMillis(), 3).stripTrailingZeros().toPlainString();
+
+        return "SELECT * FROM " + eventClass + " WITHIN " + seconds + " WHERE TargetInstance ISA '" + wmiClassName + "'";
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.eggy03.pinetree.windows.query;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Comparison operators supported by {@link WqlCondition}.
+ *
+ * @since 1.0
+ * @see <a href="https://learn.microsoft.com/en-us/windows/win32/wmisdk/wql-operators">WQL Operators</a>
+ */
+@RequiredArgsConstructor
+@Getter
+public enum WqlOperator {
+
+    EQUALS("="),
+    NOT_EQUALS("<>"),
+    LESS_THAN("<"),
+    LESS_THAN_OR_EQUAL("<="),
+    GREATER_THAN(">"),
+    GREATER_THAN_OR_EQUAL(">="),
+    LIKE("LIKE");
+
+    private final String symbol;
+}
@@ -0,0 +1,154 @@
+package io.github.eggy03.pinetree.windows.query;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumSet;
+import java.util.Optional;
+
+/**
+ * Immutable description of a WQL {@code SELECT} query over the properties of a WMI class.
+ * <p>
+ * A query is keyed on a property enum from {@link io.github.eggy03.pinetree.windows.enums}. It selects every
+ * constant of the enum unless narrowed down with {@link #select(EnumSet)}, and may carry a {@link WqlCondition}
+ * that is rendered into the {@code WHERE} clause, so that filtering happens inside the WMI provider instead of in Java.
+ * Properties left out of the projection are neither requested from the provider nor decoded, and the corresponding
+ * entity fields are left {@code null} by the mappers. The WMI class name is supplied when the
+ * query is rendered, which lets the services bind the query to the class they are responsible for.
+ * </p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * WqlQuery<PhysicalMemoryProperty> query = WqlQuery.from(PhysicalMemoryProperty.class)
+ *     .where(WqlCondition.eq(PhysicalMemoryProperty.Capacity, 34359738368L));
+ *
+ * // SELECT Tag,Name,...,SerialNumber FROM Win32_PhysicalMemory WHERE Capacity = 34359738368
+ * String wql = query.toWql(WmiClassname.WIN32_PHYSICAL_MEMORY.getClassName());
+ *
+ * // SELECT Tag,BankLabel FROM Win32_PhysicalMemory WHERE Capacity = 34359738368
+ * WqlQuery<PhysicalMemoryProperty> projected = query
+ *     .select(EnumSet.of(PhysicalMemoryProperty.Tag, PhysicalMemoryProperty.BankLabel));
+ *
+ * List<PhysicalMemory> dimms = new PhysicalMemoryService().getManaged(query);
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are immutable and thread-safe.
+ *
+ * @param <P> the enum type defining the properties of the WMI class
+ * @since 1.0
+ * @see <a href="https://learn.microsoft.com/en-us/windows/win32/wmisdk/wql-sql-for-wmi">WQL (SQL for WMI)</a>
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class WqlQuery<P extends Enum<P>> {
+
+    /**
+     * The enum defining the properties selected by this query
+     */
+    @Getter
+    private final Class<P> propertyEnum;
+
+    private final EnumSet<P> selectedProperties;
+
+    @Nullable
+    private final WqlCondition<P> condition;
+
+    /**
+     * Creates a query selecting every property of the given enum, without any filter.
+     *
+     * @param propertyEnum the enum defining the class properties to retrieve
+     * @param <P>          the type of the property enum
+     * @return the unfiltered query
+     */
+    public static <P extends Enum<P>> WqlQuery<P> from(Class<P> propertyEnum) {
+        if (propertyEnum.getEnumConstants().length == 0)
+            throw new IllegalArgumentException("The query's property enum has no values.");
+
+        return new WqlQuery<>(propertyEnum, EnumSet.allOf(propertyEnum), null);
+    }
+
+    /**
+     * Creates a query selecting only the given properties, without any filter.
+     *
+     * @param properties the properties to retrieve, must not be empty
+     * @param <P>        the type of the property enum
+     * @return the unfiltered, projected query
+     */
+    public static <P extends Enum<P>> WqlQuery<P> from(EnumSet<P> properties) {
+        if (properties.isEmpty())
+            throw new IllegalArgumentException("At least one property must be selected.");
+
+        return new WqlQuery<>(properties.iterator().next().getDeclaringClass(), EnumSet.copyOf(properties), null);
+    }
+
+    /**
+     * Returns a copy of this query that only retrieves the given properties. An existing projection is replaced.
+     *
+     * @param properties the properties to retrieve, must not be empty
+     * @return the projected query
+     */
+    public WqlQuery<P> select(EnumSet<P> properties) {
+        if (properties.isEmpty())
+            throw new IllegalArgumentException("At least one property must be selected.");
+
+        return new WqlQuery<>(propertyEnum, EnumSet.copyOf(properties), condition);
+    }
+
+    /**
+     * Returns a copy of this query filtered by the given condition. An existing condition is replaced.
+     *
+     * @param condition the filter evaluated by the WMI provider
+     * @return the filtered query
+     */
+    public WqlQuery<P> where(WqlCondition<P> condition) {
+        return new WqlQuery<>(propertyEnum, selectedProperties, condition);
+    }
+
+    /**
+     * @return the properties retrieved by this query
+     */
+    public EnumSet<P> getSelectedProperties() {
+        return EnumSet.copyOf(selectedProperties);
+    }
+
+    /**
+     * @param property the property to check
+     * @return {@code true} if the property is retrieved by this query
+     */
+    public boolean isSelected(P property) {
+        return selectedProperties.contains(property);
+    }
+
+    /**
+     * @return the filter of this query, if any
+     */
+    public Optional<WqlCondition<P>> getCondition() {
+        return Optional.ofNullable(condition);
+    }
+
+    /**
+     * Renders this query as WQL.
+     *
+     * @param wmiClassName the WMI class to select from, e.g. {@code Win32_Processor}
+     * @return the WQL text of the query
+     */
+    public String toWql(String wmiClassName) {
+        StringBuilder wql = new StringBuilder("SELECT ");
+
+        boolean first = true;
+        for (P property : selectedProperties) {
+            if (!first)
+                wql.append(',');
+            wql.append(property.name());
+            first = false;
+        }
+        wql.append(" FROM ").append(wmiClassName);
+
+        if (condition != null)
+            wql.append(" WHERE ").append(condition.toWql());
+
+        return wql.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.eggy03.pinetree.windows.result;
+
+import com.sun.jna.platform.win32.COM.Wbemcli;
+
+/**
+ * Storage of a single property in a {@link ColumnarResult} or a {@link WmiResultCursor}, chosen from the CIM type of the property, or from its first
+ * value if the CIM type is unknown.
+ *
+ * @since 1.0
+ */
+public enum ColumnType {
+
+    /**
+     * The CIM type is unknown and no value has been added yet, every row is {@code null}
+     */
+    EMPTY,
+
+    /**
+     * 8, 16 and 32-bit integers, stored in an {@code int[]}. 8 and 16-bit values are widened as unsigned
+     */
+    INT,
+
+    /**
+     * 64-bit integers, which WMI returns as strings, parsed once into a {@code long[]}
+     */
+    LONG,
+
+    /**
+     * Booleans, stored in a bitmap
+     */
+    BOOLEAN,
+
+    /**
+     * Strings, trimmed and stored as codes into the dictionary shared by all columns of the result
+     */
+    STRING,
+
+    /**
+     * Any other value, such as reals or arrays, stored as is. A column whose values do not fit its type, such as a
+     * string in an integer column, is turned into an {@code OBJECT} column holding every value boxed
+     */
+    OBJECT;
+
+    // The storage of a property from its CIM type, EMPTY if the type is unknown
+    static ColumnType of(int cimType) {
+        return switch (cimType) {
+            case Wbemcli.CIM_SINT8, Wbemcli.CIM_UINT8, Wbemcli.CIM_SINT16, Wbemcli.CIM_UINT16,
+                 Wbemcli.CIM_SINT32, Wbemcli.CIM_UINT32 -> INT;
+            // WMI returns 64-bit integers as strings
+            case Wbemcli.CIM_SINT64, Wbemcli.CIM_UINT64 -> LONG;
+            case Wbemcli.CIM_BOOLEAN -> BOOLEAN;
+            case Wbemcli.CIM_STRING, Wbemcli.CIM_DATETIME, Wbemcli.CIM_REFERENCE -> STRING;
+            case Wbemcli.CIM_EMPTY -> EMPTY;
+            default -> OBJECT;
+        };
+    }
+
+    // Only used when the CIM type of the property is unknown
+    static ColumnType of(Object value) {
+        return switch (value) {
+            case Integer i -> INT;
+            case Short s -> INT;
+            case Byte b -> INT;
+            case Boolean b -> BOOLEAN;
+            case String s -> STRING;
+            default -> OBJECT;
+        };
+    }
+}
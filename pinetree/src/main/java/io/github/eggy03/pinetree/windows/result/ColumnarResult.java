@@ -0,0 +1,844 @@
+package io.github.eggy03.pinetree.windows.result;
+
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import com.sun.jna.platform.win32.COM.WbemcliUtil;
+import com.sun.jna.platform.win32.Variant;
+import io.github.eggy03.pinetree.windows.com.WmiClassObject;
+import io.github.eggy03.pinetree.windows.com.WmiPropertyDecoder;
+import io.github.eggy03.pinetree.windows.mapper.CommonMappingInterface;
+import io.github.eggy03.pinetree.windows.util.CastUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A query result stored column by column in primitive arrays, for reading numeric properties without boxing.
+ * <p>
+ * {@link WbemcliUtil.WmiResult} keeps every value as a boxed {@link Object} in a list per property, which the mappers then
+ * unbox and box again. This result instead stores each property in a column whose {@link ColumnType} is chosen from the
+ * CIM type of the property: integers in an {@code int[]} or {@code long[]}, booleans in a bitmap, strings as codes into a
+ * dictionary shared by all columns and anything else as is. Every column has a bitmap recording which rows hold a value.
+ * </p>
+ * <p>
+ * Rows read from native objects with {@link #addRow(WmiClassObject, Set)} are decoded straight from the {@code VARIANT}
+ * of each property into its column, without boxing. A value that does not fit the type of its column, which WMI does
+ * not return for well-formed classes, turns the column into an {@link ColumnType#OBJECT} column holding the boxed
+ * values instead of failing the enumeration.
+ * </p>
+ * Values are read with the primitive getters, e.g. {@link #getLong(Enum, int)}, which return {@code 0}, {@code false} or
+ * {@code null} for empty cells, so {@link #isNull(Enum, int)} tells an empty cell from a zero. The conversions match
+ * {@link io.github.eggy03.pinetree.windows.util.CastUtil}: 32-bit integers read as {@code long} are unsigned, 8 and
+ * 16-bit integers are unsigned and strings are trimmed. Unlike {@code CastUtil}, {@code uint64} values above
+ * {@link Long#MAX_VALUE} are kept as their two's complement bit pattern instead of failing.
+ * Rows can also be read in order through a {@link #cursor()}, which copies strings into caller-owned buffers, or mapped
+ * into entities with {@link CommonMappingInterface#toEntityList(ColumnarResult)}.
+ * A result can be shared between callers once it has been copied with {@link #toReadOnlyCopy()}.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * ColumnarResult<PhysicalMemoryProperty> memory = WmiUtil.getColumnarResult(
+ *         Namespace.DEFAULT.getValue(),
+ *         WmiClassname.WIN32_PHYSICAL_MEMORY.getClassName(),
+ *         WqlQuery.from(PhysicalMemoryProperty.class));
+ *
+ * long totalCapacity = 0;
+ * for (int row = 0; row < memory.getRowCount(); row++)
+ *     totalCapacity += memory.getLong(PhysicalMemoryProperty.Capacity, row);
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are not thread-safe while being written. Once fully populated they may be read from any thread.
+ *
+ * @param <P> the enum type defining the property fields of the WMI class
+ * @since 1.0
+ */
+public class ColumnarResult<P extends Enum<P>> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Class<P> propertyEnum;
+    private final P[] properties;
+    private final Column[] columns;
+    private final List<String> dictionary = new ArrayList<>();
+
+    // Open addressing over the dictionary by content, each slot holding a code plus one and 0 marking a free slot, so
+    // that strings read from a VARIANT are only created the first time they are seen
+    private int[] dictionarySlots = new int[INITIAL_CAPACITY];
+
+    // The last string read from a VARIANT, reused for every read
+    private final Utf16Text scratch = new Utf16Text();
+    private int rowCount = 0;
+    private boolean readOnly = false;
+
+    /**
+     * Creates an empty result for the given property enum.
+     *
+     * @param propertyEnum the enum defining the class properties held by this result
+     */
+    public ColumnarResult(Class<P> propertyEnum) {
+        this.propertyEnum = propertyEnum;
+        this.properties = propertyEnum.getEnumConstants();
+        this.columns = new Column[properties.length];
+        for (int i = 0; i < columns.length; i++)
+            columns[i] = new Column(this);
+    }
+
+    /**
+     * Copies a boxed result into a new columnar result.
+     *
+     * @param result       the result to copy
+     * @param propertyEnum the enum defining the class properties of the result
+     * @param <P>          the type of the property enum
+     * @return the columnar copy of the result
+     */
+    public static <P extends Enum<P>> ColumnarResult<P> from(WbemcliUtil.WmiResult<P> result, Class<P> propertyEnum) {
+        ColumnarResult<P> columnar = new ColumnarResult<>(propertyEnum);
+        for (int row = 0; row < result.getResultCount(); row++) {
+            for (P property : columnar.properties)
+                columnar.add(property, result.getCIMType(property), result.getValue(property, row));
+            columnar.incrementCount();
+        }
+        return columnar;
+    }
+
+    /**
+     * Adds a value of the given property to the row currently being written.
+     * <p>
+     * The type of the column is chosen from the CIM type passed with its first value. A value that does not fit the
+     * type of its column turns the column into an {@link ColumnType#OBJECT} column.
+     * </p>
+     *
+     * @param property the property the value belongs to
+     * @param cimType  the CIM type of the property as reported by WMI
+     * @param value    the decoded value, {@code null} leaves the cell empty
+     */
+    public void add(P property, int cimType, @Nullable Object value) {
+        checkWritable();
+        Column column = columns[property.ordinal()];
+        column.setCimType(cimType);
+        column.decodeValue(value);
+    }
+
+    /**
+     * Reads the given properties of an object and appends them as a new row.
+     * <p>
+     * Properties that are not part of {@code selectedProperties} are not read and stay empty.
+     * The CIM type of each property is read from the first object, then every value is decoded by its column with
+     * {@link WmiClassObject#decode(String, WmiPropertyDecoder)}.
+     * The object is not released by this method.
+     * </p>
+     *
+     * @param object             the object to read
+     * @param selectedProperties the properties to read from the object
+     */
+    public void addRow(WmiClassObject object, Set<P> selectedProperties) {
+        checkWritable();
+        for (P property : properties) {
+            if (selectedProperties.contains(property)) {
+                Column column = columns[property.ordinal()];
+                if (!column.typed)
+                    column.setCimType(object.getCimType(property.name()));
+                object.decode(property.name(), column);
+            }
+        }
+        incrementCount();
+    }
+
+    /**
+     * Commits the row currently being written.
+     */
+    public void incrementCount() {
+        checkWritable();
+        rowCount++;
+    }
+
+    /**
+     * @return the number of committed rows
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return the enum defining the class properties held by this result
+     */
+    public Class<P> getPropertyEnum() {
+        return propertyEnum;
+    }
+
+    /**
+     * @param property the property
+     * @return the storage of the property, {@link ColumnType#EMPTY} if its CIM type is unknown and it holds no value
+     */
+    public ColumnType getColumnType(P property) {
+        return columns[property.ordinal()].type;
+    }
+
+    /**
+     * @param property the property
+     * @return the CIM type of the property as reported by WMI, {@link Wbemcli#CIM_EMPTY} if it holds no value
+     */
+    public int getCIMType(P property) {
+        return columns[property.ordinal()].cimType;
+    }
+
+    /**
+     * @param property the property
+     * @param row      the row index
+     * @return {@code true} if the cell holds no value
+     */
+    public boolean isNull(P property, int row) {
+        return !cell(property, row).isPresent(row);
+    }
+
+    /**
+     * Reads an {@link ColumnType#INT} cell.
+     *
+     * @param property the property
+     * @param row      the row index
+     * @return the value, {@code 0} if the cell is empty
+     * @throws IllegalStateException if the property is stored in another column type
+     */
+    public int getInt(P property, int row) {
+        Column column = cell(property, row);
+        if (!column.isPresent(row))
+            return 0;
+
+        column.check(property, ColumnType.INT);
+        return column.ints[row];
+    }
+
+    /**
+     * Reads an {@link ColumnType#INT} or {@link ColumnType#LONG} cell. 32-bit integers are read as unsigned.
+     *
+     * @param property the property
+     * @param row      the row index
+     * @return the value, {@code 0} if the cell is empty
+     * @throws IllegalStateException if the property is stored in another column type
+     */
+    public long getLong(P property, int row) {
+        Column column = cell(property, row);
+        if (!column.isPresent(row))
+            return 0L;
+
+        if (column.type == ColumnType.INT)
+            return Integer.toUnsignedLong(column.ints[row]);
+
+        column.check(property, ColumnType.LONG);
+        return column.longs[row];
+    }
+
+    /**
+     * Reads a {@link ColumnType#BOOLEAN} cell.
+     *
+     * @param property the property
+     * @param row      the row index
+     * @return the value, {@code false} if the cell is empty
+     * @throws IllegalStateException if the property is stored in another column type
+     */
+    public boolean getBoolean(P property, int row) {
+        Column column = cell(property, row);
+        if (!column.isPresent(row))
+            return false;
+
+        column.check(property, ColumnType.BOOLEAN);
+        return (column.longs[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * Reads a {@link ColumnType#STRING} cell.
+     *
+     * @param property the property
+     * @param row      the row index
+     * @return the trimmed value, {@code null} if the cell is empty
+     * @throws IllegalStateException if the property is stored in another column type
+     */
+    @Nullable
+    public String getString(P property, int row) {
+        int code = getStringCode(property, row);
+        return code < 0 ? null : dictionary.get(code);
+    }
+
+    /**
+     * Reads the dictionary code of a {@link ColumnType#STRING} cell. Equal strings share a code across all columns,
+     * so rows can be grouped or compared by code without touching the strings.
+     *
+     * @param property the property
+     * @param row      the row index
+     * @return the code, see {@link #getDictionaryEntry(int)}, or {@code -1} if the cell is empty
+     * @throws IllegalStateException if the property is stored in another column type
+     */
+    public int getStringCode(P property, int row) {
+        Column column = cell(property, row);
+        if (!column.isPresent(row))
+            return -1;
+
+        column.check(property, ColumnType.STRING);
+        return column.ints[row];
+    }
+
+    /**
+     * @param code a code returned by {@link #getStringCode(Enum, int)}
+     * @return the string of the code
+     */
+    public String getDictionaryEntry(int code) {
+        return dictionary.get(code);
+    }
+
+    /**
+     * @return the number of distinct strings held by this result
+     */
+    public int getDictionarySize() {
+        return dictionary.size();
+    }
+
+    /**
+     * Reads any cell as an object, boxing primitive values.
+     *
+     * @param property the property
+     * @param row      the row index
+     * @return the value converted like the getter of its column type, {@code null} if the cell is empty
+     */
+    @Nullable
+    public Object getValue(P property, int row) {
+        Column column = cell(property, row);
+        if (!column.isPresent(row))
+            return null;
+
+        return column.type == ColumnType.INT ? Integer.valueOf(column.ints[row]) : column.valueAt(row);
+    }
+
+    /**
+     * Reads any cell as an {@link Integer} with the rules of {@link CastUtil#toIntegerValue(Object)}, for mapping it
+     * into an entity field. {@link ColumnType#INT} cells are boxed without a conversion.
+     *
+     * @param property the property
+     * @param row      the row index
+     * @return the value, {@code null} if the cell is empty
+     * @throws NumberFormatException if the value is a string that is not a valid {@code int}
+     */
+    @Nullable
+    public Integer getIntegerValue(P property, int row) {
+        Column column = cell(property, row);
+        if (!column.isPresent(row))
+            return null;
+
+        return column.type == ColumnType.INT ? Integer.valueOf(column.ints[row]) : CastUtil.toIntegerValue(column.valueAt(row));
+    }
+
+    /**
+     * Reads any cell as a {@link Long} with the rules of {@link CastUtil#toLongValue(Object)}, for mapping it into an
+     * entity field. Unlike {@link #getLong(Enum, int)}, 8-bit integers are widened as signed, like {@code CastUtil} does.
+     *
+     * @param property the property
+     * @param row      the row index
+     * @return the value, {@code null} if the cell is empty
+     * @throws NumberFormatException if the value is a string that is not a valid {@code long}
+     */
+    @Nullable
+    public Long getLongValue(P property, int row) {
+        Column column = cell(property, row);
+        if (!column.isPresent(row))
+            return null;
+
+        return switch (column.type) {
+            // CastUtil widens 8-bit integers as signed
+            case INT -> column.intVtType == Variant.VT_UI1 ? (long) (byte) column.ints[row] : Integer.toUnsignedLong(column.ints[row]);
+            case LONG -> column.longs[row];
+            default -> CastUtil.toLongValue(column.valueAt(row));
+        };
+    }
+
+    /**
+     * Reads any cell as a {@link String} with the rules of {@link CastUtil#toStringValue(Object)}, for mapping it into
+     * an entity field. {@link ColumnType#STRING} cells are read from the dictionary without a copy.
+     *
+     * @param property the property
+     * @param row      the row index
+     * @return the trimmed value, {@code null} if the cell is empty
+     */
+    @Nullable
+    public String getStringValue(P property, int row) {
+        Column column = cell(property, row);
+        if (!column.isPresent(row))
+            return null;
+
+        return column.type == ColumnType.STRING ? dictionary.get(column.ints[row]) : CastUtil.toStringValue(column.valueAt(row));
+    }
+
+    /**
+     * Reads any cell as a {@link Boolean} with the rules of {@link CastUtil#toBooleanValue(Object)}, for mapping it
+     * into an entity field.
+     *
+     * @param property the property
+     * @param row      the row index
+     * @return the value, {@code null} if the cell is empty
+     */
+    @Nullable
+    public Boolean getBooleanValue(P property, int row) {
+        Column column = cell(property, row);
+        if (!column.isPresent(row))
+            return null;
+
+        return CastUtil.toBooleanValue(column.valueAt(row));
+    }
+
+    /**
+     * Returns a cursor over the committed rows, for reading them in order without passing row indices around.
+     * Each call returns a new cursor positioned before the first row.
+     *
+     * @return a cursor over the rows of this result
+     */
+    public ResultCursor<P> cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Copies this result into one that can no longer be written.
+     *
+     * @return a copy of this result whose writing methods throw {@link UnsupportedOperationException}
+     */
+    public ColumnarResult<P> toReadOnlyCopy() {
+        ColumnarResult<P> copy = new ColumnarResult<>(propertyEnum);
+        for (int i = 0; i < columns.length; i++)
+            columns[i].copyInto(copy.columns[i]);
+        copy.dictionary.addAll(dictionary);
+        copy.dictionarySlots = dictionarySlots.clone();
+        copy.rowCount = rowCount;
+        copy.readOnly = true;
+        return copy;
+    }
+
+    private void checkWritable() {
+        if (readOnly)
+            throw new UnsupportedOperationException("This result is a read-only copy.");
+    }
+
+    private Column cell(P property, int row) {
+        Objects.checkIndex(row, rowCount);
+        return columns[property.ordinal()];
+    }
+
+    private int encode(CharSequence value) {
+        int mask = dictionarySlots.length - 1;
+        int index = hash(value) & mask;
+        for (int slot; (slot = dictionarySlots[index]) != 0; index = (index + 1) & mask) {
+            if (dictionary.get(slot - 1).contentEquals(value))
+                return slot - 1;
+        }
+
+        int code = dictionary.size();
+        dictionary.add(value.toString());
+        if (2 * dictionary.size() <= dictionarySlots.length) {
+            dictionarySlots[index] = code + 1;
+        } else {
+            dictionarySlots = new int[2 * dictionarySlots.length];
+            for (int i = 0; i < dictionary.size(); i++)
+                place(i);
+        }
+        return code;
+    }
+
+    // Reads the string into the scratch buffer, growing it once if the string does not fit
+    private int encode(Variant.VARIANT variant) {
+        int length = CastUtil.readUtf16(variant, scratch.units);
+        if (length > scratch.units.length) {
+            scratch.units = new short[Math.max(length, 2 * scratch.units.length)];
+            CastUtil.readUtf16(variant, scratch.units);
+        }
+        scratch.trim(length);
+        return encode(scratch);
+    }
+
+    private void place(int code) {
+        int mask = dictionarySlots.length - 1;
+        int index = hash(dictionary.get(code)) & mask;
+        while (dictionarySlots[index] != 0)
+            index = (index + 1) & mask;
+        dictionarySlots[index] = code + 1;
+    }
+
+    // Equal to String.hashCode() for the same characters, spread over the low bits used as an index
+    private static int hash(CharSequence value) {
+        int hash;
+        if (value instanceof String text) {
+            hash = text.hashCode();
+        } else {
+            hash = 0;
+            for (int i = 0; i < value.length(); i++)
+                hash = 31 * hash + value.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    // Trimmed UTF-16 code units, compared with the dictionary entries without creating a string
+    private static final class Utf16Text implements CharSequence {
+
+        private short[] units = new short[64];
+        private int begin;
+        private int end;
+
+        // Same characters as String.trim()
+        private void trim(int length) {
+            begin = 0;
+            while (begin < length && units[begin] >= 0 && units[begin] <= ' ')
+                begin++;
+            end = length;
+            while (end > begin && units[end - 1] >= 0 && units[end - 1] <= ' ')
+                end--;
+        }
+
+        @Override
+        public int length() {
+            return end - begin;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) units[begin + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            char[] text = new char[length()];
+            for (int i = 0; i < text.length; i++)
+                text[i] = charAt(i);
+            return new String(text);
+        }
+    }
+
+    private final class Cursor implements ResultCursor<P> {
+
+        private int row = -1;
+
+        @Override
+        public boolean next() {
+            if (row < rowCount)
+                row++;
+            return row < rowCount;
+        }
+
+        @Override
+        public int getRow() {
+            return row;
+        }
+
+        @Override
+        public Class<P> getPropertyEnum() {
+            return propertyEnum;
+        }
+
+        @Override
+        public boolean isNull(P property) {
+            return ColumnarResult.this.isNull(property, current());
+        }
+
+        @Override
+        public int getInt(P property) {
+            return ColumnarResult.this.getInt(property, current());
+        }
+
+        @Override
+        public long getLong(P property) {
+            return ColumnarResult.this.getLong(property, current());
+        }
+
+        @Override
+        public boolean getBoolean(P property) {
+            return ColumnarResult.this.getBoolean(property, current());
+        }
+
+        @Override
+        public int getString(P property, CharBuffer target) {
+            int code = getStringCode(property, current());
+            if (code < 0)
+                return -1;
+
+            String value = dictionary.get(code);
+            target.put(value);
+            return value.length();
+        }
+
+        private int current() {
+            if (row < 0 || row >= rowCount)
+                throw new IllegalStateException("The cursor is not on a row, call next() first.");
+            return row;
+        }
+    }
+
+    // Decodes the values of its property into the row being written, so decoding returns nothing
+    private static final class Column implements WmiPropertyDecoder {
+
+        private final ColumnarResult<?> result;
+
+        private ColumnType type = ColumnType.EMPTY;
+        private int cimType = Wbemcli.CIM_EMPTY;
+
+        // Set once the CIM type of the property has been read, even if it was unknown
+        private boolean typed = false;
+
+        // The VARIANT type of the INT values, all of the same width, which decides how they are widened to long
+        private int intVtType = Variant.VT_EMPTY;
+
+        // One bit per row, set if the row holds a value
+        private long[] present = new long[0];
+
+        // INT values or STRING codes
+        private int[] ints;
+
+        // LONG values, or one bit per row for BOOLEAN values
+        private long[] longs;
+
+        // OBJECT values
+        private Object[] objects;
+
+        private Column(ColumnarResult<?> result) {
+            this.result = result;
+        }
+
+        private void setCimType(int cimType) {
+            if (typed)
+                return;
+
+            typed = true;
+            this.cimType = cimType;
+            ColumnType columnType = ColumnType.of(cimType);
+            if (columnType != ColumnType.EMPTY)
+                init(columnType);
+        }
+
+        @Override
+        @Nullable
+        public Object decodeValue(@Nullable Object value) {
+            if (value == null)
+                return null;
+            if (type == ColumnType.EMPTY)
+                init(ColumnType.of(value));
+
+            int row = result.rowCount;
+            ensureCapacity(row);
+            if (!store(row, value)) {
+                toObjects(row);
+                objects[row] = value;
+            }
+            markPresent(row);
+            return null;
+        }
+
+        @Override
+        @Nullable
+        public Object decodeVariant(Variant.VARIANT variant) {
+            int vtType = variant.getPointer().getShort(0);
+            if (vtType == Variant.VT_EMPTY || vtType == Variant.VT_NULL)
+                return null;
+            if (!readsDirectly(vtType))
+                return WmiPropertyDecoder.super.decodeVariant(variant);
+
+            int row = result.rowCount;
+            switch (type) {
+                case INT -> {
+                    int value = CastUtil.toInt(variant);
+                    ensureCapacity(row);
+                    ints[row] = value;
+                    intVtType = vtType;
+                }
+                case LONG -> {
+                    long value;
+                    try {
+                        value = CastUtil.toLong(variant);
+                    } catch (NumberFormatException e) {
+                        // Such as uint64 values above Long.MAX_VALUE, which the boxed path parses as unsigned
+                        return WmiPropertyDecoder.super.decodeVariant(variant);
+                    }
+                    if (value < 0 && cimType == Wbemcli.CIM_UINT64)
+                        return WmiPropertyDecoder.super.decodeVariant(variant);
+
+                    ensureCapacity(row);
+                    longs[row] = value;
+                }
+                case BOOLEAN -> {
+                    boolean value = CastUtil.toBoolean(variant);
+                    ensureCapacity(row);
+                    if (value)
+                        longs[row >>> 6] |= 1L << row;
+                }
+                default -> {
+                    ensureCapacity(row);
+                    ints[row] = result.encode(variant);
+                }
+            }
+            markPresent(row);
+            return null;
+        }
+
+        // The VARIANT types read straight into the column, with the same result as the boxed path
+        private boolean readsDirectly(int vtType) {
+            return switch (type) {
+                case INT -> (vtType == Variant.VT_I4 || vtType == Variant.VT_I2 || vtType == Variant.VT_UI1)
+                        && (intVtType == Variant.VT_EMPTY || intVtType == vtType);
+                case LONG -> vtType == Variant.VT_BSTR || vtType == Variant.VT_I4 || vtType == Variant.VT_I2;
+                case BOOLEAN -> vtType == Variant.VT_BOOL;
+                case STRING -> vtType == Variant.VT_BSTR;
+                default -> false;
+            };
+        }
+
+        // Returns false if the value does not fit the type of the column
+        private boolean store(int row, Object value) {
+            switch (type) {
+                case INT -> {
+                    return storeInt(row, value);
+                }
+                case LONG -> {
+                    if (value instanceof Integer i)
+                        longs[row] = Integer.toUnsignedLong(i);
+                    else if (value instanceof Short s)
+                        longs[row] = Short.toUnsignedLong(s);
+                    else if (value instanceof String text)
+                        return parseLong(row, text);
+                    else
+                        return false;
+                }
+                case BOOLEAN -> {
+                    if (!(value instanceof Boolean b))
+                        return false;
+                    if (b)
+                        longs[row >>> 6] |= 1L << row;
+                }
+                case STRING -> {
+                    if (!(value instanceof String text))
+                        return false;
+                    ints[row] = result.encode(text.trim());
+                }
+                default -> objects[row] = value;
+            }
+            return true;
+        }
+
+        private boolean storeInt(int row, Object value) {
+            int vtType = switch (value) {
+                case Integer i -> Variant.VT_I4;
+                case Short s -> Variant.VT_I2;
+                case Byte b -> Variant.VT_UI1;
+                default -> Variant.VT_EMPTY;
+            };
+            if (vtType == Variant.VT_EMPTY || (intVtType != Variant.VT_EMPTY && intVtType != vtType))
+                return false;
+
+            ints[row] = switch (value) {
+                case Short s -> Short.toUnsignedInt(s);
+                case Byte b -> Byte.toUnsignedInt(b);
+                default -> (Integer) value;
+            };
+            intVtType = vtType;
+            return true;
+        }
+
+        private boolean parseLong(int row, String text) {
+            try {
+                longs[row] = cimType == Wbemcli.CIM_UINT64 ? Long.parseUnsignedLong(text.trim()) : CastUtil.parseLong(text);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        // Boxes the values of the rows before the given one, which will hold an object too
+        private void toObjects(int row) {
+            Object[] boxed = new Object[Math.max(INITIAL_CAPACITY, row + 1)];
+            for (int i = 0; i < row; i++) {
+                if (isPresent(i))
+                    boxed[i] = valueAt(i);
+            }
+            type = ColumnType.OBJECT;
+            ints = null;
+            longs = null;
+            objects = boxed;
+        }
+
+        private void init(ColumnType type) {
+            this.type = type;
+            switch (type) {
+                case INT, STRING -> ints = new int[INITIAL_CAPACITY];
+                case LONG -> longs = new long[INITIAL_CAPACITY];
+                case BOOLEAN -> longs = new long[1];
+                default -> objects = new Object[INITIAL_CAPACITY];
+            }
+        }
+
+        private void ensureCapacity(int row) {
+            int words = (row >>> 6) + 1;
+            if (present.length < words)
+                present = Arrays.copyOf(present, Math.max(words, present.length * 2));
+
+            switch (type) {
+                case INT, STRING -> {
+                    if (ints.length <= row)
+                        ints = Arrays.copyOf(ints, Math.max(row + 1, ints.length * 2));
+                }
+                case LONG -> {
+                    if (longs.length <= row)
+                        longs = Arrays.copyOf(longs, Math.max(row + 1, longs.length * 2));
+                }
+                case BOOLEAN -> {
+                    if (longs.length < words)
+                        longs = Arrays.copyOf(longs, Math.max(words, longs.length * 2));
+                }
+                default -> {
+                    if (objects.length <= row)
+                        objects = Arrays.copyOf(objects, Math.max(row + 1, objects.length * 2));
+                }
+            }
+        }
+
+        private void copyInto(Column copy) {
+            copy.type = type;
+            copy.cimType = cimType;
+            copy.typed = typed;
+            copy.intVtType = intVtType;
+            copy.present = present.clone();
+            copy.ints = ints != null ? ints.clone() : null;
+            copy.longs = longs != null ? longs.clone() : null;
+            copy.objects = objects != null ? objects.clone() : null;
+        }
+
+        private void markPresent(int row) {
+            present[row >>> 6] |= 1L << row;
+        }
+
+        private boolean isPresent(int row) {
+            int word = row >>> 6;
+            return word < present.length && (present[word] & (1L << row)) != 0;
+        }
+
+        // Boxes a present value, 8 and 16-bit integers into their original type for the CastUtil conversions
+        private Object valueAt(int row) {
+            return switch (type) {
+                case INT -> switch (intVtType) {
+                    case Variant.VT_UI1 -> (byte) ints[row];
+                    case Variant.VT_I2 -> (short) ints[row];
+                    default -> ints[row];
+                };
+                case LONG -> longs[row];
+                case BOOLEAN -> (longs[row >>> 6] & (1L << row)) != 0;
+                case STRING -> result.dictionary.get(ints[row]);
+                default -> objects[row];
+            };
+        }
+
+        private void check(Enum<?> property, ColumnType expected) {
+            if (type != expected)
+                throw new IllegalStateException("Property " + property.name() + " is stored as " + type + ", not " + expected + ".");
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.eggy03.pinetree.windows.result;
+
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+
+/**
+ * A forward-only cursor over the rows of a query result, reading properties straight into primitives and caller-owned
+ * buffers instead of building an entity per row.
+ * <p>
+ * The cursor starts before the first row, {@link #next()} moves it to the following row. Getters read the property of
+ * the current row and never allocate: numbers are returned as primitives and strings are copied into a {@link CharBuffer}
+ * supplied by the caller, which can be reused for every row. Empty cells read as {@code 0}, {@code false} or a length of
+ * {@code -1}, and {@link #isNull(Enum)} tells them from actual zeros. Conversions are those of {@link ColumnarResult}.
+ * </p>
+ * {@link WmiResultCursor} streams the rows straight from a WMI enumeration, as returned by
+ * {@link io.github.eggy03.pinetree.windows.service.AbstractWmiService#getCursor(io.github.eggy03.pinetree.windows.query.WqlQuery)},
+ * and must be closed. {@link ColumnarResult#cursor()} reads the rows of a result already in memory.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * CharBuffer partNumber = CharBuffer.allocate(64);
+ * try (ResultCursor<PhysicalMemoryProperty> cursor = new PhysicalMemoryService().getCursor(
+ *         WqlQuery.from(PhysicalMemoryProperty.class))) {
+ *
+ *     while (cursor.next()) {
+ *         partNumber.clear();
+ *         cursor.getString(PhysicalMemoryProperty.PartNumber, partNumber);
+ *         sink.accept(partNumber.flip(), cursor.getLong(PhysicalMemoryProperty.Capacity));
+ *     }
+ * }
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * Cursors are not thread-safe. Several cursors may read the same fully populated {@link ColumnarResult} concurrently.
+ *
+ * @param <P> the enum type defining the property fields of the WMI class
+ * @since 1.0
+ */
+public interface ResultCursor<P extends Enum<P>> extends AutoCloseable {
+
+    /**
+     * Moves the cursor to the next row.
+     *
+     * @return {@code true} if the cursor is on a row, {@code false} once every row has been read
+     */
+    boolean next();
+
+    /**
+     * @return the index of the current row, {@code -1} before the first call to {@link #next()}
+     */
+    int getRow();
+
+    /**
+     * @return the enum defining the class properties of the result
+     */
+    Class<P> getPropertyEnum();
+
+    /**
+     * @param property the property
+     * @return {@code true} if the property of the current row holds no value
+     * @throws IllegalStateException if the cursor is not on a row
+     */
+    boolean isNull(P property);
+
+    /**
+     * Reads an integer property of 32 bits or fewer. 8 and 16-bit integers are unsigned.
+     *
+     * @param property the property
+     * @return the value, {@code 0} if the cell is empty
+     * @throws IllegalStateException if the cursor is not on a row or the property is not stored as an {@code int}
+     */
+    int getInt(P property);
+
+    /**
+     * Reads an integer property. 32-bit integers are unsigned.
+     *
+     * @param property the property
+     * @return the value, {@code 0} if the cell is empty
+     * @throws IllegalStateException if the cursor is not on a row or the property is not an integer
+     */
+    long getLong(P property);
+
+    /**
+     * Reads a boolean property.
+     *
+     * @param property the property
+     * @return the value, {@code false} if the cell is empty
+     * @throws IllegalStateException if the cursor is not on a row or the property is not a boolean
+     */
+    boolean getBoolean(P property);
+
+    /**
+     * Copies the trimmed value of a string property into a buffer, starting at its position.
+     * <p>
+     * The position of the buffer is advanced past the copied characters. Nothing is copied if the value does not fit.
+     * </p>
+     *
+     * @param property the property
+     * @param target   the buffer receiving the characters
+     * @return the number of copied characters, {@code -1} if the cell is empty
+     * @throws IllegalStateException   if the cursor is not on a row or the property is not a string
+     * @throws BufferOverflowException if the remaining space of the buffer is smaller than the value
+     */
+    int getString(P property, CharBuffer target);
+
+    /**
+     * Releases what the cursor holds, such as the enumeration and the pooled connection of a {@link WmiResultCursor}.
+     * Calling this method more than once has no effect. The default implementation does nothing.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.eggy03.pinetree.windows.result;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import io.github.eggy03.pinetree.windows.com.WmiClassObject;
+import io.github.eggy03.pinetree.windows.com.WmiObjectEnumerator;
+import io.github.eggy03.pinetree.windows.mapper.CommonMappingInterface;
+import io.github.eggy03.pinetree.windows.query.WqlQuery;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Forward-only iterator mapping the objects of a {@link WmiObjectEnumerator} into entities, one batch at a time.
+ * <p>
+ * Only a single batch of raw objects and its mapped entities are held in memory at any time, so arbitrarily large
+ * results are processed in constant memory and the first entity is available as soon as the first batch arrives.
+ * Each batch is mapped by the regular {@link CommonMappingInterface} of the entity.
+ * </p>
+ * The iterator closes itself once the enumeration is exhausted or fails. It must be closed explicitly when it is
+ * abandoned early, which releases the enumeration and runs the close action given at construction.
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are not thread-safe and must be consumed on a thread with COM initialized.
+ *
+ * @param <S> the entity type
+ * @param <P> the enum type defining the properties of the WMI class
+ * @since 1.0
+ */
+public class WmiEntityIterator<S, P extends Enum<P>> implements Iterator<S>, AutoCloseable {
+
+    private final WmiObjectEnumerator enumerator;
+    private final Class<P> propertyEnum;
+    private final EnumSet<P> selectedProperties;
+    private final CommonMappingInterface<S, P> mapper;
+    private final int timeoutMillis;
+    private final Runnable closeAction;
+    private final WmiClassObject[] batch;
+
+    private Iterator<S> current = Collections.emptyIterator();
+    private boolean exhausted = false;
+    private boolean closed = false;
+
+    /**
+     * Creates a new iterator.
+     *
+     * @param enumerator    the enumeration to consume, owned by this iterator from now on
+     * @param query         the query that produced the enumeration, defining the properties to read
+     * @param mapper        the mapper converting each batch into entities
+     * @param batchSize     the maximum number of objects fetched per call to the enumeration
+     * @param timeoutMillis the timeout of each fetch in milliseconds, or {@link com.sun.jna.platform.win32.COM.Wbemcli#WBEM_INFINITE}
+     * @param closeAction   action run once after the enumeration has been released, e.g. returning a pooled connection
+     */
+    public WmiEntityIterator(WmiObjectEnumerator enumerator, WqlQuery<P> query, CommonMappingInterface<S, P> mapper,
+                             int batchSize, int timeoutMillis, Runnable closeAction) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("batchSize must be at least 1");
+
+        this.enumerator = enumerator;
+        this.propertyEnum = query.getPropertyEnum();
+        this.selectedProperties = query.getSelectedProperties();
+        this.mapper = mapper;
+        this.timeoutMillis = timeoutMillis;
+        this.closeAction = closeAction;
+        this.batch = new WmiClassObject[batchSize];
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (!current.hasNext() && !exhausted && !closed)
+                fetchBatch();
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+
+        if (current.hasNext())
+            return true;
+
+        close();
+        return false;
+    }
+
+    @Override
+    public S next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        return current.next();
+    }
+
+    /**
+     * Releases the enumeration and runs the close action. Calling this method more than once has no effect.
+     */
+    @Override
+    public void close() {
+        if (closed)
+            return;
+
+        closed = true;
+        try {
+            enumerator.close();
+        } finally {
+            closeAction.run();
+        }
+    }
+
+    private void fetchBatch() {
+        int count;
+        try {
+            count = enumerator.next(timeoutMillis, batch);
+        } catch (TimeoutException e) {
+            throw new COMException(e.getMessage(), e);
+        }
+
+        if (count == 0) {
+            exhausted = true;
+            return;
+        }
+
+        WmiResultTable<P> table = new WmiResultTable<>(propertyEnum);
+        try {
+            for (int i = 0; i < count; i++)
+                table.addRow(batch[i], selectedProperties);
+        } finally {
+            for (int i = 0; i < count; i++) {
+                batch[i].release();
+                batch[i] = null;
+            }
+        }
+
+        current = mapper.toEntityList(table).iterator();
+    }
+}
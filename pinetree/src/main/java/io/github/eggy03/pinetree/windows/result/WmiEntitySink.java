@@ -0,0 +1,93 @@
+package io.github.eggy03.pinetree.windows.result;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.COMUtils;
+import com.sun.jna.platform.win32.WinNT;
+import io.github.eggy03.pinetree.windows.com.WmiClassObject;
+import io.github.eggy03.pinetree.windows.com.WmiObjectSink;
+import io.github.eggy03.pinetree.windows.mapper.CommonMappingInterface;
+import io.github.eggy03.pinetree.windows.query.WqlQuery;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * {@link WmiObjectSink} mapping the objects of an asynchronous query into entities as they arrive.
+ * <p>
+ * Every delivered batch is read into a {@link WmiResultTable}, mapped by the regular {@link CommonMappingInterface}
+ * of the entity, passed to the row listener and accumulated. Once WMI signals completion, {@code getFuture()} is
+ * completed with all accumulated entities, or exceptionally with a {@link COMException} carrying the failing HRESULT.
+ * </p>
+ * Batches arriving after the future has been completed, e.g. after it was cancelled, are dropped.
+ * An exception thrown by the mapper or the row listener fails the future.
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are thread-safe. Batches are processed one at a time, in the order they are delivered.
+ *
+ * @param <S> the entity type
+ * @param <P> the enum type defining the properties of the WMI class
+ * @since 1.0
+ */
+public class WmiEntitySink<S, P extends Enum<P>> implements WmiObjectSink {
+
+    private final Class<P> propertyEnum;
+    private final EnumSet<P> selectedProperties;
+    private final CommonMappingInterface<S, P> mapper;
+    private final Consumer<? super S> rowListener;
+    private final List<S> rows = new ArrayList<>();
+
+    /**
+     * The future completed with every entity received once the call has finished
+     */
+    @Getter
+    private final CompletableFuture<List<S>> future = new CompletableFuture<>();
+
+    /**
+     * Creates a new sink.
+     *
+     * @param query       the query whose results are received, defining the properties to read
+     * @param mapper      the mapper converting each batch into entities
+     * @param rowListener listener receiving each entity as soon as its batch has been mapped
+     */
+    public WmiEntitySink(WqlQuery<P> query, CommonMappingInterface<S, P> mapper, Consumer<? super S> rowListener) {
+        this.propertyEnum = query.getPropertyEnum();
+        this.selectedProperties = query.getSelectedProperties();
+        this.mapper = mapper;
+        this.rowListener = rowListener;
+    }
+
+    @Override
+    public synchronized void indicate(WmiClassObject[] objects, int count) {
+        if (future.isDone())
+            return;
+
+        try {
+            WmiResultTable<P> table = new WmiResultTable<>(propertyEnum);
+            for (int i = 0; i < count; i++)
+                table.addRow(objects[i], selectedProperties);
+
+            for (S row : mapper.toEntityList(table)) {
+                rows.add(row);
+                rowListener.accept(row);
+            }
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public synchronized void complete(int hresult, @Nullable String message) {
+        if (COMUtils.FAILED(hresult)) {
+            String description = message != null ? message : "Asynchronous query failed.";
+            future.completeExceptionally(new COMException(description, new WinNT.HRESULT(hresult)));
+        } else {
+            future.complete(Collections.unmodifiableList(rows));
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package io.github.eggy03.pinetree.windows.result;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import com.sun.jna.platform.win32.Variant;
+import io.github.eggy03.pinetree.windows.com.WmiClassObject;
+import io.github.eggy03.pinetree.windows.com.WmiObjectEnumerator;
+import io.github.eggy03.pinetree.windows.com.WmiPropertyDecoder;
+import io.github.eggy03.pinetree.windows.query.WqlQuery;
+import io.github.eggy03.pinetree.windows.util.CastUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+import java.util.EnumSet;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Forward-only cursor reading the objects of a {@link WmiObjectEnumerator} one at a time, without storing the result.
+ * <p>
+ * Each call to {@link #next()} decodes the selected properties of the next object straight from their {@code VARIANT}s
+ * into one slot per property, then releases the object. Slots are reused for every row: numbers and booleans are kept
+ * as primitives and strings as UTF-16 units, so that once the slots have grown to the longest string, reading a row
+ * allocates nothing. Only a single batch of raw objects is held at any time, and the first row is available as soon as
+ * the first batch arrives.
+ * </p>
+ * <p>
+ * The storage of each property, and thus its getter, is chosen from its CIM type like in {@link ColumnarResult}, and
+ * values are converted with the same rules. A value that does not fit the type of its property, which WMI does not
+ * return for well-formed classes, makes the getters of its cell throw instead of turning the whole column into objects.
+ * </p>
+ * The cursor closes itself once the enumeration is exhausted or fails. It must be closed explicitly when it is
+ * abandoned early, which releases the enumeration and runs the close action given at construction.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * CharBuffer name = CharBuffer.allocate(128);
+ * try (ResultCursor<ProcessorProperty> cpus = new ProcessorService().getCursor(WqlQuery.from(ProcessorProperty.class))) {
+ *     while (cpus.next()) {
+ *         name.clear();
+ *         cpus.getString(ProcessorProperty.Name, name);
+ *         sink.accept(name.flip(), cpus.getInt(ProcessorProperty.MaxClockSpeed));
+ *     }
+ * }
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are not thread-safe and must be consumed on a thread with COM initialized.
+ *
+ * @param <P> the enum type defining the properties of the WMI class
+ * @since 1.0
+ */
+public class WmiResultCursor<P extends Enum<P>> implements ResultCursor<P> {
+
+    private final WmiObjectEnumerator enumerator;
+    private final Class<P> propertyEnum;
+    private final P[] properties;
+    private final boolean[] selected;
+    private final Slot[] slots;
+    private final int timeoutMillis;
+    private final Runnable closeAction;
+    private final WmiClassObject[] batch;
+
+    private int batchCount = 0;
+    private int batchPosition = 0;
+    private int row = -1;
+    private boolean onRow = false;
+    private boolean exhausted = false;
+    private boolean closed = false;
+
+    /**
+     * Creates a new cursor positioned before the first object.
+     *
+     * @param enumerator    the enumeration to consume, owned by this cursor from now on
+     * @param query         the query that produced the enumeration, defining the properties to read
+     * @param batchSize     the maximum number of objects fetched per call to the enumeration
+     * @param timeoutMillis the timeout of each fetch in milliseconds, or {@link Wbemcli#WBEM_INFINITE}
+     * @param closeAction   action run once after the enumeration has been released, e.g. returning a pooled connection
+     */
+    public WmiResultCursor(WmiObjectEnumerator enumerator, WqlQuery<P> query, int batchSize, int timeoutMillis, Runnable closeAction) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("batchSize must be at least 1");
+
+        this.enumerator = enumerator;
+        this.propertyEnum = query.getPropertyEnum();
+        this.properties = propertyEnum.getEnumConstants();
+        this.selected = new boolean[properties.length];
+        this.slots = new Slot[properties.length];
+        EnumSet<P> selectedProperties = query.getSelectedProperties();
+        for (P property : properties) {
+            selected[property.ordinal()] = selectedProperties.contains(property);
+            slots[property.ordinal()] = new Slot();
+        }
+        this.timeoutMillis = timeoutMillis;
+        this.closeAction = closeAction;
+        this.batch = new WmiClassObject[batchSize];
+    }
+
+    @Override
+    public boolean next() {
+        if (exhausted)
+            return false;
+
+        row++;
+        onRow = false;
+        try {
+            if (closed || (batchPosition == batchCount && !fetchBatch())) {
+                exhausted = true;
+                close();
+                return false;
+            }
+
+            WmiClassObject object = batch[batchPosition];
+            batch[batchPosition++] = null;
+            try {
+                read(object);
+            } finally {
+                object.release();
+            }
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+
+        onRow = true;
+        return true;
+    }
+
+    @Override
+    public int getRow() {
+        return row;
+    }
+
+    @Override
+    public Class<P> getPropertyEnum() {
+        return propertyEnum;
+    }
+
+    @Override
+    public boolean isNull(P property) {
+        return !slot(property).present;
+    }
+
+    @Override
+    public int getInt(P property) {
+        Slot slot = slot(property);
+        if (!slot.present)
+            return 0;
+
+        slot.check(property, ColumnType.INT);
+        return (int) slot.bits;
+    }
+
+    @Override
+    public long getLong(P property) {
+        Slot slot = slot(property);
+        if (!slot.present)
+            return 0L;
+
+        if (slot.type == ColumnType.INT && slot.misfit == null)
+            return Integer.toUnsignedLong((int) slot.bits);
+
+        slot.check(property, ColumnType.LONG);
+        return slot.bits;
+    }
+
+    @Override
+    public boolean getBoolean(P property) {
+        Slot slot = slot(property);
+        if (!slot.present)
+            return false;
+
+        slot.check(property, ColumnType.BOOLEAN);
+        return slot.bits != 0;
+    }
+
+    @Override
+    public int getString(P property, CharBuffer target) {
+        Slot slot = slot(property);
+        if (!slot.present)
+            return -1;
+
+        slot.check(property, ColumnType.STRING);
+        int length = slot.end - slot.begin;
+        if (target.remaining() < length)
+            throw new BufferOverflowException();
+        for (int i = slot.begin; i < slot.end; i++)
+            target.put((char) slot.units[i]);
+        return length;
+    }
+
+    /**
+     * Releases the objects left in the current batch and the enumeration, then runs the close action.
+     * Calling this method more than once has no effect.
+     */
+    @Override
+    public void close() {
+        if (closed)
+            return;
+
+        closed = true;
+        try {
+            for (int i = batchPosition; i < batchCount; i++) {
+                batch[i].release();
+                batch[i] = null;
+            }
+            batchPosition = batchCount;
+            enumerator.close();
+        } finally {
+            closeAction.run();
+        }
+    }
+
+    private boolean fetchBatch() {
+        int count;
+        try {
+            count = enumerator.next(timeoutMillis, batch);
+        } catch (TimeoutException e) {
+            throw new COMException(e.getMessage(), e);
+        }
+
+        batchCount = count;
+        batchPosition = 0;
+        return count > 0;
+    }
+
+    private void read(WmiClassObject object) {
+        for (P property : properties) {
+            if (!selected[property.ordinal()])
+                continue;
+
+            Slot slot = slots[property.ordinal()];
+            slot.clear();
+            if (!slot.typed)
+                slot.setCimType(object.getCimType(property.name()));
+            object.decode(property.name(), slot);
+        }
+    }
+
+    private Slot slot(P property) {
+        if (!onRow)
+            throw new IllegalStateException("The cursor is not on a row, call next() first.");
+        return slots[property.ordinal()];
+    }
+
+    // Decodes the value of its property in the current row, reusing its storage for every row
+    private static final class Slot implements WmiPropertyDecoder {
+
+        private ColumnType type = ColumnType.EMPTY;
+        private int cimType = Wbemcli.CIM_EMPTY;
+
+        // Set once the CIM type of the property has been read, even if it was unknown
+        private boolean typed = false;
+        private boolean present = false;
+
+        // INT and LONG values, or 1 for a true BOOLEAN
+        private long bits;
+
+        // The UTF-16 units of a STRING value, trimmed to [begin, end)
+        private short[] units = new short[64];
+        private int begin;
+        private int end;
+
+        // A value that does not fit the type of the property
+        @Nullable
+        private Object misfit;
+
+        private void setCimType(int cimType) {
+            typed = true;
+            this.cimType = cimType;
+            type = ColumnType.of(cimType);
+        }
+
+        private void clear() {
+            present = false;
+            misfit = null;
+        }
+
+        @Override
+        @Nullable
+        public Object decodeValue(@Nullable Object value) {
+            if (value == null)
+                return null;
+            if (type == ColumnType.EMPTY)
+                type = ColumnType.of(value);
+
+            if (!store(value))
+                misfit = value;
+            present = true;
+            return null;
+        }
+
+        @Override
+        @Nullable
+        public Object decodeVariant(Variant.VARIANT variant) {
+            int vtType = variant.getPointer().getShort(0);
+            if (vtType == Variant.VT_EMPTY || vtType == Variant.VT_NULL)
+                return null;
+            if (!readsDirectly(vtType))
+                return WmiPropertyDecoder.super.decodeVariant(variant);
+
+            switch (type) {
+                case INT -> bits = CastUtil.toInt(variant);
+                case LONG -> {
+                    long value;
+                    try {
+                        value = CastUtil.toLong(variant);
+                    } catch (NumberFormatException e) {
+                        // Such as uint64 values above Long.MAX_VALUE, which the boxed path parses as unsigned
+                        return WmiPropertyDecoder.super.decodeVariant(variant);
+                    }
+                    if (value < 0 && cimType == Wbemcli.CIM_UINT64)
+                        return WmiPropertyDecoder.super.decodeVariant(variant);
+                    bits = value;
+                }
+                case BOOLEAN -> bits = CastUtil.toBoolean(variant) ? 1 : 0;
+                default -> readString(variant);
+            }
+            present = true;
+            return null;
+        }
+
+        // The VARIANT types read straight into the slot, with the same result as the boxed path
+        private boolean readsDirectly(int vtType) {
+            return switch (type) {
+                case INT -> vtType == Variant.VT_I4 || vtType == Variant.VT_I2 || vtType == Variant.VT_UI1;
+                case LONG -> vtType == Variant.VT_BSTR || vtType == Variant.VT_I4 || vtType == Variant.VT_I2;
+                case BOOLEAN -> vtType == Variant.VT_BOOL;
+                case STRING -> vtType == Variant.VT_BSTR;
+                default -> false;
+            };
+        }
+
+        // Grows the units once if the string does not fit
+        private void readString(Variant.VARIANT variant) {
+            int length = CastUtil.readUtf16(variant, units);
+            if (length > units.length) {
+                units = new short[Math.max(length, 2 * units.length)];
+                CastUtil.readUtf16(variant, units);
+            }
+            trim(length);
+        }
+
+        // Returns false if the value does not fit the type of the property
+        private boolean store(Object value) {
+            switch (type) {
+                case INT -> {
+                    switch (value) {
+                        case Integer i -> bits = i;
+                        case Short s -> bits = Short.toUnsignedInt(s);
+                        case Byte b -> bits = Byte.toUnsignedInt(b);
+                        default -> {
+                            return false;
+                        }
+                    }
+                }
+                case LONG -> {
+                    switch (value) {
+                        case Integer i -> bits = Integer.toUnsignedLong(i);
+                        case Short s -> bits = Short.toUnsignedLong(s);
+                        case String text -> {
+                            return parseLong(text);
+                        }
+                        default -> {
+                            return false;
+                        }
+                    }
+                }
+                case BOOLEAN -> {
+                    if (!(value instanceof Boolean b))
+                        return false;
+                    bits = b ? 1 : 0;
+                }
+                case STRING -> {
+                    if (!(value instanceof String text))
+                        return false;
+                    if (units.length < text.length())
+                        units = new short[Math.max(text.length(), 2 * units.length)];
+                    for (int i = 0; i < text.length(); i++)
+                        units[i] = (short) text.charAt(i);
+                    trim(text.length());
+                }
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean parseLong(String text) {
+            try {
+                bits = cimType == Wbemcli.CIM_UINT64 ? Long.parseUnsignedLong(text.trim()) : CastUtil.parseLong(text);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        // Same characters as String.trim()
+        private void trim(int length) {
+            begin = 0;
+            while (begin < length && units[begin] >= 0 && units[begin] <= ' ')
+                begin++;
+            end = length;
+            while (end > begin && units[end - 1] >= 0 && units[end - 1] <= ' ')
+                end--;
+        }
+
+        private void check(Enum<?> property, ColumnType expected) {
+            if (misfit != null)
+                throw new IllegalStateException("Property " + property.name() + " holds a " + misfit.getClass().getSimpleName()
+                        + ", which does not fit " + type + ".");
+            if (type != expected)
+                throw new IllegalStateException("Property " + property.name() + " is stored as " + type + ", not " + expected + ".");
+        }
+    }
+}
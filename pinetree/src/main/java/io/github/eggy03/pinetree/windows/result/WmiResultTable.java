@@ -0,0 +1,174 @@
+package io.github.eggy03.pinetree.windows.result;
+
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import com.sun.jna.platform.win32.COM.WbemcliUtil;
+import com.sun.jna.platform.win32.Variant;
+import io.github.eggy03.pinetree.windows.com.WmiClassObject;
+import io.github.eggy03.pinetree.windows.com.WmiValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A writable {@link WbemcliUtil.WmiResult} that is filled by the query execution code of this library.
+ * <p>
+ * JNA only populates {@link WbemcliUtil.WmiResult} from inside {@link WbemcliUtil.WmiQuery#execute()}, which opens
+ * a new connection to WMI on every call. This class keeps the exact same read contract
+ * ({@link #getValue(Enum, int)}, {@link #getVtType(Enum)}, {@link #getCIMType(Enum)}, {@link #getResultCount()})
+ * so that every mapper implementing {@link io.github.eggy03.pinetree.windows.mapper.CommonMappingInterface}
+ * can consume it unchanged, while allowing the library to enumerate results over its own connections.
+ * </p>
+ * Values are added column by column for the current row via {@link #add(Enum, int, int, Object)} and the row
+ * is committed with {@link #incrementCount()}, mirroring the way JNA builds its own results. A table can be shared
+ * between callers once it has been copied with {@link #toReadOnlyCopy()}.
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are not thread-safe while being written. Once fully populated they may be read from any thread.
+ *
+ * @param <T> the enum type defining the property fields of the WMI class
+ * @since 1.0
+ */
+public class WmiResultTable<T extends Enum<T>> extends WbemcliUtil.WmiResult<T> {
+
+    private final Class<T> propertyEnum;
+    private final Map<T, List<Object>> valueMap;
+    private final Map<T, Integer> vtTypeMap;
+    private final Map<T, Integer> cimTypeMap;
+    private final T[] properties;
+    private final WmiValue scratch = new WmiValue();
+    private int resultCount = 0;
+    private boolean complete = true;
+    private boolean readOnly = false;
+
+    /**
+     * Creates an empty result table for the given property enum.
+     *
+     * @param propertyEnum the enum defining the class properties held by this table
+     */
+    public WmiResultTable(Class<T> propertyEnum) {
+        WbemcliUtil.INSTANCE.super(propertyEnum);
+
+        this.propertyEnum = propertyEnum;
+        valueMap = new EnumMap<>(propertyEnum);
+        vtTypeMap = new EnumMap<>(propertyEnum);
+        cimTypeMap = new EnumMap<>(propertyEnum);
+        properties = propertyEnum.getEnumConstants();
+
+        for (T property : properties) {
+            valueMap.put(property, new ArrayList<>());
+            vtTypeMap.put(property, Variant.VT_NULL);
+            cimTypeMap.put(property, Wbemcli.CIM_EMPTY);
+        }
+    }
+
+    /**
+     * Adds a value of the given property to the row currently being written.
+     *
+     * @param property the property the value belongs to
+     * @param vtType   the VARIANT type of the value as reported by WMI
+     * @param cimType  the CIM type of the property as reported by WMI
+     * @param value    the decoded value, may be {@code null}
+     */
+    public void add(T property, int vtType, int cimType, Object value) {
+        checkWritable();
+        valueMap.get(property).add(value);
+        if (vtType != Variant.VT_NULL && vtType != Variant.VT_EMPTY) {
+            vtTypeMap.put(property, vtType);
+        }
+        if (cimTypeMap.get(property) == Wbemcli.CIM_EMPTY) {
+            cimTypeMap.put(property, cimType);
+        }
+    }
+
+    /**
+     * Reads the given properties of an object and appends them as a new row.
+     * <p>
+     * Properties that are not part of {@code selectedProperties} are not read and are stored as {@code null}.
+     * The object is not released by this method.
+     * </p>
+     *
+     * @param object             the object to read
+     * @param selectedProperties the properties to read from the object
+     */
+    public void addRow(WmiClassObject object, Set<T> selectedProperties) {
+        checkWritable();
+        for (T property : properties) {
+            if (selectedProperties.contains(property)) {
+                object.get(property.name(), scratch);
+                add(property, scratch.getVtType(), scratch.getCimType(), scratch.getValue());
+            } else {
+                add(property, Variant.VT_NULL, Wbemcli.CIM_EMPTY, null);
+            }
+        }
+        incrementCount();
+    }
+
+    /**
+     * Commits the row currently being written.
+     */
+    public void incrementCount() {
+        checkWritable();
+        resultCount++;
+    }
+
+    /**
+     * Marks this table as holding only part of the result, e.g. because the enumeration ran out of time.
+     */
+    public void markIncomplete() {
+        checkWritable();
+        complete = false;
+    }
+
+    /**
+     * @return {@code false} if the enumeration that filled this table was cut short and more rows may exist
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Copies the committed rows of this table into a table that can no longer be written.
+     *
+     * @return a copy of this table whose writing methods throw {@link UnsupportedOperationException}
+     */
+    public WmiResultTable<T> toReadOnlyCopy() {
+        WmiResultTable<T> copy = new WmiResultTable<>(propertyEnum);
+        for (T property : properties)
+            copy.valueMap.put(property, Collections.unmodifiableList(new ArrayList<>(valueMap.get(property).subList(0, resultCount))));
+        copy.vtTypeMap.putAll(vtTypeMap);
+        copy.cimTypeMap.putAll(cimTypeMap);
+        copy.resultCount = resultCount;
+        copy.complete = complete;
+        copy.readOnly = true;
+        return copy;
+    }
+
+    @Override
+    public Object getValue(T property, int index) {
+        return valueMap.get(property).get(index);
+    }
+
+    @Override
+    public int getVtType(T property) {
+        return vtTypeMap.get(property);
+    }
+
+    @Override
+    public int getCIMType(T property) {
+        return cimTypeMap.get(property);
+    }
+
+    @Override
+    public int getResultCount() {
+        return resultCount;
+    }
+
+    private void checkWritable() {
+        if (readOnly)
+            throw new UnsupportedOperationException("This result table is a read-only copy.");
+    }
+}
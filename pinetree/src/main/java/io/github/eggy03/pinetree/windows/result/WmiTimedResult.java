@@ -0,0 +1,79 @@
+package io.github.eggy03.pinetree.windows.result;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of a query bounded by a timeout.
+ * <p>
+ * A query either completes, or runs out of time. In the latter case {@code getRows()} holds whatever was received
+ * before the timeout, which is empty if the query had to be abandoned or never started.
+ * </p>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are immutable and thread-safe.
+ *
+ * @param <S> the entity type
+ * @since 1.0
+ */
+@Value
+@Builder(toBuilder = true)
+public class WmiTimedResult<S> {
+
+    /**
+     * The entities received in time, possibly a subset of all matching instances
+     */
+    @NonNull
+    @Builder.Default
+    List<S> rows = List.of();
+
+    /**
+     * How the query ended
+     */
+    @NonNull
+    Status status;
+
+    /**
+     * The time from submission until the outcome was known
+     */
+    @NonNull
+    Duration elapsed;
+
+    /**
+     * @return {@code true} if every matching instance has been received
+     */
+    public boolean isComplete() {
+        return status == Status.COMPLETE;
+    }
+
+    /**
+     * Possible outcomes of a bounded query.
+     */
+    public enum Status {
+
+        /**
+         * The query completed in time
+         */
+        COMPLETE,
+
+        /**
+         * The enumeration ran out of time, the rows received so far are available
+         */
+        PARTIAL,
+
+        /**
+         * The query missed its hard deadline while hanging inside COM, its worker was abandoned. No rows are available
+         */
+        ABANDONED,
+
+        /**
+         * The query missed its hard deadline while still waiting for a free worker and was never started.
+         * No rows are available
+         */
+        QUEUE_TIMEOUT
+    }
+}
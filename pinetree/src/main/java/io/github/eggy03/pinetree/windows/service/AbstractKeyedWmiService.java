@@ -0,0 +1,110 @@
+package io.github.eggy03.pinetree.windows.service;
+
+import io.github.eggy03.pinetree.windows.concurrent.ComExecutor;
+import io.github.eggy03.pinetree.windows.enums.WmiClassname;
+import io.github.eggy03.pinetree.windows.mapper.CommonMappingInterface;
+import io.github.eggy03.pinetree.windows.query.WmiObjectPath;
+import io.github.eggy03.pinetree.windows.result.WmiResultTable;
+import io.github.eggy03.pinetree.windows.util.WmiUtil;
+import lombok.Getter;
+
+import java.util.Optional;
+
+/**
+ * Base class of the services of a WMI class whose instances are identified by a single string key property, adding
+ * the lookups of {@link KeyedServiceInterface} to those of {@link AbstractWmiService}.
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are stateless and thread-safe, as long as the mapper is.
+ *
+ * @param <S> the entity type
+ * @param <P> the type of the property enum
+ * @since 1.0
+ */
+public abstract class AbstractKeyedWmiService<S, P extends Enum<P>> extends AbstractWmiService<S, P> implements KeyedServiceInterface<S> {
+
+    /**
+     * The key property of the class, e.g. {@code DeviceID}
+     */
+    @Getter
+    private final P keyProperty;
+
+    /**
+     * @param nameSpace    the WMI namespace of the class, e.g. {@code root/cimv2}
+     * @param wmiClassname the WMI class, whose settings such as the watchdog timeout apply to every query
+     * @param propertyEnum the enum defining the class properties
+     * @param mapper       the mapper converting the results into entities, shared by every query
+     * @param keyProperty  the key property of the class, e.g. {@code DeviceID}
+     */
+    protected AbstractKeyedWmiService(String nameSpace, WmiClassname wmiClassname, Class<P> propertyEnum, CommonMappingInterface<S, P> mapper,
+                                      P keyProperty) {
+        super(nameSpace, wmiClassname, propertyEnum, mapper);
+        this.keyProperty = keyProperty;
+    }
+
+    /**
+     * Retrieves the instance with the given key from the system, without enumerating the other instances.
+     * <p>
+     * This method requires you to manually initialize and uninitialize the COM library.
+     * </p>
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * try{
+     *     ComUtil.initialize();
+     *     new VideoControllerService().getByKey("VideoController1").ifPresent(gpu -> System.out.println(gpu.toString()));
+     * } finally {
+     *     ComUtil.uninitialize();
+     * }
+     * }
+     * </pre>
+     * @param key the value of the key property of the instance
+     * @return the entity, or an empty optional if there is no instance with this key
+     */
+    @Override
+    public Optional<S> getByKey(String key) {
+
+        WmiResultTable<P> result = WmiUtil.getObject(
+                getNameSpace(),
+                objectPath(key),
+                getPropertyEnum()
+        );
+
+        return getMapper().toEntityList(result).stream().findFirst();
+    }
+
+    /**
+     * Retrieves the instance with the given key from the system, without enumerating the other instances.
+     * <p>
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually.
+     * </p>
+     *
+     * @param key the value of the key property of the instance
+     * @return the entity, or an empty optional if there is no instance with this key
+     */
+    @Override
+    public Optional<S> getByKeyManaged(String key) {
+        return ComExecutor.getDefault().call(() -> getByKey(key));
+    }
+
+    /**
+     * Creates a service sampling the instance with the given key through a WMI refresher.
+     *
+     * @param key the value of the key property of the instance
+     * @return a new refreshing service, to be closed once sampling is done
+     * @see #refreshing()
+     */
+    public RefreshingService<S> refreshing(String key) {
+        return RefreshingService.ofObject(
+                getNameSpace(),
+                objectPath(key),
+                getPropertyEnum(),
+                getMapper()
+        );
+    }
+
+    private String objectPath(String key) {
+        return WmiObjectPath.format(getWmiClassname().getClassName(), keyProperty, key);
+    }
+}
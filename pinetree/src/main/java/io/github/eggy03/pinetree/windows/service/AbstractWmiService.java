@@ -0,0 +1,479 @@
+package io.github.eggy03.pinetree.windows.service;
+
+import com.sun.jna.platform.win32.COM.WbemcliUtil;
+import io.github.eggy03.pinetree.windows.concurrent.ComExecutor;
+import io.github.eggy03.pinetree.windows.concurrent.QueryWatchdog;
+import io.github.eggy03.pinetree.windows.enums.WmiClassname;
+import io.github.eggy03.pinetree.windows.event.WmiEventListener;
+import io.github.eggy03.pinetree.windows.event.WmiSubscription;
+import io.github.eggy03.pinetree.windows.mapper.CommonMappingInterface;
+import io.github.eggy03.pinetree.windows.mapper.EntityView;
+import io.github.eggy03.pinetree.windows.query.WqlEventQuery;
+import io.github.eggy03.pinetree.windows.query.WqlQuery;
+import io.github.eggy03.pinetree.windows.result.ColumnarResult;
+import io.github.eggy03.pinetree.windows.result.ResultCursor;
+import io.github.eggy03.pinetree.windows.result.WmiTimedResult;
+import io.github.eggy03.pinetree.windows.util.WmiUtil;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Base class of the services of a single WMI class, implementing every query of {@link QueryableServiceInterface}
+ * once for all of them.
+ * <p>
+ * A service only has to name its class, namespace, property enum and mapper. The services of the entities annotated
+ * with {@link io.github.eggy03.pinetree.windows.annotation.WmiClass} are generated this way; hand-written services
+ * extend this class only to add the queries that are specific to their class.
+ * </p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * public class ProcessorService extends AbstractWmiService<Processor, ProcessorProperty> {
+ *
+ *     public ProcessorService() {
+ *         super("root/cimv2", WmiClassname.WIN32_PROCESSOR, ProcessorProperty.class, new ProcessorMapper());
+ *     }
+ * }
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are stateless and thread-safe, as long as the mapper is.
+ *
+ * @param <S> the entity type
+ * @param <P> the type of the property enum
+ * @since 1.0
+ */
+public abstract class AbstractWmiService<S, P extends Enum<P>> implements QueryableServiceInterface<S, P> {
+
+    /**
+     * The WMI namespace of the class, e.g. {@code root/cimv2}
+     */
+    @Getter
+    private final String nameSpace;
+
+    /**
+     * The WMI class queried by this service
+     */
+    @Getter
+    private final WmiClassname wmiClassname;
+
+    /**
+     * The enum defining the class properties
+     */
+    @Getter
+    private final Class<P> propertyEnum;
+
+    /**
+     * The mapper converting the results into entities
+     */
+    @Getter
+    private final CommonMappingInterface<S, P> mapper;
+
+    /**
+     * @param nameSpace    the WMI namespace of the class, e.g. {@code root/cimv2}
+     * @param wmiClassname the WMI class, whose settings such as the watchdog timeout apply to every query
+     * @param propertyEnum the enum defining the class properties
+     * @param mapper       the mapper converting the results into entities, shared by every query
+     */
+    protected AbstractWmiService(String nameSpace, WmiClassname wmiClassname, Class<P> propertyEnum, CommonMappingInterface<S, P> mapper) {
+        this.nameSpace = nameSpace;
+        this.wmiClassname = wmiClassname;
+        this.propertyEnum = propertyEnum;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Retrieves every instance of the class from the system.
+     * <p>
+     * This method requires you to manually initialize and uninitialize the COM library.
+     * </p>
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * try{
+     *     ComUtil.initialize();
+     *     List<Processor> cpuList = new ProcessorService().get();
+     *     cpuList.forEach(cpu -> System.out.println(cpu.toString()));
+     * } finally {
+     *     ComUtil.uninitialize();
+     * }
+     * }
+     * </pre>
+     * @return list of entities retrieved via WMI
+     */
+    @Override
+    public List<S> get() {
+
+        WbemcliUtil.WmiResult<P> result = WmiUtil.getResult(
+                nameSpace,
+                wmiClassname.getClassName(),
+                propertyEnum
+        );
+
+        return mapper.toEntityList(result);
+    }
+
+    /**
+     * Retrieves every instance of the class from the system.
+     * <p>
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually.
+     * </p>
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * List<Processor> cpuList = new ProcessorService().getManaged();
+     * cpuList.forEach(cpu -> System.out.println(cpu.toString()));
+     * }
+     * </pre>
+     * @return list of entities retrieved via WMI
+     */
+    @Override
+    public List<S> getManaged() {
+
+        // Run on a long-lived worker of the COM executor, which keeps COM initialized
+        return ComExecutor.getDefault().call(this::get);
+    }
+
+    /**
+     * Retrieves the instances matching the given query from the system.
+     * <p>
+     * The condition of the query is evaluated by the WMI provider, so only matching instances are returned.
+     * This method requires you to manually initialize and uninitialize the COM library.
+     * </p>
+     *
+     * @param query the query selecting the instances to retrieve
+     * @return list of entities matching the query
+     */
+    @Override
+    public List<S> get(WqlQuery<P> query) {
+
+        WbemcliUtil.WmiResult<P> result = WmiUtil.getResult(
+                nameSpace,
+                wmiClassname.getClassName(),
+                query
+        );
+
+        return mapper.toEntityList(result);
+    }
+
+    /**
+     * Retrieves the instances matching the given query from the system.
+     * <p>
+     * The condition of the query is evaluated by the WMI provider, so only matching instances are returned.
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually.
+     * </p>
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * WqlQuery<ProcessorProperty> query = WqlQuery.from(ProcessorProperty.class)
+     *     .select(EnumSet.of(ProcessorProperty.DeviceID, ProcessorProperty.MaxClockSpeed))
+     *     .where(WqlCondition.gt(ProcessorProperty.MaxClockSpeed, 3000));
+     * List<Processor> fastCpus = new ProcessorService().getManaged(query);
+     * }
+     * </pre>
+     * @param query the query selecting the instances to retrieve
+     * @return list of entities matching the query
+     */
+    @Override
+    public List<S> getManaged(WqlQuery<P> query) {
+
+        // Run on a long-lived worker of the COM executor, which keeps COM initialized
+        return ComExecutor.getDefault().call(() -> get(query));
+    }
+
+    /**
+     * Streams the instances matching the given query from the system, batch by batch.
+     * <p>
+     * Only one batch of at most {@code batchSize} objects is held in memory at a time.
+     * This method requires you to manually initialize and uninitialize the COM library,
+     * and the stream must be closed on the thread that consumed it.
+     * </p>
+     *
+     * @param query     the query selecting the instances to retrieve
+     * @param batchSize the maximum number of objects fetched per round trip
+     * @return stream of entities matching the query
+     */
+    @Override
+    public Stream<S> stream(WqlQuery<P> query, int batchSize) {
+        return WmiUtil.stream(
+                nameSpace,
+                wmiClassname.getClassName(),
+                query,
+                mapper,
+                batchSize
+        );
+    }
+
+    /**
+     * Retrieves every instance of the class from the system asynchronously.
+     * <p>
+     * The query is issued via {@code ExecQueryAsync}, so the calling thread is not blocked.
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually.
+     * </p>
+     *
+     * @return future completed with the entities retrieved via WMI
+     */
+    @Override
+    public CompletableFuture<List<S>> getAsync() {
+        return getAsync(WqlQuery.from(propertyEnum));
+    }
+
+    /**
+     * Retrieves the instances matching the given query from the system asynchronously.
+     * <p>
+     * The query is issued via {@code ExecQueryAsync}, so the calling thread is not blocked, and each entity is passed
+     * to the listener as soon as it arrives. Cancelling the returned future cancels the query.
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually.
+     * </p>
+     *
+     * @param query       the query selecting the instances to retrieve
+     * @param rowListener listener receiving each entity as it arrives
+     * @return future completed with the entities matching the query
+     */
+    @Override
+    public CompletableFuture<List<S>> getAsync(WqlQuery<P> query, Consumer<? super S> rowListener) {
+        return WmiUtil.getResultAsync(
+                nameSpace,
+                wmiClassname.getClassName(),
+                query,
+                mapper,
+                rowListener
+        );
+    }
+
+    /**
+     * Retrieves the instances matching the given query from the system, giving up once the timeout has elapsed.
+     * <p>
+     * If WMI stops delivering results in time, the instances received so far are returned as a partial result.
+     * If the query hangs inside COM, its worker is abandoned and an empty result is returned.
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually.
+     * </p>
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * WmiTimedResult<Processor> result = new ProcessorService().getBounded(WqlQuery.from(ProcessorProperty.class), Duration.ofSeconds(5));
+     * if (!result.isComplete())
+     *     System.out.println("Query ended as " + result.getStatus());
+     * result.getRows().forEach(cpu -> System.out.println(cpu.toString()));
+     * }</pre>
+     * @param query   the query selecting the instances to retrieve
+     * @param timeout the maximum duration of the query
+     * @return the outcome of the query, with the entities received in time
+     */
+    @Override
+    public WmiTimedResult<S> getBounded(WqlQuery<P> query, Duration timeout) {
+
+        // Run under the watchdog, the enumeration itself also stops once what is left of the timeout has elapsed
+        return QueryWatchdog.getDefault().run(
+                wmiClassname,
+                timeout,
+                remaining -> WmiUtil.getResult(nameSpace, wmiClassname.getClassName(), query, remaining),
+                mapper
+        );
+    }
+
+    /**
+     * Retrieves the instances matching the given query from the system, giving up once the timeout configured for the
+     * class has elapsed.
+     * <p>
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually.
+     * </p>
+     *
+     * @param query the query selecting the instances to retrieve
+     * @return the outcome of the query, with the entities received in time
+     * @see QueryWatchdog#setTimeout(WmiClassname, Duration)
+     */
+    @Override
+    public WmiTimedResult<S> getBounded(WqlQuery<P> query) {
+        return getBounded(query, QueryWatchdog.getDefault().getTimeout(wmiClassname));
+    }
+
+    /**
+     * Subscribes to changes of the instances of the class, pushed by WMI as they happen instead of being polled.
+     * <p>
+     * Each event is mapped into entities and passed to the matching callback of the listener, on threads owned by COM.
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually.
+     * </p>
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * WqlEventQuery events = WqlEventQuery.of(EnumSet.of(WmiEventType.CREATION, WmiEventType.DELETION), Duration.ofSeconds(2));
+     * try (WmiSubscription subscription = new MonitorService().subscribe(events, new WmiEventListener<>() {
+     *     @Override
+     *     public void onCreated(Monitor monitor) {
+     *         System.out.println("connected " + monitor);
+     *     }
+     *
+     *     @Override
+     *     public void onDeleted(Monitor monitor) {
+     *         System.out.println("disconnected " + monitor);
+     *     }
+     * })) {
+     *     // receive events until closed
+     * }
+     * }</pre>
+     * @param eventQuery the event types to receive and the polling interval
+     * @param listener   the listener receiving the typed changes
+     * @return the active subscription, to be closed when no longer needed
+     */
+    @Override
+    public WmiSubscription subscribe(WqlEventQuery eventQuery, WmiEventListener<? super S> listener) {
+        return WmiUtil.subscribe(
+                nameSpace,
+                wmiClassname.getClassName(),
+                propertyEnum,
+                mapper,
+                eventQuery,
+                listener
+        );
+    }
+
+    /**
+     * Retrieves the instances matching the given query from the system as lazy views, which convert each property on first access.
+     * <p>
+     * The views have the getters and the Gson output of the entities returned by {@link #get(WqlQuery)}, but only the
+     * properties that are actually read are converted. Prefer this method when only a few properties of each instance
+     * are needed. Generated services return their generated views, e.g. {@code List<VideoControllerView>}.
+     * This method requires you to manually initialize and uninitialize the COM library,
+     * the views themselves can be read after COM has been uninitialized.
+     * </p>
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * try{
+     *     ComUtil.initialize();
+     *     List<VideoControllerView> gpuList = new VideoControllerService().getLazy(WqlQuery.from(VideoControllerProperty.class));
+     *     gpuList.forEach(gpu -> System.out.println(gpu.getCurrentRefreshRate()));
+     * } finally {
+     *     ComUtil.uninitialize();
+     * }
+     * }</pre>
+     * @param query the query selecting the instances to retrieve
+     * @return list of views of the entities matching the query
+     * @throws UnsupportedOperationException if the mapper does not return views
+     * @see EntityView
+     */
+    public List<? extends EntityView<S>> getLazy(WqlQuery<P> query) {
+
+        WbemcliUtil.WmiResult<P> result = WmiUtil.getResult(
+                nameSpace,
+                wmiClassname.getClassName(),
+                query
+        );
+
+        return mapper.toLazyEntityList(result);
+    }
+
+    /**
+     * Retrieves the instances matching the given query from the system as lazy views, which convert each property on first access.
+     * <p>
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually.
+     * </p>
+     *
+     * @param query the query selecting the instances to retrieve
+     * @return list of views of the entities matching the query
+     * @throws UnsupportedOperationException if the mapper does not return views
+     * @see #getLazy(WqlQuery)
+     */
+    public List<? extends EntityView<S>> getLazyManaged(WqlQuery<P> query) {
+        return ComExecutor.getDefault().call(() -> getLazy(query));
+    }
+
+    /**
+     * Retrieves the instances matching the given query as a {@link ColumnarResult}, without building entities.
+     * <p>
+     * Numeric properties are stored in primitive columns, so aggregations over them do not box any value.
+     * This method requires you to manually initialize and uninitialize the COM library.
+     * </p>
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * ColumnarResult<PhysicalMemoryProperty> memory = new PhysicalMemoryService().getColumnar(
+     *     WqlQuery.from(PhysicalMemoryProperty.class).select(EnumSet.of(PhysicalMemoryProperty.Capacity)));
+     * long totalCapacity = 0;
+     * for (int row = 0; row < memory.getRowCount(); row++)
+     *     totalCapacity += memory.getLong(PhysicalMemoryProperty.Capacity, row);
+     * }
+     * </pre>
+     * @param query the query selecting the instances and the properties to retrieve
+     * @return the matching instances, stored column by column
+     */
+    public ColumnarResult<P> getColumnar(WqlQuery<P> query) {
+        return WmiUtil.getColumnarResult(
+                nameSpace,
+                wmiClassname.getClassName(),
+                query
+        );
+    }
+
+    /**
+     * Retrieves the instances matching the given query as a {@link ResultCursor}, without building entities.
+     * <p>
+     * Rows are streamed from the WMI enumeration and decoded one after the other into primitives and caller-owned
+     * buffers, so consuming them allocates nothing per row and the result is never stored, see
+     * {@link io.github.eggy03.pinetree.windows.result.WmiResultCursor}. The cursor must be consumed on the calling thread
+     * and closed, preferably with try-with-resources, to return its pooled connection.
+     * This method requires you to manually initialize and uninitialize the COM library.
+     * </p>
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * CharBuffer name = CharBuffer.allocate(128);
+     * try (ResultCursor<ProcessorProperty> cpus = new ProcessorService().getCursor(
+     *         WqlQuery.from(ProcessorProperty.class).select(EnumSet.of(ProcessorProperty.Name, ProcessorProperty.MaxClockSpeed)))) {
+     *     while (cpus.next()) {
+     *         name.clear();
+     *         cpus.getString(ProcessorProperty.Name, name);
+     *         sink.accept(name.flip(), cpus.getInt(ProcessorProperty.MaxClockSpeed));
+     *     }
+     * }
+     * }
+     * </pre>
+     * @param query the query selecting the instances and the properties to retrieve
+     * @return a cursor positioned before the first matching instance
+     */
+    public ResultCursor<P> getCursor(WqlQuery<P> query) {
+        return WmiUtil.getCursor(
+                nameSpace,
+                wmiClassname.getClassName(),
+                query
+        );
+    }
+
+    /**
+     * Creates a service sampling every instance of the class through a WMI refresher, for properties that keep changing.
+     * <p>
+     * Each refresh updates the already registered instances in place instead of re-running the query.
+     * </p>
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * try (RefreshingService<VideoController> gpus = new VideoControllerService().refreshing()) {
+     *     gpus.refreshManaged().forEach(gpu -> System.out.println(gpu.getCurrentRefreshRate()));
+     * }
+     * }
+     * </pre>
+     * @return a new refreshing service, to be closed once sampling is done
+     */
+    public RefreshingService<S> refreshing() {
+        return RefreshingService.ofClass(
+                nameSpace,
+                wmiClassname.getClassName(),
+                propertyEnum,
+                mapper
+        );
+    }
+}
@@ -4,6 +4,7 @@ import io.github.eggy03.pinetree.windows.util.ComUtil;
 import io.github.eggy03.pinetree.windows.util.WmiUtil;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Common service interface defining a contract for retrieving entity data {@link io.github.eggy03.pinetree.windows.entity},
@@ -14,6 +15,9 @@ import java.util.List;
  * <ul>
  *   <li>{@link #get()} – retrieve entity data while requiring the method caller to initialize and cleanup COM resources.</li>
  *   <li>{@link #getManaged()} – retrieve entity data without delegating the COM initialization and cleanup to the method caller.</li>
+ *   <li>{@link #getAsync()} – retrieve entity data without blocking the calling thread. The default implementation runs
+ *   {@link #getManaged()} on the common fork-join pool; the services of this library override it with a truly asynchronous
+ *   query, see {@link WmiUtil#getResultAsync}.</li>
  * </ul>
  *
  * <h2>Flow Description</h2>
@@ -24,7 +28,10 @@ import java.util.List;
  *       defined under the {@link io.github.eggy03.pinetree.windows.entity} package.</li>
  *   <li>The fully mapped entity list is returned to the caller.</li>
  *   <li>In {@link #getManaged()} implementations, {@link ComUtil#initialize()} and {@link ComUtil#uninitialize()} are invoked
- *       internally to handle COM lifecycle management, allowing the caller to use the service safely without manual setup.</li>
+ *       internally to handle COM lifecycle management, allowing the caller to use the service safely without manual setup.
+ *       The services of this library instead run {@link #get()} on a worker of
+ *       {@link io.github.eggy03.pinetree.windows.concurrent.ComExecutor#getDefault()}, which keeps COM initialized
+ *       for its whole lifetime, so the initialization is not repeated for every call.</li>
  * </ol>
  * <p>
  *     Implementations of the methods should take the help of utility classes {@link WmiUtil}
@@ -109,4 +116,23 @@ public interface CommonServiceInterface<S> {
     List<S> get();
 
     List<S> getManaged();
+
+    /**
+     * Retrieves entity data without blocking the calling thread.
+     * <p>
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually.
+     * </p>
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * new MonitorService().getAsync()
+     *     .thenAccept(monitorList -> monitorList.forEach(monitor -> System.out.println(monitor.toString())));
+     * }</pre>
+     *
+     * @return a future completed with the entities, cancelling it cancels the underlying query where supported
+     */
+    default CompletableFuture<List<S>> getAsync() {
+        return CompletableFuture.supplyAsync(this::getManaged);
+    }
 }
@@ -0,0 +1,40 @@
+package io.github.eggy03.pinetree.windows.service;
+
+import java.util.Optional;
+
+/**
+ * Common interface for services whose WMI class has a single key property, allowing point lookups of one instance.
+ * <p>
+ * A lookup calls {@code IWbemServices::GetObject} on the object path of the instance, e.g.
+ * {@code Win32_Processor.DeviceID="CPU0"}, so the provider only produces that instance instead of
+ * enumerating the whole class. The result is mapped by the regular mapper of the entity.
+ * </p>
+ *
+ * @param <S> the entity type
+ * @since 1.0
+ */
+public interface KeyedServiceInterface<S> {
+
+    /**
+     * Retrieves the entity with the given key.
+     * <p>
+     * This method requires you to manually initialize and uninitialize the COM library.
+     * </p>
+     *
+     * @param key the value of the key property of the WMI class
+     * @return the entity, or an empty optional if no instance has this key
+     */
+    Optional<S> getByKey(String key);
+
+    /**
+     * Retrieves the entity with the given key.
+     * <p>
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually.
+     * </p>
+     *
+     * @param key the value of the key property of the WMI class
+     * @return the entity, or an empty optional if no instance has this key
+     */
+    Optional<S> getByKeyManaged(String key);
+}
@@ -0,0 +1,239 @@
+package io.github.eggy03.pinetree.windows.service;
+
+import io.github.eggy03.pinetree.windows.event.WmiEventListener;
+import io.github.eggy03.pinetree.windows.event.WmiEventType;
+import io.github.eggy03.pinetree.windows.event.WmiSubscription;
+import io.github.eggy03.pinetree.windows.query.WqlEventQuery;
+import io.github.eggy03.pinetree.windows.query.WqlQuery;
+import io.github.eggy03.pinetree.windows.result.WmiTimedResult;
+import io.github.eggy03.pinetree.windows.util.ComUtil;
+import io.github.eggy03.pinetree.windows.util.WmiUtil;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Extension of {@link CommonServiceInterface} for services that can push a filter down to WMI.
+ * <p>
+ * Implementations are expected to provide, in addition to the unfiltered methods:
+ * </p>
+ * <ul>
+ *   <li>{@link #get(WqlQuery)} – retrieve the entities matching a query while requiring the method caller to initialize
+ *   and cleanup COM resources.</li>
+ *   <li>{@link #getManaged(WqlQuery)} – retrieve the entities matching a query without delegating the COM initialization
+ *   and cleanup to the method caller.</li>
+ * </ul>
+ * {@link #get(EnumSet)} and {@link #getManaged(EnumSet)} are provided on top of these and only retrieve the given
+ * properties. The fields of the returned entities that correspond to other properties are left {@code null}.
+ * The query is bound to the WMI class of the service and executed via {@link WmiUtil#getResult(String, String, WqlQuery)},
+ * so that the {@code WHERE} clause is evaluated by the WMI provider and only matching instances are marshalled.
+ * <p>
+ * {@link #stream(WqlQuery, int)} returns the matching entities lazily, batch by batch, via
+ * {@link WmiUtil#stream(String, String, WqlQuery, io.github.eggy03.pinetree.windows.mapper.CommonMappingInterface, int)},
+ * for results too large to be materialized at once. {@link #getAsync(WqlQuery, Consumer)} issues the query asynchronously via
+ * {@link WmiUtil#getResultAsync}, delivering entities as they arrive without blocking the calling thread.
+ * </p>
+ *
+ * <h2>Type Parameters</h2>
+ * <ul>
+ *   <li><b>&lt;S&gt;</b> – the entity type defined in {@link io.github.eggy03.pinetree.windows.entity} returned by the service implementation.</li>
+ *   <li><b>&lt;P&gt;</b> – the enum type defined in {@link io.github.eggy03.pinetree.windows.enums} representing the properties of the WMI class.</li>
+ * </ul>
+ *
+ * <h2>Example Implementation</h2>
+ * <pre>{@code
+ * public class MonitorService implements QueryableServiceInterface<Monitor, MonitorProperty> {
+ *
+ *     // get() and getManaged() as described in CommonServiceInterface
+ *
+ *     @Override
+ *     public List<Monitor> get(WqlQuery<MonitorProperty> query) {
+ *         WbemcliUtil.WmiResult<MonitorProperty> result = WmiUtil.getResult(
+ *             Namespace.DEFAULT.getValue(),
+ *             WmiClassname.WIN32_DESKTOP_MONITOR.getClassName(),
+ *             query
+ *         );
+ *         return new MonitorMapper().toEntityList(result);
+ *     }
+ *
+ *     @Override
+ *     public List<Monitor> getManaged(WqlQuery<MonitorProperty> query) {
+ *         try {
+ *             ComUtil.initialize();
+ *             return get(query);
+ *         } finally {
+ *             ComUtil.uninitialize();
+ *         }
+ *     }
+ * }
+ * }</pre>
+ *
+ * @param <S> the entity type returned by the service implementation
+ * @param <P> the enum type defining the properties of the WMI class
+ * @since 1.0
+ * @see ComUtil
+ */
+public interface QueryableServiceInterface<S, P extends Enum<P>> extends CommonServiceInterface<S> {
+
+    List<S> get(WqlQuery<P> query);
+
+    List<S> getManaged(WqlQuery<P> query);
+
+    /**
+     * Retrieves all instances of the class, fetching only the given properties.
+     * <p>
+     * This method requires you to manually initialize and uninitialize the COM library.
+     * </p>
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * try {
+     *     ComUtil.initialize();
+     *     List<VideoController> gpus = new VideoControllerService()
+     *         .get(EnumSet.of(VideoControllerProperty.DeviceID, VideoControllerProperty.CurrentRefreshRate));
+     * } finally {
+     *     ComUtil.uninitialize();
+     * }
+     * }</pre>
+     *
+     * @param properties the properties to retrieve, must not be empty
+     * @return list of entities with only the selected fields populated
+     */
+    default List<S> get(EnumSet<P> properties) {
+        return get(WqlQuery.from(properties));
+    }
+
+    /**
+     * Retrieves all instances of the class, fetching only the given properties.
+     * <p>
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually.
+     * </p>
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * List<VideoController> gpus = new VideoControllerService()
+     *     .getManaged(EnumSet.of(VideoControllerProperty.DeviceID, VideoControllerProperty.CurrentRefreshRate));
+     * }</pre>
+     *
+     * @param properties the properties to retrieve, must not be empty
+     * @return list of entities with only the selected fields populated
+     */
+    default List<S> getManaged(EnumSet<P> properties) {
+        return getManaged(WqlQuery.from(properties));
+    }
+
+    /**
+     * Streams the entities matching the given query, fetching {@code batchSize} objects from WMI at a time.
+     * <p>
+     * This method requires you to manually initialize and uninitialize the COM library. The stream must be consumed
+     * on the same thread and closed once done, preferably with try-with-resources.
+     * </p>
+     *
+     * @param query     the query selecting the entities to retrieve
+     * @param batchSize the maximum number of objects fetched per round trip
+     * @return a lazily populated, sequential stream of entities
+     */
+    Stream<S> stream(WqlQuery<P> query, int batchSize);
+
+    /**
+     * Streams the entities matching the given query, fetching {@link WmiUtil#DEFAULT_BATCH_SIZE} objects at a time.
+     * <p>
+     * This method requires you to manually initialize and uninitialize the COM library. The stream must be consumed
+     * on the same thread and closed once done, preferably with try-with-resources.
+     * </p>
+     *
+     * @param query the query selecting the entities to retrieve
+     * @return a lazily populated, sequential stream of entities
+     */
+    default Stream<S> stream(WqlQuery<P> query) {
+        return stream(query, WmiUtil.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Retrieves the entities matching the given query asynchronously, passing each one to the listener as it arrives.
+     * <p>
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually. The listener is invoked on threads owned by COM.
+     * </p>
+     *
+     * @param query       the query selecting the entities to retrieve
+     * @param rowListener listener receiving each entity as soon as it has been mapped
+     * @return a future completed with every matching entity, cancelling it cancels the query
+     */
+    CompletableFuture<List<S>> getAsync(WqlQuery<P> query, Consumer<? super S> rowListener);
+
+    /**
+     * Retrieves the entities matching the given query asynchronously.
+     * <p>
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually.
+     * </p>
+     *
+     * @param query the query selecting the entities to retrieve
+     * @return a future completed with every matching entity, cancelling it cancels the query
+     */
+    default CompletableFuture<List<S>> getAsync(WqlQuery<P> query) {
+        return getAsync(query, row -> {
+        });
+    }
+
+    /**
+     * Retrieves the entities matching the given query, giving up once the timeout has elapsed.
+     * <p>
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually. The query runs under the supervision of
+     * {@link io.github.eggy03.pinetree.windows.concurrent.QueryWatchdog#getDefault()}.
+     * </p>
+     *
+     * @param query   the query selecting the entities to retrieve
+     * @param timeout the maximum duration of the query
+     * @return the outcome of the query, with the entities received in time
+     */
+    WmiTimedResult<S> getBounded(WqlQuery<P> query, Duration timeout);
+
+    /**
+     * Retrieves the entities matching the given query, giving up once the timeout configured for the WMI class
+     * in {@link io.github.eggy03.pinetree.windows.concurrent.QueryWatchdog#getDefault()} has elapsed.
+     * <p>
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually.
+     * </p>
+     *
+     * @param query the query selecting the entities to retrieve
+     * @return the outcome of the query, with the entities received in time
+     */
+    WmiTimedResult<S> getBounded(WqlQuery<P> query);
+
+    /**
+     * Subscribes to changes of the entities of the system, pushed by WMI as they happen instead of being polled.
+     * <p>
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually. The listener is invoked on threads owned by COM.
+     * </p>
+     *
+     * @param eventQuery the event types to receive and the polling interval
+     * @param listener   the listener receiving the typed changes
+     * @return the active subscription, to be closed when no longer needed
+     */
+    WmiSubscription subscribe(WqlEventQuery eventQuery, WmiEventListener<? super S> listener);
+
+    /**
+     * Subscribes to every creation, deletion and modification of the entities of the system.
+     * <p>
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually.
+     * </p>
+     *
+     * @param within   the polling interval used by WMI, the upper bound on the notification latency
+     * @param listener the listener receiving the typed changes
+     * @return the active subscription, to be closed when no longer needed
+     */
+    default WmiSubscription subscribe(Duration within, WmiEventListener<? super S> listener) {
+        return subscribe(WqlEventQuery.of(EnumSet.allOf(WmiEventType.class), within), listener);
+    }
+}
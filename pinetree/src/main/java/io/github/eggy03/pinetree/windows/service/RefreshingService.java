@@ -0,0 +1,256 @@
+package io.github.eggy03.pinetree.windows.service;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import io.github.eggy03.pinetree.windows.com.ComWmiRefresher;
+import io.github.eggy03.pinetree.windows.com.WmiRefreshable;
+import io.github.eggy03.pinetree.windows.com.WmiRefresher;
+import io.github.eggy03.pinetree.windows.concurrent.ComExecutor;
+import io.github.eggy03.pinetree.windows.connection.WmiConnectionLease;
+import io.github.eggy03.pinetree.windows.connection.WmiConnectionPool;
+import io.github.eggy03.pinetree.windows.mapper.CommonMappingInterface;
+import io.github.eggy03.pinetree.windows.result.WmiResultTable;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Samples a WMI class or a single instance at a high rate through a WMI refresher.
+ * <p>
+ * Re-running a full WQL query for every sample makes WMI parse the query, look up the provider and build new objects each
+ * time. A refresher instead registers the class or instance once and then updates the already bound objects in place,
+ * see {@link WmiRefresher}. This service registers on the first {@link #refresh()}, and every call afterwards refreshes
+ * the objects, reads their values and maps them with the regular {@link CommonMappingInterface} of the entity, so the
+ * entities are identical to the ones returned by the regular services.
+ * </p>
+ * This pays off for properties that keep changing, such as {@code VideoController.currentRefreshRate} or performance
+ * counter classes. The registration holds a pooled connection until the service is closed. If a refresh fails, the
+ * registration is dropped and redone by the next call.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * try (RefreshingService<VideoController> gpus = new VideoControllerService().refreshing()) {
+ *     for (int i = 0; i < 60; i++) {
+ *         gpus.refreshManaged().forEach(gpu -> System.out.println(gpu.getCurrentRefreshRate()));
+ *         Thread.sleep(1000);
+ *     }
+ * }
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are thread-safe, refreshes are serialized.
+ *
+ * @param <S> the entity type
+ * @since 1.0
+ */
+public class RefreshingService<S> implements AutoCloseable {
+
+    private final Supplier<? extends WmiRefresher> refresherFactory;
+    private final Function<WmiRefresher, WmiRefreshable> registration;
+    private final Function<WmiRefreshable, List<S>> reader;
+
+    private WmiRefresher refresher;
+    private WmiRefreshable refreshable;
+    private boolean closed = false;
+
+    private RefreshingService(Supplier<? extends WmiRefresher> refresherFactory, Function<WmiRefresher, WmiRefreshable> registration,
+                              Function<WmiRefreshable, List<S>> reader) {
+        this.refresherFactory = refresherFactory;
+        this.registration = registration;
+        this.reader = reader;
+    }
+
+    /**
+     * Creates a service sampling every instance of a class on the local machine.
+     *
+     * @param nameSpace    the WMI namespace of the class, e.g. {@code root/cimv2}
+     * @param wmiClassName the WMI class, e.g. {@code Win32_VideoController}
+     * @param propertyEnum the enum defining the class properties to read
+     * @param mapper       the mapper converting the refreshed objects into entities
+     * @param <S>          the entity type
+     * @param <P>          the type of the property enum
+     * @return a new service, which does not touch WMI before its first refresh
+     */
+    public static <S, P extends Enum<P>> RefreshingService<S> ofClass(String nameSpace, String wmiClassName, Class<P> propertyEnum,
+                                                                      CommonMappingInterface<S, P> mapper) {
+        return ofClass(() -> new LeasedRefresher(nameSpace), wmiClassName, propertyEnum, mapper);
+    }
+
+    /**
+     * Creates a service sampling every instance of a class through the given refreshers.
+     * <p>
+     * A new refresher is obtained on the first refresh and after every failed one.
+     * Refreshers other than {@link ComWmiRefresher} can stand in to exercise the mapping without a Windows host.
+     * </p>
+     *
+     * @param refresherFactory supplies the refreshers, each one closed by this service
+     * @param wmiClassName     the WMI class, e.g. {@code Win32_VideoController}
+     * @param propertyEnum     the enum defining the class properties to read
+     * @param mapper           the mapper converting the refreshed objects into entities
+     * @param <S>              the entity type
+     * @param <P>              the type of the property enum
+     * @return a new service
+     */
+    public static <S, P extends Enum<P>> RefreshingService<S> ofClass(Supplier<? extends WmiRefresher> refresherFactory, String wmiClassName,
+                                                                      Class<P> propertyEnum, CommonMappingInterface<S, P> mapper) {
+        return new RefreshingService<>(refresherFactory, refresher -> refresher.addEnum(wmiClassName), mappingReader(propertyEnum, mapper));
+    }
+
+    /**
+     * Creates a service sampling a single instance on the local machine.
+     *
+     * @param nameSpace    the WMI namespace of the instance, e.g. {@code root/cimv2}
+     * @param objectPath   the relative object path of the instance, see {@link io.github.eggy03.pinetree.windows.query.WmiObjectPath}
+     * @param propertyEnum the enum defining the class properties to read
+     * @param mapper       the mapper converting the refreshed object into an entity
+     * @param <S>          the entity type
+     * @param <P>          the type of the property enum
+     * @return a new service, which does not touch WMI before its first refresh
+     */
+    public static <S, P extends Enum<P>> RefreshingService<S> ofObject(String nameSpace, String objectPath, Class<P> propertyEnum,
+                                                                       CommonMappingInterface<S, P> mapper) {
+        return ofObject(() -> new LeasedRefresher(nameSpace), objectPath, propertyEnum, mapper);
+    }
+
+    /**
+     * Creates a service sampling a single instance through the given refreshers.
+     *
+     * @param refresherFactory supplies the refreshers, each one closed by this service
+     * @param objectPath       the relative object path of the instance, see {@link io.github.eggy03.pinetree.windows.query.WmiObjectPath}
+     * @param propertyEnum     the enum defining the class properties to read
+     * @param mapper           the mapper converting the refreshed object into an entity
+     * @param <S>              the entity type
+     * @param <P>              the type of the property enum
+     * @return a new service
+     */
+    public static <S, P extends Enum<P>> RefreshingService<S> ofObject(Supplier<? extends WmiRefresher> refresherFactory, String objectPath,
+                                                                       Class<P> propertyEnum, CommonMappingInterface<S, P> mapper) {
+        return new RefreshingService<>(refresherFactory, refresher -> refresher.addObject(objectPath), mappingReader(propertyEnum, mapper));
+    }
+
+    /**
+     * Refreshes the registered objects and maps their current values.
+     * <p>
+     * This method requires you to manually initialize and uninitialize the COM library, unless it is called from a
+     * virtual thread, whose native work is handed to {@link ComExecutor#getDefault()}.
+     * </p>
+     *
+     * @return the entities as of this refresh
+     * @throws IllegalStateException if the service has been closed
+     * @throws COMException          if the registration or the refresh failed
+     */
+    public List<S> refresh() {
+
+        // Keep native calls off the carrier thread, the virtual thread parks until a COM worker is done
+        if (Thread.currentThread().isVirtual())
+            return ComExecutor.getDefault().call(this::refreshRegistered);
+
+        return refreshRegistered();
+    }
+
+    /**
+     * Refreshes the registered objects and maps their current values on a worker of {@link ComExecutor#getDefault()},
+     * so you don't need to initialize COM manually.
+     *
+     * @return the entities as of this refresh
+     * @throws IllegalStateException if the service has been closed
+     * @throws COMException          if the registration or the refresh failed
+     */
+    public List<S> refreshManaged() {
+        return ComExecutor.getDefault().call(this::refreshRegistered);
+    }
+
+    /**
+     * Releases the refresher and returns its connection to the pool. Calling this method more than once has no effect.
+     */
+    @Override
+    public void close() {
+        ComExecutor.getDefault().call(() -> {
+            synchronized (this) {
+                closed = true;
+                discard();
+            }
+            return null;
+        });
+    }
+
+    private synchronized List<S> refreshRegistered() {
+        if (closed)
+            throw new IllegalStateException("RefreshingService has been closed");
+
+        try {
+            if (refresher == null) {
+                refresher = refresherFactory.get();
+                refreshable = registration.apply(refresher);
+            }
+            refresher.refresh();
+            return reader.apply(refreshable);
+        } catch (RuntimeException e) {
+            discard();
+            throw e;
+        }
+    }
+
+    private void discard() {
+        if (refresher == null)
+            return;
+
+        try {
+            refresher.close();
+        } finally {
+            refresher = null;
+            refreshable = null;
+        }
+    }
+
+    private static <S, P extends Enum<P>> Function<WmiRefreshable, List<S>> mappingReader(Class<P> propertyEnum, CommonMappingInterface<S, P> mapper) {
+        EnumSet<P> allProperties = EnumSet.allOf(propertyEnum);
+        return refreshable -> {
+            WmiResultTable<P> table = new WmiResultTable<>(propertyEnum);
+            refreshable.forEach(object -> table.addRow(object, allProperties));
+            return mapper.toEntityList(table);
+        };
+    }
+
+    // Holds a pooled connection for as long as its refresher is registered
+    private static final class LeasedRefresher implements WmiRefresher {
+
+        private final WmiConnectionLease lease;
+        private final ComWmiRefresher delegate;
+
+        private LeasedRefresher(String nameSpace) {
+            this.lease = WmiConnectionPool.getDefault().acquire(nameSpace);
+            try {
+                this.delegate = new ComWmiRefresher(lease.getConnection());
+            } catch (RuntimeException e) {
+                lease.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public WmiRefreshable addEnum(String wmiClassName) {
+            return delegate.addEnum(wmiClassName);
+        }
+
+        @Override
+        public WmiRefreshable addObject(String objectPath) {
+            return delegate.addObject(objectPath);
+        }
+
+        @Override
+        public void refresh() {
+            delegate.refresh();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                lease.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.eggy03.pinetree.windows.service;
+
+import io.github.eggy03.pinetree.windows.annotation.WmiClass;
+import io.github.eggy03.pinetree.windows.concurrent.ComExecutor;
+import io.github.eggy03.pinetree.windows.mapper.WmiEntityMapper;
+import io.github.eggy03.pinetree.windows.util.WmiUtil;
+
+import java.util.List;
+
+/**
+ * Queries any entity annotated with {@link WmiClass}, without a dedicated service, property enum or mapper.
+ * <p>
+ * The WMI class, namespace and properties are derived from the annotations of the entity by {@link WmiEntityMapper},
+ * which is built on the first query of a type and reused afterwards. Objects are mapped as they are enumerated, so no
+ * intermediate result table is built. This makes it straightforward to read WMI classes the library does not ship an
+ * entity for.
+ * </p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * @Value
+ * @Builder
+ * @WmiClass("Win32_Fan")
+ * public class Fan {
+ *
+ *     @SerializedName("DeviceID")
+ *     @Nullable
+ *     String deviceId;
+ *
+ *     @SerializedName("ActiveCooling")
+ *     @Nullable
+ *     Boolean activeCooling;
+ * }
+ *
+ * List<Fan> fans = WmiTemplate.queryManaged(Fan.class);
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * This class is stateless and thread-safe.
+ *
+ * @since 1.0
+ */
+public final class WmiTemplate {
+
+    private WmiTemplate() {
+        throw new IllegalStateException("Utility Class");
+    }
+
+    /**
+     * Retrieves every instance of the WMI class of an entity type.
+     * <p>
+     * This method requires you to manually initialize and uninitialize the COM library.
+     * </p>
+     *
+     * @param entityType the entity class annotated with {@link WmiClass}
+     * @param <T>        the entity type
+     * @return the entities, in the order they were returned by WMI
+     * @throws IllegalArgumentException if the entity type cannot be mapped, see {@link WmiEntityMapper#of(Class)}
+     */
+    public static <T> List<T> query(Class<T> entityType) {
+        WmiEntityMapper<T> mapper = WmiEntityMapper.of(entityType);
+        return WmiUtil.getRows(mapper.getNamespace(), mapper.getWmiClassName(), mapper.toWql(), mapper::map);
+    }
+
+    /**
+     * Retrieves every instance of the WMI class of an entity type.
+     * <p>
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually.
+     * </p>
+     *
+     * @param entityType the entity class annotated with {@link WmiClass}
+     * @param <T>        the entity type
+     * @return the entities, in the order they were returned by WMI
+     * @throws IllegalArgumentException if the entity type cannot be mapped, see {@link WmiEntityMapper#of(Class)}
+     */
+    public static <T> List<T> queryManaged(Class<T> entityType) {
+
+        // Run on a long-lived worker of the COM executor, which keeps COM initialized
+        return ComExecutor.getDefault().call(() -> query(entityType));
+    }
+}
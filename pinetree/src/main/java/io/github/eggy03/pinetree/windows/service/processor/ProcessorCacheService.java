@@ -0,0 +1,161 @@
+package io.github.eggy03.pinetree.windows.service.processor;
+
+import com.sun.jna.platform.win32.COM.WbemcliUtil;
+import io.github.eggy03.pinetree.windows.concurrent.ComExecutor;
+import io.github.eggy03.pinetree.windows.entity.processor.Processor;
+import io.github.eggy03.pinetree.windows.entity.processor.ProcessorCache;
+import io.github.eggy03.pinetree.windows.entity.processor.ProcessorCacheView;
+import io.github.eggy03.pinetree.windows.enums.Namespace;
+import io.github.eggy03.pinetree.windows.enums.WmiClassname;
+import io.github.eggy03.pinetree.windows.enums.processor.ProcessorCacheProperty;
+import io.github.eggy03.pinetree.windows.enums.processor.ProcessorProperty;
+import io.github.eggy03.pinetree.windows.mapper.processor.ProcessorCacheMapper;
+import io.github.eggy03.pinetree.windows.query.WmiObjectPath;
+import io.github.eggy03.pinetree.windows.query.WqlAssociatorsQuery;
+import io.github.eggy03.pinetree.windows.query.WqlQuery;
+import io.github.eggy03.pinetree.windows.service.AbstractKeyedWmiService;
+import io.github.eggy03.pinetree.windows.util.WmiUtil;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service class responsible for retrieving processor-cache-related data from WMI.
+ * <p>
+ * Contacts {@link WmiUtil} to fetch processor info in the form of {@link WbemcliUtil.WmiResult} and then, calls {@link ProcessorCacheMapper} to map the result
+ * into a list of {@link ProcessorCache} entities. On top of the queries shared by every service, the caches of a
+ * processor can be looked up through their association with it.
+ * </p>
+ * <h2>Thread Safety</h2>
+ * Instances are stateless and thread-safe.
+ * @since 1.0
+ */
+public class ProcessorCacheService extends AbstractKeyedWmiService<ProcessorCache, ProcessorCacheProperty> {
+
+    public ProcessorCacheService() {
+        super(Namespace.DEFAULT.getValue(), WmiClassname.WIN32_CACHE_MEMORY, ProcessorCacheProperty.class, new ProcessorCacheMapper(),
+                ProcessorCacheProperty.DeviceID);
+    }
+
+    /**
+     * Retrieves the processor caches of a single processor through an {@code ASSOCIATORS OF} query.
+     * <p>
+     * The association with the processor is resolved by WMI, so neither {@code Win32_AssociatedProcessorMemory}
+     * nor {@code Win32_CacheMemory} has to be enumerated and joined.
+     * This method requires you to manually initialize and uninitialize the COM library.
+     * </p>
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * try{
+     *     ComUtil.initialize();
+     *     List<ProcessorCache> cacheList = new ProcessorCacheService().getByProcessor("CPU0");
+     *     cacheList.forEach(cache -> System.out.println(cache.toString()));
+     * } finally {
+     *     ComUtil.uninitialize();
+     * }
+     * }
+     * </pre>
+     * @param processorDeviceId the {@code DeviceID} of the processor, e.g. {@code CPU0}
+     * @return list of {@link ProcessorCache} instances associated with the processor
+     */
+    public List<ProcessorCache> getByProcessor(String processorDeviceId) {
+
+        WqlAssociatorsQuery query = WqlAssociatorsQuery.of(
+                WmiObjectPath.format(WmiClassname.WIN32_PROCESSOR.getClassName(), ProcessorProperty.DeviceID, processorDeviceId),
+                WmiClassname.WIN32_CACHE_MEMORY.getClassName()
+        ).withAssocClass(WmiClassname.WIN32_ASSOCIATED_PROCESSOR_MEMORY.getClassName());
+
+        WbemcliUtil.WmiResult<ProcessorCacheProperty> result = WmiUtil.getAssociators(
+                getNameSpace(),
+                query,
+                getPropertyEnum()
+        );
+
+        return getMapper().toEntityList(result);
+    }
+
+    /**
+     * Retrieves the processor caches of a single processor through an {@code ASSOCIATORS OF} query.
+     * <p>
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually.
+     * </p>
+     *
+     * @param processorDeviceId the {@code DeviceID} of the processor, e.g. {@code CPU0}
+     * @return list of {@link ProcessorCache} instances associated with the processor
+     */
+    public List<ProcessorCache> getByProcessorManaged(String processorDeviceId) {
+        return ComExecutor.getDefault().call(() -> getByProcessor(processorDeviceId));
+    }
+
+    /**
+     * Retrieves the processor caches of every processor, keyed by the {@code DeviceID} of the processor.
+     * <p>
+     * Only the {@code DeviceID} of the processors is enumerated, the caches of each processor are then retrieved
+     * with {@link #getByProcessor(String)}.
+     * This method requires you to manually initialize and uninitialize the COM library.
+     * </p>
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * try{
+     *     ComUtil.initialize();
+     *     Map<String, List<ProcessorCache>> topology = new ProcessorCacheService().getPerProcessor();
+     *     topology.forEach((cpu, caches) -> System.out.println(cpu + " has " + caches.size() + " caches"));
+     * } finally {
+     *     ComUtil.uninitialize();
+     * }
+     * }
+     * </pre>
+     * @return the {@link ProcessorCache} instances of each processor, in the order the processors were enumerated
+     */
+    public Map<String, List<ProcessorCache>> getPerProcessor() {
+
+        List<Processor> processors = new ProcessorService().get(EnumSet.of(ProcessorProperty.DeviceID));
+
+        Map<String, List<ProcessorCache>> cachesPerProcessor = new LinkedHashMap<>();
+        for (Processor processor : processors) {
+            if (processor.getDeviceId() != null)
+                cachesPerProcessor.put(processor.getDeviceId(), getByProcessor(processor.getDeviceId()));
+        }
+        return cachesPerProcessor;
+    }
+
+    /**
+     * Retrieves the processor caches of every processor, keyed by the {@code DeviceID} of the processor.
+     * <p>
+     * This method automatically handles COM setup and cleanup,
+     * so you don't need to initialize COM manually.
+     * </p>
+     *
+     * @return the {@link ProcessorCache} instances of each processor, in the order the processors were enumerated
+     */
+    public Map<String, List<ProcessorCache>> getPerProcessorManaged() {
+        return ComExecutor.getDefault().call(this::getPerProcessor);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return list of {@link ProcessorCacheView} views of the entities matching the query
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ProcessorCacheView> getLazy(WqlQuery<ProcessorCacheProperty> query) {
+        // The mapper of this service is always a ProcessorCacheMapper, whose views are ProcessorCacheViews
+        return (List<ProcessorCacheView>) super.getLazy(query);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return list of {@link ProcessorCacheView} views of the entities matching the query
+     */
+    @Override
+    public List<ProcessorCacheView> getLazyManaged(WqlQuery<ProcessorCacheProperty> query) {
+        return ComExecutor.getDefault().call(() -> getLazy(query));
+    }
+}
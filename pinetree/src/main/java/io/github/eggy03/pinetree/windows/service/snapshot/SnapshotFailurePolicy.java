@@ -0,0 +1,21 @@
+package io.github.eggy03.pinetree.windows.service.snapshot;
+
+/**
+ * Defines how {@link SystemSnapshotService} reacts when a WMI class cannot be retrieved
+ * or is not retrieved within the snapshot deadline.
+ *
+ * @since 1.0
+ */
+public enum SnapshotFailurePolicy {
+
+    /**
+     * Abort the whole snapshot with a {@link SystemSnapshotException} as soon as the class fails
+     */
+    FAIL_FAST,
+
+    /**
+     * Record the failure in {@code SystemSnapshot.getFailures()}
+     * and return the remaining classes
+     */
+    PARTIAL
+}
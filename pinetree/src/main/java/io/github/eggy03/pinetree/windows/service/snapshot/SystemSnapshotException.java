@@ -0,0 +1,31 @@
+package io.github.eggy03.pinetree.windows.service.snapshot;
+
+import io.github.eggy03.pinetree.windows.enums.WmiClassname;
+import lombok.Getter;
+
+/**
+ * Thrown by {@link SystemSnapshotService#capture()} when a WMI class configured with
+ * {@link SnapshotFailurePolicy#FAIL_FAST} fails or misses the snapshot deadline.
+ *
+ * @since 1.0
+ */
+@Getter
+public class SystemSnapshotException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The WMI class that caused the snapshot to abort, {@code null} if the capture was interrupted
+     */
+    private final WmiClassname wmiClassname;
+
+    /**
+     * @param wmiClassname the WMI class that caused the snapshot to abort, may be {@code null}
+     * @param message      the detail message
+     * @param cause        the underlying failure
+     */
+    public SystemSnapshotException(WmiClassname wmiClassname, String message, Throwable cause) {
+        super(message, cause);
+        this.wmiClassname = wmiClassname;
+    }
+}
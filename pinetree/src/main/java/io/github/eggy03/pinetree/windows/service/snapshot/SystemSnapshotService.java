@@ -0,0 +1,253 @@
+package io.github.eggy03.pinetree.windows.service.snapshot;
+
+import io.github.eggy03.pinetree.windows.concurrent.ComExecutor;
+import io.github.eggy03.pinetree.windows.entity.display.Monitor;
+import io.github.eggy03.pinetree.windows.entity.display.VideoController;
+import io.github.eggy03.pinetree.windows.entity.mainboard.Baseboard;
+import io.github.eggy03.pinetree.windows.entity.mainboard.Bios;
+import io.github.eggy03.pinetree.windows.entity.mainboard.PortConnector;
+import io.github.eggy03.pinetree.windows.entity.memory.PhysicalMemory;
+import io.github.eggy03.pinetree.windows.entity.processor.AssociatedProcessorMemory;
+import io.github.eggy03.pinetree.windows.entity.processor.Processor;
+import io.github.eggy03.pinetree.windows.entity.processor.ProcessorCache;
+import io.github.eggy03.pinetree.windows.entity.snapshot.SystemSnapshot;
+import io.github.eggy03.pinetree.windows.enums.WmiClassname;
+import io.github.eggy03.pinetree.windows.service.display.MonitorService;
+import io.github.eggy03.pinetree.windows.service.display.VideoControllerService;
+import io.github.eggy03.pinetree.windows.service.mainboard.BaseboardService;
+import io.github.eggy03.pinetree.windows.service.mainboard.BiosService;
+import io.github.eggy03.pinetree.windows.service.mainboard.PortConnectorService;
+import io.github.eggy03.pinetree.windows.service.memory.PhysicalMemoryService;
+import io.github.eggy03.pinetree.windows.service.processor.AssociatedProcessorMemoryService;
+import io.github.eggy03.pinetree.windows.service.processor.ProcessorCacheService;
+import io.github.eggy03.pinetree.windows.service.processor.ProcessorService;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Service class responsible for capturing a {@link SystemSnapshot} of every WMI class supported by this library.
+ * <p>
+ * All nine services are executed concurrently on the workers of a {@link ComExecutor}, which keep COM initialized for
+ * their whole lifetime, so the wall-clock time of a capture is bounded by the slowest class rather than by the sum of
+ * all classes, and no COM initialization happens per class.
+ * </p>
+ * <ul>
+ *     <li>Each class has a {@link SnapshotFailurePolicy}. Classes without an explicit policy use the default policy,
+ *     which is {@link SnapshotFailurePolicy#PARTIAL} unless configured otherwise.</li>
+ *     <li>The whole capture is bounded by a deadline, 30 seconds by default. Classes still running when it expires
+ *     are treated as failed. Their queries are watched, see {@link ComExecutor#submit(Supplier, Duration)}, so a worker
+ *     stuck inside a hung provider is abandoned and replaced instead of being lost to later captures.</li>
+ *     <li>The query of each class can be replaced, e.g. by a stand-in to exercise the policies without a Windows host.</li>
+ * </ul>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * // Partial results for everything, 10 second deadline
+ * SystemSnapshot snapshot = SystemSnapshotService.builder()
+ *     .deadline(Duration.ofSeconds(10))
+ *     .build()
+ *     .capture();
+ *
+ * // Abort if the processor cannot be read, tolerate everything else
+ * SystemSnapshot strict = SystemSnapshotService.builder()
+ *     .failurePolicy(WmiClassname.WIN32_PROCESSOR, SnapshotFailurePolicy.FAIL_FAST)
+ *     .build()
+ *     .capture();
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are immutable and thread-safe. Concurrent captures share the worker threads.
+ * @since 1.0
+ */
+public class SystemSnapshotService {
+
+    private static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(30);
+
+    @Getter
+    private final SnapshotFailurePolicy defaultFailurePolicy;
+
+    @Getter
+    private final Map<WmiClassname, SnapshotFailurePolicy> failurePolicies;
+
+    @Getter
+    private final Duration deadline;
+
+    private final Map<WmiClassname, Supplier<? extends List<?>>> queries;
+
+    private final ComExecutor executor;
+
+    /**
+     * Creates a service with partial-result policy for every class and the default deadline.
+     */
+    public SystemSnapshotService() {
+        this(null, Map.of(), null, Map.of(), null);
+    }
+
+    /**
+     * Creates a new service. Unset parameters fall back to their defaults.
+     *
+     * @param defaultFailurePolicy policy for classes without an explicit one, defaults to {@link SnapshotFailurePolicy#PARTIAL}
+     * @param failurePolicies      per-class failure policies
+     * @param deadline             maximum duration of a capture, defaults to 30 seconds
+     * @param queries              per-class queries replacing the {@code get()} method of the service of the class,
+     *                             run on a worker with COM initialized
+     * @param executor             executor running the queries, defaults to a shared executor with one worker per class
+     */
+    @Builder
+    private SystemSnapshotService(SnapshotFailurePolicy defaultFailurePolicy,
+                                  @Singular Map<WmiClassname, SnapshotFailurePolicy> failurePolicies,
+                                  Duration deadline,
+                                  @Singular Map<WmiClassname, Supplier<? extends List<?>>> queries,
+                                  ComExecutor executor) {
+        this.defaultFailurePolicy = defaultFailurePolicy != null ? defaultFailurePolicy : SnapshotFailurePolicy.PARTIAL;
+        this.failurePolicies = failurePolicies.isEmpty()
+                ? Map.of()
+                : Collections.unmodifiableMap(new EnumMap<>(failurePolicies));
+        this.deadline = deadline != null ? deadline : DEFAULT_DEADLINE;
+        this.queries = defaultQueries();
+        this.queries.putAll(queries);
+        this.executor = executor != null ? executor : DefaultExecutorHolder.EXECUTOR;
+    }
+
+    // Completed by Lombok, whose @Singular map copy casts every value to the value type
+    @SuppressWarnings("cast")
+    public static class SystemSnapshotServiceBuilder {
+    }
+
+    /**
+     * Captures a snapshot of every supported WMI class.
+     * <p>
+     * This method automatically handles COM setup and cleanup on its worker threads,
+     * so you don't need to initialize COM manually.
+     * </p>
+     *
+     * @return the captured {@link SystemSnapshot}
+     * @throws SystemSnapshotException if a class with {@link SnapshotFailurePolicy#FAIL_FAST} fails or misses
+     *                                 the deadline, or if the calling thread is interrupted
+     */
+    public SystemSnapshot capture() {
+
+        Instant capturedAt = Instant.now();
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+
+        // Fan out every class at once, each query being watched until the deadline
+        BlockingQueue<ClassResult> completed = new LinkedBlockingQueue<>();
+        Map<WmiClassname, CompletableFuture<? extends List<?>>> pending = new EnumMap<>(WmiClassname.class);
+        queries.forEach((wmiClassname, query) -> {
+            CompletableFuture<? extends List<?>> future = executor.submit(query, deadline);
+            pending.put(wmiClassname, future);
+            future.whenComplete((rows, failure) -> completed.add(new ClassResult(wmiClassname, rows, unwrap(failure))));
+        });
+
+        Map<WmiClassname, List<?>> rows = new EnumMap<>(WmiClassname.class);
+        Map<WmiClassname, String> failures = new EnumMap<>(WmiClassname.class);
+
+        try {
+            // Collect results in completion order so that fail-fast classes abort as early as possible
+            while (!pending.isEmpty()) {
+                long remaining = deadlineNanos - System.nanoTime();
+                ClassResult result = remaining > 0
+                        ? completed.poll(remaining, TimeUnit.NANOSECONDS)
+                        : completed.poll();
+
+                if (result == null) {
+                    for (WmiClassname wmiClassname : pending.keySet())
+                        fail(failures, wmiClassname, new TimeoutException("Snapshot deadline of " + deadline + " exceeded"));
+                    break;
+                }
+
+                pending.remove(result.wmiClassname());
+
+                if (result.failure() != null)
+                    fail(failures, result.wmiClassname(), result.failure());
+                else
+                    rows.put(result.wmiClassname(), result.rows());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SystemSnapshotException(null, "Snapshot capture was interrupted", e);
+        } finally {
+            // Queued queries are skipped, running ones stay watched and cost their worker if they overrun the deadline
+            pending.values().forEach(future -> future.cancel(false));
+        }
+
+        return toSnapshot(capturedAt, rows, failures.isEmpty() ? Map.of() : Collections.unmodifiableMap(failures));
+    }
+
+    private void fail(Map<WmiClassname, String> failures, WmiClassname wmiClassname, Throwable cause) {
+        if (failurePolicies.getOrDefault(wmiClassname, defaultFailurePolicy) == SnapshotFailurePolicy.FAIL_FAST)
+            throw new SystemSnapshotException(wmiClassname, "Failed to retrieve " + wmiClassname.getClassName(), cause);
+
+        failures.put(wmiClassname, String.valueOf(cause));
+    }
+
+    @Nullable
+    private static Throwable unwrap(@Nullable Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    // The workers have COM initialized, so the unmanaged get() variants are used
+    private static Map<WmiClassname, Supplier<? extends List<?>>> defaultQueries() {
+        Map<WmiClassname, Supplier<? extends List<?>>> queries = new EnumMap<>(WmiClassname.class);
+        queries.put(WmiClassname.WIN32_PROCESSOR, () -> new ProcessorService().get());
+        queries.put(WmiClassname.WIN32_CACHE_MEMORY, () -> new ProcessorCacheService().get());
+        queries.put(WmiClassname.WIN32_ASSOCIATED_PROCESSOR_MEMORY, () -> new AssociatedProcessorMemoryService().get());
+        queries.put(WmiClassname.WIN32_PHYSICAL_MEMORY, () -> new PhysicalMemoryService().get());
+        queries.put(WmiClassname.WIN32_VIDEO_CONTROLLER, () -> new VideoControllerService().get());
+        queries.put(WmiClassname.WIN32_DESKTOP_MONITOR, () -> new MonitorService().get());
+        queries.put(WmiClassname.WIN32_BIOS, () -> new BiosService().get());
+        queries.put(WmiClassname.WIN32_BASEBOARD, () -> new BaseboardService().get());
+        queries.put(WmiClassname.WIN32_PORT_CONNECTOR, () -> new PortConnectorService().get());
+        return queries;
+    }
+
+    // The builder only appears in the body, Javadoc does not see the classes Lombok generates
+    @SuppressWarnings("unchecked")
+    private static SystemSnapshot toSnapshot(Instant capturedAt, Map<WmiClassname, List<?>> classRows, Map<WmiClassname, String> failures) {
+        SystemSnapshot.SystemSnapshotBuilder snapshot = SystemSnapshot.builder()
+                .capturedAt(capturedAt)
+                .failures(failures);
+
+        classRows.forEach((wmiClassname, rows) -> {
+            switch (wmiClassname) {
+                case WIN32_PROCESSOR -> snapshot.processors(List.copyOf((List<Processor>) rows));
+                case WIN32_CACHE_MEMORY -> snapshot.processorCaches(List.copyOf((List<ProcessorCache>) rows));
+                case WIN32_ASSOCIATED_PROCESSOR_MEMORY -> snapshot.associatedProcessorMemories(List.copyOf((List<AssociatedProcessorMemory>) rows));
+                case WIN32_PHYSICAL_MEMORY -> snapshot.physicalMemories(List.copyOf((List<PhysicalMemory>) rows));
+                case WIN32_VIDEO_CONTROLLER -> snapshot.videoControllers(List.copyOf((List<VideoController>) rows));
+                case WIN32_DESKTOP_MONITOR -> snapshot.monitors(List.copyOf((List<Monitor>) rows));
+                case WIN32_BIOS -> snapshot.bios(List.copyOf((List<Bios>) rows));
+                case WIN32_BASEBOARD -> snapshot.baseboards(List.copyOf((List<Baseboard>) rows));
+                case WIN32_PORT_CONNECTOR -> snapshot.portConnectors(List.copyOf((List<PortConnector>) rows));
+            }
+        });
+        return snapshot.build();
+    }
+
+    private record ClassResult(WmiClassname wmiClassname, @Nullable List<?> rows, @Nullable Throwable failure) {
+    }
+
+    // Lazily created so that merely loading this class does not start threads
+    private static final class DefaultExecutorHolder {
+        private static final ComExecutor EXECUTOR = ComExecutor.builder()
+                .threads(WmiClassname.values().length)
+                .namePrefix("pinetree-snapshot")
+                .build();
+    }
+}
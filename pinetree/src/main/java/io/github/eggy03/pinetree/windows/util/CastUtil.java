@@ -0,0 +1,503 @@
+package io.github.eggy03.pinetree.windows.util;
+
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+import com.sun.jna.platform.win32.COM.WbemcliUtil;
+import com.sun.jna.platform.win32.Variant;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Utility class for casting {@link Object} values retrieved from
+ * {@link WbemcliUtil.WmiResult#getValue(Enum, int)} into common Java types.
+ *
+ * <p>
+ * Since WMI query results are returned as generic {@link Object} instances, these helper methods
+ * handle provide ways to cast them into common Java types.
+ * This class is only for use within the library. Example usages include the implementations of the mappers in the
+ * {@link io.github.eggy03.pinetree.windows.mapper} package.
+ * </p>
+ *
+ * <h2>Supported Conversions</h2>
+ * <ul>
+ *     <li>{@link #toLongValue(Object)} – Converts numeric values to {@code Long}, handling unsigned conversions.</li>
+ *     <li>{@link #toIntegerValue(Object)} – Converts numeric values to {@code Integer}, handling unsigned conversions.</li>
+ *     <li>{@link #toStringValue(Object)} – Converts any value to {@code String}, trimming whitespace.</li>
+ *     <li>{@link #toBooleanValue(Object)} – Converts to {@code Boolean}, supporting both native and string-based booleans.</li>
+ * </ul>
+ * <p>
+ * Strings are parsed in place, without a trimmed copy, and a string without surrounding whitespace is returned as is.
+ * The primitive variants {@link #parseLong(CharSequence)}, {@link #parseInt(CharSequence)}, {@link #toLong(Variant.VARIANT)},
+ * {@link #toInt(Variant.VARIANT)} and {@link #toBoolean(Variant.VARIANT)} apply the same conversions without boxing,
+ * the {@code VARIANT} ones reading the value straight from native memory, like {@link #toStringValue(Variant.VARIANT)}.
+ * </p>
+ * <p>
+ * The column converters, such as {@link #integerConverter(int)}, apply the same conversions to a whole column of a
+ * result. Each one is specialized for the Java type WMI decodes the {@code VARIANT} type of the column into, e.g.
+ * an {@code Integer} column of {@code VT_I4} values is passed through without unboxing and boxing again.
+ * </p>
+ * @since 1.0
+ */
+public final class CastUtil {
+
+    // The value of a VARIANT follows its 8-byte header on both 32 and 64-bit Windows
+    private static final long DATA_OFFSET = 8;
+
+    // Reads native memory at absolute addresses, so that reading a BSTR does not create a Pointer for it
+    private static final Pointer ABSOLUTE = new Pointer(0);
+
+    private static final String TRUE = "true";
+
+    // Column converters, each one checking for the type it is specialized for before taking the general conversion
+    private static final Function<Object, Long> INTEGER_TO_LONG =
+            value -> value instanceof Integer i ? Long.valueOf(Integer.toUnsignedLong(i)) : toLongValue(value);
+    private static final Function<Object, Long> SHORT_TO_LONG =
+            value -> value instanceof Short s ? Long.valueOf(Short.toUnsignedLong(s)) : toLongValue(value);
+    private static final Function<Object, Long> STRING_TO_LONG =
+            value -> value instanceof String text ? Long.valueOf(parseLong(text)) : toLongValue(value);
+    private static final Function<Object, Integer> INTEGER_TO_INTEGER =
+            value -> value instanceof Integer i ? i : toIntegerValue(value);
+    private static final Function<Object, Integer> SHORT_TO_INTEGER =
+            value -> value instanceof Short s ? Integer.valueOf(Short.toUnsignedInt(s)) : toIntegerValue(value);
+    private static final Function<Object, Integer> BYTE_TO_INTEGER =
+            value -> value instanceof Byte b ? Integer.valueOf(Byte.toUnsignedInt(b)) : toIntegerValue(value);
+    private static final Function<Object, Integer> STRING_TO_INTEGER =
+            value -> value instanceof String text ? Integer.valueOf(parseInt(text)) : toIntegerValue(value);
+    private static final Function<Object, String> STRING_TO_STRING =
+            value -> value instanceof String text ? text.trim() : toStringValue(value);
+    private static final Function<Object, Boolean> BOOLEAN_TO_BOOLEAN =
+            value -> value instanceof Boolean b ? b : toBooleanValue(value);
+
+    private CastUtil() {
+        throw new IllegalStateException("Utility Class");
+    }
+
+    /**
+     * Converts a raw WMI property value of {@link Object} type, into a {@link Long}.
+     * <p>
+     * Also handles unsigned conversions for {@link Integer} and {@link Short} types,
+     * and falls back to parsing from {@code toString()} for other types.
+     * </p>
+     *
+     * @param value the raw WMI property value to convert
+     * @return the converted {@link Long} value, or {@code null} if the input value is {@code null}
+     */
+    @Nullable
+    public static Long toLongValue(Object value) {
+        return switch (value) {
+            case null -> null;
+            case Integer i -> Integer.toUnsignedLong(i);
+            case Short s -> Short.toUnsignedLong(s);
+            case Number num -> num.longValue();
+            case CharSequence text -> parseLong(text);
+            default -> parseLong(value.toString());
+        };
+    }
+
+    /**
+     * Converts a raw WMI property value of {@link Object} type, into an {@link Integer}.
+     * <p>
+     * Also handles unsigned conversions for {@link Short} and {@link Byte} types,
+     * and falls back to parsing from {@code toString()} for other input types.
+     * </p>
+     *
+     * @param value the raw WMI property value to convert
+     * @return the converted {@link Integer} value, or {@code null} if the input value is {@code null}
+     */
+    @Nullable
+    public static Integer toIntegerValue(Object value) {
+        return switch (value) {
+            case null -> null;
+            case Short s -> Short.toUnsignedInt(s);
+            case Byte b -> Byte.toUnsignedInt(b);
+            case Number num -> num.intValue();
+            case CharSequence text -> parseInt(text);
+            default -> parseInt(value.toString());
+        };
+    }
+
+    /**
+     * Converts a raw WMI property value of {@link Object} type into a trimmed {@link String}.
+     *
+     * @param value the raw WMI property value to convert
+     * @return the string representation, or {@code null} if the input value is {@code null}
+     */
+    @Nullable
+    public static String toStringValue(Object value) {
+        if (value == null) return null;
+        return value.toString().trim();
+    }
+
+    /**
+     * Converts a raw WMI property value of {@link Object} type into a {@link Boolean}.
+     * <p>
+     * Can convert native boolean types as well as string-based representations such as
+     * {@code "true"}, {@code "false"}.
+     * </p>
+     *
+     * @param value the raw WMI value to convert
+     * @return the boolean representation, or {@code null} if the input value is {@code null}
+     */
+    @Nullable
+    public static Boolean toBooleanValue(Object value) {
+        if (value == null) return null;
+        if (value instanceof Boolean b) return b;
+        return isTrue(value instanceof CharSequence text ? text : value.toString());
+    }
+
+    /**
+     * Returns a converter with the same rules as {@link #toLongValue(Object)}, specialized for the values of a column
+     * of the given {@code VARIANT} type.
+     * <p>
+     * Values of any other type, such as the {@code null} of an empty cell, take the general conversion.
+     * </p>
+     *
+     * @param vtType the {@code VARIANT} type of the column, see {@link WbemcliUtil.WmiResult#getVtType(Enum)}
+     * @return the converter, a shared instance
+     */
+    public static Function<Object, Long> longConverter(int vtType) {
+        return switch (vtType) {
+            case Variant.VT_I4 -> INTEGER_TO_LONG;
+            case Variant.VT_I2 -> SHORT_TO_LONG;
+            case Variant.VT_BSTR -> STRING_TO_LONG;
+            default -> CastUtil::toLongValue;
+        };
+    }
+
+    /**
+     * Returns a converter with the same rules as {@link #toIntegerValue(Object)}, specialized for the values of a column
+     * of the given {@code VARIANT} type.
+     * <p>
+     * Values of any other type, such as the {@code null} of an empty cell, take the general conversion.
+     * </p>
+     *
+     * @param vtType the {@code VARIANT} type of the column, see {@link WbemcliUtil.WmiResult#getVtType(Enum)}
+     * @return the converter, a shared instance
+     */
+    public static Function<Object, Integer> integerConverter(int vtType) {
+        return switch (vtType) {
+            case Variant.VT_I4 -> INTEGER_TO_INTEGER;
+            case Variant.VT_I2 -> SHORT_TO_INTEGER;
+            case Variant.VT_UI1 -> BYTE_TO_INTEGER;
+            case Variant.VT_BSTR -> STRING_TO_INTEGER;
+            default -> CastUtil::toIntegerValue;
+        };
+    }
+
+    /**
+     * Returns a converter with the same rules as {@link #toStringValue(Object)}, specialized for the values of a column
+     * of the given {@code VARIANT} type.
+     *
+     * @param vtType the {@code VARIANT} type of the column, see {@link WbemcliUtil.WmiResult#getVtType(Enum)}
+     * @return the converter, a shared instance
+     */
+    public static Function<Object, String> stringConverter(int vtType) {
+        return vtType == Variant.VT_BSTR ? STRING_TO_STRING : CastUtil::toStringValue;
+    }
+
+    /**
+     * Returns a converter with the same rules as {@link #toBooleanValue(Object)}, specialized for the values of a column
+     * of the given {@code VARIANT} type.
+     *
+     * @param vtType the {@code VARIANT} type of the column, see {@link WbemcliUtil.WmiResult#getVtType(Enum)}
+     * @return the converter, a shared instance
+     */
+    public static Function<Object, Boolean> booleanConverter(int vtType) {
+        return vtType == Variant.VT_BOOL ? BOOLEAN_TO_BOOLEAN : CastUtil::toBooleanValue;
+    }
+
+    /**
+     * Parses a signed decimal {@code long} from text, ignoring surrounding whitespace, without allocating.
+     *
+     * @param text the text to parse
+     * @return the parsed value
+     * @throws NumberFormatException if the trimmed text is not a valid {@code long}
+     */
+    public static long parseLong(CharSequence text) {
+        int begin = trimmedBegin(text);
+        return Long.parseLong(text, begin, trimmedEnd(text, begin), 10);
+    }
+
+    /**
+     * Parses a signed decimal {@code int} from text, ignoring surrounding whitespace, without allocating.
+     *
+     * @param text the text to parse
+     * @return the parsed value
+     * @throws NumberFormatException if the trimmed text is not a valid {@code int}
+     */
+    public static int parseInt(CharSequence text) {
+        int begin = trimmedBegin(text);
+        return Integer.parseInt(text, begin, trimmedEnd(text, begin), 10);
+    }
+
+    /**
+     * Converts a non-empty {@code VARIANT} into a {@code long} with the same rules as {@link #toLongValue(Object)},
+     * reading the value straight from its native memory.
+     * <p>
+     * 32-bit integers, such as the {@code VT_I4} WMI returns for {@code uint32} properties and {@code VT_UI4}, are read
+     * as unsigned. Strings, such as the {@code VT_BSTR} WMI returns for {@code uint64} properties, are parsed from the
+     * native string without creating a {@link String}.
+     * </p>
+     *
+     * @param variant the value, which must not be {@code VT_EMPTY} or {@code VT_NULL}
+     * @return the converted value
+     * @throws NumberFormatException    if a string value is not a valid {@code long}
+     * @throws IllegalArgumentException if the value cannot be converted
+     */
+    public static long toLong(Variant.VARIANT variant) {
+        Pointer memory = variant.getPointer();
+        int vtType = memory.getShort(0);
+        return switch (vtType) {
+            case Variant.VT_I4, Variant.VT_UI4, Variant.VT_INT, Variant.VT_UINT -> Integer.toUnsignedLong(memory.getInt(DATA_OFFSET));
+            case Variant.VT_I2, Variant.VT_UI2 -> Short.toUnsignedLong(memory.getShort(DATA_OFFSET));
+            case Variant.VT_I1, Variant.VT_UI1 -> memory.getByte(DATA_OFFSET);
+            case Variant.VT_I8, Variant.VT_UI8 -> memory.getLong(DATA_OFFSET);
+            case Variant.VT_BSTR -> parseLong(bstrAddress(memory), Long.MIN_VALUE, Long.MAX_VALUE);
+            default -> throw new IllegalArgumentException("Cannot convert VARIANT of type " + vtType + " to long.");
+        };
+    }
+
+    /**
+     * Converts a non-empty {@code VARIANT} into an {@code int} with the same rules as {@link #toIntegerValue(Object)},
+     * reading the value straight from its native memory.
+     * <p>
+     * 8 and 16-bit integers are read as unsigned, strings are parsed from the native string without creating a {@link String}.
+     * </p>
+     *
+     * @param variant the value, which must not be {@code VT_EMPTY} or {@code VT_NULL}
+     * @return the converted value
+     * @throws NumberFormatException    if a string value is not a valid {@code int}
+     * @throws IllegalArgumentException if the value cannot be converted
+     */
+    public static int toInt(Variant.VARIANT variant) {
+        Pointer memory = variant.getPointer();
+        int vtType = memory.getShort(0);
+        return switch (vtType) {
+            case Variant.VT_I4, Variant.VT_UI4, Variant.VT_INT, Variant.VT_UINT -> memory.getInt(DATA_OFFSET);
+            case Variant.VT_I2, Variant.VT_UI2 -> Short.toUnsignedInt(memory.getShort(DATA_OFFSET));
+            case Variant.VT_I1, Variant.VT_UI1 -> Byte.toUnsignedInt(memory.getByte(DATA_OFFSET));
+            case Variant.VT_I8, Variant.VT_UI8 -> (int) memory.getLong(DATA_OFFSET);
+            case Variant.VT_BSTR -> (int) parseLong(bstrAddress(memory), Integer.MIN_VALUE, Integer.MAX_VALUE);
+            default -> throw new IllegalArgumentException("Cannot convert VARIANT of type " + vtType + " to int.");
+        };
+    }
+
+    /**
+     * Converts a non-empty {@code VARIANT} into a {@code boolean} with the same rules as {@link #toBooleanValue(Object)},
+     * reading the value straight from its native memory.
+     *
+     * @param variant the value, which must not be {@code VT_EMPTY} or {@code VT_NULL}
+     * @return {@code true} for a non-zero {@code VT_BOOL} or a string equal to {@code "true"}, ignoring case and
+     * surrounding whitespace
+     * @throws IllegalArgumentException if the value cannot be converted
+     */
+    public static boolean toBoolean(Variant.VARIANT variant) {
+        Pointer memory = variant.getPointer();
+        int vtType = memory.getShort(0);
+        return switch (vtType) {
+            case Variant.VT_BOOL -> memory.getShort(DATA_OFFSET) != 0;
+            case Variant.VT_BSTR -> isTrue(bstrAddress(memory));
+            default -> throw new IllegalArgumentException("Cannot convert VARIANT of type " + vtType + " to boolean.");
+        };
+    }
+
+    /**
+     * Converts a {@code VT_BSTR} {@code VARIANT} into a trimmed {@link String} with the same rules as
+     * {@link #toStringValue(Object)}, reading the characters with a single native call.
+     *
+     * @param variant the value
+     * @return the trimmed string, or {@code null} if the {@code VARIANT} is {@code VT_EMPTY} or {@code VT_NULL}
+     * @throws IllegalArgumentException if the value is not a string
+     */
+    @Nullable
+    public static String toStringValue(Variant.VARIANT variant) {
+        Pointer memory = variant.getPointer();
+        int vtType = memory.getShort(0);
+        if (vtType == Variant.VT_EMPTY || vtType == Variant.VT_NULL)
+            return null;
+        if (vtType != Variant.VT_BSTR)
+            throw new IllegalArgumentException("Cannot convert VARIANT of type " + vtType + " to String.");
+
+        long bstr = bstrAddress(memory);
+        int length = bstrLength(bstr);
+        if (length == 0)
+            return "";
+
+        // On Windows wchar_t is UTF-16, so JNA creates the string in a single native call. WMI strings hold no null
+        // character, which would end the string early
+        if (Native.WCHAR_SIZE == 2)
+            return ABSOLUTE.getWideString(bstr).trim();
+
+        // Elsewhere, such as with stand-in objects, the UTF-16 units are read at once and decoded by hand, as the
+        // UTF-16LE charset allocates a decoder and two buffers per call
+        byte[] utf16 = ABSOLUTE.getByteArray(bstr, 2 * length);
+        int begin = 0;
+        while (begin < length && utf16Char(utf16, begin) <= ' ')
+            begin++;
+        int end = length;
+        while (end > begin && utf16Char(utf16, end - 1) <= ' ')
+            end--;
+
+        boolean latin1 = true;
+        for (int i = begin; i < end && latin1; i++)
+            latin1 = utf16[2 * i + 1] == 0;
+        if (latin1) {
+            // Compacted in place, each unit moving to an index that no later unit is read from
+            for (int i = begin; i < end; i++)
+                utf16[i] = utf16[2 * i];
+            return new String(utf16, begin, end - begin, StandardCharsets.ISO_8859_1);
+        }
+
+        char[] text = new char[end - begin];
+        for (int i = 0; i < text.length; i++)
+            text[i] = utf16Char(utf16, begin + i);
+        return new String(text);
+    }
+
+    /**
+     * Copies the UTF-16 code units of a {@code VT_BSTR} {@code VARIANT} into a caller-owned buffer with a single native
+     * read, so that the string can be looked up or compared without creating it. The units are copied untrimmed, and
+     * only if they all fit into the buffer.
+     *
+     * @param variant the value, which must be {@code VT_BSTR}
+     * @param target  the buffer filled from index {@code 0}
+     * @return the number of code units of the string, larger than the buffer if none were copied
+     * @throws IllegalArgumentException if the value is not a string
+     */
+    public static int readUtf16(Variant.VARIANT variant, short[] target) {
+        Pointer memory = variant.getPointer();
+        int vtType = memory.getShort(0);
+        if (vtType != Variant.VT_BSTR)
+            throw new IllegalArgumentException("Cannot read VARIANT of type " + vtType + " as UTF-16.");
+
+        long bstr = bstrAddress(memory);
+        int length = bstrLength(bstr);
+        if (length > 0 && length <= target.length)
+            ABSOLUTE.read(bstr, target, 0, length);
+        return length;
+    }
+
+    /**
+     * @param variant the value
+     * @return {@code true} if the {@code VARIANT} is {@code VT_EMPTY} or {@code VT_NULL}
+     */
+    public static boolean isNull(Variant.VARIANT variant) {
+        int vtType = variant.getPointer().getShort(0);
+        return vtType == Variant.VT_EMPTY || vtType == Variant.VT_NULL;
+    }
+
+    // Same characters as String.trim()
+    private static int trimmedBegin(CharSequence text) {
+        int begin = 0;
+        while (begin < text.length() && text.charAt(begin) <= ' ')
+            begin++;
+        return begin;
+    }
+
+    private static int trimmedEnd(CharSequence text, int begin) {
+        int end = text.length();
+        while (end > begin && text.charAt(end - 1) <= ' ')
+            end--;
+        return end;
+    }
+
+    private static boolean isTrue(CharSequence text) {
+        int begin = trimmedBegin(text);
+        int end = trimmedEnd(text, begin);
+        if (end - begin != TRUE.length())
+            return false;
+
+        for (int i = 0; i < TRUE.length(); i++) {
+            if (Character.toLowerCase(text.charAt(begin + i)) != TRUE.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    // A BSTR points at its UTF-16 characters, preceded by their length in bytes
+    private static boolean isTrue(long bstr) {
+        int length = bstrLength(bstr);
+        int begin = bstrBegin(bstr, length);
+        int end = bstrEnd(bstr, begin, length);
+        if (end - begin != TRUE.length())
+            return false;
+
+        for (int i = 0; i < TRUE.length(); i++) {
+            if (Character.toLowerCase(bstrChar(bstr, begin + i)) != TRUE.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    // Accumulates negatively like Long.parseLong, so that the minimum value parses without overflowing
+    private static long parseLong(long bstr, long min, long max) {
+        int length = bstrLength(bstr);
+        int begin = bstrBegin(bstr, length);
+        int end = bstrEnd(bstr, begin, length);
+        if (begin == end)
+            throw invalidNumber(bstr, length);
+
+        char first = bstrChar(bstr, begin);
+        boolean negative = first == '-';
+        if (negative || first == '+') {
+            begin++;
+            if (begin == end)
+                throw invalidNumber(bstr, length);
+        }
+
+        long limit = negative ? min : -max;
+        long limitBeforeShift = limit / 10;
+        long result = 0;
+        for (int i = begin; i < end; i++) {
+            int digit = Character.digit(bstrChar(bstr, i), 10);
+            if (digit < 0 || result < limitBeforeShift)
+                throw invalidNumber(bstr, length);
+            result *= 10;
+            if (result < limit + digit)
+                throw invalidNumber(bstr, length);
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    private static long bstrAddress(Pointer variant) {
+        return Native.POINTER_SIZE == 8 ? variant.getLong(DATA_OFFSET) : Integer.toUnsignedLong(variant.getInt(DATA_OFFSET));
+    }
+
+    private static int bstrLength(long bstr) {
+        return bstr == 0 ? 0 : ABSOLUTE.getInt(bstr - 4) / 2;
+    }
+
+    private static int bstrBegin(long bstr, int length) {
+        int begin = 0;
+        while (begin < length && bstrChar(bstr, begin) <= ' ')
+            begin++;
+        return begin;
+    }
+
+    private static int bstrEnd(long bstr, int begin, int length) {
+        int end = length;
+        while (end > begin && bstrChar(bstr, end - 1) <= ' ')
+            end--;
+        return end;
+    }
+
+    // Only called for indices below the length, which is 0 for a null BSTR
+    private static char bstrChar(long bstr, int index) {
+        return (char) ABSOLUTE.getShort(bstr + 2L * index);
+    }
+
+    private static char utf16Char(byte[] utf16, int index) {
+        return (char) ((utf16[2 * index] & 0xFF) | (utf16[2 * index + 1] << 8));
+    }
+
+    // Only the failure path creates a string, for the message
+    private static NumberFormatException invalidNumber(long bstr, int length) {
+        char[] text = new char[length];
+        for (int i = 0; i < length; i++)
+            text[i] = bstrChar(bstr, i);
+        return new NumberFormatException("For input string: \"" + new String(text) + "\"");
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.eggy03.pinetree.windows.util;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable snapshot of the COM initialization counters maintained by {@link ComUtil}.
+ *
+ * @since 1.0
+ */
+@Value
+@Builder
+public class ComInitStats {
+
+    /**
+     * Number of {@code CoInitializeEx} calls made, one per outermost {@link ComUtil#initialize()}
+     */
+    long nativeInitializations;
+
+    /**
+     * Number of nested {@link ComUtil#initialize()} calls that did not reach native code
+     */
+    long nestedInitializations;
+
+    /**
+     * Number of threads currently initialized through {@link ComUtil}
+     */
+    int activeThreads;
+
+    /**
+     * Whether the process-wide COM security has been set up
+     */
+    boolean securityInitialized;
+
+    /**
+     * Total time spent in native initialization, security setup included, in nanoseconds
+     */
+    long totalInitializeNanos;
+
+    /**
+     * Slowest native initialization, in nanoseconds
+     */
+    long maxInitializeNanos;
+
+    /**
+     * @return the average time spent in a native initialization, in nanoseconds
+     */
+    public long getAverageInitializeNanos() {
+        return nativeInitializations == 0 ? 0 : totalInitializeNanos / nativeInitializations;
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.eggy03.pinetree.windows.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ThreadFactory} producing threads that join the COM multithreaded apartment for their whole lifetime.
+ * <p>
+ * Each thread calls {@link ComUtil#initialize()} before running its task loop and {@link ComUtil#uninitialize()}
+ * once it terminates. Executors built on top of this factory can therefore run the unmanaged {@code get()}
+ * methods of the services directly, without paying the COM initialization cost per task.
+ * </p>
+ *
+ * <h2>Usage</h2>
+ * <pre>{@code
+ * ExecutorService comPool = Executors.newFixedThreadPool(4, new ComThreadFactory("wmi-worker", true));
+ * List<Processor> cpuList = comPool.submit(() -> new ProcessorService().get()).get();
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * Instances are thread-safe.
+ * @since 1.0
+ */
+public class ComThreadFactory implements ThreadFactory {
+
+    private final String namePrefix;
+    private final boolean daemon;
+    private final AtomicInteger threadCount = new AtomicInteger(0);
+
+    /**
+     * Creates a new factory.
+     *
+     * @param namePrefix prefix of the thread names, followed by a sequence number
+     * @param daemon     whether the created threads are daemon threads
+     */
+    public ComThreadFactory(String namePrefix, boolean daemon) {
+        this.namePrefix = namePrefix;
+        this.daemon = daemon;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(() -> {
+            ComUtil.initialize();
+            try {
+                runnable.run();
+            } finally {
+                ComUtil.uninitialize();
+            }
+        }, namePrefix + "-" + threadCount.incrementAndGet());
+
+        thread.setDaemon(daemon);
+        return thread;
+    }
+}
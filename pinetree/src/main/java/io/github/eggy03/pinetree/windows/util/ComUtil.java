@@ -0,0 +1,257 @@
+package io.github.eggy03.pinetree.windows.util;
+
+import com.sun.jna.Pointer;
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.COMUtils;
+import com.sun.jna.platform.win32.Ole32;
+import com.sun.jna.platform.win32.WinNT;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Utility class for managing the initialization and uninitialization
+ * of the COM library on the current thread.
+ * <p>
+ * Provides an abstraction for initializing and closing the COM library.
+ * </p>
+ * <ul>
+ *     <li>Initializations are reference-counted per thread. Only the outermost {@link #initialize()} calls
+ *     {@code CoInitializeEx} and only the matching outermost {@link #uninitialize()} calls {@code CoUninitialize},
+ *     nested pairs are cheap no-ops.</li>
+ *     <li>{@code CoInitializeSecurity} can only succeed once per process and is therefore only called once.</li>
+ *     <li>Failing HRESULTs are surfaced as {@link COMException}.</li>
+ *     <li>An {@link #uninitialize()} without a matching {@link #initialize()} is logged and ignored, so that the
+ *     {@code finally} block of the pattern below cannot replace the {@link COMException} of a failed initialization.</li>
+ * </ul>
+ * The number and cost of native initializations are available through {@link #getStats()}.
+ *
+ * <h2>Usage</h2>
+ * <pre>{@code
+ * ComUtil.initialize();
+ * try {
+ *     // Perform COM-dependent operations
+ * } finally {
+ *     ComUtil.uninitialize();
+ * }
+ *
+ * // or
+ * try (ComUtil.ComScope scope = ComUtil.open()) {
+ *     // Perform COM-dependent operations
+ * }
+ * }</pre>
+ * @since 1.0
+ */
+public class ComUtil {
+
+    // The thread is already initialized for a single-threaded apartment
+    private static final int RPC_E_CHANGED_MODE = 0x80010106;
+    // Security has already been initialized for this process, by this class or by someone else
+    private static final int RPC_E_TOO_LATE = 0x80010119;
+
+    private static final System.Logger LOGGER = System.getLogger(ComUtil.class.getName());
+
+    private static final AtomicInteger ACTIVE_INITIALIZATIONS = new AtomicInteger(0);
+    private static final AtomicLong APARTMENT_GENERATION = new AtomicLong(0);
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+    private static final Object SECURITY_LOCK = new Object();
+    private static volatile boolean securityInitialized = false;
+
+    private static final LongAdder NATIVE_INITIALIZATIONS = new LongAdder();
+    private static final LongAdder NESTED_INITIALIZATIONS = new LongAdder();
+    private static final LongAdder TOTAL_INITIALIZE_NANOS = new LongAdder();
+    private static final AtomicLong MAX_INITIALIZE_NANOS = new AtomicLong(0);
+
+    private ComUtil() {
+        throw new IllegalStateException("Utility Class");
+    }
+
+    /**
+     * Initializes COM for the current thread and sets default security levels.
+     * <p>
+     * Should be called before performing any WMI operations if not using a managed service method.
+     * If the current thread has already been initialized through this class, only the nesting depth is increased.
+     * </p>
+     * On a virtual thread this method does nothing: COM state would be attached to whichever carrier thread happens to be
+     * mounted. {@link WmiUtil} hands the native work of virtual threads to COM worker threads instead.
+     *
+     * @throws COMException if COM could not be initialized, e.g. because the thread already belongs to a
+     *                      single-threaded apartment, or if the process-wide security could not be set
+     * @see <a href="https://learn.microsoft.com/en-us/windows/win32/wmisdk/example--getting-wmi-data-from-the-local-computer">
+     *     C++ equivalent example used in the official microsoft documentation</a>
+     */
+    public static void initialize() {
+
+        if (Thread.currentThread().isVirtual())
+            return;
+
+        int[] depth = DEPTH.get();
+        if (depth[0] > 0) {
+            depth[0]++;
+            NESTED_INITIALIZATIONS.increment();
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+
+        // Initialize COM, S_FALSE means someone else initialized this thread before, which must be balanced all the same
+        WinNT.HRESULT hres = Ole32.INSTANCE.CoInitializeEx(Pointer.NULL, Ole32.COINIT_MULTITHREADED);
+        if (hres.intValue() == RPC_E_CHANGED_MODE)
+            throw new COMException("The current thread is already initialized for a single-threaded apartment.", hres);
+        if (COMUtils.FAILED(hres))
+            throw new COMException("Failed to initialize COM.", hres);
+
+        try {
+            initializeSecurity();
+        } catch (RuntimeException e) {
+            Ole32.INSTANCE.CoUninitialize();
+            throw e;
+        }
+
+        depth[0] = 1;
+        ACTIVE_INITIALIZATIONS.incrementAndGet();
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        NATIVE_INITIALIZATIONS.increment();
+        TOTAL_INITIALIZE_NANOS.add(elapsedNanos);
+        MAX_INITIALIZE_NANOS.accumulateAndGet(elapsedNanos, Math::max);
+    }
+
+    /**
+     * Uninitializes COM for the current thread.
+     * <p>
+     * Should always be called at the end of the methods implementing it to ensure the COM library is closed for the
+     * given thread. Only the call matching the outermost {@link #initialize()} actually closes it.
+     * </p>
+     * When the last initialization tracked by this class is released, the multithreaded apartment is torn down
+     * and the apartment generation returned by {@link #getApartmentGeneration()} is advanced.
+     * Like {@link #initialize()}, this method does nothing on a virtual thread. It does nothing either, apart from
+     * logging a warning, if the current thread has not been initialized through this class, which is the case when
+     * {@link #initialize()} has failed.
+     */
+    public static void uninitialize() {
+        if (Thread.currentThread().isVirtual())
+            return;
+
+        int[] depth = DEPTH.get();
+        if (depth[0] <= 0) {
+            DEPTH.remove();
+            LOGGER.log(System.Logger.Level.WARNING, "ComUtil.uninitialize() called without a matching initialize() on thread {0}, ignored",
+                    Thread.currentThread().getName());
+            return;
+        }
+
+        if (--depth[0] > 0)
+            return;
+
+        DEPTH.remove();
+        Ole32.INSTANCE.CoUninitialize();
+
+        // The MTA is destroyed once its last thread leaves, invalidating every proxy created in it
+        if (ACTIVE_INITIALIZATIONS.decrementAndGet() <= 0) {
+            ACTIVE_INITIALIZATIONS.set(0);
+            APARTMENT_GENERATION.incrementAndGet();
+        }
+    }
+
+    /**
+     * Initializes COM for the current thread and returns a scope that uninitializes it when closed.
+     *
+     * @return the scope, to be closed on the same thread, preferably with try-with-resources
+     * @throws COMException if COM could not be initialized, see {@link #initialize()}
+     */
+    public static ComScope open() {
+        initialize();
+        return new ComScope();
+    }
+
+    /**
+     * @return the number of nested {@link #initialize()} calls currently open on this thread, {@code 0} if COM
+     * has not been initialized through this class
+     */
+    public static int getDepth() {
+        return Thread.currentThread().isVirtual() ? 0 : DEPTH.get()[0];
+    }
+
+    /**
+     * Returns the generation of the multithreaded apartment that COM objects created right now would live in.
+     * <p>
+     * The generation advances every time the number of threads initialized through this class drops to zero,
+     * which is when COM tears the apartment down. Interface pointers created under an older generation must
+     * neither be used nor released. The connection pool in {@link io.github.eggy03.pinetree.windows.connection}
+     * relies on this value to discard connections that outlived their apartment.
+     * </p>
+     *
+     * @return the current apartment generation
+     */
+    public static long getApartmentGeneration() {
+        return APARTMENT_GENERATION.get();
+    }
+
+    /**
+     * @return a snapshot of the initialization counters of this process
+     */
+    public static ComInitStats getStats() {
+        return ComInitStats.builder()
+                .nativeInitializations(NATIVE_INITIALIZATIONS.sum())
+                .nestedInitializations(NESTED_INITIALIZATIONS.sum())
+                .activeThreads(ACTIVE_INITIALIZATIONS.get())
+                .securityInitialized(securityInitialized)
+                .totalInitializeNanos(TOTAL_INITIALIZE_NANOS.sum())
+                .maxInitializeNanos(MAX_INITIALIZE_NANOS.get())
+                .build();
+    }
+
+    private static void initializeSecurity() {
+        if (securityInitialized)
+            return;
+
+        synchronized (SECURITY_LOCK) {
+            if (securityInitialized)
+                return;
+
+            // Set general COM security levels
+            WinNT.HRESULT hres = Ole32.INSTANCE.CoInitializeSecurity(
+                    null,
+                    -1,
+                    null,
+                    null,
+                    Ole32.RPC_C_AUTHN_LEVEL_DEFAULT,
+                    Ole32.RPC_C_IMP_LEVEL_IMPERSONATE,
+                    null,
+                    Ole32.EOAC_NONE,
+                    null
+            );
+            if (COMUtils.FAILED(hres) && hres.intValue() != RPC_E_TOO_LATE)
+                throw new COMException("Failed to initialize COM security.", hres);
+
+            securityInitialized = true;
+        }
+    }
+
+    /**
+     * COM initialization of the current thread, uninitialized when closed.
+     *
+     * @see #open()
+     */
+    public static final class ComScope implements AutoCloseable {
+
+        private boolean closed = false;
+
+        private ComScope() {
+        }
+
+        /**
+         * Uninitializes COM for the current thread. Calling this method more than once has no effect.
+         */
+        @Override
+        public void close() {
+            if (closed)
+                return;
+
+            closed = true;
+            uninitialize();
+        }
+    }
+}
@@ -0,0 +1,845 @@
+package io.github.eggy03.pinetree.windows.util;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import com.sun.jna.platform.win32.COM.WbemcliUtil;
+import io.github.eggy03.pinetree.windows.com.ComWmiAsyncQueryDriver;
+import io.github.eggy03.pinetree.windows.com.ComWmiObjectEnumerator;
+import io.github.eggy03.pinetree.windows.com.WmiAsyncCall;
+import io.github.eggy03.pinetree.windows.com.WmiClassObject;
+import io.github.eggy03.pinetree.windows.com.WmiNotificationQueryDriver;
+import io.github.eggy03.pinetree.windows.com.WmiObjectEnumerator;
+import io.github.eggy03.pinetree.windows.concurrent.AdaptiveConcurrencyLimiter;
+import io.github.eggy03.pinetree.windows.concurrent.ComExecutor;
+import io.github.eggy03.pinetree.windows.concurrent.ComOffloadingIterator;
+import io.github.eggy03.pinetree.windows.concurrent.WmiBudgetExceededException;
+import io.github.eggy03.pinetree.windows.concurrent.WmiLoadGovernor;
+import io.github.eggy03.pinetree.windows.connection.WmiConnection;
+import io.github.eggy03.pinetree.windows.connection.WmiConnectionLease;
+import io.github.eggy03.pinetree.windows.connection.WmiConnectionPool;
+import io.github.eggy03.pinetree.windows.enums.WmiClassname;
+import io.github.eggy03.pinetree.windows.event.WmiEventDispatcher;
+import io.github.eggy03.pinetree.windows.event.WmiEventListener;
+import io.github.eggy03.pinetree.windows.event.WmiSubscription;
+import io.github.eggy03.pinetree.windows.mapper.CommonMappingInterface;
+import io.github.eggy03.pinetree.windows.query.WmiObjectPath;
+import io.github.eggy03.pinetree.windows.query.WqlAssociatorsQuery;
+import io.github.eggy03.pinetree.windows.query.WqlEventQuery;
+import io.github.eggy03.pinetree.windows.query.WqlQuery;
+import io.github.eggy03.pinetree.windows.result.ColumnarResult;
+import io.github.eggy03.pinetree.windows.result.ResultCursor;
+import io.github.eggy03.pinetree.windows.result.WmiEntityIterator;
+import io.github.eggy03.pinetree.windows.result.WmiEntitySink;
+import io.github.eggy03.pinetree.windows.result.WmiResultCursor;
+import io.github.eggy03.pinetree.windows.result.WmiResultTable;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Utility class for executing WMI queries and returning results.
+ * <p>
+ * Executes queries over connections borrowed from {@link WmiConnectionPool#getDefault()}, so that repeated queries
+ * against the same namespace do not reconnect to WMI every time, and returns results in the form of
+ * {@link WbemcliUtil.WmiResult}, as a {@link Stream} of mapped entities for large results,
+ * or as a {@link CompletableFuture} of mapped entities for asynchronous queries.
+ * Changes to instances can be pushed to a listener through {@link #subscribe(String, String, Class, CommonMappingInterface, WqlEventQuery, WmiEventListener)}.
+ * </p>
+ * <p>
+ * When called from a virtual thread, the native work is handed to the workers of {@link ComExecutor#getDefault()},
+ * which own their COM state, while the virtual thread parks until the result is ready. Virtual threads therefore
+ * neither initialize COM on whichever carrier thread they happen to be mounted on, nor pin their carrier during
+ * blocking native calls.
+ * </p>
+ * <p>
+ * Queries, lookups, asynchronous queries and cursors must fit the budget of their class in
+ * {@link WmiLoadGovernor#getDefault()}, and then wait for a permit of {@link AdaptiveConcurrencyLimiter#getDefault()},
+ * which adapts the number of concurrent calls to the latency of WMI. A cursor holds both until it is closed.
+ * Streams and event subscriptions, whose lifetime is controlled by the caller, are neither governed nor limited.
+ * </p>
+ * @since 1.0
+ */
+public class WmiUtil {
+
+    // RPC and WMI error codes signalling that a pooled connection is no longer usable
+    private static final int RPC_E_DISCONNECTED = 0x80010108;
+    private static final int RPC_S_SERVER_UNAVAILABLE = 0x800706BA;
+    private static final int RPC_S_CALL_FAILED = 0x800706BE;
+    private static final int WBEM_E_TRANSPORT_FAILURE = 0x80041015;
+
+    /**
+     * Number of objects fetched per {@code IEnumWbemClassObject::Next} call unless specified otherwise
+     */
+    public static final int DEFAULT_BATCH_SIZE = 32;
+
+    private static final ThreadLocal<WmiConnection> BOUND_CONNECTION = new ThreadLocal<>();
+
+    private WmiUtil() {
+        throw new IllegalStateException("Utility Class");
+    }
+
+    /**
+     * Runs a task whose queries go through the given connection instead of the default pool.
+     * <p>
+     * Every query issued by this class on the calling thread uses it, which is how the services can be pointed at a
+     * remote machine, see
+     * {@link io.github.eggy03.pinetree.windows.connection.RemoteComWmiConnectionFactory}. The binding follows the
+     * queries the task hands to the workers of a {@link ComExecutor}, including the hop made for virtual threads and the
+     * managed, bounded and asynchronous service methods, so they never fall back to the local machine. Queries for a
+     * namespace other than that of the connection are rejected with an {@link IllegalStateException}. Threads the task
+     * starts by other means do not see the binding. The connection is neither pooled nor closed by this method.
+     * </p>
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * WmiHost host = WmiHost.builder().hostName("ws-0042").build();
+     * WmiConnection connection = new RemoteComWmiConnectionFactory(host).connect(Namespace.DEFAULT.getValue());
+     * try {
+     *     List<Processor> cpuList = WmiUtil.withConnection(connection, () -> new ProcessorService().get());
+     * } finally {
+     *     connection.close();
+     * }
+     * }</pre>
+     *
+     * @param connection the connection to use
+     * @param task       the task issuing the queries, run on the calling thread, which must have COM initialized
+     * @param <T>        the result type
+     * @return the result of the task
+     */
+    public static <T> T withConnection(WmiConnection connection, Supplier<T> task) {
+        WmiConnection previous = BOUND_CONNECTION.get();
+        BOUND_CONNECTION.set(connection);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null)
+                BOUND_CONNECTION.set(previous);
+            else
+                BOUND_CONNECTION.remove();
+        }
+    }
+
+    /**
+     * @return the connection bound to the calling thread by {@link #withConnection(WmiConnection, Supplier)},
+     * {@code null} if its queries go to {@link WmiConnectionPool#getDefault()}
+     */
+    @Nullable
+    public static WmiConnection getBoundConnection() {
+        return BOUND_CONNECTION.get();
+    }
+
+    /**
+     * Executes a WMI query for the given class and property enumeration.
+     * <p>
+     * The connection to the namespace is borrowed from {@link WmiConnectionPool#getDefault()}. If the pooled connection
+     * turns out to be disconnected, it is discarded and the query is retried once on a fresh connection.
+     * </p>
+     *
+     * @param nameSpace     the WMI namespace passed to the query, e.g. {@code root/cimv2}
+     * @param wmiClassName  the WMI class passed to the query, e.g. {@code Win32_Processor}
+     * @param propertyEnum  the enum defining the class properties to retrieve
+     * @param <S>           the type of the property enum
+     * @return the {@link WbemcliUtil.WmiResult} containing property values
+     */
+    public static <S extends Enum<S>> WbemcliUtil.WmiResult<S> getResult(String nameSpace, String wmiClassName, Class<S> propertyEnum) {
+        return getResult(nameSpace, wmiClassName, WqlQuery.from(propertyEnum));
+    }
+
+    /**
+     * Executes a WMI query for the given class, selecting the properties of the query's enum and applying its filter.
+     * <p>
+     * The filter is sent to WMI as part of the {@code WHERE} clause, so only matching instances are returned by the provider.
+     * Only the properties selected by the query are requested and decoded, the values of all other properties are {@code null}.
+     * The connection handling is identical to {@link #getResult(String, String, Class)}.
+     * </p>
+     *
+     * @param nameSpace     the WMI namespace passed to the query, e.g. {@code root/cimv2}
+     * @param wmiClassName  the WMI class passed to the query, e.g. {@code Win32_Processor}
+     * @param query         the query defining the properties to retrieve and the instances to match
+     * @param <S>           the type of the property enum
+     * @return the {@link WbemcliUtil.WmiResult} containing property values of the matching instances
+     */
+    public static <S extends Enum<S>> WbemcliUtil.WmiResult<S> getResult(String nameSpace, String wmiClassName, WqlQuery<S> query) {
+        return getResult(nameSpace, wmiClassName, query, null);
+    }
+
+    /**
+     * Executes a WMI query for the given class and stops enumerating once the timeout has elapsed.
+     * <p>
+     * The remaining time is passed as the timeout of every {@code IEnumWbemClassObject::Next} call, so a provider that
+     * stalls mid-enumeration cannot block the caller beyond the timeout. Rows received up to that point are kept and
+     * the returned table is marked as incomplete, see {@link WmiResultTable#isComplete()}.
+     * The timeout bounds the enumeration only. Use
+     * {@link io.github.eggy03.pinetree.windows.concurrent.QueryWatchdog} to also bound calls that hang inside COM.
+     * The connection handling is identical to {@link #getResult(String, String, Class)}.
+     * </p>
+     *
+     * @param nameSpace     the WMI namespace passed to the query, e.g. {@code root/cimv2}
+     * @param wmiClassName  the WMI class passed to the query, e.g. {@code Win32_Processor}
+     * @param query         the query defining the properties to retrieve and the instances to match
+     * @param timeout       the maximum duration of the enumeration, {@code null} to wait indefinitely
+     * @param <S>           the type of the property enum
+     * @return the {@link WmiResultTable} containing property values of the matching instances received in time
+     */
+    public static <S extends Enum<S>> WmiResultTable<S> getResult(String nameSpace, String wmiClassName, WqlQuery<S> query, @Nullable Duration timeout) {
+        String wql = query.toWql(wmiClassName);
+        long startNanos = System.nanoTime();
+
+        // A result cut short by the timeout counts as degraded
+        return run(nameSpace, wmiClassName, wql, () -> execute(nameSpace, wql, query, startNanos, timeout),
+                WmiResultTable::isComplete, WmiUtil::snapshot);
+    }
+
+    /**
+     * Executes a WMI {@code ASSOCIATORS OF} query, retrieving the instances associated with a single source instance.
+     * <p>
+     * The connection is borrowed and retried like in {@link #getResult(String, String, Class)}.
+     * </p>
+     *
+     * @param nameSpace     the WMI namespace of the instances, e.g. {@code root/cimv2}
+     * @param query         the query identifying the source instance and the class of the associated instances
+     * @param propertyEnum  the enum defining the properties to read from the associated instances
+     * @param <S>           the type of the property enum
+     * @return the {@link WmiResultTable} containing property values of the associated instances
+     */
+    public static <S extends Enum<S>> WmiResultTable<S> getAssociators(String nameSpace, WqlAssociatorsQuery query, Class<S> propertyEnum) {
+        String wql = query.toWql();
+        WqlQuery<S> projection = WqlQuery.from(propertyEnum);
+
+        return run(nameSpace, query.getResultClass(), wql, () -> execute(nameSpace, wql, projection, 0, null),
+                result -> true, WmiUtil::snapshot);
+    }
+
+    /**
+     * Retrieves a single instance by its object path through {@code IWbemServices::GetObject}.
+     * <p>
+     * Unlike a query, only the addressed instance is produced by the provider, which makes point lookups by key
+     * independent of the number of instances of the class. The connection is borrowed and retried like in
+     * {@link #getResult(String, String, Class)}.
+     * </p>
+     *
+     * @param nameSpace     the WMI namespace of the instance, e.g. {@code root/cimv2}
+     * @param objectPath    the relative object path of the instance, see {@link WmiObjectPath}
+     * @param propertyEnum  the enum defining the class properties to retrieve
+     * @param <S>           the type of the property enum
+     * @return a result holding the instance as its only row, or no row if the instance does not exist
+     * @throws COMException if the lookup failed for any other reason
+     */
+    public static <S extends Enum<S>> WmiResultTable<S> getObject(String nameSpace, String objectPath, Class<S> propertyEnum) {
+        String wmiClassName = objectPath.substring(0, Math.max(0, objectPath.indexOf('.')));
+
+        return run(nameSpace, wmiClassName, objectPath, () -> fetchObject(nameSpace, objectPath, propertyEnum),
+                result -> true, WmiUtil::snapshot);
+    }
+
+    /**
+     * Executes a WQL query and maps every returned object directly, without an intermediate result table.
+     * <p>
+     * The row mapper reads the properties it needs from each {@link WmiClassObject}, which is released once the mapper
+     * returns and must not be retained. Objects are pulled in batches of {@link #DEFAULT_BATCH_SIZE}.
+     * The connection is borrowed and retried like in {@link #getResult(String, String, Class)}.
+     * </p>
+     *
+     * @param nameSpace     the WMI namespace passed to the query, e.g. {@code root/cimv2}
+     * @param wmiClassName  the WMI class being queried, used to apply its load budget
+     * @param wql           the complete WQL query
+     * @param rowMapper     converts a single object into an entity
+     * @param <T>           the entity type
+     * @return the mapped entities, in the order they were returned by WMI
+     */
+    public static <T> List<T> getRows(String nameSpace, String wmiClassName, String wql, Function<? super WmiClassObject, ? extends T> rowMapper) {
+        return run(nameSpace, wmiClassName, wql, () -> mapRows(nameSpace, wql, rowMapper),
+                result -> true, rows -> Collections.unmodifiableList(new ArrayList<>(rows)));
+    }
+
+    /**
+     * Executes a WMI query for the given class and stores the result column by column, see {@link ColumnarResult}.
+     * <p>
+     * Objects are read straight into the primitive columns, so no boxed intermediate result is built.
+     * The connection is borrowed and retried like in {@link #getResult(String, String, Class)}.
+     * </p>
+     *
+     * @param nameSpace     the WMI namespace passed to the query, e.g. {@code root/cimv2}
+     * @param wmiClassName  the WMI class passed to the query, e.g. {@code Win32_PhysicalMemory}
+     * @param query         the query defining the properties to retrieve and the instances to match
+     * @param <S>           the type of the property enum
+     * @return the {@link ColumnarResult} containing property values of the matching instances
+     */
+    public static <S extends Enum<S>> ColumnarResult<S> getColumnarResult(String nameSpace, String wmiClassName, WqlQuery<S> query) {
+        String wql = query.toWql(wmiClassName);
+
+        return run(nameSpace, wmiClassName, wql, () -> readColumns(nameSpace, wql, query),
+                result -> true, ColumnarResult::toReadOnlyCopy);
+    }
+
+    /**
+     * Executes a WMI query and streams the matching instances through a {@link ResultCursor}, one row at a time.
+     * <p>
+     * Objects are pulled from the enumeration in batches of {@link #DEFAULT_BATCH_SIZE} and each row is decoded into
+     * the reusable slots of a {@link WmiResultCursor}, so reading the result allocates nothing per row and nothing is
+     * kept once the cursor moves on. On a virtual thread, where native calls must stay off the carrier, the result is
+     * read into a {@link ColumnarResult} on a COM worker instead and its cursor is returned.
+     * </p>
+     * The cursor must be consumed on the calling thread, which must have COM initialized unless it is a virtual thread,
+     * and it must be closed, preferably with try-with-resources, to return its pooled connection. Until then it counts
+     * against the load budget of its class and the concurrency limit.
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * try (ResultCursor<ProcessorProperty> cpus = WmiUtil.getCursor(
+     *         Namespace.DEFAULT.getValue(),
+     *         WmiClassname.WIN32_PROCESSOR.getClassName(),
+     *         WqlQuery.from(ProcessorProperty.class))) {
+     *     while (cpus.next())
+     *         System.out.println(cpus.getInt(ProcessorProperty.NumberOfCores));
+     * }
+     * }</pre>
+     *
+     * @param nameSpace     the WMI namespace passed to the query, e.g. {@code root/cimv2}
+     * @param wmiClassName  the WMI class passed to the query, e.g. {@code Win32_Processor}
+     * @param query         the query defining the properties to retrieve and the instances to match
+     * @param <S>           the type of the property enum
+     * @return a cursor over the matching instances, positioned before the first row
+     */
+    public static <S extends Enum<S>> ResultCursor<S> getCursor(String nameSpace, String wmiClassName, WqlQuery<S> query) {
+        if (Thread.currentThread().isVirtual())
+            return getColumnarResult(nameSpace, wmiClassName, query).cursor();
+
+        // As for other requests, remote hosts reached through a bound connection are not protected
+        if (isBound())
+            return openCursor(nameSpace, wmiClassName, query, () -> {
+            });
+
+        // The ticket and the permit are held until the cursor is closed, on whichever thread that happens
+        WmiLoadGovernor.Ticket ticket = WmiLoadGovernor.getDefault().acquire(WmiClassname.fromClassName(wmiClassName));
+        AdaptiveConcurrencyLimiter.Permit permit = AdaptiveConcurrencyLimiter.getDefault().acquire(wmiClassName);
+        try {
+            // Released without an outcome, the time spent reading the rows telling nothing about the latency of WMI
+            return openCursor(nameSpace, wmiClassName, query, () -> {
+                permit.close();
+                ticket.close();
+            });
+        } catch (RuntimeException e) {
+            permit.onFailure();
+            permit.close();
+            ticket.close();
+            throw e;
+        }
+    }
+
+    // The release runs once the cursor is closed, after its connection has been returned
+    private static <S extends Enum<S>> ResultCursor<S> openCursor(String nameSpace, String wmiClassName, WqlQuery<S> query,
+                                                                  Runnable release) {
+        WmiConnectionLease lease = acquire(nameSpace);
+        try {
+            WmiObjectEnumerator enumerator = new ComWmiObjectEnumerator(execQuery(lease, query.toWql(wmiClassName)));
+            return new WmiResultCursor<>(enumerator, query, DEFAULT_BATCH_SIZE, Wbemcli.WBEM_INFINITE, () -> {
+                try {
+                    lease.close();
+                } finally {
+                    release.run();
+                }
+            });
+        } catch (RuntimeException e) {
+            if (e instanceof COMException comException && isConnectionFailure(comException))
+                lease.invalidate();
+            lease.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Executes a WMI query and streams the matching instances as entities, batch by batch.
+     * <p>
+     * The query is issued with {@link Wbemcli#WBEM_FLAG_FORWARD_ONLY} and {@link Wbemcli#WBEM_FLAG_RETURN_IMMEDIATELY}
+     * and its objects are pulled with one {@code IEnumWbemClassObject::Next} call per batch of {@code batchSize}
+     * objects. Each batch is mapped with the given mapper and handed out before the next one is fetched, so that the
+     * first entity is available as soon as the first batch arrives and memory usage does not grow with the result size.
+     * </p>
+     * The stream must be consumed on the calling thread, which must have COM initialized unless it is a virtual thread,
+     * and it must be closed, preferably with try-with-resources, to return its pooled connection.
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * try (Stream<Processor> cpus = WmiUtil.stream(
+     *         Namespace.DEFAULT.getValue(),
+     *         WmiClassname.WIN32_PROCESSOR.getClassName(),
+     *         WqlQuery.from(ProcessorProperty.class),
+     *         new ProcessorMapper(),
+     *         16)) {
+     *     cpus.forEach(cpu -> System.out.println(cpu.getName()));
+     * }
+     * }</pre>
+     *
+     * @param nameSpace     the WMI namespace passed to the query, e.g. {@code root/cimv2}
+     * @param wmiClassName  the WMI class passed to the query, e.g. {@code Win32_Processor}
+     * @param query         the query defining the properties to retrieve and the instances to match
+     * @param mapper        the mapper converting each batch into entities
+     * @param batchSize     the maximum number of objects fetched per round trip
+     * @param <S>           the entity type
+     * @param <P>           the type of the property enum
+     * @return a lazily populated, sequential stream of entities
+     */
+    public static <S, P extends Enum<P>> Stream<S> stream(String nameSpace, String wmiClassName, WqlQuery<P> query,
+                                                          CommonMappingInterface<S, P> mapper, int batchSize) {
+
+        if (Thread.currentThread().isVirtual()) {
+            // Keep native calls off the carrier thread, every batch is fetched on a COM worker
+            ComExecutor executor = ComExecutor.getDefault();
+            WmiEntityIterator<S, P> iterator = executor.call(() -> openIterator(nameSpace, wmiClassName, query, mapper, batchSize));
+            ComOffloadingIterator<S> offloading = new ComOffloadingIterator<>(iterator, executor, batchSize);
+            return toStream(offloading, offloading::close);
+        }
+
+        WmiEntityIterator<S, P> iterator = openIterator(nameSpace, wmiClassName, query, mapper, batchSize);
+        return toStream(iterator, iterator::close);
+    }
+
+    private static <S, P extends Enum<P>> WmiEntityIterator<S, P> openIterator(String nameSpace, String wmiClassName, WqlQuery<P> query,
+                                                                              CommonMappingInterface<S, P> mapper, int batchSize) {
+
+        WmiConnectionLease lease = acquire(nameSpace);
+        try {
+            WmiObjectEnumerator enumerator = new ComWmiObjectEnumerator(execQuery(lease, query.toWql(wmiClassName)));
+            return new WmiEntityIterator<>(enumerator, query, mapper, batchSize, Wbemcli.WBEM_INFINITE, lease::close);
+        } catch (RuntimeException e) {
+            if (e instanceof COMException comException && isConnectionFailure(comException))
+                lease.invalidate();
+            lease.close();
+            throw e;
+        }
+    }
+
+    private static <S> Stream<S> toStream(Iterator<S> iterator, Runnable closeHandler) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(closeHandler);
+    }
+
+    /**
+     * Executes a WMI query asynchronously and maps the matching instances into entities as they arrive.
+     * <p>
+     * The query is issued with {@code IWbemServices::ExecQueryAsync} from a worker of {@link ComExecutor#getDefault()},
+     * which keeps COM initialized while the call is in flight, so this method neither blocks nor requires the caller to initialize COM. WMI pushes the results
+     * to a {@link WmiEntitySink}, which maps every delivered batch and hands each entity to the row listener.
+     * The pooled connection is returned as soon as the call has been issued, so concurrent asynchronous queries
+     * against the same namespace share a single connection instead of serializing on it.
+     * </p>
+     * Cancelling the returned future cancels the call via {@code IWbemServices::CancelAsyncCall}.
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * CompletableFuture<List<Processor>> cpus = WmiUtil.getResultAsync(
+     *         Namespace.DEFAULT.getValue(),
+     *         WmiClassname.WIN32_PROCESSOR.getClassName(),
+     *         WqlQuery.from(ProcessorProperty.class),
+     *         new ProcessorMapper(),
+     *         cpu -> System.out.println("received " + cpu.getDeviceId()));
+     * cpus.thenAccept(list -> System.out.println(list.size() + " processors"));
+     * }</pre>
+     *
+     * @param nameSpace     the WMI namespace passed to the query, e.g. {@code root/cimv2}
+     * @param wmiClassName  the WMI class passed to the query, e.g. {@code Win32_Processor}
+     * @param query         the query defining the properties to retrieve and the instances to match
+     * @param mapper        the mapper converting each batch into entities
+     * @param rowListener   listener receiving each entity as it arrives, invoked on threads owned by COM
+     * @param <S>           the entity type
+     * @param <P>           the type of the property enum
+     * @return a future completed with every matching entity, or exceptionally with a {@link COMException}
+     */
+    public static <S, P extends Enum<P>> CompletableFuture<List<S>> getResultAsync(String nameSpace, String wmiClassName, WqlQuery<P> query,
+                                                                                   CommonMappingInterface<S, P> mapper,
+                                                                                   Consumer<? super S> rowListener) {
+
+        WmiEntitySink<S, P> sink = new WmiEntitySink<>(query, mapper, rowListener);
+        String wql = query.toWql(wmiClassName);
+
+        try {
+            ComExecutor.getDefault().execute(() -> issueAsync(nameSpace, wmiClassName, wql, sink));
+        } catch (RejectedExecutionException e) {
+            sink.getFuture().completeExceptionally(e);
+        }
+        return sink.getFuture();
+    }
+
+    private static void issueAsync(String nameSpace, String wmiClassName, String wql, WmiEntitySink<?, ?> sink) {
+
+        CompletableFuture<?> future = sink.getFuture();
+        if (future.isDone())
+            return; // cancelled before it was issued
+
+        // The ticket and the permit are held until the call completes, on whichever thread that happens
+        if (!isBound()) {
+            WmiLoadGovernor.Ticket ticket;
+            try {
+                ticket = WmiLoadGovernor.getDefault().acquire(WmiClassname.fromClassName(wmiClassName));
+            } catch (WmiBudgetExceededException e) {
+                future.completeExceptionally(e);
+                return;
+            }
+            AdaptiveConcurrencyLimiter.Permit permit = AdaptiveConcurrencyLimiter.getDefault().acquire(wmiClassName);
+            future.whenComplete((rows, failure) -> {
+                if (failure == null)
+                    permit.onSuccess();
+                else if (!future.isCancelled())
+                    permit.onFailure();
+                permit.close();
+                ticket.close();
+            });
+        }
+
+        WmiAsyncCall call;
+        try {
+            call = retried(() -> startAsync(nameSpace, wql, sink));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            return;
+        }
+
+        // CancelAsyncCall must be issued from a thread with COM initialized
+        WmiAsyncCall issued = call;
+        future.whenComplete((rows, failure) -> {
+            if (future.isCancelled())
+                ComExecutor.getDefault().execute(issued::cancel);
+        });
+    }
+
+    private static WmiAsyncCall startAsync(String nameSpace, String wql, WmiEntitySink<?, ?> sink) {
+
+        // The call keeps its own reference to the services, so the lease can be returned right away
+        try (WmiConnectionLease lease = acquire(nameSpace)) {
+            try {
+                return new ComWmiAsyncQueryDriver(lease.getServices()).execQueryAsync(wql, sink);
+            } catch (COMException e) {
+                if (isConnectionFailure(e))
+                    lease.invalidate();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Subscribes to changes of the instances of the given class, pushed by WMI through
+     * {@code IWbemServices::ExecNotificationQueryAsync}, instead of polling them.
+     * <p>
+     * Each event is mapped by the regular mapper of the entity and passed to the matching callback of the listener.
+     * The subscription is issued on a worker of {@link ComExecutor#getDefault()} over a connection borrowed from
+     * {@link WmiConnectionPool#getDefault()}, and is retried once on a fresh connection if the pooled one was stale.
+     * The subscription keeps its own reference to the connection, which goes back to the pool right away.
+     * </p>
+     *
+     * <h4>Usage Example</h4>
+     * <pre>{@code
+     * try (WmiSubscription subscription = WmiUtil.subscribe(
+     *         Namespace.DEFAULT.getValue(),
+     *         WmiClassname.WIN32_DESKTOP_MONITOR.getClassName(),
+     *         MonitorProperty.class,
+     *         new MonitorMapper(),
+     *         WqlEventQuery.of(EnumSet.allOf(WmiEventType.class), Duration.ofSeconds(2)),
+     *         new WmiEventListener<>() {
+     *             @Override
+     *             public void onCreated(Monitor monitor) {
+     *                 System.out.println("connected " + monitor.getName());
+     *             }
+     *         })) {
+     *     // receive events until closed
+     * }
+     * }</pre>
+     *
+     * @param nameSpace     the WMI namespace of the class, e.g. {@code root/cimv2}
+     * @param wmiClassName  the WMI class whose instances are watched, e.g. {@code Win32_DesktopMonitor}
+     * @param propertyEnum  the enum defining the class properties read from each instance
+     * @param mapper        the mapper converting each instance into an entity
+     * @param eventQuery    the event types to receive and the polling interval
+     * @param listener      listener receiving the typed changes, invoked on threads owned by COM
+     * @param <S>           the entity type
+     * @param <P>           the type of the property enum
+     * @return the active subscription, to be closed when no longer needed
+     * @throws COMException if the subscription could not be started
+     */
+    public static <S, P extends Enum<P>> WmiSubscription subscribe(String nameSpace, String wmiClassName, Class<P> propertyEnum,
+                                                                   CommonMappingInterface<S, P> mapper, WqlEventQuery eventQuery,
+                                                                   WmiEventListener<? super S> listener) {
+
+        return ComExecutor.getDefault().call(() -> retried(
+                () -> subscribePooled(nameSpace, wmiClassName, propertyEnum, mapper, eventQuery, listener)));
+    }
+
+    /**
+     * Subscribes to changes of the instances of the given class through the given driver.
+     * <p>
+     * Any {@link WmiNotificationQueryDriver} may be passed, including a synthetic event source that pushes event
+     * objects from plain Java threads, which drives the same mapping and dispatching as a native subscription.
+     * The driver is invoked on the calling thread.
+     * </p>
+     *
+     * @param driver        the driver issuing the event query
+     * @param wmiClassName  the WMI class whose instances are watched, e.g. {@code Win32_DesktopMonitor}
+     * @param propertyEnum  the enum defining the class properties read from each instance
+     * @param mapper        the mapper converting each instance into an entity
+     * @param eventQuery    the event types to receive and the polling interval
+     * @param listener      listener receiving the typed changes
+     * @param <S>           the entity type
+     * @param <P>           the type of the property enum
+     * @return the active subscription, to be closed when no longer needed
+     */
+    public static <S, P extends Enum<P>> WmiSubscription subscribe(WmiNotificationQueryDriver driver, String wmiClassName,
+                                                                   Class<P> propertyEnum, CommonMappingInterface<S, P> mapper,
+                                                                   WqlEventQuery eventQuery, WmiEventListener<? super S> listener) {
+
+        WmiEventDispatcher<S, P> dispatcher = new WmiEventDispatcher<>(propertyEnum, eventQuery.getEventTypes(), mapper, listener);
+        WmiAsyncCall call = driver.execNotificationQueryAsync(eventQuery.toWql(wmiClassName), dispatcher);
+        return new WmiSubscription(call, dispatcher);
+    }
+
+    private static <S, P extends Enum<P>> WmiSubscription subscribePooled(String nameSpace, String wmiClassName, Class<P> propertyEnum,
+                                                                          CommonMappingInterface<S, P> mapper, WqlEventQuery eventQuery,
+                                                                          WmiEventListener<? super S> listener) {
+
+        // The subscription keeps its own reference to the services, so the lease can be returned right away
+        try (WmiConnectionLease lease = acquire(nameSpace)) {
+            try {
+                return subscribe(new ComWmiAsyncQueryDriver(lease.getServices()), wmiClassName, propertyEnum, mapper, eventQuery, listener);
+            } catch (COMException e) {
+                if (isConnectionFailure(e))
+                    lease.invalidate();
+                throw e;
+            }
+        }
+    }
+
+    private static <S extends Enum<S>> WmiResultTable<S> fetchObject(String nameSpace, String objectPath, Class<S> propertyEnum) {
+
+        WmiResultTable<S> result = new WmiResultTable<>(propertyEnum);
+        try (WmiConnectionLease lease = acquire(nameSpace)) {
+            WmiClassObject instance;
+            try {
+                instance = lease.getConnection().getObject(objectPath);
+            } catch (COMException e) {
+                if (isConnectionFailure(e))
+                    lease.invalidate();
+                throw e;
+            }
+
+            // No instance has this path, the table stays empty
+            if (instance == null)
+                return result;
+
+            try {
+                result.addRow(instance, EnumSet.allOf(propertyEnum));
+            } finally {
+                instance.release();
+            }
+        }
+        return result;
+    }
+
+    private static <S extends Enum<S>> WmiResultTable<S> execute(String nameSpace, String wql, WqlQuery<S> query,
+                                                                 long startNanos, @Nullable Duration timeout) {
+
+        try (WmiConnectionLease lease = acquire(nameSpace)) {
+            try (WmiObjectEnumerator enumerator = new ComWmiObjectEnumerator(execQuery(lease, wql))) {
+                return enumerate(enumerator, query, startNanos, timeout);
+            } catch (COMException e) {
+                if (isConnectionFailure(e))
+                    lease.invalidate();
+                throw e;
+            }
+        }
+    }
+
+    private static <T> List<T> mapRows(String nameSpace, String wql, Function<? super WmiClassObject, ? extends T> rowMapper) {
+        List<T> rows = new ArrayList<>();
+        executeEach(nameSpace, wql, object -> rows.add(rowMapper.apply(object)));
+        return rows;
+    }
+
+    private static <S extends Enum<S>> ColumnarResult<S> readColumns(String nameSpace, String wql, WqlQuery<S> query) {
+        ColumnarResult<S> result = new ColumnarResult<>(query.getPropertyEnum());
+        EnumSet<S> selectedProperties = query.getSelectedProperties();
+        executeEach(nameSpace, wql, object -> result.addRow(object, selectedProperties));
+        return result;
+    }
+
+    private static void executeEach(String nameSpace, String wql, Consumer<? super WmiClassObject> action) {
+
+        try (WmiConnectionLease lease = acquire(nameSpace)) {
+            try (WmiObjectEnumerator enumerator = new ComWmiObjectEnumerator(execQuery(lease, wql))) {
+                enumerateEach(enumerator, action);
+            } catch (COMException e) {
+                if (isConnectionFailure(e))
+                    lease.invalidate();
+                throw e;
+            }
+        }
+    }
+
+    private static void enumerateEach(WmiObjectEnumerator enumerator, Consumer<? super WmiClassObject> action) {
+
+        WmiClassObject[] batch = new WmiClassObject[DEFAULT_BATCH_SIZE];
+
+        while (true) {
+            int count;
+            try {
+                count = enumerator.next(Wbemcli.WBEM_INFINITE, batch);
+            } catch (TimeoutException e) {
+                throw new COMException(e.getMessage(), e);
+            }
+
+            if (count == 0)
+                return;
+
+            try {
+                for (int i = 0; i < count; i++)
+                    action.accept(batch[i]);
+            } finally {
+                for (int i = 0; i < count; i++) {
+                    batch[i].release();
+                    batch[i] = null;
+                }
+            }
+        }
+    }
+
+    private static <S extends Enum<S>> WmiResultTable<S> enumerate(WmiObjectEnumerator enumerator, WqlQuery<S> query,
+                                                                   long startNanos, @Nullable Duration timeout) {
+
+        WmiResultTable<S> result = new WmiResultTable<>(query.getPropertyEnum());
+        EnumSet<S> selectedProperties = query.getSelectedProperties();
+        WmiClassObject[] batch = new WmiClassObject[DEFAULT_BATCH_SIZE];
+
+        while (true) {
+            int timeoutMillis = Wbemcli.WBEM_INFINITE;
+            if (timeout != null) {
+                long remainingNanos = timeout.toNanos() - (System.nanoTime() - startNanos);
+                if (remainingNanos <= 0) {
+                    result.markIncomplete();
+                    return result;
+                }
+                timeoutMillis = Math.clamp(TimeUnit.NANOSECONDS.toMillis(remainingNanos), 1, Integer.MAX_VALUE);
+            }
+
+            int count;
+            try {
+                count = enumerator.next(timeoutMillis, batch);
+            } catch (TimeoutException e) {
+                // Keep whatever arrived in time
+                result.markIncomplete();
+                return result;
+            }
+
+            if (count == 0)
+                return result;
+
+            try {
+                for (int i = 0; i < count; i++)
+                    result.addRow(batch[i], selectedProperties);
+            } finally {
+                for (int i = 0; i < count; i++) {
+                    batch[i].release();
+                    batch[i] = null;
+                }
+            }
+        }
+    }
+
+    // Forward-only and semi-synchronous, the enumerator is secured like the connection it comes from
+    private static Wbemcli.IEnumWbemClassObject execQuery(WmiConnectionLease lease, String wql) {
+        Wbemcli.IEnumWbemClassObject enumerator = lease.getServices().ExecQuery(
+                "WQL",
+                wql,
+                Wbemcli.WBEM_FLAG_FORWARD_ONLY | Wbemcli.WBEM_FLAG_RETURN_IMMEDIATELY,
+                null
+        );
+        try {
+            lease.secure(enumerator);
+        } catch (RuntimeException e) {
+            enumerator.Release();
+            throw e;
+        }
+        return enumerator;
+    }
+
+    /*
+     * Runs a blocking request: on a COM worker when called from a virtual thread, which parks meanwhile instead of
+     * pinning its carrier, within the load budget and the concurrency limit, and once more if the connection was stale
+     */
+    private static <T> T run(String nameSpace, String wmiClassName, String request, Supplier<T> attempt,
+                             Predicate<? super T> isSuccess, Function<? super T, ? extends T> snapshot) {
+        if (Thread.currentThread().isVirtual())
+            return ComExecutor.getDefault().call(() -> run(nameSpace, wmiClassName, request, attempt, isSuccess, snapshot));
+
+        return limited(nameSpace, wmiClassName, request, () -> retried(attempt), isSuccess, snapshot);
+    }
+
+    // Only complete tables may answer a later query refused by the governor
+    @Nullable
+    private static <S extends Enum<S>> WmiResultTable<S> snapshot(WmiResultTable<S> table) {
+        return table.isComplete() ? table.toReadOnlyCopy() : null;
+    }
+
+    private static <T> T retried(Supplier<T> attempt) {
+        try {
+            return attempt.get();
+        } catch (COMException e) {
+            // A bound connection is the only one there is
+            if (!isConnectionFailure(e) || isBound())
+                throw e;
+
+            // The pooled connection was stale and has been invalidated, retry once on a new one
+            return attempt.get();
+        }
+    }
+
+    // Only the local WMI service is protected, remote hosts reached through a bound connection are not
+    private static <T> T limited(String nameSpace, String wmiClassName, String request, Supplier<T> task,
+                                 Predicate<? super T> isSuccess, Function<? super T, ? extends T> snapshot) {
+        if (isBound())
+            return task.get();
+
+        return WmiLoadGovernor.getDefault().call(WmiClassname.fromClassName(wmiClassName), nameSpace + "|" + request,
+                () -> AdaptiveConcurrencyLimiter.getDefault().call(wmiClassName, task, isSuccess), snapshot);
+    }
+
+    private static boolean isBound() {
+        return BOUND_CONNECTION.get() != null;
+    }
+
+    private static WmiConnectionLease acquire(String nameSpace) {
+        WmiConnection bound = BOUND_CONNECTION.get();
+        if (bound == null)
+            return WmiConnectionPool.getDefault().acquire(nameSpace);
+
+        // Never reach the local machine from a task bound to another one
+        if (!bound.getNamespace().equals(nameSpace))
+            throw new IllegalStateException("The bound connection serves " + bound.getNamespace() + ", not " + nameSpace);
+        return WmiConnectionLease.unpooled(bound);
+    }
+
+    private static boolean isConnectionFailure(COMException e) {
+        if (e.getHresult() == null)
+            return false;
+
+        int hresult = e.getHresult().intValue();
+        return hresult == RPC_E_DISCONNECTED
+                || hresult == RPC_S_SERVER_UNAVAILABLE
+                || hresult == RPC_S_CALL_FAILED
+                || hresult == WBEM_E_TRANSPORT_FAILURE;
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.eggy03.pinetree.windows.com;
+
+import com.sun.jna.platform.win32.WinError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An asynchronous query and notification driver delivering scripted batches to the sink from its own thread, standing in
+ * for the threads COM calls a sink on.
+ * <p>
+ * A {@linkplain #stepped() stepped} driver waits for a call to {@link #release()} before delivering each batch, which
+ * lets tests act between two batches. Once every batch has been delivered the
+ * call completes with the scripted HRESULT. Cancelling the call completes it with {@code WBEM_E_CALL_CANCELLED} and
+ * delivers nothing more, like {@code IWbemServices::CancelAsyncCall}.
+ * </p>
+ */
+public final class StandInAsyncDriver implements WmiAsyncQueryDriver, WmiNotificationQueryDriver {
+
+    public static final int WBEM_E_CALL_CANCELLED = 0x80041032;
+
+    private final List<WmiClassObject[]> batches = new ArrayList<>();
+    private final List<String> issuedQueries = new ArrayList<>();
+    private int hresult = WinError.S_OK.intValue();
+    private String message = null;
+    private boolean stepped = false;
+    private final Semaphore steps = new Semaphore(0);
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile boolean cancelled = false;
+
+    public StandInAsyncDriver deliver(WmiClassObject... batch) {
+        batches.add(batch);
+        return this;
+    }
+
+    public StandInAsyncDriver completingWith(int hresult, String message) {
+        this.hresult = hresult;
+        this.message = message;
+        return this;
+    }
+
+    public StandInAsyncDriver stepped() {
+        this.stepped = true;
+        return this;
+    }
+
+    /**
+     * Lets a stepped driver deliver its next batch.
+     */
+    public void release() {
+        steps.release();
+    }
+
+    public boolean awaitFinished() throws InterruptedException {
+        return finished.await(10, TimeUnit.SECONDS);
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public List<String> getIssuedQueries() {
+        return issuedQueries;
+    }
+
+    @Override
+    public WmiAsyncCall execQueryAsync(String wql, WmiObjectSink sink) {
+        return start(wql, sink);
+    }
+
+    @Override
+    public WmiAsyncCall execNotificationQueryAsync(String wql, WmiObjectSink sink) {
+        return start(wql, sink);
+    }
+
+    private WmiAsyncCall start(String wql, WmiObjectSink sink) {
+        issuedQueries.add(wql);
+        Thread.ofPlatform().daemon().name("stand-in-sink").start(() -> {
+            try {
+                for (WmiClassObject[] batch : batches) {
+                    if (stepped)
+                        steps.acquireUninterruptibly();
+                    if (cancelled)
+                        break;
+                    sink.indicate(batch, batch.length);
+                }
+                sink.complete(cancelled ? WBEM_E_CALL_CANCELLED : hresult, cancelled ? null : message);
+            } finally {
+                finished.countDown();
+            }
+        });
+        return () -> {
+            cancelled = true;
+            steps.release(batches.size());
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.eggy03.pinetree.windows.com;
+
+import com.sun.jna.Memory;
+import com.sun.jna.Pointer;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import com.sun.jna.platform.win32.Variant;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link WmiClassObject} holding its properties in memory, standing in for a native WMI object.
+ * <p>
+ * Properties that were never set read as {@code VT_NULL}. The VARIANT type of a value is derived from its Java type the
+ * way COM reports it: strings are {@code VT_BSTR}, integers {@code VT_I4}, shorts {@code VT_I2}, bytes {@code VT_UI1}
+ * and booleans {@code VT_BOOL}.
+ * </p>
+ * Like a native object, {@link #decode(String, WmiPropertyDecoder)} hands decoders a {@code VARIANT} laid out in memory
+ * as {@code IWbemClassObject::Get} returns it, strings being {@code BSTR}s. Each one is built once, when the property is
+ * set. {@link #get(String, WmiValue)} hands out the boxed value instead of decoding the {@code VARIANT} with JNA, which
+ * is far slower off Windows than on it, but copies strings into new arrays like decoding a {@code BSTR} does.
+ */
+public final class StandInClassObject implements WmiClassObject {
+
+    private static final Variant.VARIANT NULL = variantOf(null, null);
+
+    private final Map<String, Property> properties = new HashMap<>();
+    private final Map<String, WmiClassObject> objects = new HashMap<>();
+    private int releaseCount = 0;
+
+    public StandInClassObject with(String propertyName, int cimType, Object value) {
+        Pointer bstr = value instanceof String text ? bstrOf(text) : null;
+        properties.put(propertyName, new Property(vtTypeOf(value), cimType, value, variantOf(value, bstr), bstr));
+        return this;
+    }
+
+    public StandInClassObject withString(String propertyName, String value) {
+        return with(propertyName, Wbemcli.CIM_STRING, value);
+    }
+
+    public StandInClassObject withObject(String propertyName, WmiClassObject object) {
+        objects.put(propertyName, object);
+        return this;
+    }
+
+    public int getReleaseCount() {
+        return releaseCount;
+    }
+
+    @Override
+    public void get(String propertyName, WmiValue target) {
+        Property property = properties.get(propertyName);
+        if (property == null)
+            target.set(Variant.VT_NULL, Wbemcli.CIM_EMPTY, null);
+        else
+            target.set(property.vtType(), property.cimType(), property.value() instanceof String text ? new String(text.toCharArray()) : property.value());
+    }
+
+    @Override
+    public Object decode(String propertyName, WmiPropertyDecoder decoder) {
+        Property property = properties.get(propertyName);
+        return decoder.decodeVariant(property == null ? NULL : property.variant());
+    }
+
+    @Override
+    public int getCimType(String propertyName) {
+        Property property = properties.get(propertyName);
+        return property == null ? Wbemcli.CIM_EMPTY : property.cimType();
+    }
+
+    @Override
+    public WmiClassObject getObject(String propertyName) {
+        return objects.get(propertyName);
+    }
+
+    @Override
+    public void release() {
+        releaseCount++;
+    }
+
+    private static int vtTypeOf(Object value) {
+        return switch (value) {
+            case null -> Variant.VT_NULL;
+            case String ignored -> Variant.VT_BSTR;
+            case Integer ignored -> Variant.VT_I4;
+            case Short ignored -> Variant.VT_I2;
+            case Byte ignored -> Variant.VT_UI1;
+            case Boolean ignored -> Variant.VT_BOOL;
+            default -> throw new IllegalArgumentException("No VARIANT type for " + value.getClass());
+        };
+    }
+
+    // The value follows the 8-byte header, a VARIANT_BOOL being -1 for true
+    private static Variant.VARIANT variantOf(Object value, Pointer bstr) {
+        Variant.VARIANT variant = new Variant.VARIANT();
+        Pointer memory = variant.getPointer();
+        memory.setShort(0, (short) vtTypeOf(value));
+        switch (value) {
+            case null -> {
+                // No value
+            }
+            case String ignored -> memory.setPointer(8, bstr);
+            case Integer i -> memory.setInt(8, i);
+            case Short s -> memory.setShort(8, s);
+            case Byte b -> memory.setByte(8, b);
+            case Boolean b -> memory.setShort(8, (short) (b ? -1 : 0));
+            default -> throw new IllegalArgumentException("No VARIANT type for " + value.getClass());
+        }
+        variant.read();
+        return variant;
+    }
+
+    // A BSTR points at its UTF-16 characters, preceded by their length in bytes and followed by a null character.
+    // The returned pointer keeps the allocation alive, so it is held next to the VARIANT that only stores its address
+    private static Pointer bstrOf(String text) {
+        Memory memory = new Memory(4 + 2L * text.length() + 2);
+        memory.setInt(0, 2 * text.length());
+        for (int i = 0; i < text.length(); i++)
+            memory.setShort(4 + 2L * i, (short) text.charAt(i));
+        memory.setShort(4 + 2L * text.length(), (short) 0);
+        return memory.share(4);
+    }
+
+    private record Property(int vtType, int cimType, Object value, Variant.VARIANT variant, Pointer bstr) {
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.eggy03.pinetree.windows.com;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A {@link WmiObjectEnumerator} serving a fixed list of objects, standing in for a native WMI enumeration.
+ * <p>
+ * Each call to {@link #next(int, WmiClassObject[])} fills as much of the batch as there are objects left, like a
+ * forward-only COM enumeration. The enumeration can be made to time out once a given number of objects has been served.
+ * </p>
+ */
+public final class StandInEnumerator implements WmiObjectEnumerator {
+
+    private final List<? extends WmiClassObject> objects;
+    private final List<Integer> requestedBatchSizes = new ArrayList<>();
+    private int position = 0;
+    private int timeoutAt = Integer.MAX_VALUE;
+    private int closeCount = 0;
+
+    public StandInEnumerator(List<? extends WmiClassObject> objects) {
+        this.objects = objects;
+    }
+
+    public StandInEnumerator timingOutAt(int position) {
+        this.timeoutAt = position;
+        return this;
+    }
+
+    public List<Integer> getRequestedBatchSizes() {
+        return requestedBatchSizes;
+    }
+
+    public int getCloseCount() {
+        return closeCount;
+    }
+
+    @Override
+    public int next(int timeoutMillis, WmiClassObject[] batch) throws TimeoutException {
+        if (closeCount > 0)
+            throw new IllegalStateException("Enumeration already closed");
+
+        requestedBatchSizes.add(batch.length);
+        if (position >= timeoutAt)
+            throw new TimeoutException("No object within " + timeoutMillis + " ms");
+
+        int count = Math.min(batch.length, objects.size() - position);
+        for (int i = 0; i < count; i++)
+            batch[i] = objects.get(position++);
+        return count;
+    }
+
+    @Override
+    public void close() {
+        closeCount++;
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.eggy03.pinetree.windows.com;
+
+import com.sun.jna.platform.win32.COM.COMException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link WmiRefresher} serving fixed objects, standing in for a native WMI refresher.
+ * <p>
+ * Like the native refresher, the same objects are handed out after every refresh, an optional action run on each
+ * refresh updating their values in place. Registering an unknown class or object fails with a {@link COMException}.
+ * </p>
+ */
+public final class StandInRefresher implements WmiRefresher {
+
+    private final Map<String, List<? extends WmiClassObject>> classes = new HashMap<>();
+    private final Map<String, WmiClassObject> objects = new HashMap<>();
+    private Runnable onRefresh = () -> {};
+    private int refreshCount = 0;
+    private int closeCount = 0;
+
+    public StandInRefresher withClass(String wmiClassName, List<? extends WmiClassObject> instances) {
+        classes.put(wmiClassName, instances);
+        return this;
+    }
+
+    public StandInRefresher withObject(String objectPath, WmiClassObject object) {
+        objects.put(objectPath, object);
+        return this;
+    }
+
+    public StandInRefresher onRefresh(Runnable action) {
+        this.onRefresh = action;
+        return this;
+    }
+
+    public int getRefreshCount() {
+        return refreshCount;
+    }
+
+    public int getCloseCount() {
+        return closeCount;
+    }
+
+    @Override
+    public WmiRefreshable addEnum(String wmiClassName) {
+        List<? extends WmiClassObject> instances = classes.get(wmiClassName);
+        if (instances == null)
+            throw new COMException("Invalid class " + wmiClassName);
+        return instances::forEach;
+    }
+
+    @Override
+    public WmiRefreshable addObject(String objectPath) {
+        WmiClassObject object = objects.get(objectPath);
+        if (object == null)
+            throw new COMException("Invalid object path " + objectPath);
+        return action -> action.accept(object);
+    }
+
+    @Override
+    public void refresh() {
+        if (closeCount > 0)
+            throw new IllegalStateException("Refresher already closed");
+
+        refreshCount++;
+        onRefresh.run();
+    }
+
+    @Override
+    public void close() {
+        closeCount++;
+    }
+}
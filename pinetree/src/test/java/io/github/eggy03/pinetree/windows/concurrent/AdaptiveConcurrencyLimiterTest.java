@@ -0,0 +1,156 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final String PROCESSOR = "Win32_Processor";
+    private static final String PROCESS = "Win32_Process";
+
+    // Simulated time, every call takes exactly the latency it is given
+    private final AtomicLong nanoClock = new AtomicLong();
+
+    private final AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.builder()
+            .initialLimit(4)
+            .maxLimit(16)
+            .tolerance(2.0)
+            .baselineWindow(20)
+            .nanoClock(nanoClock::get)
+            .build();
+
+    @Test
+    void comparesEachOperationToItsOwnBaseline() {
+        for (int i = 0; i < 50; i++) {
+            complete(PROCESSOR, Duration.ofMillis(2));
+            complete(PROCESS, Duration.ofMillis(80));
+        }
+
+        AdaptiveConcurrencyLimiterStats stats = limiter.getStats();
+        assertEquals(0, stats.getDecreases());
+        assertEquals(Duration.ofMillis(2).toNanos(), stats.getBaselineLatencyNanos().get(PROCESSOR));
+        assertEquals(Duration.ofMillis(80).toNanos(), stats.getBaselineLatencyNanos().get(PROCESS));
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void cutsTheLimitWhenAnOperationSlowsDown() {
+        for (int i = 0; i < 10; i++)
+            complete(PROCESSOR, Duration.ofMillis(10));
+        int before = limiter.getLimit();
+
+        complete(PROCESSOR, Duration.ofMillis(30));
+
+        assertEquals((int) (before * limiter.getBackoffRatio()), limiter.getLimit());
+        assertEquals(1, limiter.getStats().getDecreases());
+    }
+
+    @Test
+    void cutsTheLimitOnceForABurstOfDegradedCalls() {
+        for (int i = 0; i < 10; i++)
+            complete(PROCESSOR, Duration.ofMillis(10));
+        int before = limiter.getLimit();
+
+        // Every call in flight hits the same overload, half of them slowing down and the others failing
+        List<AdaptiveConcurrencyLimiter.Permit> burst = new ArrayList<>();
+        for (int i = 0; i < before; i++)
+            burst.add(limiter.acquire(PROCESSOR));
+        nanoClock.addAndGet(Duration.ofMillis(50).toNanos());
+        for (int i = 0; i < burst.size(); i++) {
+            if (i % 2 == 0)
+                burst.get(i).onSuccess();
+            else
+                burst.get(i).onFailure();
+            burst.get(i).close();
+        }
+
+        assertEquals((int) (before * limiter.getBackoffRatio()), limiter.getLimit());
+        assertEquals(1, limiter.getStats().getDecreases());
+        assertEquals(before / 2, limiter.getStats().getFailures());
+
+        // A call started after the cut that is still degraded cuts it again
+        complete(PROCESSOR, Duration.ofMillis(50));
+        assertEquals((int) (before * limiter.getBackoffRatio() * limiter.getBackoffRatio()), limiter.getLimit());
+        assertEquals(2, limiter.getStats().getDecreases());
+    }
+
+    @Test
+    void forgetsAMinimumOnceItIsAWindowOld() {
+        complete(PROCESSOR, Duration.ofMillis(1));
+        for (int i = 0; i < 19; i++)
+            complete(PROCESSOR, Duration.ofMillis(10));
+        long decreasesWhileStale = limiter.getStats().getDecreases();
+        assertTrue(decreasesWhileStale > 0);
+
+        // The operation is now permanently more expensive, the baseline follows within a window
+        for (int i = 0; i < 20; i++)
+            complete(PROCESSOR, Duration.ofMillis(10));
+        assertEquals(Duration.ofMillis(10).toNanos(), limiter.getBaselineLatencyNanos(PROCESSOR));
+
+        int before = limiter.getLimit();
+        for (int i = 0; i < 20; i++)
+            complete(PROCESSOR, Duration.ofMillis(10));
+        assertEquals(decreasesWhileStale, limiter.getStats().getDecreases());
+        assertTrue(limiter.getLimit() >= before);
+    }
+
+    @Test
+    void doesNotLetOneSlowSampleRaiseTheBaseline() {
+        for (int i = 0; i < 10; i++)
+            complete(PROCESSOR, Duration.ofMillis(5));
+        complete(PROCESSOR, Duration.ofSeconds(1));
+
+        assertEquals(Duration.ofMillis(5).toNanos(), limiter.getBaselineLatencyNanos(PROCESSOR));
+        assertEquals(0, limiter.getBaselineLatencyNanos(PROCESS));
+    }
+
+    @Test
+    void admitsTheMostUrgentWaiterFirst() throws InterruptedException {
+        AdaptiveConcurrencyLimiter single = AdaptiveConcurrencyLimiter.builder().initialLimit(1).maxLimit(1).build();
+        List<QueryPriority> admitted = new CopyOnWriteArrayList<>();
+
+        AdaptiveConcurrencyLimiter.Permit held = single.acquire(PROCESSOR);
+        List<Thread> waiters = List.of(
+                waiter(single, QueryPriority.BACKGROUND, admitted),
+                waiter(single, QueryPriority.NORMAL, admitted),
+                waiter(single, QueryPriority.INTERACTIVE, admitted));
+        for (Thread waiter : waiters) {
+            waiter.start();
+            // Queue them one after the other, in the least favourable order
+            while (single.getStats().getWaiting() < waiters.indexOf(waiter) + 1)
+                Thread.onSpinWait();
+        }
+
+        held.close();
+        for (Thread waiter : waiters)
+            waiter.join();
+
+        assertEquals(List.of(QueryPriority.INTERACTIVE, QueryPriority.NORMAL, QueryPriority.BACKGROUND), admitted);
+    }
+
+    private static Thread waiter(AdaptiveConcurrencyLimiter limiter, QueryPriority priority, List<QueryPriority> admitted) {
+        return new Thread(() -> ComExecutor.withPriority(priority, () -> {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(PROCESSOR);
+            try {
+                return admitted.add(priority);
+            } finally {
+                permit.close();
+            }
+        }));
+    }
+
+    private void complete(String operation, Duration latency) {
+        try (AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(operation)) {
+            nanoClock.addAndGet(latency.toNanos());
+            permit.onSuccess();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import io.github.eggy03.pinetree.windows.connection.WmiConnection;
+import io.github.eggy03.pinetree.windows.util.WmiUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ComExecutorTest {
+
+    private final List<Throwable> reported = new CopyOnWriteArrayList<>();
+
+    // Plain threads standing in for COM workers, which cannot be initialized off Windows
+    private final ThreadFactory plainThreads = runnable -> {
+        Thread thread = new Thread(runnable, "stand-in-worker");
+        thread.setDaemon(true);
+        thread.setUncaughtExceptionHandler((worker, failure) -> reported.add(failure));
+        return thread;
+    };
+
+    @Test
+    void startsComWorkersWhenNoFactoryIsGiven() {
+        // Off Windows the workers fail to initialize COM and end, building the executor must not fail all the same
+        try (ComExecutor executor = assertDoesNotThrow(() -> ComExecutor.builder().threads(2).namePrefix("default-factory").build())) {
+            assertEquals(2, executor.getThreads());
+            assertFalse(executor.isShutdown());
+        }
+    }
+
+    @Test
+    void keepsTheWorkerAliveWhenATaskThrowsAnError() {
+        try (ComExecutor executor = ComExecutor.builder().threads(1).threadFactory(plainThreads).build()) {
+            executor.execute(() -> {
+                throw new StackOverflowError("task failed");
+            });
+            executor.execute(() -> {
+                throw new IllegalStateException("task failed");
+            });
+
+            assertEquals("still serving", executor.call(() -> "still serving"));
+            assertEquals(1, reported.size());
+            assertInstanceOf(StackOverflowError.class, reported.getFirst());
+        }
+    }
+
+    @Test
+    void reportsErrorsOfSubmittedTasksToTheCaller() {
+        try (ComExecutor executor = ComExecutor.builder().threads(1).threadFactory(plainThreads).build()) {
+            assertThrows(StackOverflowError.class, () -> executor.call(() -> {
+                throw new StackOverflowError("task failed");
+            }));
+
+            assertEquals(42, executor.call(() -> 42));
+            assertEquals(List.of(), reported);
+        }
+    }
+
+    @Test
+    void carriesTheBoundConnectionToTheWorker() {
+        WmiConnection remote = new WmiConnection() {
+            @Override
+            public String getNamespace() {
+                return "root/cimv2";
+            }
+
+            @Override
+            public Wbemcli.IWbemServices getServices() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean isHealthy() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+                // nothing to release
+            }
+        };
+
+        try (ComExecutor executor = ComExecutor.builder().threads(1).threadFactory(plainThreads).build()) {
+            WmiConnection seen = WmiUtil.withConnection(remote, () -> executor.call(WmiUtil::getBoundConnection));
+
+            assertSame(remote, seen);
+            assertNull(executor.call(WmiUtil::getBoundConnection));
+        }
+    }
+}
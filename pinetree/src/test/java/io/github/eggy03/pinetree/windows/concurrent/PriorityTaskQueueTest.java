@@ -0,0 +1,66 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PriorityTaskQueueTest {
+
+    private final AtomicLong nanoClock = new AtomicLong();
+
+    @Test
+    void servesTheMostUrgentLaneFirst() throws InterruptedException {
+        PriorityTaskQueue queue = new PriorityTaskQueue(8, Long.MAX_VALUE, nanoClock::get);
+        queue.add(() -> {}, QueryPriority.BACKGROUND);
+        queue.add(() -> {}, QueryPriority.NORMAL);
+        queue.add(() -> {}, QueryPriority.INTERACTIVE);
+
+        assertEquals(List.of(QueryPriority.INTERACTIVE, QueryPriority.NORMAL, QueryPriority.BACKGROUND), takeAll(queue));
+    }
+
+    @Test
+    void keepsLessUrgentLanesFromStarving() throws InterruptedException {
+        PriorityTaskQueue queue = new PriorityTaskQueue(2, Long.MAX_VALUE, nanoClock::get);
+        queue.add(() -> {}, QueryPriority.BACKGROUND);
+        queue.add(() -> {}, QueryPriority.NORMAL);
+        for (int i = 0; i < 4; i++)
+            queue.add(() -> {}, QueryPriority.INTERACTIVE);
+
+        assertEquals(List.of(
+                QueryPriority.INTERACTIVE,
+                QueryPriority.INTERACTIVE,
+                QueryPriority.NORMAL,
+                QueryPriority.BACKGROUND,
+                QueryPriority.INTERACTIVE,
+                QueryPriority.INTERACTIVE), takeAll(queue));
+    }
+
+    @Test
+    void alternatesWithAgedTasks() throws InterruptedException {
+        PriorityTaskQueue queue = new PriorityTaskQueue(8, 100, nanoClock::get);
+        queue.add(() -> {}, QueryPriority.NORMAL);
+        for (int i = 0; i < 4; i++)
+            queue.add(() -> {}, QueryPriority.INTERACTIVE);
+
+        assertEquals(QueryPriority.INTERACTIVE, queue.take().priority());
+        nanoClock.addAndGet(100);
+
+        assertEquals(List.of(
+                QueryPriority.NORMAL,
+                QueryPriority.INTERACTIVE,
+                QueryPriority.INTERACTIVE,
+                QueryPriority.INTERACTIVE), takeAll(queue));
+    }
+
+    private static List<QueryPriority> takeAll(PriorityTaskQueue queue) throws InterruptedException {
+        queue.close();
+        List<QueryPriority> taken = new ArrayList<>();
+        for (PriorityTaskQueue.Entry entry = queue.take(); entry != null; entry = queue.take())
+            taken.add(entry.priority());
+        return taken;
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+import io.github.eggy03.pinetree.windows.entity.processor.Processor;
+import io.github.eggy03.pinetree.windows.enums.WmiClassname;
+import io.github.eggy03.pinetree.windows.enums.processor.ProcessorProperty;
+import io.github.eggy03.pinetree.windows.mapper.processor.ProcessorMapper;
+import io.github.eggy03.pinetree.windows.result.WmiResultTable;
+import io.github.eggy03.pinetree.windows.result.WmiTimedResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryWatchdogTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(50);
+
+    private final CountDownLatch hang = new CountDownLatch(1);
+
+    // A single plain worker standing in for the COM pool, which cannot be initialized off Windows
+    private final ComExecutor executor = ComExecutor.builder()
+            .threads(1)
+            .threadFactory(runnable -> {
+                Thread thread = new Thread(runnable, "stand-in-worker");
+                thread.setDaemon(true);
+                return thread;
+            })
+            .build();
+
+    private final QueryWatchdog watchdog = QueryWatchdog.builder()
+            .executor(executor)
+            .grace(Duration.ofMillis(50))
+            .build();
+
+    @AfterEach
+    void releaseHungWorkers() {
+        hang.countDown();
+        executor.shutdown();
+    }
+
+    private WmiResultTable<ProcessorProperty> hangingFetch(Duration ignoredRemaining) {
+        try {
+            hang.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new WmiResultTable<>(ProcessorProperty.class);
+    }
+
+    @Test
+    void reportsAHungQueryAsAbandoned() {
+        WmiTimedResult<Processor> result = watchdog.run(WmiClassname.WIN32_PROCESSOR, TIMEOUT, this::hangingFetch, new ProcessorMapper());
+
+        assertEquals(WmiTimedResult.Status.ABANDONED, result.getStatus());
+        assertTrue(result.getRows().isEmpty());
+        assertEquals(1, executor.getReplacedWorkers());
+        assertEquals(1, watchdog.getStats().get(WmiClassname.WIN32_PROCESSOR).getAbandoned());
+    }
+
+    @Test
+    void reportsAQueryThatNeverGotAWorkerAsQueueTimeout() throws Exception {
+        CountDownLatch busy = new CountDownLatch(1);
+        executor.execute(() -> {
+            busy.countDown();
+            hangingFetch(TIMEOUT);
+        });
+        assertTrue(busy.await(10, TimeUnit.SECONDS));
+
+        WmiTimedResult<Processor> result = watchdog.run(WmiClassname.WIN32_PROCESSOR, TIMEOUT,
+                remaining -> new WmiResultTable<>(ProcessorProperty.class), new ProcessorMapper());
+
+        assertEquals(WmiTimedResult.Status.QUEUE_TIMEOUT, result.getStatus());
+        assertEquals(0, executor.getReplacedWorkers());
+        assertEquals(1, watchdog.getStats().get(WmiClassname.WIN32_PROCESSOR).getQueueTimedOut());
+        assertEquals(0, watchdog.getStats().get(WmiClassname.WIN32_PROCESSOR).getAbandoned());
+    }
+
+    @Test
+    void countsTheTimeSpentQueuedAgainstTheTimeout() throws Exception {
+        QueryWatchdog patient = QueryWatchdog.builder()
+                .executor(executor)
+                .grace(Duration.ofMillis(100))
+                .build();
+        CountDownLatch busy = new CountDownLatch(1);
+        executor.execute(() -> {
+            busy.countDown();
+            LockSupport.parkNanos(Duration.ofMillis(150).toNanos());
+        });
+        assertTrue(busy.await(10, TimeUnit.SECONDS));
+
+        // Stands in for an enumeration that keeps receiving rows until its timeout elapses
+        List<Duration> budgets = new ArrayList<>();
+        WmiTimedResult<Processor> result = patient.run(WmiClassname.WIN32_PROCESSOR, Duration.ofMillis(200), remaining -> {
+            budgets.add(remaining);
+            LockSupport.parkNanos(remaining.toNanos());
+            WmiResultTable<ProcessorProperty> table = new WmiResultTable<>(ProcessorProperty.class);
+            table.markIncomplete();
+            return table;
+        }, new ProcessorMapper());
+
+        assertEquals(WmiTimedResult.Status.PARTIAL, result.getStatus());
+        assertTrue(budgets.getFirst().compareTo(Duration.ofMillis(60)) < 0);
+        assertEquals(0, executor.getReplacedWorkers());
+    }
+
+    @Test
+    void reportsQueriesFinishingInTimeAsComplete() {
+        WmiTimedResult<Processor> result = watchdog.run(WmiClassname.WIN32_PROCESSOR, TIMEOUT,
+                remaining -> new WmiResultTable<>(ProcessorProperty.class), new ProcessorMapper());
+
+        assertEquals(WmiTimedResult.Status.COMPLETE, result.getStatus());
+        assertEquals(1, watchdog.getStats().get(WmiClassname.WIN32_PROCESSOR).getCompleted());
+    }
+}
@@ -0,0 +1,175 @@
+package io.github.eggy03.pinetree.windows.concurrent;
+
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import com.sun.jna.platform.win32.Variant;
+import io.github.eggy03.pinetree.windows.enums.WmiClassname;
+import io.github.eggy03.pinetree.windows.result.WmiResultTable;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WmiLoadGovernorTest {
+
+    private static final WmiClassname PROCESSOR = WmiClassname.WIN32_PROCESSOR;
+    private static final Duration FALLBACK_TTL = Duration.ofSeconds(30);
+
+    enum Property {
+        Name
+    }
+
+    private final AtomicLong nanoClock = new AtomicLong();
+
+    @Test
+    void refusesWithoutFallbackByDefault() {
+        WmiLoadGovernor governor = oneAtATime(WmiLoadGovernor.builder());
+        governor.call(PROCESSOR, "cpu", () -> table("CPU0"), WmiResultTable::toReadOnlyCopy);
+
+        WmiLoadGovernor.Ticket held = governor.acquire(PROCESSOR);
+        try {
+            assertFalse(governor.isCacheFallback());
+            assertThrows(WmiBudgetExceededException.class,
+                    () -> governor.call(PROCESSOR, "cpu", () -> table("CPU1"), WmiResultTable::toReadOnlyCopy));
+        } finally {
+            held.close();
+        }
+    }
+
+    @Test
+    void answersFromAReadOnlyCopyOfTheLastResult() {
+        WmiLoadGovernor governor = withFallback();
+        WmiResultTable<Property> original = table("CPU0");
+        assertSame(original, governor.call(PROCESSOR, "cpu", () -> original, WmiResultTable::toReadOnlyCopy));
+
+        WmiResultTable<Property> fallback = refusedCall(governor, "cpu");
+
+        assertNotSame(original, fallback);
+        assertEquals("CPU0", fallback.getValue(Property.Name, 0));
+        assertThrows(UnsupportedOperationException.class, fallback::incrementCount);
+        assertEquals(1, governor.getStats().get(PROCESSOR).getFallbacks());
+
+        // The caller of the original query may still write to its own table
+        original.add(Property.Name, Variant.VT_BSTR, Wbemcli.CIM_STRING, "CPU1");
+        original.incrementCount();
+        assertEquals(1, fallback.getResultCount());
+    }
+
+    @Test
+    void keepsOnlyCompleteResults() {
+        WmiLoadGovernor governor = withFallback();
+        governor.call(PROCESSOR, "cpu", () -> table("CPU0"), WmiResultTable::toReadOnlyCopy);
+
+        WmiResultTable<Property> incomplete = table("CPU1");
+        incomplete.markIncomplete();
+        governor.call(PROCESSOR, "cpu", () -> incomplete, table -> table.isComplete() ? table.toReadOnlyCopy() : null);
+
+        assertEquals("CPU0", refusedCall(governor, "cpu").getValue(Property.Name, 0));
+    }
+
+    @Test
+    void dropsResultsOlderThanTheTtl() {
+        WmiLoadGovernor governor = withFallback();
+        governor.call(PROCESSOR, "cpu", () -> table("CPU0"), WmiResultTable::toReadOnlyCopy);
+
+        nanoClock.addAndGet(FALLBACK_TTL.toNanos());
+
+        assertThrows(WmiBudgetExceededException.class, () -> refusedCall(governor, "cpu"));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedResult() {
+        WmiLoadGovernor governor = withFallback();
+        governor.call(PROCESSOR, "a", () -> table("A"), WmiResultTable::toReadOnlyCopy);
+        governor.call(PROCESSOR, "b", () -> table("B"), WmiResultTable::toReadOnlyCopy);
+        refusedCall(governor, "a");
+
+        governor.call(PROCESSOR, "c", () -> table("C"), WmiResultTable::toReadOnlyCopy);
+
+        assertEquals("A", refusedCall(governor, "a").getValue(Property.Name, 0));
+        assertEquals("C", refusedCall(governor, "c").getValue(Property.Name, 0));
+        assertThrows(WmiBudgetExceededException.class, () -> refusedCall(governor, "b"));
+    }
+
+    @Test
+    void admitsTheMostUrgentQueuedQueryFirst() throws InterruptedException {
+        WmiLoadGovernor governor = WmiLoadGovernor.builder()
+                .budget(PROCESSOR, WmiBudget.builder().maxInFlight(1).build())
+                .build();
+        List<QueryPriority> admitted = new CopyOnWriteArrayList<>();
+
+        WmiLoadGovernor.Ticket held = governor.acquire(PROCESSOR);
+        List<Thread> queries = List.of(
+                query(governor, QueryPriority.BACKGROUND, admitted),
+                query(governor, QueryPriority.NORMAL, admitted),
+                query(governor, QueryPriority.INTERACTIVE, admitted));
+        for (Thread query : queries) {
+            query.start();
+            // Queue them one after the other, in the least favourable order
+            while (waitingThreads(queries) < queries.indexOf(query) + 1)
+                Thread.onSpinWait();
+        }
+
+        held.close();
+        for (Thread query : queries)
+            query.join();
+
+        assertEquals(List.of(QueryPriority.INTERACTIVE, QueryPriority.NORMAL, QueryPriority.BACKGROUND), admitted);
+    }
+
+    private static Thread query(WmiLoadGovernor governor, QueryPriority priority, List<QueryPriority> admitted) {
+        return new Thread(() -> ComExecutor.withPriority(priority, () -> {
+            WmiLoadGovernor.Ticket ticket = governor.acquire(PROCESSOR);
+            try {
+                return admitted.add(priority);
+            } finally {
+                ticket.close();
+            }
+        }));
+    }
+
+    private static long waitingThreads(List<Thread> threads) {
+        return threads.stream().filter(thread -> thread.getState() == Thread.State.TIMED_WAITING).count();
+    }
+
+    private WmiLoadGovernor withFallback() {
+        return oneAtATime(WmiLoadGovernor.builder()
+                .cacheFallback(true)
+                .fallbackTtl(FALLBACK_TTL)
+                .maxFallbacks(2));
+    }
+
+    private WmiLoadGovernor oneAtATime(WmiLoadGovernor.WmiLoadGovernorBuilder builder) {
+        return builder
+                .budget(PROCESSOR, WmiBudget.builder().maxInFlight(1).build())
+                .policy(WmiLoadGovernor.OverBudgetPolicy.REJECT)
+                .nanoClock(nanoClock::get)
+                .build();
+    }
+
+    // Runs the query while another one holds the only slot of the class
+    private WmiResultTable<Property> refusedCall(WmiLoadGovernor governor, String cacheKey) {
+        WmiLoadGovernor.Ticket held = governor.acquire(PROCESSOR);
+        try {
+            return governor.call(PROCESSOR, cacheKey, () -> {
+                throw new AssertionError("the query should have been refused");
+            }, WmiResultTable::toReadOnlyCopy);
+        } finally {
+            held.close();
+        }
+    }
+
+    private static WmiResultTable<Property> table(String name) {
+        WmiResultTable<Property> table = new WmiResultTable<>(Property.class);
+        table.add(Property.Name, Variant.VT_BSTR, Wbemcli.CIM_STRING, name);
+        table.incrementCount();
+        return table;
+    }
+}
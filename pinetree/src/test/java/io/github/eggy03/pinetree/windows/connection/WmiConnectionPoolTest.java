@@ -0,0 +1,175 @@
+package io.github.eggy03.pinetree.windows.connection;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WmiConnectionPoolTest {
+
+    private static final String CIMV2 = "root/cimv2";
+    private static final String WMI = "root/wmi";
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<StandInConnection> opened = new ArrayList<>();
+
+    // Stands in for a native connection, without touching COM
+    private static final class StandInConnection implements WmiConnection {
+
+        private final String namespace;
+        private boolean healthy = true;
+        private int closeCount = 0;
+
+        private StandInConnection(String namespace) {
+            this.namespace = namespace;
+        }
+
+        @Override
+        public String getNamespace() {
+            return namespace;
+        }
+
+        @Override
+        public Wbemcli.IWbemServices getServices() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        @Override
+        public void close() {
+            closeCount++;
+        }
+    }
+
+    private WmiConnectionPool pool(int maxIdlePerNamespace) {
+        return WmiConnectionPool.builder()
+                .connectionFactory(namespace -> {
+                    StandInConnection connection = new StandInConnection(namespace);
+                    opened.add(connection);
+                    return connection;
+                })
+                .maxIdlePerNamespace(maxIdlePerNamespace)
+                .idleTimeout(Duration.ofSeconds(30))
+                .nanoClock(now::get)
+                .build();
+    }
+
+    @Test
+    void reusesIdleConnectionsPerNamespace() {
+        WmiConnectionPool pool = pool(4);
+
+        pool.acquire(CIMV2).close();
+        pool.acquire(CIMV2).close();
+        pool.acquire(WMI).close();
+
+        WmiConnectionPoolStats stats = pool.getStats();
+        assertEquals(2, opened.size());
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(2, stats.getIdleConnections());
+        assertEquals(0, stats.getLeasedConnections());
+        assertEquals(0, stats.getEvictions());
+    }
+
+    @Test
+    void opensANewConnectionWhileTheIdleOneIsLeased() {
+        WmiConnectionPool pool = pool(4);
+
+        try (WmiConnectionLease first = pool.acquire(CIMV2); WmiConnectionLease second = pool.acquire(CIMV2)) {
+            assertNotNull(first);
+            assertNotNull(second);
+            assertEquals(2, pool.getStats().getLeasedConnections());
+        }
+
+        assertEquals(2, opened.size());
+        assertEquals(2, pool.getStats().getMisses());
+        assertEquals(2, pool.getStats().getIdleConnections());
+    }
+
+    @Test
+    void releasesConnectionsIdleForLongerThanTheTimeout() {
+        WmiConnectionPool pool = pool(4);
+        pool.acquire(CIMV2).close();
+
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+        pool.acquire(CIMV2).close();
+
+        assertEquals(2, opened.size());
+        assertEquals(1, opened.getFirst().closeCount);
+        assertEquals(0, pool.getStats().getHits());
+        assertEquals(1, pool.getStats().getEvictions());
+
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertEquals(1, pool.evictIdle());
+        assertEquals(0, pool.getStats().getIdleConnections());
+        assertEquals(1, opened.get(1).closeCount);
+    }
+
+    @Test
+    void evictsUnhealthyAndInvalidatedConnections() {
+        WmiConnectionPool pool = pool(4);
+        pool.acquire(CIMV2).close();
+        opened.getFirst().healthy = false;
+
+        try (WmiConnectionLease lease = pool.acquire(CIMV2)) {
+            lease.invalidate();
+        }
+
+        assertEquals(2, opened.size());
+        assertEquals(1, opened.getFirst().closeCount);
+        assertEquals(1, opened.get(1).closeCount);
+        assertEquals(2, pool.getStats().getEvictions());
+        assertEquals(0, pool.getStats().getIdleConnections());
+    }
+
+    @Test
+    void keepsAtMostMaxIdleConnectionsPerNamespace() {
+        WmiConnectionPool pool = pool(2);
+        List<WmiConnectionLease> leases = new ArrayList<>();
+        for (int i = 0; i < 3; i++)
+            leases.add(pool.acquire(CIMV2));
+        leases.forEach(WmiConnectionLease::close);
+
+        assertEquals(2, pool.getStats().getIdleConnections());
+        assertEquals(1, pool.getStats().getEvictions());
+        assertEquals(1, opened.get(2).closeCount);
+
+        pool.clear();
+        assertEquals(0, pool.getStats().getIdleConnections());
+        opened.forEach(connection -> assertEquals(1, connection.closeCount));
+    }
+
+    @Test
+    void countsFailedConnects() {
+        WmiConnectionPool pool = WmiConnectionPool.builder()
+                .connectionFactory(namespace -> {
+                    throw new COMException("Access denied");
+                })
+                .build();
+
+        assertThrows(COMException.class, () -> pool.acquire(CIMV2));
+        assertEquals(1, pool.getStats().getMisses());
+        assertEquals(1, pool.getStats().getConnectFailures());
+        assertEquals(0, pool.getStats().getLeasedConnections());
+    }
+
+    @Test
+    void appliesTheDefaultsToTheDefaultPool() {
+        WmiConnectionPool pool = WmiConnectionPool.getDefault();
+
+        assertEquals(Duration.ofMinutes(5), pool.getIdleTimeout());
+        assertEquals(4, pool.getMaxIdlePerNamespace());
+    }
+}
@@ -0,0 +1,173 @@
+package io.github.eggy03.pinetree.windows.event;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import io.github.eggy03.pinetree.windows.com.StandInAsyncDriver;
+import io.github.eggy03.pinetree.windows.com.StandInClassObject;
+import io.github.eggy03.pinetree.windows.com.WmiClassObject;
+import io.github.eggy03.pinetree.windows.entity.display.Monitor;
+import io.github.eggy03.pinetree.windows.enums.display.MonitorProperty;
+import io.github.eggy03.pinetree.windows.mapper.display.MonitorMapper;
+import io.github.eggy03.pinetree.windows.query.WqlEventQuery;
+import io.github.eggy03.pinetree.windows.util.WmiUtil;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WmiEventDispatcherTest {
+
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private final List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+    private final WmiEventListener<Monitor> listener = new WmiEventListener<>() {
+        @Override
+        public void onCreated(Monitor created) {
+            received.add("created " + created.getDeviceId());
+        }
+
+        @Override
+        public void onDeleted(Monitor deleted) {
+            received.add("deleted " + deleted.getDeviceId());
+        }
+
+        @Override
+        public void onModified(Monitor previous, Monitor current) {
+            received.add("modified " + previous.getPixelsPerXLogicalInch() + " -> " + current.getPixelsPerXLogicalInch());
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+            errors.add(failure);
+        }
+    };
+
+    private static StandInClassObject monitor(String deviceId, int pixelsPerInch) {
+        return new StandInClassObject()
+                .withString("DeviceID", deviceId)
+                .with("PixelsPerXLogicalInch", Wbemcli.CIM_UINT32, pixelsPerInch);
+    }
+
+    private static StandInClassObject event(WmiEventType type, WmiClassObject target) {
+        return new StandInClassObject()
+                .withString("__CLASS", type.getEventClassName())
+                .withObject("TargetInstance", target);
+    }
+
+    private static StandInClassObject modification(WmiClassObject previous, WmiClassObject current) {
+        return event(WmiEventType.MODIFICATION, current).withObject("PreviousInstance", previous);
+    }
+
+    private WmiEventDispatcher<Monitor, MonitorProperty> dispatcher(EnumSet<WmiEventType> eventTypes) {
+        return new WmiEventDispatcher<>(MonitorProperty.class, eventTypes, new MonitorMapper(), listener);
+    }
+
+    @Test
+    void dispatchesSyntheticEventsByType() throws Exception {
+        StandInClassObject created = monitor("DISPLAY1", 96);
+        StandInClassObject previous = monitor("DISPLAY1", 96);
+        StandInClassObject current = monitor("DISPLAY1", 120);
+
+        StandInAsyncDriver driver = new StandInAsyncDriver()
+                .deliver(event(WmiEventType.CREATION, created))
+                .deliver(modification(previous, current), event(WmiEventType.DELETION, monitor("DISPLAY2", 96)));
+
+        WmiSubscription subscription = WmiUtil.subscribe(driver, "Win32_DesktopMonitor", MonitorProperty.class, new MonitorMapper(),
+                WqlEventQuery.of(EnumSet.allOf(WmiEventType.class), Duration.ofSeconds(2)), listener);
+        assertTrue(driver.awaitFinished());
+
+        assertEquals(List.of("created DISPLAY1", "modified 96 -> 120", "deleted DISPLAY2"), received);
+        assertEquals(List.of("SELECT * FROM __InstanceOperationEvent WITHIN 2 WHERE TargetInstance ISA 'Win32_DesktopMonitor'"),
+                driver.getIssuedQueries());
+        assertEquals(1, created.getReleaseCount());
+        assertEquals(1, previous.getReleaseCount());
+        assertEquals(1, current.getReleaseCount());
+        assertTrue(errors.isEmpty());
+        assertFalse(subscription.isActive());
+    }
+
+    @Test
+    void skipsEventTypesThatWereNotRequested() {
+        WmiEventDispatcher<Monitor, MonitorProperty> dispatcher = dispatcher(EnumSet.of(WmiEventType.DELETION));
+
+        dispatcher.indicate(new WmiClassObject[]{
+                event(WmiEventType.CREATION, monitor("DISPLAY1", 96)),
+                new StandInClassObject().withString("__CLASS", "__ClassCreationEvent"),
+                event(WmiEventType.DELETION, monitor("DISPLAY1", 96))
+        }, 3);
+
+        assertEquals(List.of("deleted DISPLAY1"), received);
+    }
+
+    @Test
+    void ignoresEventsWithoutInstances() {
+        WmiEventDispatcher<Monitor, MonitorProperty> dispatcher = dispatcher(EnumSet.allOf(WmiEventType.class));
+
+        dispatcher.indicate(new WmiClassObject[]{
+                new StandInClassObject().withString("__CLASS", WmiEventType.CREATION.getEventClassName()),
+                event(WmiEventType.MODIFICATION, monitor("DISPLAY1", 96))
+        }, 2);
+
+        assertTrue(received.isEmpty());
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    void reportsListenerFailuresAndKeepsDispatching() {
+        List<String> created = new CopyOnWriteArrayList<>();
+        WmiEventDispatcher<Monitor, MonitorProperty> dispatcher = new WmiEventDispatcher<>(MonitorProperty.class,
+                EnumSet.of(WmiEventType.CREATION), new MonitorMapper(), new WmiEventListener<>() {
+            @Override
+            public void onCreated(Monitor monitor) {
+                created.add(monitor.getDeviceId());
+                if (created.size() == 1)
+                    throw new IllegalStateException("listener failed");
+            }
+
+            @Override
+            public void onError(Throwable failure) {
+                errors.add(failure);
+            }
+        });
+
+        dispatcher.indicate(new WmiClassObject[]{
+                event(WmiEventType.CREATION, monitor("DISPLAY1", 96)),
+                event(WmiEventType.CREATION, monitor("DISPLAY2", 96))
+        }, 2);
+
+        assertEquals(List.of("DISPLAY1", "DISPLAY2"), created);
+        assertEquals(1, errors.size());
+        assertInstanceOf(IllegalStateException.class, errors.getFirst());
+    }
+
+    @Test
+    void reportsAFailedSubscriptionOnce() {
+        WmiEventDispatcher<Monitor, MonitorProperty> dispatcher = dispatcher(EnumSet.allOf(WmiEventType.class));
+
+        dispatcher.complete(Wbemcli.WBEM_E_INVALID_CLASS, null);
+        dispatcher.complete(Wbemcli.WBEM_E_INVALID_CLASS, null);
+
+        assertTrue(dispatcher.isClosed());
+        assertEquals(1, errors.size());
+        assertEquals(Wbemcli.WBEM_E_INVALID_CLASS, assertInstanceOf(COMException.class, errors.getFirst()).getHresult().intValue());
+    }
+
+    @Test
+    void dropsQueuedEventsOnceClosed() {
+        WmiEventDispatcher<Monitor, MonitorProperty> dispatcher = dispatcher(EnumSet.allOf(WmiEventType.class));
+
+        dispatcher.close();
+        dispatcher.indicate(new WmiClassObject[]{event(WmiEventType.CREATION, monitor("DISPLAY1", 96))}, 1);
+        dispatcher.complete(StandInAsyncDriver.WBEM_E_CALL_CANCELLED, null);
+
+        assertTrue(received.isEmpty());
+        assertTrue(errors.isEmpty());
+    }
+}
@@ -0,0 +1,274 @@
+package io.github.eggy03.pinetree.windows.fleet;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import io.github.eggy03.pinetree.windows.connection.WmiHost;
+import io.github.eggy03.pinetree.windows.service.CommonServiceInterface;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FleetCollectorTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofMinutes(5);
+
+    private static final WmiHost HOST = WmiHost.builder().hostName("ws-0042").build();
+
+    private static final CommonServiceInterface<String> SERVICE = new CommonServiceInterface<>() {
+        @Override
+        public List<String> get() {
+            return List.of("row");
+        }
+
+        @Override
+        public List<String> getManaged() {
+            return get();
+        }
+    };
+
+    // Plain threads standing in for COM workers, which cannot be initialized off Windows
+    private static final ThreadFactory PLAIN_THREADS = runnable -> {
+        Thread thread = new Thread(runnable, "stand-in-fleet-worker");
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    private final AtomicLong nanoClock = new AtomicLong();
+    private final ScriptedConnector connector = new ScriptedConnector();
+    private final FleetCollector collector = FleetCollector.builder()
+            .connector(connector)
+            .maxConcurrency(2)
+            .failureThreshold(2)
+            .openDuration(OPEN_DURATION)
+            .nanoClock(nanoClock::get)
+            .threadFactory(PLAIN_THREADS)
+            .build();
+
+    @AfterEach
+    void close() {
+        collector.close();
+    }
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        connector.failing.set(true);
+
+        assertEquals(FleetHostResult.Status.FAILED, collectOnce());
+        assertFalse(collector.isCircuitOpen(HOST));
+        assertEquals(FleetHostResult.Status.FAILED, collectOnce());
+        assertTrue(collector.isCircuitOpen(HOST));
+
+        // The host is skipped without being queried
+        assertEquals(FleetHostResult.Status.CIRCUIT_OPEN, collectOnce());
+        assertEquals(2, connector.calls.get());
+    }
+
+    @Test
+    void letsASingleProbeThroughOnceHalfOpen() throws InterruptedException {
+        open();
+        nanoClock.addAndGet(OPEN_DURATION.toNanos());
+        assertFalse(collector.isCircuitOpen(HOST));
+
+        connector.failing.set(false);
+        CountDownLatch release = connector.holdNextCall();
+        CompletableFuture<List<FleetHostResult<String>>> probe = collectAsync();
+        connector.held.await();
+
+        // While the probe is running, every other collection still skips the host
+        assertEquals(FleetHostResult.Status.CIRCUIT_OPEN, collectOnce());
+        assertTrue(collector.isCircuitOpen(HOST));
+        assertEquals(3, connector.calls.get());
+
+        release.countDown();
+        assertEquals(FleetHostResult.Status.SUCCESS, probe.join().getFirst().getStatus());
+        assertFalse(collector.isCircuitOpen(HOST));
+        assertEquals(FleetHostResult.Status.SUCCESS, collectOnce());
+    }
+
+    @Test
+    void reopensWhenTheProbeFails() {
+        open();
+        nanoClock.addAndGet(OPEN_DURATION.toNanos());
+
+        assertEquals(FleetHostResult.Status.FAILED, collectOnce());
+        assertTrue(collector.isCircuitOpen(HOST));
+        assertEquals(FleetHostResult.Status.CIRCUIT_OPEN, collectOnce());
+        assertEquals(3, connector.calls.get());
+
+        // A full open duration later, the next probe decides again
+        nanoClock.addAndGet(OPEN_DURATION.toNanos());
+        connector.failing.set(false);
+        assertEquals(FleetHostResult.Status.SUCCESS, collectOnce());
+    }
+
+    @Test
+    void forgetsFailuresOnReset() {
+        open();
+
+        collector.resetCircuit(HOST);
+        connector.failing.set(false);
+
+        assertFalse(collector.isCircuitOpen(HOST));
+        assertEquals(FleetHostResult.Status.SUCCESS, collectOnce());
+    }
+
+    @Test
+    void neverQueriesMoreHostsAtOnceThanTheCap() {
+        SimulatedConnector simulated = new SimulatedConnector(Duration.ofMillis(20), 0.0);
+
+        try (FleetCollector capped = simulatedCollector(simulated, 3, Duration.ofSeconds(10))) {
+            CompletableFuture<List<FleetHostResult<String>>> first = collectAsync(capped, hosts("a", 10));
+            CompletableFuture<List<FleetHostResult<String>>> second = collectAsync(capped, hosts("b", 10));
+
+            assertTrue(first.join().stream().allMatch(FleetHostResult::isSuccess));
+            assertTrue(second.join().stream().allMatch(FleetHostResult::isSuccess));
+        }
+
+        assertEquals(20, simulated.getCalls());
+        assertEquals(3, simulated.getMaxInFlight());
+    }
+
+    @Test
+    void startsTheDeadlineOfAHostOnceAWorkerIsFree() {
+        // Each host fits its timeout, but not behind another host sharing the only worker
+        SimulatedConnector simulated = new SimulatedConnector(Duration.ofMillis(200), 0.0);
+
+        try (FleetCollector single = simulatedCollector(simulated, 1, Duration.ofMillis(300))) {
+            CompletableFuture<List<FleetHostResult<String>>> first = collectAsync(single, hosts("a", 3));
+            CompletableFuture<List<FleetHostResult<String>>> second = collectAsync(single, hosts("b", 3));
+
+            assertTrue(first.join().stream().allMatch(FleetHostResult::isSuccess));
+            assertTrue(second.join().stream().allMatch(FleetHostResult::isSuccess));
+            assertEquals(1, simulated.getMaxInFlight());
+        }
+    }
+
+    @Test
+    void reportsHostsExceedingTheirTimeout() {
+        SimulatedConnector simulated = new SimulatedConnector(Duration.ofMillis(10), 0.0)
+                .withHostLatency("hung", Duration.ofSeconds(2));
+        List<WmiHost> hosts = List.of(WmiHost.builder().hostName("hung").build(), HOST);
+
+        try (FleetCollector timed = simulatedCollector(simulated, 1, Duration.ofMillis(100))) {
+            List<FleetHostResult<String>> results = collectAsync(timed, hosts).join();
+
+            assertEquals(FleetHostResult.Status.TIMED_OUT, results.getFirst().getStatus());
+            assertTrue(results.getFirst().getElapsed().compareTo(Duration.ofSeconds(2)) < 0);
+            // The hung worker has been replaced, so the next host is still queried
+            assertEquals(FleetHostResult.Status.SUCCESS, results.get(1).getStatus());
+            assertFalse(timed.isCircuitOpen(hosts.getFirst()));
+        }
+    }
+
+    @Test
+    void streamsOneResultPerHost() {
+        SimulatedConnector simulated = new SimulatedConnector(Duration.ofMillis(5), 0.0);
+
+        try (FleetCollector streaming = simulatedCollector(simulated, 4, Duration.ofSeconds(10));
+             Stream<FleetHostResult<String>> results = streaming.stream(hosts("ws", 12), SERVICE)) {
+            List<FleetHostResult<String>> collected = results.toList();
+
+            assertEquals(12, collected.size());
+            assertEquals(12, collected.stream().map(result -> result.getHost().getHostName()).distinct().count());
+            assertTrue(collected.stream().allMatch(result -> result.getRows().equals(List.of("row"))));
+        }
+    }
+
+    @Test
+    void stopsTheCollectionWhenTheStreamIsClosed() throws InterruptedException {
+        SimulatedConnector simulated = new SimulatedConnector(Duration.ofMillis(20), 0.0);
+
+        try (FleetCollector streaming = simulatedCollector(simulated, 1, Duration.ofSeconds(10))) {
+            try (Stream<FleetHostResult<String>> results = streaming.stream(hosts("ws", 20), SERVICE)) {
+                assertTrue(results.findFirst().orElseThrow().isSuccess());
+            }
+            Thread.sleep(200);
+        }
+
+        assertTrue(simulated.getCalls() < 20);
+    }
+
+    private static FleetCollector simulatedCollector(SimulatedConnector simulated, int maxConcurrency, Duration hostTimeout) {
+        return FleetCollector.builder()
+                .connector(simulated)
+                .maxConcurrency(maxConcurrency)
+                .hostTimeout(hostTimeout)
+                .threadFactory(PLAIN_THREADS)
+                .build();
+    }
+
+    private static List<WmiHost> hosts(String prefix, int count) {
+        List<WmiHost> hosts = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            hosts.add(WmiHost.builder().hostName(prefix + "-" + i).build());
+        return hosts;
+    }
+
+    private static CompletableFuture<List<FleetHostResult<String>>> collectAsync(FleetCollector collector, List<WmiHost> hosts) {
+        List<FleetHostResult<String>> results = new CopyOnWriteArrayList<>();
+        return collector.collect(hosts, SERVICE, results::add).thenApply(ignored -> results);
+    }
+
+    private void open() {
+        connector.failing.set(true);
+        collectOnce();
+        collectOnce();
+        assertTrue(collector.isCircuitOpen(HOST));
+    }
+
+    private FleetHostResult.Status collectOnce() {
+        return collectAsync().join().getFirst().getStatus();
+    }
+
+    private CompletableFuture<List<FleetHostResult<String>>> collectAsync() {
+        return collectAsync(collector, List.of(HOST));
+    }
+
+    // Stands in for DCOM, failing with RPC_S_SERVER_UNAVAILABLE while the host is down
+    private static final class ScriptedConnector implements FleetHostConnector {
+
+        private final AtomicBoolean failing = new AtomicBoolean();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch held = new CountDownLatch(1);
+        private volatile CountDownLatch release;
+
+        private CountDownLatch holdNextCall() {
+            release = new CountDownLatch(1);
+            return release;
+        }
+
+        @Override
+        public <S> List<S> collect(WmiHost host, CommonServiceInterface<S> service) {
+            calls.incrementAndGet();
+
+            CountDownLatch waitFor = release;
+            if (waitFor != null) {
+                release = null;
+                held.countDown();
+                try {
+                    waitFor.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            if (failing.get())
+                throw new COMException("The RPC server is unavailable");
+            return service.get();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.eggy03.pinetree.windows.fleet;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import io.github.eggy03.pinetree.windows.connection.WmiHost;
+import io.github.eggy03.pinetree.windows.service.CommonServiceInterface;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link FleetHostConnector} simulating a fleet of hosts, standing in for DCOM.
+ * <p>
+ * Every host answers after a fixed latency, which can be overridden per host to simulate slow or hung hosts, and fails
+ * with {@code RPC_S_SERVER_UNAVAILABLE} at the given rate, drawn from a seeded random so that runs are repeatable.
+ * The connector counts its calls and the highest number of calls it served at once.
+ * </p>
+ */
+public final class SimulatedConnector implements FleetHostConnector {
+
+    private final long latencyNanos;
+    private final double failureRate;
+    private final Random random;
+    private final Map<String, Long> hostLatencyNanos = new ConcurrentHashMap<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    public SimulatedConnector(Duration latency, double failureRate) {
+        this(latency, failureRate, 42L);
+    }
+
+    public SimulatedConnector(Duration latency, double failureRate, long seed) {
+        this.latencyNanos = latency.toNanos();
+        this.failureRate = failureRate;
+        this.random = new Random(seed);
+    }
+
+    public SimulatedConnector withHostLatency(String hostName, Duration latency) {
+        hostLatencyNanos.put(hostName, latency.toNanos());
+        return this;
+    }
+
+    public int getCalls() {
+        return calls.get();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    @Override
+    public <S> List<S> collect(WmiHost host, CommonServiceInterface<S> service) {
+        calls.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            long deadline = System.nanoTime() + hostLatencyNanos.getOrDefault(host.getHostName(), latencyNanos);
+            for (long remaining = deadline - System.nanoTime(); remaining > 0; remaining = deadline - System.nanoTime())
+                LockSupport.parkNanos(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(100)));
+
+            if (random.nextDouble() < failureRate)
+                throw new COMException("The RPC server is unavailable");
+            return service.get();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package io.github.eggy03.pinetree.windows.mapper;
+
+import com.google.gson.Gson;
+import com.google.gson.annotations.SerializedName;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import com.sun.jna.platform.win32.Variant;
+import io.github.eggy03.pinetree.windows.annotation.WmiClass;
+import io.github.eggy03.pinetree.windows.result.ColumnarResult;
+import io.github.eggy03.pinetree.windows.result.WmiResultTable;
+import io.github.eggy03.pinetree.windows.service.AbstractKeyedWmiService;
+import io.github.eggy03.pinetree.windows.service.AbstractWmiService;
+import io.github.eggy03.pinetree.windows.service.display.MonitorService;
+import io.github.eggy03.pinetree.windows.service.display.VideoControllerService;
+import io.github.eggy03.pinetree.windows.service.mainboard.BaseboardService;
+import io.github.eggy03.pinetree.windows.service.mainboard.BiosService;
+import io.github.eggy03.pinetree.windows.service.mainboard.PortConnectorService;
+import io.github.eggy03.pinetree.windows.service.memory.PhysicalMemoryService;
+import io.github.eggy03.pinetree.windows.service.processor.AssociatedProcessorMemoryService;
+import io.github.eggy03.pinetree.windows.service.processor.ProcessorCacheService;
+import io.github.eggy03.pinetree.windows.service.processor.ProcessorService;
+import io.github.eggy03.pinetree.windows.util.CastUtil;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Checks the generated sources against the entities they are generated from: the property enum lists the
+ * {@code @SerializedName} of every field, the mapper converts each value like the {@link CastUtil} method matching the
+ * field type, whatever the VARIANT type of the column and whether the result is boxed or columnar, and the service
+ * queries the annotated class.
+ */
+class GeneratedMapperParityTest {
+
+    // Raw cells of each column, the last non-null one deciding the VARIANT type the converters are specialized for
+    private static final List<List<Object>> NUMBER_COLUMNS = List.of(
+            Arrays.asList(-1, 70_000, null, "12"),
+            Arrays.asList("9", (short) -1, null, (short) 300),
+            Arrays.asList((byte) -1, null, (byte) 10, (byte) 0),
+            Arrays.asList(" 42 ", "-7", null, "0"),
+            Arrays.asList(null, Integer.MIN_VALUE, (short) 5, 123_456));
+    private static final List<List<Object>> STRING_COLUMNS = List.of(
+            Arrays.asList(" padded ", "plain", null, 42),
+            Arrays.asList(7, null, "  ", "trailing\t"));
+    private static final List<List<Object>> BOOLEAN_COLUMNS = List.of(
+            Arrays.asList(true, " TRUE ", null, false),
+            Arrays.asList("false", true, null, "yes"));
+    private static final int ROWS = 4;
+    private static final Gson GSON = new Gson();
+
+    static Stream<AbstractWmiService<?, ?>> services() {
+        return Stream.of(
+                new MonitorService(),
+                new VideoControllerService(),
+                new BaseboardService(),
+                new BiosService(),
+                new PortConnectorService(),
+                new PhysicalMemoryService(),
+                new AssociatedProcessorMemoryService(),
+                new ProcessorService(),
+                new ProcessorCacheService());
+    }
+
+    @ParameterizedTest
+    @MethodSource("services")
+    <S, P extends Enum<P>> void listsEveryPropertyOfTheEntity(AbstractWmiService<S, P> service) {
+        Class<?> entityType = entityType(service);
+
+        List<String> expected = propertyFields(entityType).stream()
+                .map(field -> field.getAnnotation(SerializedName.class).value())
+                .toList();
+        List<String> actual = Arrays.stream(service.getPropertyEnum().getEnumConstants())
+                .map(Enum::name)
+                .toList();
+
+        assertEquals(expected, actual);
+    }
+
+    @ParameterizedTest
+    @MethodSource("services")
+    <S, P extends Enum<P>> void queriesTheAnnotatedClass(AbstractWmiService<S, P> service) {
+        WmiClass wmiClass = entityType(service).getAnnotation(WmiClass.class);
+
+        assertEquals(wmiClass.value(), service.getWmiClassname().getClassName());
+        assertEquals(wmiClass.namespace(), service.getNameSpace());
+        if (wmiClass.key().isEmpty()) {
+            assertEquals(AbstractWmiService.class, service.getClass().getSuperclass());
+        } else {
+            AbstractKeyedWmiService<?, ?> keyed = assertInstanceOf(AbstractKeyedWmiService.class, service);
+            assertEquals(wmiClass.key(), keyed.getKeyProperty().name());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("services")
+    <S, P extends Enum<P>> void convertsLikeCastUtil(AbstractWmiService<S, P> service) throws ReflectiveOperationException {
+        Class<?> entityType = entityType(service);
+        List<Field> fields = propertyFields(entityType);
+        P[] properties = service.getPropertyEnum().getEnumConstants();
+
+        WmiResultTable<P> table = new WmiResultTable<>(service.getPropertyEnum());
+        ColumnarResult<P> columnar = new ColumnarResult<>(service.getPropertyEnum());
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 0; column < properties.length; column++) {
+                Object raw = raw(fields.get(column), column, row);
+                table.add(properties[column], vtTypeOf(raw), Wbemcli.CIM_EMPTY, raw);
+                columnar.add(properties[column], Wbemcli.CIM_EMPTY, raw);
+            }
+            table.incrementCount();
+            columnar.incrementCount();
+        }
+
+        List<S> eager = service.getMapper().toEntityList(table);
+        List<? extends EntityView<S>> lazy = service.getMapper().toLazyEntityList(table);
+        List<S> fromColumns = service.getMapper().toEntityList(columnar);
+
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 0; column < properties.length; column++) {
+                Field field = fields.get(column);
+                Object expected = castUtil(field.getType(), raw(field, column, row));
+                String getterName = "get" + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+                Method getter = entityType.getMethod(getterName);
+                Method viewGetter = lazy.get(row).getClass().getMethod(getterName);
+
+                assertEquals(expected, getter.invoke(eager.get(row)), field.getName() + " of row " + row);
+                assertEquals(expected, viewGetter.invoke(lazy.get(row)), field.getName() + " of lazy row " + row);
+                assertEquals(expected, getter.invoke(fromColumns.get(row)), field.getName() + " of columnar row " + row);
+            }
+            assertEquals(eager.get(row), lazy.get(row).toEntity());
+            assertEquals(eager.get(row).hashCode(), lazy.get(row).hashCode());
+            assertEquals(GSON.toJson(eager.get(row)), GSON.toJson(lazy.get(row)));
+        }
+    }
+
+    private static Class<?> entityType(AbstractWmiService<?, ?> service) {
+        ParameterizedType superclass = (ParameterizedType) service.getClass().getGenericSuperclass();
+        return (Class<?>) superclass.getActualTypeArguments()[0];
+    }
+
+    private static List<Field> propertyFields(Class<?> entityType) {
+        return Arrays.stream(entityType.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .filter(field -> field.isAnnotationPresent(SerializedName.class))
+                .toList();
+    }
+
+    private static Object raw(Field field, int column, int row) {
+        List<List<Object>> columns;
+        if (field.getType() == String.class)
+            columns = STRING_COLUMNS;
+        else if (field.getType() == Boolean.class)
+            columns = BOOLEAN_COLUMNS;
+        else
+            columns = NUMBER_COLUMNS;
+        return columns.get(column % columns.size()).get(row);
+    }
+
+    private static Object castUtil(Class<?> fieldType, Object raw) {
+        if (fieldType == String.class)
+            return CastUtil.toStringValue(raw);
+        if (fieldType == Integer.class)
+            return CastUtil.toIntegerValue(raw);
+        if (fieldType == Long.class)
+            return CastUtil.toLongValue(raw);
+        if (fieldType == Boolean.class)
+            return CastUtil.toBooleanValue(raw);
+        throw new IllegalArgumentException("No CastUtil method for " + fieldType);
+    }
+
+    private static int vtTypeOf(Object raw) {
+        return switch (raw) {
+            case null -> Variant.VT_NULL;
+            case String ignored -> Variant.VT_BSTR;
+            case Integer ignored -> Variant.VT_I4;
+            case Short ignored -> Variant.VT_I2;
+            case Byte ignored -> Variant.VT_UI1;
+            case Boolean ignored -> Variant.VT_BOOL;
+            default -> throw new IllegalArgumentException("No VARIANT type for " + raw.getClass());
+        };
+    }
+}
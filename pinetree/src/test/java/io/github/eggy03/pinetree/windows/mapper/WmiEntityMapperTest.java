@@ -0,0 +1,82 @@
+package io.github.eggy03.pinetree.windows.mapper;
+
+import com.google.gson.annotations.SerializedName;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import io.github.eggy03.pinetree.windows.annotation.WmiClass;
+import io.github.eggy03.pinetree.windows.com.StandInClassObject;
+import io.github.eggy03.pinetree.windows.entity.processor.Processor;
+import io.github.eggy03.pinetree.windows.enums.processor.ProcessorProperty;
+import io.github.eggy03.pinetree.windows.mapper.processor.ProcessorMapper;
+import io.github.eggy03.pinetree.windows.result.WmiResultTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WmiEntityMapperTest {
+
+    // Not a class of WmiClassname, so the CIM types of the stand-ins are not shared with other tests
+    @WmiClass("Test_DiskDrive")
+    record DiskDrive(@SerializedName("Size") Long size,
+                     @SerializedName("DeviceID") String deviceId,
+                     @SerializedName("Partitions") Integer partitions,
+                     @SerializedName("MediaLoaded") Boolean mediaLoaded) {
+
+        @SerializedName("Kind")
+        static final String KIND = "disk";
+    }
+
+    @WmiClass("Test_DiskDrive")
+    record UnnamedComponent(@SerializedName("DeviceID") String deviceId, Long size) {
+    }
+
+    private static StandInClassObject disk(String deviceId) {
+        return new StandInClassObject()
+                .with("Size", Wbemcli.CIM_UINT64, " 500107862016 ")
+                .withString("DeviceID", deviceId)
+                .with("Partitions", Wbemcli.CIM_UINT32, 3)
+                .with("MediaLoaded", Wbemcli.CIM_BOOLEAN, true);
+    }
+
+    @Test
+    void buildsRecordsInComponentOrder() {
+        WmiEntityMapper<DiskDrive> mapper = WmiEntityMapper.of(DiskDrive.class);
+
+        assertEquals(List.of("Size", "DeviceID", "Partitions", "MediaLoaded"), mapper.getPropertyNames());
+        assertEquals(new DiskDrive(500_107_862_016L, "PHYSICALDRIVE0", 3, true), mapper.map(disk(" PHYSICALDRIVE0")));
+        assertEquals(new DiskDrive(500_107_862_016L, "PHYSICALDRIVE1", 3, true), mapper.map(disk("PHYSICALDRIVE1")));
+    }
+
+    @Test
+    void mapsMissingPropertiesToNull() {
+        DiskDrive disk = WmiEntityMapper.of(DiskDrive.class).map(new StandInClassObject().withString("DeviceID", "PHYSICALDRIVE2"));
+
+        assertEquals(new DiskDrive(null, "PHYSICALDRIVE2", null, null), disk);
+    }
+
+    @Test
+    void rejectsRecordComponentsWithoutAPropertyName() {
+        assertThrows(IllegalArgumentException.class, () -> WmiEntityMapper.of(UnnamedComponent.class));
+    }
+
+    @Test
+    void buildsLombokEntitiesLikeTheGeneratedMapper() {
+        StandInClassObject object = new StandInClassObject()
+                .withString("DeviceID", "CPU0 ")
+                .withString("Name", "Stand-in Processor")
+                .with("NumberOfCores", Wbemcli.CIM_UINT32, 8)
+                .with("AddressWidth", Wbemcli.CIM_UINT16, (short) -1)
+                .with("VirtualizationFirmwareEnabled", Wbemcli.CIM_BOOLEAN, false)
+                .withString("Stepping", "2");
+        WmiResultTable<ProcessorProperty> table = new WmiResultTable<>(ProcessorProperty.class);
+        table.addRow(object, EnumSet.allOf(ProcessorProperty.class));
+
+        Processor processor = WmiEntityMapper.of(Processor.class).map(object);
+
+        assertEquals(new ProcessorMapper().toEntityList(table).getFirst(), processor);
+        assertEquals(65_535, processor.getAddressWidth());
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.eggy03.pinetree.windows.query;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WmiObjectPathTest {
+
+    enum Property {
+        DeviceID,
+        Name
+    }
+
+    @Test
+    void formatsTheKeyOfAnInstance() {
+        assertEquals("Win32_Processor.DeviceID=\"CPU0\"", WmiObjectPath.format("Win32_Processor", Property.DeviceID, "CPU0"));
+    }
+
+    @Test
+    void escapesQuotesAndBackslashes() {
+        assertEquals("Win32_Directory.Name=\"C:\\\\Windows\\\\\"",
+                WmiObjectPath.format("Win32_Directory", Property.Name, "C:\\Windows\\"));
+        assertEquals("Win32_Printer.DeviceID=\"\\\"Label\\\" Printer\"",
+                WmiObjectPath.format("Win32_Printer", Property.DeviceID, "\"Label\" Printer"));
+        assertEquals("Win32_Share.Name=\"a\\\\\\\"b\"", WmiObjectPath.format("Win32_Share", Property.Name, "a\\\"b"));
+    }
+
+    @Test
+    void keepsSingleQuotesAsTheyAre() {
+        assertEquals("Win32_Share.Name=\"it's\"", WmiObjectPath.format("Win32_Share", Property.Name, "it's"));
+    }
+
+    @Test
+    void quotesAnEmptyKey() {
+        assertEquals("Win32_Processor.DeviceID=\"\"", WmiObjectPath.format("Win32_Processor", Property.DeviceID, ""));
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.eggy03.pinetree.windows.query;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WqlAssociatorsQueryTest {
+
+    private static final String CPU0 = "Win32_Processor.DeviceID=\"CPU0\"";
+
+    enum Property {
+        Name
+    }
+
+    @Test
+    void rendersEveryAssociationWithoutAssocClass() {
+        assertEquals("ASSOCIATORS OF {Win32_Processor.DeviceID=\"CPU0\"} WHERE ResultClass = Win32_CacheMemory",
+                WqlAssociatorsQuery.of(CPU0, "Win32_CacheMemory").toWql());
+    }
+
+    @Test
+    void rendersAssocClassBeforeResultClass() {
+        WqlAssociatorsQuery query = WqlAssociatorsQuery.of(CPU0, "Win32_CacheMemory")
+                .withAssocClass("Win32_AssociatedProcessorMemory");
+
+        assertEquals("ASSOCIATORS OF {Win32_Processor.DeviceID=\"CPU0\"} WHERE AssocClass = Win32_AssociatedProcessorMemory "
+                + "ResultClass = Win32_CacheMemory", query.toWql());
+    }
+
+    @Test
+    void leavesTheOriginalQueryUnrestricted() {
+        WqlAssociatorsQuery query = WqlAssociatorsQuery.of(CPU0, "Win32_CacheMemory");
+        query.withAssocClass("Win32_AssociatedProcessorMemory");
+
+        assertEquals("ASSOCIATORS OF {Win32_Processor.DeviceID=\"CPU0\"} WHERE ResultClass = Win32_CacheMemory", query.toWql());
+    }
+
+    @Test
+    void keepsAnEscapedSourcePathAsItIs() {
+        String path = WmiObjectPath.format("Win32_Directory", Property.Name, "C:\\Windows");
+
+        assertEquals("ASSOCIATORS OF {Win32_Directory.Name=\"C:\\\\Windows\"} WHERE ResultClass = CIM_DataFile",
+                WqlAssociatorsQuery.of(path, "CIM_DataFile").toWql());
+    }
+}
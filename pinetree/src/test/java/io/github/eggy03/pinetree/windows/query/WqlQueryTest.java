@@ -0,0 +1,79 @@
+package io.github.eggy03.pinetree.windows.query;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WqlQueryTest {
+
+    enum Property {
+        DeviceID,
+        Name,
+        NumberOfCores,
+        ThreadCount
+    }
+
+    @Test
+    void rendersEveryPropertyWithoutCondition() {
+        assertEquals("SELECT DeviceID,Name,NumberOfCores,ThreadCount FROM Win32_Processor",
+                WqlQuery.from(Property.class).toWql("Win32_Processor"));
+    }
+
+    @Test
+    void rendersProjectionAndCondition() {
+        WqlQuery<Property> query = WqlQuery.from(Property.class)
+                .select(EnumSet.of(Property.Name, Property.DeviceID))
+                .where(WqlCondition.eq(Property.DeviceID, "CPU0"));
+
+        assertEquals("SELECT DeviceID,Name FROM Win32_Processor WHERE DeviceID = 'CPU0'", query.toWql("Win32_Processor"));
+    }
+
+    @Test
+    void parenthesizesNestedJunctions() {
+        WqlCondition<Property> condition = WqlCondition.<Property>like(Property.Name, "Intel%")
+                .and(WqlCondition.<Property>ge(Property.NumberOfCores, 8).or(WqlCondition.ge(Property.ThreadCount, 16L)));
+
+        assertEquals("Name LIKE 'Intel%' AND (NumberOfCores >= 8 OR ThreadCount >= 16)", condition.toWql());
+        assertEquals("NOT (Name IS NULL)", WqlCondition.<Property>isNull(Property.Name).not().toWql());
+        assertEquals("Name <> FALSE", WqlCondition.ne(Property.Name, false).toWql());
+    }
+
+    @Test
+    void escapesQuotesAndBackslashes() {
+        assertEquals("'it\\'s'", WqlCondition.quote("it's"));
+        assertEquals("'C:\\\\Windows\\\\'", WqlCondition.quote("C:\\Windows\\"));
+        assertEquals("Name = 'a\\'b\\\\c'", WqlCondition.eq(Property.Name, "a'b\\c").toWql());
+    }
+
+    @Test
+    void escapesLikeWildcardsInTheirOwnBrackets() {
+        assertEquals("100[%]", WqlCondition.escapeLike("100%"));
+        assertEquals("DIMM[_]0", WqlCondition.escapeLike("DIMM_0"));
+        assertEquals("[[]0]", WqlCondition.escapeLike("[0]"));
+    }
+
+    @Test
+    void keepsCaretAndClosingBracketOutsideBrackets() {
+        assertEquals("x^2", WqlCondition.escapeLike("x^2"));
+        assertEquals("^start", WqlCondition.escapeLike("^start"));
+        assertEquals("a]b", WqlCondition.escapeLike("a]b"));
+        assertEquals("[[]^]", WqlCondition.escapeLike("[^]"));
+    }
+
+    @Test
+    void quotesEscapedLikePatterns() {
+        WqlCondition<Property> condition = WqlCondition.like(Property.Name, WqlCondition.escapeLike("O'Neil_50%") + "%");
+
+        assertEquals("Name LIKE 'O\\'Neil[_]50[%]%'", condition.toWql());
+    }
+
+    @Test
+    void rejectsNullAndNonFiniteLiterals() {
+        assertThrows(IllegalArgumentException.class, () -> WqlCondition.eq(Property.Name, (String) null));
+        assertThrows(IllegalArgumentException.class, () -> WqlCondition.eq(Property.NumberOfCores, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> WqlCondition.<Property>allOf());
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.eggy03.pinetree.windows.result;
+
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import io.github.eggy03.pinetree.windows.com.StandInClassObject;
+import io.github.eggy03.pinetree.windows.entity.processor.Processor;
+import io.github.eggy03.pinetree.windows.enums.memory.PhysicalMemoryProperty;
+import io.github.eggy03.pinetree.windows.enums.processor.ProcessorProperty;
+import io.github.eggy03.pinetree.windows.mapper.processor.ProcessorMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnarResultTest {
+
+    private static final EnumSet<ProcessorProperty> PROCESSOR = EnumSet.allOf(ProcessorProperty.class);
+    private static final EnumSet<PhysicalMemoryProperty> MEMORY = EnumSet.allOf(PhysicalMemoryProperty.class);
+
+    private static StandInClassObject processor(int index) {
+        return new StandInClassObject()
+                .withString("DeviceID", " CPU" + index + " ")
+                .with("NumberOfCores", Wbemcli.CIM_UINT32, 8 + index)
+                .with("AddressWidth", Wbemcli.CIM_UINT16, (short) -1)
+                .with("L2CacheSize", Wbemcli.CIM_UINT32, null)
+                .with("Family", Wbemcli.CIM_UINT16, 198)
+                .with("VirtualizationFirmwareEnabled", Wbemcli.CIM_BOOLEAN, index % 2 == 0);
+    }
+
+    @Test
+    void decodesEachVariantIntoTheColumnOfItsCimType() {
+        ColumnarResult<ProcessorProperty> result = new ColumnarResult<>(ProcessorProperty.class);
+        result.addRow(processor(0), PROCESSOR);
+        result.addRow(processor(1), PROCESSOR);
+
+        assertEquals(ColumnType.STRING, result.getColumnType(ProcessorProperty.DeviceID));
+        assertEquals("CPU1", result.getString(ProcessorProperty.DeviceID, 1));
+        assertEquals(ColumnType.INT, result.getColumnType(ProcessorProperty.NumberOfCores));
+        assertEquals(9, result.getInt(ProcessorProperty.NumberOfCores, 1));
+        assertEquals(65_535, result.getInt(ProcessorProperty.AddressWidth, 0));
+        assertEquals(ColumnType.BOOLEAN, result.getColumnType(ProcessorProperty.VirtualizationFirmwareEnabled));
+        assertTrue(result.getBoolean(ProcessorProperty.VirtualizationFirmwareEnabled, 0));
+        assertFalse(result.getBoolean(ProcessorProperty.VirtualizationFirmwareEnabled, 1));
+    }
+
+    @Test
+    void typesAColumnBeforeItHoldsAnyValue() {
+        ColumnarResult<ProcessorProperty> result = new ColumnarResult<>(ProcessorProperty.class);
+        result.addRow(processor(0), PROCESSOR);
+
+        assertEquals(ColumnType.INT, result.getColumnType(ProcessorProperty.L2CacheSize));
+        assertTrue(result.isNull(ProcessorProperty.L2CacheSize, 0));
+        assertEquals(ColumnType.EMPTY, result.getColumnType(ProcessorProperty.Stepping));
+        assertNull(result.getIntegerValue(ProcessorProperty.L2CacheSize, 0));
+    }
+
+    @Test
+    void keepsEveryValueOfAColumnWhenOneDoesNotFitItsType() {
+        ColumnarResult<ProcessorProperty> result = new ColumnarResult<>(ProcessorProperty.class);
+        result.addRow(processor(0), PROCESSOR);
+        result.addRow(processor(1).with("Family", Wbemcli.CIM_UINT16, "Other"), PROCESSOR);
+        result.addRow(processor(2), PROCESSOR);
+
+        assertEquals(ColumnType.OBJECT, result.getColumnType(ProcessorProperty.Family));
+        assertEquals(198, result.getValue(ProcessorProperty.Family, 0));
+        assertEquals("Other", result.getValue(ProcessorProperty.Family, 1));
+        assertEquals(198, result.getIntegerValue(ProcessorProperty.Family, 2));
+        assertEquals(3, result.getRowCount());
+    }
+
+    @Test
+    void sharesOneDictionaryCodePerDistinctString() {
+        ColumnarResult<ProcessorProperty> result = new ColumnarResult<>(ProcessorProperty.class);
+        for (int i = 0; i < 100; i++) {
+            result.addRow(new StandInClassObject()
+                    .withString("DeviceID", "CPU" + i)
+                    .withString("Name", " CPU" + (99 - i))
+                    .withString("Caption", "été 中" + "x".repeat(i)), PROCESSOR);
+        }
+
+        assertEquals(200, result.getDictionarySize());
+        assertEquals(result.getStringCode(ProcessorProperty.DeviceID, 0), result.getStringCode(ProcessorProperty.Name, 99));
+        assertEquals("CPU99", result.getString(ProcessorProperty.Name, 0));
+        assertEquals("été 中" + "x".repeat(99), result.getString(ProcessorProperty.Caption, 99));
+        assertEquals(result.getStringCode(ProcessorProperty.DeviceID, 7), result.toReadOnlyCopy().getStringCode(ProcessorProperty.Name, 92));
+    }
+
+    @Test
+    void parsesUint64StringsAsUnsigned() {
+        ColumnarResult<PhysicalMemoryProperty> result = new ColumnarResult<>(PhysicalMemoryProperty.class);
+        result.addRow(new StandInClassObject().with("Capacity", Wbemcli.CIM_UINT64, " 17179869184 "), MEMORY);
+        result.addRow(new StandInClassObject().with("Capacity", Wbemcli.CIM_UINT64, "18446744073709551615"), MEMORY);
+
+        assertEquals(ColumnType.LONG, result.getColumnType(PhysicalMemoryProperty.Capacity));
+        assertEquals(17_179_869_184L, result.getLong(PhysicalMemoryProperty.Capacity, 0));
+        assertEquals(-1L, result.getLong(PhysicalMemoryProperty.Capacity, 1));
+    }
+
+    @Test
+    void mapsIntoTheSameEntitiesAsTheResultTable() {
+        WmiResultTable<ProcessorProperty> table = new WmiResultTable<>(ProcessorProperty.class);
+        ColumnarResult<ProcessorProperty> columnar = new ColumnarResult<>(ProcessorProperty.class);
+        for (int i = 0; i < 3; i++) {
+            table.addRow(processor(i), PROCESSOR);
+            columnar.addRow(processor(i), PROCESSOR);
+        }
+
+        List<Processor> expected = new ProcessorMapper().toEntityList(table);
+
+        assertEquals(expected, new ProcessorMapper().toEntityList(columnar));
+        assertEquals(expected, new ProcessorMapper().toEntityList(columnar.toReadOnlyCopy()));
+    }
+}
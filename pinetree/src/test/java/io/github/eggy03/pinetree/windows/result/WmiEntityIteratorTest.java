@@ -0,0 +1,136 @@
+package io.github.eggy03.pinetree.windows.result;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import io.github.eggy03.pinetree.windows.com.StandInClassObject;
+import io.github.eggy03.pinetree.windows.com.StandInEnumerator;
+import io.github.eggy03.pinetree.windows.entity.processor.Processor;
+import io.github.eggy03.pinetree.windows.enums.processor.ProcessorProperty;
+import io.github.eggy03.pinetree.windows.mapper.processor.ProcessorMapper;
+import io.github.eggy03.pinetree.windows.query.WqlQuery;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WmiEntityIteratorTest {
+
+    private final AtomicInteger closeActions = new AtomicInteger();
+
+    private static List<StandInClassObject> processors(int count) {
+        List<StandInClassObject> objects = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            objects.add(new StandInClassObject()
+                    .withString("DeviceID", "CPU" + i)
+                    .withString("Name", "  Processor " + i + "  ")
+                    .with("NumberOfCores", Wbemcli.CIM_UINT32, 4 + i)
+                    .with("VirtualizationFirmwareEnabled", Wbemcli.CIM_BOOLEAN, i % 2 == 0));
+        }
+        return objects;
+    }
+
+    private WmiEntityIterator<Processor, ProcessorProperty> iterator(StandInEnumerator enumerator,
+                                                                     WqlQuery<ProcessorProperty> query, int batchSize) {
+        return new WmiEntityIterator<>(enumerator, query, new ProcessorMapper(), batchSize, 1000, closeActions::incrementAndGet);
+    }
+
+    @Test
+    void mapsEveryObjectAcrossBatches() {
+        List<StandInClassObject> objects = processors(5);
+        StandInEnumerator enumerator = new StandInEnumerator(objects);
+
+        List<Processor> processors = new ArrayList<>();
+        try (WmiEntityIterator<Processor, ProcessorProperty> iterator = iterator(enumerator, WqlQuery.from(ProcessorProperty.class), 2)) {
+            iterator.forEachRemaining(processors::add);
+        }
+
+        assertEquals(5, processors.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals("CPU" + i, processors.get(i).getDeviceId());
+            assertEquals("Processor " + i, processors.get(i).getName());
+            assertEquals(4 + i, processors.get(i).getNumberOfCores());
+            assertEquals(i % 2 == 0, processors.get(i).getVirtualizationFirmwareEnabled());
+            assertNull(processors.get(i).getThreadCount());
+        }
+        // Two full batches, a partial one and the empty one marking the end
+        assertEquals(List.of(2, 2, 2, 2), enumerator.getRequestedBatchSizes());
+    }
+
+    @Test
+    void releasesEveryObjectAndClosesOnceWhenExhausted() {
+        List<StandInClassObject> objects = processors(3);
+        StandInEnumerator enumerator = new StandInEnumerator(objects);
+        WmiEntityIterator<Processor, ProcessorProperty> iterator = iterator(enumerator, WqlQuery.from(ProcessorProperty.class), 10);
+
+        while (iterator.hasNext())
+            iterator.next();
+
+        objects.forEach(object -> assertEquals(1, object.getReleaseCount()));
+        assertEquals(1, enumerator.getCloseCount());
+        assertEquals(1, closeActions.get());
+        assertThrows(NoSuchElementException.class, iterator::next);
+
+        iterator.close();
+        assertEquals(1, enumerator.getCloseCount());
+        assertEquals(1, closeActions.get());
+    }
+
+    @Test
+    void leavesUnselectedPropertiesNull() {
+        WqlQuery<ProcessorProperty> query = WqlQuery.from(ProcessorProperty.class).select(EnumSet.of(ProcessorProperty.DeviceID));
+
+        try (WmiEntityIterator<Processor, ProcessorProperty> iterator = iterator(new StandInEnumerator(processors(1)), query, 1)) {
+            Processor processor = iterator.next();
+
+            assertEquals("CPU0", processor.getDeviceId());
+            assertNull(processor.getName());
+            assertNull(processor.getNumberOfCores());
+        }
+    }
+
+    @Test
+    void closingEarlyReleasesTheEnumeration() {
+        List<StandInClassObject> objects = processors(4);
+        StandInEnumerator enumerator = new StandInEnumerator(objects);
+
+        try (WmiEntityIterator<Processor, ProcessorProperty> iterator = iterator(enumerator, WqlQuery.from(ProcessorProperty.class), 2)) {
+            assertEquals("CPU0", iterator.next().getDeviceId());
+        }
+
+        assertEquals(List.of(2), enumerator.getRequestedBatchSizes());
+        assertEquals(1, enumerator.getCloseCount());
+        assertEquals(1, closeActions.get());
+        assertEquals(0, objects.get(3).getReleaseCount());
+    }
+
+    @Test
+    void reportsTimeoutsAsComExceptionsAndCloses() {
+        StandInEnumerator enumerator = new StandInEnumerator(processors(4)).timingOutAt(2);
+        WmiEntityIterator<Processor, ProcessorProperty> iterator = iterator(enumerator, WqlQuery.from(ProcessorProperty.class), 2);
+
+        assertEquals("CPU0", iterator.next().getDeviceId());
+        assertEquals("CPU1", iterator.next().getDeviceId());
+        assertThrows(COMException.class, iterator::hasNext);
+
+        assertEquals(1, enumerator.getCloseCount());
+        assertEquals(1, closeActions.get());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void rejectsEmptyBatches() {
+        StandInEnumerator enumerator = new StandInEnumerator(List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> iterator(enumerator, WqlQuery.from(ProcessorProperty.class), 0));
+        assertTrue(enumerator.getRequestedBatchSizes().isEmpty());
+    }
+}
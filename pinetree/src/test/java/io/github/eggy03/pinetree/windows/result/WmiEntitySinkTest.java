@@ -0,0 +1,125 @@
+package io.github.eggy03.pinetree.windows.result;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import io.github.eggy03.pinetree.windows.com.StandInAsyncDriver;
+import io.github.eggy03.pinetree.windows.com.StandInClassObject;
+import io.github.eggy03.pinetree.windows.entity.processor.Processor;
+import io.github.eggy03.pinetree.windows.enums.processor.ProcessorProperty;
+import io.github.eggy03.pinetree.windows.mapper.processor.ProcessorMapper;
+import io.github.eggy03.pinetree.windows.query.WqlCondition;
+import io.github.eggy03.pinetree.windows.query.WqlQuery;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WmiEntitySinkTest {
+
+    private static final WqlQuery<ProcessorProperty> QUERY = WqlQuery.from(ProcessorProperty.class);
+
+    private static StandInClassObject processor(int index) {
+        return new StandInClassObject()
+                .withString("DeviceID", "CPU" + index)
+                .with("NumberOfCores", Wbemcli.CIM_UINT32, 8);
+    }
+
+    @Test
+    void collectsEveryBatchAndStreamsRowsFromTheSinkThread() throws Exception {
+        List<String> streamed = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        WmiEntitySink<Processor, ProcessorProperty> sink = new WmiEntitySink<>(QUERY, new ProcessorMapper(), processor -> {
+            streamed.add(processor.getDeviceId());
+            threads.add(Thread.currentThread());
+        });
+
+        StandInAsyncDriver driver = new StandInAsyncDriver()
+                .deliver(processor(0), processor(1))
+                .deliver(processor(2));
+        driver.execQueryAsync(QUERY.toWql("Win32_Processor"), sink);
+
+        List<Processor> processors = sink.getFuture().get(10, TimeUnit.SECONDS);
+
+        assertEquals(List.of("CPU0", "CPU1", "CPU2"), processors.stream().map(Processor::getDeviceId).toList());
+        assertEquals(8, processors.getFirst().getNumberOfCores());
+        assertEquals(List.of("CPU0", "CPU1", "CPU2"), streamed);
+        threads.forEach(thread -> assertNotEquals(Thread.currentThread(), thread));
+        assertThrows(UnsupportedOperationException.class, () -> processors.add(processors.getFirst()));
+    }
+
+    @Test
+    void passesTheRenderedQueryToTheDriver() throws Exception {
+        WqlQuery<ProcessorProperty> query = WqlQuery.from(ProcessorProperty.class).where(WqlCondition.eq(ProcessorProperty.DeviceID, "CPU0"));
+        WmiEntitySink<Processor, ProcessorProperty> sink = new WmiEntitySink<>(query, new ProcessorMapper(), processor -> {
+        });
+
+        StandInAsyncDriver driver = new StandInAsyncDriver();
+        driver.execQueryAsync(query.toWql("Win32_Processor"), sink);
+
+        assertTrue(sink.getFuture().get(10, TimeUnit.SECONDS).isEmpty());
+        assertTrue(driver.getIssuedQueries().getFirst().endsWith("FROM Win32_Processor WHERE DeviceID = 'CPU0'"));
+    }
+
+    @Test
+    void failsWithTheHresultOfTheCall() {
+        WmiEntitySink<Processor, ProcessorProperty> sink = new WmiEntitySink<>(QUERY, new ProcessorMapper(), processor -> {
+        });
+
+        new StandInAsyncDriver()
+                .deliver(processor(0))
+                .completingWith(Wbemcli.WBEM_E_INVALID_CLASS, "Invalid class")
+                .execQueryAsync("SELECT * FROM Win32_Nothing", sink);
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> sink.getFuture().get(10, TimeUnit.SECONDS));
+        COMException cause = assertInstanceOf(COMException.class, failure.getCause());
+        assertEquals(Wbemcli.WBEM_E_INVALID_CLASS, cause.getHresult().intValue());
+        assertEquals("Invalid class", cause.getMessage());
+    }
+
+    @Test
+    void failsWhenTheListenerThrowsAndDropsLaterBatches() throws Exception {
+        List<String> streamed = new CopyOnWriteArrayList<>();
+        WmiEntitySink<Processor, ProcessorProperty> sink = new WmiEntitySink<>(QUERY, new ProcessorMapper(), processor -> {
+            streamed.add(processor.getDeviceId());
+            throw new IllegalStateException("listener failed");
+        });
+
+        StandInAsyncDriver driver = new StandInAsyncDriver().deliver(processor(0)).deliver(processor(1));
+        driver.execQueryAsync(QUERY.toWql("Win32_Processor"), sink);
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> sink.getFuture().get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertTrue(driver.awaitFinished());
+        assertEquals(List.of("CPU0"), streamed);
+    }
+
+    @Test
+    void stopsDeliveringOnceCancelled() throws Exception {
+        List<String> streamed = new CopyOnWriteArrayList<>();
+        WmiEntitySink<Processor, ProcessorProperty> sink = new WmiEntitySink<>(QUERY, new ProcessorMapper(),
+                processor -> streamed.add(processor.getDeviceId()));
+
+        StandInAsyncDriver driver = new StandInAsyncDriver().deliver(processor(0)).deliver(processor(1)).stepped();
+        var call = driver.execQueryAsync(QUERY.toWql("Win32_Processor"), sink);
+        sink.getFuture().whenComplete((rows, failure) -> call.cancel());
+
+        driver.release();
+        while (streamed.isEmpty())
+            Thread.onSpinWait();
+        sink.getFuture().cancel(true);
+
+        assertTrue(driver.awaitFinished());
+        assertTrue(driver.isCancelled());
+        assertEquals(List.of("CPU0"), streamed);
+        assertThrows(CancellationException.class, sink.getFuture()::join);
+    }
+}
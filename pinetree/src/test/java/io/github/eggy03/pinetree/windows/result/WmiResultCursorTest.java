@@ -0,0 +1,212 @@
+package io.github.eggy03.pinetree.windows.result;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import io.github.eggy03.pinetree.windows.com.StandInClassObject;
+import io.github.eggy03.pinetree.windows.com.StandInEnumerator;
+import io.github.eggy03.pinetree.windows.enums.memory.PhysicalMemoryProperty;
+import io.github.eggy03.pinetree.windows.enums.processor.ProcessorProperty;
+import io.github.eggy03.pinetree.windows.query.WqlQuery;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WmiResultCursorTest {
+
+    private static final EnumSet<ProcessorProperty> PROCESSOR = EnumSet.allOf(ProcessorProperty.class);
+
+    private final AtomicInteger closeActions = new AtomicInteger();
+
+    private static List<StandInClassObject> processors(int count) {
+        List<StandInClassObject> objects = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            objects.add(new StandInClassObject()
+                    .withString("DeviceID", "CPU" + i)
+                    .withString("Name", "  Processor " + i + "  ")
+                    .with("NumberOfCores", Wbemcli.CIM_UINT32, 4 + i)
+                    .with("AddressWidth", Wbemcli.CIM_UINT16, (short) -1)
+                    .with("Family", Wbemcli.CIM_UINT16, 198)
+                    .with("VirtualizationFirmwareEnabled", Wbemcli.CIM_BOOLEAN, i % 2 == 0));
+        }
+        return objects;
+    }
+
+    private <P extends Enum<P>> WmiResultCursor<P> cursor(StandInEnumerator enumerator, WqlQuery<P> query, int batchSize) {
+        return new WmiResultCursor<>(enumerator, query, batchSize, 1000, closeActions::incrementAndGet);
+    }
+
+    private static String string(ResultCursor<ProcessorProperty> cursor, ProcessorProperty property) {
+        CharBuffer buffer = CharBuffer.allocate(256);
+        cursor.getString(property, buffer);
+        return buffer.flip().toString();
+    }
+
+    @Test
+    void readsEveryObjectAcrossBatches() {
+        StandInEnumerator enumerator = new StandInEnumerator(processors(5));
+
+        try (WmiResultCursor<ProcessorProperty> cursor = cursor(enumerator, WqlQuery.from(ProcessorProperty.class), 2)) {
+            for (int i = 0; i < 5; i++) {
+                assertTrue(cursor.next());
+                assertEquals(i, cursor.getRow());
+                assertEquals("CPU" + i, string(cursor, ProcessorProperty.DeviceID));
+                assertEquals("Processor " + i, string(cursor, ProcessorProperty.Name));
+                assertEquals(4 + i, cursor.getInt(ProcessorProperty.NumberOfCores));
+                assertEquals(4L + i, cursor.getLong(ProcessorProperty.NumberOfCores));
+                assertEquals(65_535, cursor.getInt(ProcessorProperty.AddressWidth));
+                assertEquals(i % 2 == 0, cursor.getBoolean(ProcessorProperty.VirtualizationFirmwareEnabled));
+                assertTrue(cursor.isNull(ProcessorProperty.ThreadCount));
+            }
+            assertFalse(cursor.next());
+            assertEquals(5, cursor.getRow());
+        }
+
+        // Two full batches, a partial one and the empty one marking the end
+        assertEquals(List.of(2, 2, 2, 2), enumerator.getRequestedBatchSizes());
+    }
+
+    @Test
+    void releasesEveryObjectAndClosesOnceWhenExhausted() {
+        List<StandInClassObject> objects = processors(3);
+        StandInEnumerator enumerator = new StandInEnumerator(objects);
+        WmiResultCursor<ProcessorProperty> cursor = cursor(enumerator, WqlQuery.from(ProcessorProperty.class), 10);
+
+        while (cursor.next())
+            cursor.getInt(ProcessorProperty.NumberOfCores);
+
+        objects.forEach(object -> assertEquals(1, object.getReleaseCount()));
+        assertEquals(1, enumerator.getCloseCount());
+        assertEquals(1, closeActions.get());
+        assertFalse(cursor.next());
+        assertThrows(IllegalStateException.class, () -> cursor.getInt(ProcessorProperty.NumberOfCores));
+
+        cursor.close();
+        assertEquals(1, enumerator.getCloseCount());
+        assertEquals(1, closeActions.get());
+    }
+
+    @Test
+    void closingEarlyReleasesTheRemainingObjects() {
+        List<StandInClassObject> objects = processors(4);
+        StandInEnumerator enumerator = new StandInEnumerator(objects);
+
+        try (WmiResultCursor<ProcessorProperty> cursor = cursor(enumerator, WqlQuery.from(ProcessorProperty.class), 3)) {
+            assertTrue(cursor.next());
+            assertEquals("CPU0", string(cursor, ProcessorProperty.DeviceID));
+        }
+
+        assertEquals(List.of(3), enumerator.getRequestedBatchSizes());
+        assertEquals(1, enumerator.getCloseCount());
+        assertEquals(1, closeActions.get());
+        objects.subList(0, 3).forEach(object -> assertEquals(1, object.getReleaseCount()));
+        assertEquals(0, objects.get(3).getReleaseCount());
+    }
+
+    @Test
+    void reportsTimeoutsAsComExceptionsAndCloses() {
+        StandInEnumerator enumerator = new StandInEnumerator(processors(4)).timingOutAt(2);
+        WmiResultCursor<ProcessorProperty> cursor = cursor(enumerator, WqlQuery.from(ProcessorProperty.class), 2);
+
+        assertTrue(cursor.next());
+        assertTrue(cursor.next());
+        assertThrows(COMException.class, cursor::next);
+
+        assertEquals(1, enumerator.getCloseCount());
+        assertEquals(1, closeActions.get());
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    void readsUnselectedPropertiesAsNull() {
+        WqlQuery<ProcessorProperty> query = WqlQuery.from(ProcessorProperty.class).select(EnumSet.of(ProcessorProperty.DeviceID));
+
+        try (WmiResultCursor<ProcessorProperty> cursor = cursor(new StandInEnumerator(processors(1)), query, 1)) {
+            assertTrue(cursor.next());
+
+            assertEquals("CPU0", string(cursor, ProcessorProperty.DeviceID));
+            assertTrue(cursor.isNull(ProcessorProperty.NumberOfCores));
+            assertEquals(0, cursor.getInt(ProcessorProperty.NumberOfCores));
+            assertEquals(-1, cursor.getString(ProcessorProperty.Name, CharBuffer.allocate(16)));
+        }
+    }
+
+    @Test
+    void readsTheSameValuesAsTheColumnarCursor() {
+        List<StandInClassObject> objects = processors(4);
+        objects.add(new StandInClassObject().withString("Name", "x".repeat(200)));
+        ColumnarResult<ProcessorProperty> columnar = new ColumnarResult<>(ProcessorProperty.class);
+        objects.forEach(object -> columnar.addRow(object, PROCESSOR));
+
+        try (ResultCursor<ProcessorProperty> expected = columnar.cursor();
+             WmiResultCursor<ProcessorProperty> actual = cursor(new StandInEnumerator(objects), WqlQuery.from(ProcessorProperty.class), 2)) {
+            while (expected.next()) {
+                assertTrue(actual.next());
+                assertEquals(expected.getRow(), actual.getRow());
+                for (ProcessorProperty property : List.of(ProcessorProperty.DeviceID, ProcessorProperty.Name))
+                    assertEquals(string(expected, property), string(actual, property));
+                for (ProcessorProperty property : List.of(ProcessorProperty.NumberOfCores, ProcessorProperty.AddressWidth, ProcessorProperty.Family)) {
+                    assertEquals(expected.isNull(property), actual.isNull(property));
+                    assertEquals(expected.getInt(property), actual.getInt(property));
+                    assertEquals(expected.getLong(property), actual.getLong(property));
+                }
+                assertEquals(expected.getBoolean(ProcessorProperty.VirtualizationFirmwareEnabled),
+                        actual.getBoolean(ProcessorProperty.VirtualizationFirmwareEnabled));
+            }
+            assertFalse(actual.next());
+        }
+    }
+
+    @Test
+    void growsItsStringSlotsForLongStrings() {
+        String name = "Processor ".repeat(20);
+        List<StandInClassObject> objects = List.of(new StandInClassObject().withString("Name", name));
+
+        try (WmiResultCursor<ProcessorProperty> cursor = cursor(new StandInEnumerator(objects), WqlQuery.from(ProcessorProperty.class), 1)) {
+            assertTrue(cursor.next());
+
+            CharBuffer buffer = CharBuffer.allocate(name.length());
+            assertEquals(name.trim().length(), cursor.getString(ProcessorProperty.Name, buffer));
+            assertEquals(name.trim(), buffer.flip().toString());
+            assertThrows(BufferOverflowException.class, () -> cursor.getString(ProcessorProperty.Name, CharBuffer.allocate(8)));
+        }
+    }
+
+    @Test
+    void parsesUint64StringsAsUnsigned() {
+        List<StandInClassObject> objects = List.of(
+                new StandInClassObject().with("Capacity", Wbemcli.CIM_UINT64, " 17179869184 "),
+                new StandInClassObject().with("Capacity", Wbemcli.CIM_UINT64, "18446744073709551615"));
+
+        try (WmiResultCursor<PhysicalMemoryProperty> cursor = cursor(new StandInEnumerator(objects), WqlQuery.from(PhysicalMemoryProperty.class), 2)) {
+            assertTrue(cursor.next());
+            assertEquals(17_179_869_184L, cursor.getLong(PhysicalMemoryProperty.Capacity));
+            assertTrue(cursor.next());
+            assertEquals(-1L, cursor.getLong(PhysicalMemoryProperty.Capacity));
+        }
+    }
+
+    @Test
+    void rejectsValuesThatDoNotFitTheirProperty() {
+        List<StandInClassObject> objects = processors(2);
+        objects.getFirst().with("Family", Wbemcli.CIM_UINT16, "Other");
+
+        try (WmiResultCursor<ProcessorProperty> cursor = cursor(new StandInEnumerator(objects), WqlQuery.from(ProcessorProperty.class), 2)) {
+            assertTrue(cursor.next());
+            assertThrows(IllegalStateException.class, () -> cursor.getInt(ProcessorProperty.Family));
+            assertThrows(IllegalStateException.class, () -> cursor.getBoolean(ProcessorProperty.NumberOfCores));
+
+            assertTrue(cursor.next());
+            assertEquals(198, cursor.getInt(ProcessorProperty.Family));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.eggy03.pinetree.windows.service;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import io.github.eggy03.pinetree.windows.com.StandInClassObject;
+import io.github.eggy03.pinetree.windows.com.WmiClassObject;
+import io.github.eggy03.pinetree.windows.connection.WmiConnection;
+import io.github.eggy03.pinetree.windows.entity.processor.ProcessorCache;
+import io.github.eggy03.pinetree.windows.enums.Namespace;
+import io.github.eggy03.pinetree.windows.service.processor.ProcessorCacheService;
+import io.github.eggy03.pinetree.windows.util.WmiUtil;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AbstractKeyedWmiServiceTest {
+
+    private final StandInConnection connection = new StandInConnection();
+
+    // Answers GetObject from the instances it was given, without touching COM
+    private static final class StandInConnection implements WmiConnection {
+
+        private final Map<String, WmiClassObject> instances = new HashMap<>();
+        private final List<String> requestedPaths = new ArrayList<>();
+        private boolean failing = false;
+
+        @Override
+        public String getNamespace() {
+            return Namespace.DEFAULT.getValue();
+        }
+
+        @Override
+        public Wbemcli.IWbemServices getServices() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        @Nullable
+        public WmiClassObject getObject(String objectPath) {
+            requestedPaths.add(objectPath);
+            if (failing)
+                throw new COMException("Access denied");
+            return instances.get(objectPath);
+        }
+
+        @Override
+        public boolean isHealthy() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // The connection is owned by the test
+        }
+    }
+
+    @Test
+    void looksUpTheInstanceAtThePathOfItsKey() {
+        StandInClassObject cache = new StandInClassObject()
+                .withString("DeviceID", "Cache Memory 0")
+                .with("InstalledSize", Wbemcli.CIM_UINT32, 512);
+        connection.instances.put("Win32_CacheMemory.DeviceID=\"Cache Memory 0\"", cache);
+
+        Optional<ProcessorCache> found = WmiUtil.withConnection(connection, () -> new ProcessorCacheService().getByKey("Cache Memory 0"));
+
+        assertTrue(found.isPresent());
+        assertEquals("Cache Memory 0", found.get().getDeviceId());
+        assertEquals(512L, found.get().getInstalledSize());
+        assertEquals(1, cache.getReleaseCount());
+    }
+
+    @Test
+    void answersEmptyWhenNoInstanceHasTheKey() {
+        Optional<ProcessorCache> found = WmiUtil.withConnection(connection, () -> new ProcessorCacheService().getByKey("Cache \"9\""));
+
+        assertTrue(found.isEmpty());
+        assertEquals(List.of("Win32_CacheMemory.DeviceID=\"Cache \\\"9\\\"\""), connection.requestedPaths);
+    }
+
+    @Test
+    void passesOnOtherFailures() {
+        connection.failing = true;
+
+        assertThrows(COMException.class, () -> WmiUtil.withConnection(connection, () -> new ProcessorCacheService().getByKey("Cache Memory 0")));
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.eggy03.pinetree.windows.service;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import io.github.eggy03.pinetree.windows.com.StandInClassObject;
+import io.github.eggy03.pinetree.windows.com.StandInRefresher;
+import io.github.eggy03.pinetree.windows.entity.display.VideoController;
+import io.github.eggy03.pinetree.windows.enums.WmiClassname;
+import io.github.eggy03.pinetree.windows.enums.display.VideoControllerProperty;
+import io.github.eggy03.pinetree.windows.mapper.display.VideoControllerMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RefreshingServiceTest {
+
+    private static final String VIDEO_CONTROLLER = WmiClassname.WIN32_VIDEO_CONTROLLER.getClassName();
+
+    private final StandInClassObject gpu = new StandInClassObject()
+            .withString("DeviceID", "VideoController1")
+            .with("CurrentRefreshRate", Wbemcli.CIM_UINT32, 60);
+
+    @Test
+    void mapsTheValuesOfTheSameObjectsAfterEachRefresh() {
+        StandInRefresher refresher = new StandInRefresher().withClass(VIDEO_CONTROLLER, List.of(gpu));
+        RefreshingService<VideoController> service = RefreshingService.ofClass(() -> refresher, VIDEO_CONTROLLER,
+                VideoControllerProperty.class, new VideoControllerMapper());
+
+        assertEquals(60, service.refresh().getFirst().getCurrentRefreshRate());
+
+        gpu.with("CurrentRefreshRate", Wbemcli.CIM_UINT32, 144);
+        List<VideoController> refreshed = service.refresh();
+
+        assertEquals("VideoController1", refreshed.getFirst().getDeviceId());
+        assertEquals(144, refreshed.getFirst().getCurrentRefreshRate());
+        assertEquals(2, refresher.getRefreshCount());
+        assertEquals(0, refresher.getCloseCount());
+    }
+
+    @Test
+    void registersAgainWithANewRefresherAfterAFailedRefresh() {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        List<StandInRefresher> created = new ArrayList<>();
+        RefreshingService<VideoController> service = RefreshingService.ofClass(() -> {
+            StandInRefresher refresher = new StandInRefresher()
+                    .withClass(VIDEO_CONTROLLER, List.of(gpu))
+                    .onRefresh(() -> {
+                        if (failing.get())
+                            throw new COMException("RPC server unavailable");
+                    });
+            created.add(refresher);
+            return refresher;
+        }, VIDEO_CONTROLLER, VideoControllerProperty.class, new VideoControllerMapper());
+
+        assertThrows(COMException.class, service::refresh);
+        failing.set(false);
+
+        assertEquals(1, service.refresh().size());
+        assertEquals(2, created.size());
+        assertEquals(1, created.getFirst().getCloseCount());
+        assertEquals(0, created.getLast().getCloseCount());
+    }
+
+    @Test
+    void reportsAnUnknownClassOnRefresh() {
+        RefreshingService<VideoController> service = RefreshingService.ofClass(StandInRefresher::new, VIDEO_CONTROLLER,
+                VideoControllerProperty.class, new VideoControllerMapper());
+
+        assertThrows(COMException.class, service::refresh);
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.eggy03.pinetree.windows.service.snapshot;
+
+import com.sun.jna.platform.win32.COM.COMException;
+import io.github.eggy03.pinetree.windows.concurrent.ComExecutor;
+import io.github.eggy03.pinetree.windows.entity.mainboard.Bios;
+import io.github.eggy03.pinetree.windows.entity.processor.Processor;
+import io.github.eggy03.pinetree.windows.entity.snapshot.SystemSnapshot;
+import io.github.eggy03.pinetree.windows.enums.WmiClassname;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SystemSnapshotServiceTest {
+
+    private static final Duration DEADLINE = Duration.ofMillis(300);
+
+    private static final Processor CPU = Processor.builder().deviceId("CPU0").name("Stand-in Processor").build();
+    private static final Bios BIOS = Bios.builder().manufacturer("Stand-in BIOS").build();
+
+    private final CountDownLatch hang = new CountDownLatch(1);
+
+    // Plain threads standing in for COM workers, which cannot be initialized off Windows
+    private final ComExecutor executor = ComExecutor.builder()
+            .threads(WmiClassname.values().length)
+            .threadFactory(runnable -> {
+                Thread thread = new Thread(runnable, "stand-in-snapshot-worker");
+                thread.setDaemon(true);
+                return thread;
+            })
+            .build();
+
+    @AfterEach
+    void releaseHungWorkers() {
+        hang.countDown();
+        executor.shutdown();
+    }
+
+    // Every class answers with no rows, except the processor and the BIOS
+    private static Map<WmiClassname, Supplier<? extends List<?>>> standIns() {
+        Map<WmiClassname, Supplier<? extends List<?>>> queries = new EnumMap<>(WmiClassname.class);
+        for (WmiClassname wmiClassname : WmiClassname.values())
+            queries.put(wmiClassname, List::of);
+        queries.put(WmiClassname.WIN32_PROCESSOR, () -> List.of(CPU));
+        queries.put(WmiClassname.WIN32_BIOS, () -> List.of(BIOS));
+        return queries;
+    }
+
+    private List<?> hangingQuery() {
+        try {
+            hang.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return List.of();
+    }
+
+    // The capture may give up on a class a moment before the watch of its query expires
+    private long awaitReplacedWorkers(long expected) {
+        long giveUpNanos = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (executor.getReplacedWorkers() < expected && System.nanoTime() - giveUpNanos < 0)
+            LockSupport.parkNanos(Duration.ofMillis(10).toNanos());
+        return executor.getReplacedWorkers();
+    }
+
+    private static List<?> failingQuery() {
+        throw new COMException("Provider load failure");
+    }
+
+    @Test
+    void capturesEveryClass() {
+        SystemSnapshot snapshot = SystemSnapshotService.builder()
+                .executor(executor)
+                .queries(standIns())
+                .build()
+                .capture();
+
+        assertEquals(List.of(CPU), snapshot.getProcessors());
+        assertEquals(List.of(BIOS), snapshot.getBios());
+        assertTrue(snapshot.getMonitors().isEmpty());
+        assertTrue(snapshot.getFailures().isEmpty());
+    }
+
+    @Test
+    void reportsFailedAndOverdueClassesWhenPartial() {
+        long startNanos = System.nanoTime();
+        SystemSnapshot snapshot = SystemSnapshotService.builder()
+                .executor(executor)
+                .deadline(DEADLINE)
+                .queries(standIns())
+                .query(WmiClassname.WIN32_VIDEO_CONTROLLER, this::hangingQuery)
+                .query(WmiClassname.WIN32_DESKTOP_MONITOR, SystemSnapshotServiceTest::failingQuery)
+                .build()
+                .capture();
+
+        assertTrue(System.nanoTime() - startNanos < Duration.ofSeconds(5).toNanos());
+        assertEquals(List.of(CPU), snapshot.getProcessors());
+        assertEquals(2, snapshot.getFailures().size());
+        assertTrue(snapshot.getFailures().get(WmiClassname.WIN32_VIDEO_CONTROLLER).contains("TimeoutException"));
+        assertTrue(snapshot.getFailures().get(WmiClassname.WIN32_DESKTOP_MONITOR).contains("Provider load failure"));
+        // The worker stuck in the video controller query is replaced
+        assertEquals(1, awaitReplacedWorkers(1));
+    }
+
+    @Test
+    void abortsWhenAFailFastClassFails() {
+        SystemSnapshotService service = SystemSnapshotService.builder()
+                .executor(executor)
+                .queries(standIns())
+                .query(WmiClassname.WIN32_PROCESSOR, SystemSnapshotServiceTest::failingQuery)
+                .failurePolicy(WmiClassname.WIN32_PROCESSOR, SnapshotFailurePolicy.FAIL_FAST)
+                .build();
+
+        SystemSnapshotException exception = assertThrows(SystemSnapshotException.class, service::capture);
+        assertEquals(WmiClassname.WIN32_PROCESSOR, exception.getWmiClassname());
+        assertTrue(exception.getCause() instanceof COMException);
+    }
+
+    @Test
+    void abortsWhenAFailFastClassMissesTheDeadline() {
+        SystemSnapshotService service = SystemSnapshotService.builder()
+                .executor(executor)
+                .deadline(DEADLINE)
+                .queries(standIns())
+                .query(WmiClassname.WIN32_BIOS, this::hangingQuery)
+                .defaultFailurePolicy(SnapshotFailurePolicy.FAIL_FAST)
+                .build();
+
+        SystemSnapshotException exception = assertThrows(SystemSnapshotException.class, service::capture);
+        assertEquals(WmiClassname.WIN32_BIOS, exception.getWmiClassname());
+
+        // The capture gave up on the query, its worker is replaced once the deadline has passed all the same
+        assertEquals(1, awaitReplacedWorkers(1));
+    }
+}
@@ -0,0 +1,221 @@
+package io.github.eggy03.pinetree.windows.util;
+
+import com.sun.jna.platform.win32.COM.Wbemcli;
+import com.sun.jna.platform.win32.Variant;
+import io.github.eggy03.pinetree.windows.com.StandInClassObject;
+import io.github.eggy03.pinetree.windows.com.WmiPropertyDecoder;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Property tests of the conversions against the ones they replaced, which trimmed a copy of every string and parsed it
+ * with {@link Long#parseLong(String)}, {@link Integer#parseInt(String)} and {@link Boolean#parseBoolean(String)}.
+ * Each property is checked on the same random values, from a fixed seed so that a failure can be replayed: integers of
+ * every width, numbers as text with signs, leading zeros, whitespace and overflows, and words close to {@code "true"}.
+ * A conversion either returns the same value as the one it replaced or throws the same type of exception.
+ */
+class CastUtilTest {
+
+    private static final long SEED = 0x5EED_CA57L;
+    private static final int SAMPLES = 5_000;
+
+    // Trimmed characters, and some that String.trim() keeps
+    private static final String WHITESPACE = " \t\n\r\u000B\u0000\u00A0\u2003";
+    private static final String NOISE = "+-0123456789trueTRUEx.é中 \t";
+    private static final String[] NUMBERS = {
+            "0", "-0", "+0", "007", "2147483647", "2147483648", "-2147483648", "-2147483649", "4294967295",
+            "9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809",
+            "18446744073709551615", "+", "-", "--1", "+-1", "1_000", "١٢"};
+
+    @Test
+    void boxedConversionsMatchTheReplacedOnes() {
+        forEachSample(value -> {
+            assertSameOutcome(() -> legacyToLong(value), () -> CastUtil.toLongValue(value), value);
+            assertSameOutcome(() -> legacyToInteger(value), () -> CastUtil.toIntegerValue(value), value);
+            assertSameOutcome(() -> legacyToString(value), () -> CastUtil.toStringValue(value), value);
+            assertSameOutcome(() -> legacyToBoolean(value), () -> CastUtil.toBooleanValue(value), value);
+        });
+    }
+
+    @Test
+    void textIsParsedLikeItsTrimmedCopy() {
+        forEachSample(value -> {
+            String text = String.valueOf(value);
+            StringBuilder builder = new StringBuilder(text);
+
+            assertSameOutcome(() -> Long.parseLong(text.trim()), () -> CastUtil.parseLong(text), text);
+            assertSameOutcome(() -> Long.parseLong(text.trim()), () -> CastUtil.parseLong(builder), text);
+            assertSameOutcome(() -> Integer.parseInt(text.trim()), () -> CastUtil.parseInt(text), text);
+            assertSameOutcome(() -> Integer.parseInt(text.trim()), () -> CastUtil.parseInt(builder), text);
+        });
+    }
+
+    @Test
+    void stringsWithoutSurroundingWhitespaceAreNotCopied() {
+        forEachSample(value -> {
+            if (value instanceof String text && text.equals(text.trim()))
+                assertSame(text, CastUtil.toStringValue(text), text);
+        });
+    }
+
+    @Test
+    void columnConvertersMatchTheGeneralConversions() {
+        forEachSample(value -> {
+            int vtType = vtTypeOf(value);
+            assertSameOutcome(() -> CastUtil.toLongValue(value), () -> CastUtil.longConverter(vtType).apply(value), value);
+            assertSameOutcome(() -> CastUtil.toIntegerValue(value), () -> CastUtil.integerConverter(vtType).apply(value), value);
+            assertSameOutcome(() -> CastUtil.toStringValue(value), () -> CastUtil.stringConverter(vtType).apply(value), value);
+            assertSameOutcome(() -> CastUtil.toBooleanValue(value), () -> CastUtil.booleanConverter(vtType).apply(value), value);
+        });
+    }
+
+    @Test
+    void variantsAreReadLikeTheValuesTheyHold() {
+        forEachSample(value -> {
+            // WMI never returns a 64-bit integer VARIANT, the stand-in has none
+            if (value instanceof Long)
+                return;
+
+            // A VT_BOOL is not a number, which the boxed path only finds out when parsing its text
+            if (!(value instanceof Boolean)) {
+                assertSameOutcome(() -> legacyToLong(value), () -> readVariant(value, CastUtil::toLong), value);
+                assertSameOutcome(() -> legacyToInteger(value), () -> readVariant(value, CastUtil::toInt), value);
+            }
+            if (value instanceof Boolean || value instanceof String) {
+                assertSameOutcome(() -> legacyToBoolean(value), () -> readVariant(value, CastUtil::toBoolean), value);
+            }
+            if (value instanceof String) {
+                assertSameOutcome(() -> legacyToString(value), () -> readVariant(value, CastUtil::toStringValue), value);
+            }
+            assertEquals(false, readVariant(value, CastUtil::isNull), String.valueOf(value));
+        });
+
+        assertEquals(true, readVariant(null, CastUtil::isNull));
+        assertNull(readVariant(null, CastUtil::toStringValue));
+    }
+
+    private static void forEachSample(Consumer<Object> property) {
+        Random random = new Random(SEED);
+        for (int i = 0; i < SAMPLES; i++)
+            property.accept(randomValue(random));
+    }
+
+    private static Object randomValue(Random random) {
+        return switch (random.nextInt(8)) {
+            case 0 -> random.nextInt();
+            case 1 -> (short) random.nextInt();
+            case 2 -> (byte) random.nextInt();
+            case 3 -> random.nextLong();
+            case 4 -> random.nextBoolean();
+            case 5 -> pad(random, randomCase(random, random.nextBoolean() ? "true" : "false"));
+            case 6 -> randomText(random, NOISE, 12);
+            default -> pad(random, randomNumber(random));
+        };
+    }
+
+    private static String randomNumber(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> NUMBERS[random.nextInt(NUMBERS.length)];
+            case 1 -> Long.toString(random.nextLong());
+            case 2 -> Integer.toString(random.nextInt());
+            default -> (random.nextBoolean() ? "-" : "") + randomText(random, "0123456789", 24);
+        };
+    }
+
+    private static String pad(Random random, String text) {
+        return randomText(random, WHITESPACE, 3) + text + randomText(random, WHITESPACE, 3);
+    }
+
+    private static String randomCase(Random random, String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++)
+            builder.append(random.nextBoolean() ? Character.toUpperCase(text.charAt(i)) : text.charAt(i));
+        return builder.toString();
+    }
+
+    private static String randomText(Random random, String alphabet, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++)
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return builder.toString();
+    }
+
+    // Reads the VARIANT a native object would hold for the value
+    @Nullable
+    private static Object readVariant(@Nullable Object value, Function<Variant.VARIANT, Object> read) {
+        StandInClassObject object = new StandInClassObject().with("Value", Wbemcli.CIM_EMPTY, value);
+        return object.decode("Value", new WmiPropertyDecoder() {
+            @Override
+            public Object decodeValue(@Nullable Object boxed) {
+                throw new AssertionError("The stand-in decodes VARIANTs");
+            }
+
+            @Override
+            public Object decodeVariant(Variant.VARIANT variant) {
+                return read.apply(variant);
+            }
+        });
+    }
+
+    private static int vtTypeOf(Object value) {
+        return switch (value) {
+            case String ignored -> Variant.VT_BSTR;
+            case Integer ignored -> Variant.VT_I4;
+            case Short ignored -> Variant.VT_I2;
+            case Byte ignored -> Variant.VT_UI1;
+            case Boolean ignored -> Variant.VT_BOOL;
+            default -> Variant.VT_EMPTY;
+        };
+    }
+
+    // The value returned, or the type of the exception thrown
+    private static void assertSameOutcome(Supplier<?> expected, Supplier<?> actual, @Nullable Object input) {
+        assertEquals(outcome(expected), outcome(actual), () -> "For input \"" + input + "\" of " + (input == null ? null : input.getClass()));
+    }
+
+    @Nullable
+    private static Object outcome(Supplier<?> conversion) {
+        try {
+            return conversion.get();
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    private static Long legacyToLong(Object value) {
+        return switch (value) {
+            case Integer i -> Integer.toUnsignedLong(i);
+            case Short s -> Short.toUnsignedLong(s);
+            case Number num -> num.longValue();
+            default -> Long.parseLong(value.toString().trim());
+        };
+    }
+
+    private static Integer legacyToInteger(Object value) {
+        return switch (value) {
+            case Short s -> Short.toUnsignedInt(s);
+            case Byte b -> Byte.toUnsignedInt(b);
+            case Number num -> num.intValue();
+            default -> Integer.parseInt(value.toString().trim());
+        };
+    }
+
+    private static String legacyToString(Object value) {
+        return Objects.toString(value).trim();
+    }
+
+    private static Boolean legacyToBoolean(Object value) {
+        return value instanceof Boolean b ? b : Boolean.parseBoolean(value.toString().trim());
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.eggy03.pinetree.windows.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ComUtilTest {
+
+    @Test
+    void ignoresUnmatchedUninitialize() {
+        assertEquals(0, ComUtil.getDepth());
+
+        assertDoesNotThrow(ComUtil::uninitialize);
+        assertDoesNotThrow(ComUtil::uninitialize);
+        assertEquals(0, ComUtil.getDepth());
+    }
+}